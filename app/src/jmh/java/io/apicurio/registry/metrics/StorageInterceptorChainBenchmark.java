@@ -0,0 +1,150 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.metrics;
+
+import io.apicurio.registry.metrics.health.liveness.PersistenceExceptionLivenessCheck;
+import io.apicurio.registry.metrics.health.liveness.PersistenceExceptionLivenessInterceptor;
+import io.apicurio.registry.metrics.health.readiness.PersistenceTimeoutReadinessCheck;
+import io.apicurio.registry.metrics.health.readiness.PersistenceTimeoutReadinessInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.interceptor.InvocationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of the interceptors applied to every storage method call: the persistence timeout
+ * readiness check, the persistence exception liveness check and the storage method timers, in that order.
+ * <p>
+ * The interceptors are wired by hand, the same instances being shared by all the benchmark threads,
+ * so that the contended benchmarks show the cost of the shared error counters and meter lookups.
+ * Run with {@code mvn -pl app -Pbenchmarks test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StorageInterceptorChainBenchmark {
+
+    private Method storageMethod;
+    private PersistenceTimeoutReadinessCheck timeoutCheck;
+    private InvocationContext chain;
+
+    @Setup
+    public void setup() throws Exception {
+        storageMethod = StorageInterceptorChainBenchmark.class.getMethod("storageMethod");
+
+        StorageMetricsInterceptor metricsInterceptor = new StorageMetricsInterceptor();
+        metricsInterceptor.registry = new SimpleMeterRegistry();
+
+        PersistenceExceptionLivenessCheck exceptionCheck = new PersistenceExceptionLivenessCheck();
+        set(exceptionCheck, "configErrorThreshold", 1);
+        set(exceptionCheck, "configCounterResetWindowDurationSec", 60);
+        set(exceptionCheck, "configStatusResetWindowDurationSec", 300);
+        init(exceptionCheck);
+        PersistenceExceptionLivenessInterceptor exceptionInterceptor = new PersistenceExceptionLivenessInterceptor();
+        set(exceptionInterceptor, "check", exceptionCheck);
+
+        timeoutCheck = new PersistenceTimeoutReadinessCheck();
+        set(timeoutCheck, "configErrorThreshold", 5);
+        set(timeoutCheck, "configCounterResetWindowDurationSec", 60);
+        set(timeoutCheck, "configStatusResetWindowDurationSec", 300);
+        set(timeoutCheck, "configTimeoutSec", 15);
+        init(timeoutCheck);
+        PersistenceTimeoutReadinessInterceptor timeoutInterceptor = new PersistenceTimeoutReadinessInterceptor();
+        set(timeoutInterceptor, "check", timeoutCheck);
+
+        InvocationContext target = context(this::storageMethod);
+        InvocationContext metrics = context(() -> metricsInterceptor.intercept(target));
+        InvocationContext exception = context(() -> exceptionInterceptor.intercept(metrics));
+        chain = context(() -> timeoutInterceptor.intercept(exception));
+    }
+
+    public Object storageMethod() {
+        return storageMethod;
+    }
+
+    @Benchmark
+    public Object baseline() {
+        return storageMethod();
+    }
+
+    @Benchmark
+    public Object chain() throws Exception {
+        return chain.proceed();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object chainContended() throws Exception {
+        return chain.proceed();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object suspectAndCallContended() {
+        timeoutCheck.suspect();
+        return timeoutCheck.call();
+    }
+
+    /**
+     * Invocation context of the storage method, proceeding to the given next step of the chain.
+     */
+    private InvocationContext context(Callable<Object> next) {
+        return (InvocationContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { InvocationContext.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "proceed":
+                            return next.call();
+                        case "getMethod":
+                            return storageMethod;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    // The checks and interceptors are CDI beans with package-private injection points, in other packages
+
+    private static void set(Object bean, String name, Object value) throws ReflectiveOperationException {
+        Field field = bean.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(bean, value);
+    }
+
+    private static void init(Object bean) throws ReflectiveOperationException {
+        Method init = bean.getClass().getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(bean);
+    }
+}
@@ -8,11 +8,12 @@ import io.apicurio.registry.storage.error.ReadOnlyStorageException;
 import io.apicurio.registry.storage.impexp.EntityInputStream;
 import io.apicurio.registry.types.Current;
 import io.apicurio.registry.utils.impexp.Entity;
-import io.apicurio.registry.utils.impexp.EntityReader;
+import io.apicurio.registry.utils.impexp.SegmentedEntityReader;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.ObservesAsync;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.slf4j.Logger;
 
 import java.io.BufferedInputStream;
@@ -33,6 +34,9 @@ public class ImportLifecycleBean {
     @Current
     RegistryStorage storage;
 
+    @Inject
+    ManagedExecutor executor;
+
     @ConfigProperty(name = "registry.import.url")
     @Info(category = "import", description = "The import URL", availableSince = "2.1.0.Final")
     Optional<URL> registryImportUrlProp;
@@ -44,7 +48,7 @@ public class ImportLifecycleBean {
             try (final InputStream registryImportZip = new BufferedInputStream(registryImportUrl.openStream())) {
                 log.info("Importing {} on startup.", registryImportUrl);
                 final ZipInputStream zip = new ZipInputStream(registryImportZip, StandardCharsets.UTF_8);
-                final EntityReader reader = new EntityReader(zip);
+                final SegmentedEntityReader reader = new SegmentedEntityReader(zip, executor);
                 try (EntityInputStream stream = new EntityInputStream() {
                     @Override
                     public Entity nextEntity() {
@@ -58,7 +62,7 @@ public class ImportLifecycleBean {
 
                     @Override
                     public void close() throws IOException {
-                        zip.close();
+                        reader.close();
                     }
                 }) {
                     storage.importData(stream, true, true);
@@ -1,8 +1,6 @@
 package io.apicurio.registry.auth;
 
 import io.apicurio.registry.storage.RegistryStorage;
-import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
-import io.apicurio.registry.storage.dto.GroupMetaDataDto;
 import io.apicurio.registry.storage.error.NotFoundException;
 import io.apicurio.registry.types.Current;
 import io.quarkus.security.identity.SecurityIdentity;
@@ -23,6 +21,9 @@ public abstract class AbstractAccessController implements IAccessController {
     @Current
     RegistryStorage storage;
 
+    @Inject
+    AuthorizationCache authorizationCache;
+
     protected boolean isOwner(InvocationContext context) {
         Authorized annotation = context.getMethod().getAnnotation(Authorized.class);
         AuthorizedStyle style = annotation.style();
@@ -47,8 +48,8 @@ public abstract class AbstractAccessController implements IAccessController {
 
     private boolean verifyGroupCreatedBy(String groupId) {
         try {
-            GroupMetaDataDto dto = storage.getGroupMetaData(groupId);
-            String createdBy = dto.getCreatedBy();
+            String createdBy = authorizationCache.getGroupOwner(groupId,
+                    () -> storage.getGroupMetaData(groupId).getCreatedBy());
             return createdBy == null || createdBy.equals(securityIdentity.getPrincipal().getName());
         } catch (NotFoundException nfe) {
             // If the group is not found, then return true and let the operation proceed.
@@ -56,10 +57,10 @@ public abstract class AbstractAccessController implements IAccessController {
         }
     }
 
-    private boolean verifyArtifactCreatedBy(String groupId, String artifactId) {
+    protected boolean verifyArtifactCreatedBy(String groupId, String artifactId) {
         try {
-            ArtifactMetaDataDto dto = storage.getArtifactMetaData(groupId, artifactId, DEFAULT);
-            String createdBy = dto.getCreatedBy();
+            String createdBy = authorizationCache.getArtifactOwner(groupId, artifactId,
+                    () -> storage.getArtifactMetaData(groupId, artifactId, DEFAULT).getCreatedBy());
             return createdBy == null || createdBy.equals(securityIdentity.getPrincipal().getName());
         } catch (NotFoundException nfe) {
             // If the artifact is not found, then return true and let the operation proceed
@@ -71,8 +72,8 @@ public abstract class AbstractAccessController implements IAccessController {
 
     private boolean verifyArtifactCreatedBy(long globalId) {
         try {
-            ArtifactMetaDataDto dto = storage.getArtifactMetaData(globalId);
-            String createdBy = dto.getCreatedBy();
+            String createdBy = authorizationCache.getArtifactOwner(globalId,
+                    () -> storage.getArtifactMetaData(globalId).getCreatedBy());
             return createdBy == null || createdBy.equals(securityIdentity.getPrincipal().getName());
         } catch (NotFoundException nfe) {
             // If the artifact is not found, then return true and let the operation proceed
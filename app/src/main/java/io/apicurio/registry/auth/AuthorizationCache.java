@@ -0,0 +1,341 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.auth;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.storage.decorator.RegistryStorageDecorator;
+import io.apicurio.registry.storage.decorator.RegistryStorageDecoratorBase;
+import io.apicurio.registry.storage.decorator.RegistryStorageDecoratorOrderConstants;
+import io.apicurio.registry.storage.dto.ArtifactOwnerDto;
+import io.apicurio.registry.storage.dto.GroupMetaDataDto;
+import io.apicurio.registry.storage.error.ArtifactNotFoundException;
+import io.apicurio.registry.storage.error.GroupNotFoundException;
+import io.apicurio.registry.storage.error.RegistryStorageException;
+import io.apicurio.registry.storage.error.VersionNotFoundException;
+import io.apicurio.registry.storage.impexp.EntityInputStream;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the role mapped to a principal, and the owner (creator) of groups and artifacts, which are otherwise
+ * loaded from the storage for every authorized request.  When role mappings or owners are changed through this
+ * node, the entries are invalidated immediately and again after the change is committed.  Entries also expire after
+ * a short configurable time, to bound how long a change made through another node is not taken into account.
+ */
+@ApplicationScoped
+public class AuthorizationCache extends RegistryStorageDecoratorBase implements RegistryStorageDecorator {
+
+    @ConfigProperty(name = "registry.auth.cache.enabled", defaultValue = "true")
+    @Info(category = "auth", description = "Cache the role mappings and the owners of groups and artifacts used for authorization", availableSince = "3.0.0")
+    boolean enabled;
+
+    @ConfigProperty(name = "registry.auth.cache.max-size", defaultValue = "10000")
+    @Info(category = "auth", description = "Maximum number of cached role mappings, and of cached owners of groups and artifacts", availableSince = "3.0.0")
+    long maxSize;
+
+    @ConfigProperty(name = "registry.auth.cache.ttl", defaultValue = "10")
+    @Info(category = "auth", description = "Time (in seconds) after which a cached role mapping or owner expires", availableSince = "3.0.0")
+    long ttl;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    private Cache<String, Optional<String>> roles;
+    private Cache<String, Optional<String>> groupOwners;
+    private Cache<ArtifactKey, Optional<String>> artifactOwners;
+    private Cache<Long, Optional<String>> artifactOwnersByGlobalId;
+
+    // Incremented on every invalidation, so that a value loaded concurrently is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        roles = newCache();
+        groupOwners = newCache();
+        artifactOwners = newCache();
+        artifactOwnersByGlobalId = newCache();
+    }
+
+    private <K> Cache<K, Optional<String>> newCache() {
+        return CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#isEnabled()
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#order()
+     */
+    @Override
+    public int order() {
+        return RegistryStorageDecoratorOrderConstants.AUTHORIZATION_CACHE_DECORATOR;
+    }
+
+    /**
+     * Returns the role mapped to the given principal, or null if there is none.
+     *
+     * @param principalId
+     * @param loader      loads the role from the storage
+     */
+    public String getRoleForPrincipal(String principalId, Supplier<String> loader) {
+        return get(roles, principalId, loader);
+    }
+
+    /**
+     * Returns the owner of the given group, which may be null.
+     *
+     * @param groupId
+     * @param loader  loads the owner from the storage, throws if the group does not exist
+     */
+    public String getGroupOwner(String groupId, Supplier<String> loader) {
+        return get(groupOwners, groupId, loader);
+    }
+
+    /**
+     * Returns the owner of the given artifact, which may be null.
+     *
+     * @param groupId
+     * @param artifactId
+     * @param loader     loads the owner from the storage, throws if the artifact does not exist
+     */
+    public String getArtifactOwner(String groupId, String artifactId, Supplier<String> loader) {
+        return get(artifactOwners, new ArtifactKey(groupId, artifactId), loader);
+    }
+
+    /**
+     * Returns the owner of the artifact of the given artifact version, which may be null.
+     *
+     * @param globalId
+     * @param loader   loads the owner from the storage, throws if the artifact version does not exist
+     */
+    public String getArtifactOwner(long globalId, Supplier<String> loader) {
+        return get(artifactOwnersByGlobalId, globalId, loader);
+    }
+
+    private <K> String get(Cache<K, Optional<String>> cache, K key, Supplier<String> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Optional<String> value = cache.getIfPresent(key);
+        if (value == null) {
+            long loadedGeneration = generation.get();
+            value = Optional.ofNullable(loader.get());
+            if (loadedGeneration == generation.get()) {
+                cache.put(key, value);
+            }
+        }
+        return value.orElse(null);
+    }
+
+    private void invalidateRole(String principalId) {
+        invalidateAfterCompletion(() -> roles.invalidate(principalId));
+    }
+
+    private void invalidateOwners() {
+        invalidateAfterCompletion(() -> {
+            groupOwners.invalidateAll();
+            artifactOwners.invalidateAll();
+            artifactOwnersByGlobalId.invalidateAll();
+        });
+    }
+
+    private void invalidate() {
+        invalidateAfterCompletion(() -> {
+            roles.invalidateAll();
+            groupOwners.invalidateAll();
+            artifactOwners.invalidateAll();
+            artifactOwnersByGlobalId.invalidateAll();
+        });
+    }
+
+    /**
+     * Invalidates the entries now, and again once the current transaction (if any) completes.  Until the
+     * transaction commits, a concurrent request can still load the old value and cache it.
+     */
+    private void invalidateAfterCompletion(Runnable invalidation) {
+        generation.incrementAndGet();
+        invalidation.run();
+        if (transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void createRoleMapping(String principalId, String role, String principalName) throws RegistryStorageException {
+        try {
+            super.createRoleMapping(principalId, role, principalName);
+        } finally {
+            invalidateRole(principalId);
+        }
+    }
+
+    @Override
+    public void updateRoleMapping(String principalId, String role) throws RegistryStorageException {
+        try {
+            super.updateRoleMapping(principalId, role);
+        } finally {
+            invalidateRole(principalId);
+        }
+    }
+
+    @Override
+    public void deleteRoleMapping(String principalId) throws RegistryStorageException {
+        try {
+            super.deleteRoleMapping(principalId);
+        } finally {
+            invalidateRole(principalId);
+        }
+    }
+
+    @Override
+    public void updateArtifactOwner(String groupId, String artifactId, ArtifactOwnerDto owner)
+            throws ArtifactNotFoundException, RegistryStorageException {
+        try {
+            super.updateArtifactOwner(groupId, artifactId, owner);
+        } finally {
+            invalidateOwners();
+        }
+    }
+
+    @Override
+    public void updateGroupMetaData(GroupMetaDataDto group) throws GroupNotFoundException, RegistryStorageException {
+        try {
+            super.updateGroupMetaData(group);
+        } finally {
+            invalidateOwners();
+        }
+    }
+
+    // A deleted group or artifact may be created again by another principal
+
+    @Override
+    public List<String> deleteArtifact(String groupId, String artifactId)
+            throws ArtifactNotFoundException, RegistryStorageException {
+        try {
+            return super.deleteArtifact(groupId, artifactId);
+        } finally {
+            invalidateOwners();
+        }
+    }
+
+    @Override
+    public void deleteArtifacts(String groupId) throws RegistryStorageException {
+        try {
+            super.deleteArtifacts(groupId);
+        } finally {
+            invalidateOwners();
+        }
+    }
+
+    @Override
+    public void deleteArtifactVersion(String groupId, String artifactId, String version)
+            throws ArtifactNotFoundException, VersionNotFoundException, RegistryStorageException {
+        try {
+            super.deleteArtifactVersion(groupId, artifactId, version);
+        } finally {
+            invalidateOwners();
+        }
+    }
+
+    @Override
+    public void deleteGroup(String groupId) throws GroupNotFoundException, RegistryStorageException {
+        try {
+            super.deleteGroup(groupId);
+        } finally {
+            invalidateOwners();
+        }
+    }
+
+    @Override
+    public void importData(EntityInputStream entities, boolean preserveGlobalId, boolean preserveContentId)
+            throws RegistryStorageException {
+        try {
+            super.importData(entities, preserveGlobalId, preserveContentId);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public void deleteAllUserData() {
+        try {
+            super.deleteAllUserData();
+        } finally {
+            invalidate();
+        }
+    }
+
+    private static final class ArtifactKey {
+
+        private final String groupId;
+        private final String artifactId;
+
+        ArtifactKey(String groupId, String artifactId) {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ArtifactKey)) {
+                return false;
+            }
+            ArtifactKey that = (ArtifactKey) o;
+            return Objects.equals(groupId, that.groupId) && Objects.equals(artifactId, that.artifactId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(groupId, artifactId);
+        }
+    }
+}
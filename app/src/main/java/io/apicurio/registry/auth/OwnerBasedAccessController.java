@@ -16,6 +16,7 @@
 
 package io.apicurio.registry.auth;
 
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import jakarta.interceptor.InvocationContext;
 
@@ -25,6 +26,9 @@ import jakarta.interceptor.InvocationContext;
 @Singleton
 public class OwnerBasedAccessController extends AbstractAccessController {
 
+    @Inject
+    AdminOverride adminOverride;
+
     /**
      * @see io.apicurio.registry.auth.IAccessController#isAuthorized(jakarta.interceptor.InvocationContext)
      */
@@ -41,4 +45,15 @@ public class OwnerBasedAccessController extends AbstractAccessController {
         return isOwner(context);
     }
 
+    /**
+     * Applies the ownership rules to a write operation on the given artifact, for operations that are not bound
+     * to a single artifact and are therefore annotated with {@link AuthorizedStyle#None}.
+     */
+    public boolean isAuthorized(String groupId, String artifactId) {
+        if (!authConfig.isAuthEnabled() || !authConfig.isObacEnabled() || adminOverride.isAdmin()) {
+            return true;
+        }
+        return verifyArtifactCreatedBy(groupId, artifactId);
+    }
+
 }
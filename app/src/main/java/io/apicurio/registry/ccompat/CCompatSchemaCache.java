@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.ccompat;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.apicurio.common.apps.config.Info;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the serialized responses of the compatibility API for schemas by ID.  The schema identified by
+ * a content ID (or a global ID in legacy ID mode) never changes, so a cached response stays valid until
+ * the schema is deleted.  The cache is invalidated by the {@link CCompatSchemaCacheInvalidator} when data
+ * is deleted or imported through this node, and entries expire after a configurable time to bound how long
+ * a schema deleted through another node can still be served.
+ */
+@ApplicationScoped
+public class CCompatSchemaCache {
+
+    @ConfigProperty(name = "registry.ccompat.schema-cache.enabled", defaultValue = "true")
+    @Info(category = "ccompat", description = "Cache the responses of the compatibility API for schemas by ID", availableSince = "3.0.0")
+    boolean enabled;
+
+    @ConfigProperty(name = "registry.ccompat.schema-cache.max-size", defaultValue = "10000")
+    @Info(category = "ccompat", description = "Maximum number of cached responses of the compatibility API for schemas by ID", availableSince = "3.0.0")
+    long maxSize;
+
+    @ConfigProperty(name = "registry.ccompat.schema-cache.ttl", defaultValue = "600")
+    @Info(category = "ccompat", description = "Time (in seconds) after which a cached response of the compatibility API "
+            + "for a schema by ID expires", availableSince = "3.0.0")
+    long ttl;
+
+    private Cache<Long, CachedSchema> byContentId;
+    private Cache<Long, CachedSchema> byGlobalId;
+
+    // Incremented on every invalidation, so that a response loaded concurrently is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        byContentId = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                .build();
+        byGlobalId = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached response for the schema with the given ID, or loads and caches it.
+     *
+     * @param legacyIdMode true if the ID is a global ID, false if it is a content ID
+     * @param id
+     * @param loader       loads the schema, throws if the schema does not exist
+     */
+    public CachedSchema getSchema(boolean legacyIdMode, long id, Supplier<CachedSchema> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Cache<Long, CachedSchema> cache = legacyIdMode ? byGlobalId : byContentId;
+        CachedSchema schema = cache.getIfPresent(id);
+        if (schema == null) {
+            long loadedGeneration = generation.get();
+            schema = loader.get();
+            if (loadedGeneration == generation.get()) {
+                cache.put(id, schema);
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Invalidates all the cached responses.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        byContentId.invalidateAll();
+        byGlobalId.invalidateAll();
+    }
+
+    /**
+     * The serialized response of the compatibility API for a schema, and the hash of the schema content.
+     */
+    @AllArgsConstructor
+    @Getter
+    public static class CachedSchema {
+        private final String contentHash;
+        private final byte[] response;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.ccompat;
+
+import io.apicurio.registry.storage.decorator.RegistryStorageDecorator;
+import io.apicurio.registry.storage.decorator.RegistryStorageDecoratorBase;
+import io.apicurio.registry.storage.decorator.RegistryStorageDecoratorOrderConstants;
+import io.apicurio.registry.storage.error.ArtifactNotFoundException;
+import io.apicurio.registry.storage.error.GroupNotFoundException;
+import io.apicurio.registry.storage.error.RegistryStorageException;
+import io.apicurio.registry.storage.error.VersionNotFoundException;
+import io.apicurio.registry.storage.impexp.EntityInputStream;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.List;
+
+/**
+ * Invalidates the {@link CCompatSchemaCache} when schemas are deleted or imported through this node.
+ */
+@ApplicationScoped
+public class CCompatSchemaCacheInvalidator extends RegistryStorageDecoratorBase implements RegistryStorageDecorator {
+
+    @Inject
+    CCompatSchemaCache schemaCache;
+
+    /**
+     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#isEnabled()
+     */
+    @Override
+    public boolean isEnabled() {
+        return schemaCache.isEnabled();
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#order()
+     */
+    @Override
+    public int order() {
+        return RegistryStorageDecoratorOrderConstants.CCOMPAT_SCHEMA_CACHE_DECORATOR;
+    }
+
+    @Override
+    public List<String> deleteArtifact(String groupId, String artifactId)
+            throws ArtifactNotFoundException, RegistryStorageException {
+        try {
+            return super.deleteArtifact(groupId, artifactId);
+        } finally {
+            schemaCache.invalidate();
+        }
+    }
+
+    @Override
+    public void deleteArtifacts(String groupId) throws RegistryStorageException {
+        try {
+            super.deleteArtifacts(groupId);
+        } finally {
+            schemaCache.invalidate();
+        }
+    }
+
+    @Override
+    public void deleteArtifactVersion(String groupId, String artifactId, String version)
+            throws ArtifactNotFoundException, VersionNotFoundException, RegistryStorageException {
+        try {
+            super.deleteArtifactVersion(groupId, artifactId, version);
+        } finally {
+            schemaCache.invalidate();
+        }
+    }
+
+    @Override
+    public void deleteGroup(String groupId) throws GroupNotFoundException, RegistryStorageException {
+        try {
+            super.deleteGroup(groupId);
+        } finally {
+            schemaCache.invalidate();
+        }
+    }
+
+    @Override
+    public void importData(EntityInputStream entities, boolean preserveGlobalId, boolean preserveContentId)
+            throws RegistryStorageException {
+        try {
+            super.importData(entities, preserveGlobalId, preserveContentId);
+        } finally {
+            schemaCache.invalidate();
+        }
+    }
+
+    @Override
+    public void deleteAllUserData() {
+        try {
+            super.deleteAllUserData();
+        } finally {
+            schemaCache.invalidate();
+        }
+    }
+}
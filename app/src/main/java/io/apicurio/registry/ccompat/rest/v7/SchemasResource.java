@@ -20,6 +20,7 @@ import io.apicurio.registry.ccompat.dto.SchemaInfo;
 import io.apicurio.registry.ccompat.dto.SubjectVersion;
 import io.apicurio.registry.rest.Headers;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Response;
 
 import java.util.List;
 
@@ -52,6 +53,8 @@ public interface SchemasResource {
      *
      *     schema (string) – Schema string identified by the ID
      *
+     * The response body is a serialized {@link SchemaInfo}, which is cached since the schema of an ID never changes.
+     *
      * Status Codes:
      *
      *     404 Not Found –
@@ -61,7 +64,7 @@ public interface SchemasResource {
      */
     @GET
     @Path("/ids/{id}")
-    SchemaInfo getSchema(@PathParam("id") int id, @QueryParam("subject") String subject, @HeaderParam(Headers.GROUP_ID) String groupId);
+    Response getSchema(@PathParam("id") int id, @QueryParam("subject") String subject, @HeaderParam(Headers.GROUP_ID) String groupId);
 
     // ----- Path: /schemas/types -----
 
@@ -44,6 +44,8 @@ public interface SubjectsResource {
      * Get a list of registered subjects.
      * @param subjectPrefix (string) Add ?subjectPrefix= (as an empty string) at the end of this request to list subjects in the default context. If this flag is not included, GET /subjects returns all subjects across all contexts.
      * @param deleted (boolean) Add ?deleted=true at the end of this request to list both current and soft-deleted subjects. The default is false. If this flag is not included, only current subjects are listed (not those that have been soft-deleted). Hard and soft delete are explained below in the description of the delete API.
+     * @param offset (int) The number of subjects to skip. The default is 0.
+     * @param limit (int) The maximum number of subjects to return. The default, and the maximum, is the configured maximum number of subjects.
      *
      * Response JSON Array of Objects:
      *
@@ -56,7 +58,8 @@ public interface SubjectsResource {
      *         Error code 50001 – Error in the backend datastore
      */
     @GET
-    List<String> listSubjects(@QueryParam("subjectPrefix") String subjectPrefix, @QueryParam("deleted") Boolean deleted, @HeaderParam(Headers.GROUP_ID) String groupId);
+    List<String> listSubjects(@QueryParam("subjectPrefix") String subjectPrefix, @QueryParam("deleted") Boolean deleted,
+                              @QueryParam("offset") Integer offset, @QueryParam("limit") Integer limit, @HeaderParam(Headers.GROUP_ID) String groupId);
 
     // ----- Path: /subjects/{subject} -----
 
@@ -16,25 +16,36 @@
 
 package io.apicurio.registry.ccompat.rest.v7.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.apicurio.common.apps.logging.Logged;
 import io.apicurio.registry.auth.Authorized;
 import io.apicurio.registry.auth.AuthorizedLevel;
 import io.apicurio.registry.auth.AuthorizedStyle;
+import io.apicurio.registry.ccompat.CCompatSchemaCache;
+import io.apicurio.registry.ccompat.CCompatSchemaCache.CachedSchema;
 import io.apicurio.registry.ccompat.dto.SchemaInfo;
 import io.apicurio.registry.ccompat.dto.SubjectVersion;
 import io.apicurio.registry.ccompat.rest.v7.SchemasResource;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.metrics.health.readiness.ResponseTimeoutReadinessCheck;
+import io.apicurio.registry.rest.HttpCaching;
 import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
 import io.apicurio.registry.storage.dto.ContentWrapperDto;
 import io.apicurio.registry.storage.dto.StoredArtifactDto;
 import io.apicurio.registry.storage.error.ArtifactNotFoundException;
+import io.apicurio.registry.storage.error.ContentNotFoundException;
 import io.apicurio.registry.types.ArtifactType;
-import io.apicurio.registry.util.ArtifactTypeUtil;
+import jakarta.inject.Inject;
 import jakarta.interceptor.Interceptors;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
 
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -49,26 +60,65 @@ import static io.apicurio.registry.storage.RegistryStorage.ArtifactRetrievalBeha
 @Logged
 public class SchemasResourceImpl extends AbstractResource implements SchemasResource {
 
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Inject
+    CCompatSchemaCache schemaCache;
+
+    @Inject
+    HttpCaching httpCaching;
+
+    @Context
+    HttpServletRequest request;
+
     @Override
     @Authorized(style = AuthorizedStyle.GlobalId, level = AuthorizedLevel.Read)
-    public SchemaInfo getSchema(int id, String subject, String groupId) {
+    public Response getSchema(int id, String subject, String groupId) {
+        boolean legacyIdMode = cconfig.legacyIdModeEnabled.get();
+        // Loaded (or found in the cache) first, so that a deleted schema is not reported as not modified
+        CachedSchema schema = schemaCache.getSchema(legacyIdMode, id, () -> loadSchema(legacyIdMode, id));
+        return httpCaching.revalidated(request.getHeader(HttpHeaders.IF_NONE_MATCH), HttpCaching.etag(schema.getContentHash()),
+                () -> Response.ok(schema.getResponse()))
+                // The response can be compressed, depending on the Accept-Encoding request header
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    private CachedSchema loadSchema(boolean legacyIdMode, long id) {
         ContentHandle contentHandle;
         List<ArtifactReferenceDto> references;
-        if (cconfig.legacyIdModeEnabled.get()) {
+        String artifactType;
+        long contentId;
+        if (legacyIdMode) {
             StoredArtifactDto artifactVersion = storage.getArtifactVersion(id);
             contentHandle = artifactVersion.getContent();
             references = artifactVersion.getReferences();
+            contentId = artifactVersion.getContentId();
+            artifactType = storage.getArtifactMetaData(id).getType();
         } else {
             ContentWrapperDto contentWrapper = storage.getArtifactByContentId(id);
-            contentHandle = storage.getArtifactByContentId(id).getContent();
+            contentHandle = contentWrapper.getContent();
             references = contentWrapper.getReferences();
             List<ArtifactMetaDataDto> artifacts = storage.getArtifactVersionsByContentId(id);
             if (artifacts == null || artifacts.isEmpty()) {
                 //the contentId points to an orphaned content
                 throw new ArtifactNotFoundException("ContentId: " + id);
             }
+            // All the artifact versions using the same content have the same type
+            artifactType = artifacts.get(0).getType();
+            contentId = id;
+        }
+        String contentHash = storage.contentHashFromId(contentId)
+                .orElseThrow(() -> new ContentNotFoundException(contentId));
+        return new CachedSchema(contentHash, serialize(converter.convert(contentHandle, artifactType, references)));
+    }
+
+    private static byte[] serialize(SchemaInfo schemaInfo) {
+        try {
+            return mapper.writeValueAsBytes(schemaInfo);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
         }
-        return converter.convert(contentHandle, ArtifactTypeUtil.determineArtifactType(contentHandle, null, null, storage.resolveReferences(references), factory.getAllArtifactTypes()), references);
     }
 
     @Override
@@ -30,10 +30,6 @@ import io.apicurio.registry.ccompat.rest.v7.SubjectsResource;
 import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.metrics.health.readiness.ResponseTimeoutReadinessCheck;
 import io.apicurio.registry.storage.dto.ArtifactVersionMetaDataDto;
-import io.apicurio.registry.storage.dto.OrderBy;
-import io.apicurio.registry.storage.dto.OrderDirection;
-import io.apicurio.registry.storage.dto.SearchFilter;
-import io.apicurio.registry.storage.dto.SearchedArtifactDto;
 import io.apicurio.registry.storage.dto.StoredArtifactDto;
 import io.apicurio.registry.storage.error.ArtifactNotFoundException;
 import io.apicurio.registry.storage.error.InvalidArtifactStateException;
@@ -43,7 +39,6 @@ import jakarta.interceptor.Interceptors;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import static io.apicurio.common.apps.logging.audit.AuditingConstants.KEY_ARTIFACT_ID;
@@ -58,10 +53,14 @@ public class SubjectsResourceImpl extends AbstractResource implements SubjectsRe
 
     @Override
     @Authorized(style = AuthorizedStyle.None, level = AuthorizedLevel.Read)
-    public List<String> listSubjects(String subjectPrefix, Boolean deleted, String groupId) {
-        //Since contexts are not supported, subjectPrefix is not used
+    public List<String> listSubjects(String subjectPrefix, Boolean deleted, Integer offset, Integer limit, String groupId) {
         final boolean fdeleted = deleted == null ? Boolean.FALSE : deleted;
-        return storage.searchArtifacts(Set.of(SearchFilter.ofGroup(groupId)), OrderBy.createdOn, OrderDirection.asc, 0, cconfig.maxSubjects.get()).getArtifacts().stream().filter(searchedArtifactDto -> isCcompatManagedType(searchedArtifactDto.getType()) && shouldFilterState(fdeleted, searchedArtifactDto.getState())).map(SearchedArtifactDto::getId).collect(Collectors.toList());
+        //Since contexts are not supported, the prefix matching all contexts is the same as no prefix
+        final String prefix = ALL_CONTEXTS_PREFIX.equals(subjectPrefix) ? null : subjectPrefix;
+        final int maxSubjects = cconfig.maxSubjects.get();
+        final int flimit = limit == null || limit < 0 ? maxSubjects : Math.min(limit, maxSubjects);
+        final int foffset = offset == null || offset < 0 ? 0 : offset;
+        return storage.getArtifactIds(groupId, prefix, CCOMPAT_MANAGED_TYPES, fdeleted ? null : ArtifactState.ENABLED, foffset, flimit);
     }
 
     @Override
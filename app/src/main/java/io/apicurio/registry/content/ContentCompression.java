@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.content;
+
+import io.apicurio.common.apps.config.Info;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Creates the gzip compressed copy of content that is stored next to the content, when enabled.  Clients
+ * accepting the gzip encoding are sent the stored copy as-is, so the content is compressed once when it is
+ * written rather than on every request.
+ */
+@ApplicationScoped
+public class ContentCompression {
+
+    public static final String GZIP = "gzip";
+
+    @ConfigProperty(name = "registry.storage.content.compression.enabled", defaultValue = "false")
+    @Info(category = "storage", description = "Store a gzip compressed copy of new content, sent as-is to clients accepting gzip", availableSince = "3.0.0")
+    boolean enabled;
+
+    @ConfigProperty(name = "registry.storage.content.compression.min-size", defaultValue = "1024")
+    @Info(category = "storage", description = "Minimum size (in bytes) of content for which a compressed copy is stored", availableSince = "3.0.0")
+    int minSize;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the gzip compressed copy of the content to store, or null if none should be stored because
+     * compression is disabled, or the content is too small or does not compress.
+     * @param content
+     */
+    public byte[] compress(byte[] content) {
+        if (!enabled || content.length < minSize) {
+            return null;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4);
+        // The content is compressed once, so favour the size over the compression time
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.size() < content.length ? compressed.toByteArray() : null;
+    }
+
+    /**
+     * Returns true if the Accept-Encoding request header allows a gzip encoded response.
+     * @param acceptEncoding may be null
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        Boolean any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (GZIP.equalsIgnoreCase(name) || "x-gzip".equalsIgnoreCase(name)) {
+                gzip = accepted;
+            } else if ("*".equals(name)) {
+                any = accepted;
+            }
+        }
+        // An explicit gzip coding takes precedence over the wildcard
+        return gzip != null ? gzip : Boolean.TRUE.equals(any);
+    }
+}
@@ -16,10 +16,7 @@
 
 package io.apicurio.registry.content;
 
-import io.apicurio.registry.utils.IoUtil;
-
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
@@ -51,8 +48,6 @@ public class ContentHandleMessageBodyWriter implements MessageBodyWriter<Content
         MultivaluedMap<String, Object> httpHeaders,
         OutputStream entityStream
     ) throws IOException, WebApplicationException {
-        try (InputStream stream = content.stream()) {
-            IoUtil.copy(stream, entityStream);
-        }
+        content.writeTo(entityStream);
     }
 }
\ No newline at end of file
@@ -16,11 +16,13 @@
 
 package io.apicurio.registry.downloads;
 
+import io.apicurio.common.apps.config.Info;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.types.Current;
 import io.quarkus.scheduler.Scheduled;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
 import java.time.Instant;
@@ -42,12 +44,26 @@ public class DownloadReaper {
     @Current
     RegistryStorage storage;
 
+    @Inject
+    DownloadService downloads;
+
+    @ConfigProperty(name = "registry.downloads.reaper.batch-size", defaultValue = "1000")
+    @Info(category = "download", description = "Maximum number of expired downloads deleted in a single transaction",
+            availableSince = "3.0.0")
+    int batchSize;
+
+    @ConfigProperty(name = "registry.downloads.reaper.max-batches", defaultValue = "10")
+    @Info(category = "download", description = "Maximum number of batches of expired downloads deleted by a run "
+            + "of the download reaper, the remaining ones are deleted by the next runs", availableSince = "3.0.0")
+    int maxBatches;
+
     /**
      * Minimal granularity is 1 minute.
      */
     @Scheduled(delay = 2, concurrentExecution = SKIP, every = "{registry.downloads.reaper.every}")
     void run() {
         try {
+            downloads.purgeConsumedTokens();
             if(storage.isReady()) {
                 if(!storage.isReadOnly()) {
                     log.debug("Running download reaper job at {}", Instant.now());
@@ -65,9 +81,19 @@ public class DownloadReaper {
     }
 
     /**
-     * Delete any rows in the "downloads" table that represent downloads that have expired.
+     * Delete the rows in the "downloads" table that represent downloads that have expired, in bounded batches.
      */
     void reap() {
-        storage.deleteAllExpiredDownloads();
+        int deleted = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int count = storage.deleteExpiredDownloads(batchSize);
+            deleted += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        if (deleted > 0) {
+            log.debug("Deleted {} expired download(s)", deleted);
+        }
     }
 }
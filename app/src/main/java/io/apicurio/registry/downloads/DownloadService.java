@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.downloads;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.exception.UnreachableCodeException;
+import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.dto.DownloadContextDto;
+import io.apicurio.registry.storage.error.DownloadNotFoundException;
+import io.apicurio.registry.types.Current;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates and consumes the single-use download links used by browser flows, such as /admin/export.
+ * <p>
+ * The download ID is a self-contained token, the download context signed with a key, so that nothing is written to
+ * the storage (or to the KafkaSQL journal) for a download.  Any node configured with the same key accepts the token.
+ * Without a configured key, each node generates its own, and only accepts the tokens it created.  Consumed tokens are
+ * remembered in memory until they expire, so a token can be used once on each node that accepts it.
+ * <p>
+ * Download contexts stored in the storage by previous versions can still be consumed.
+ *
+ * @see DownloadReaper
+ */
+@ApplicationScoped
+public class DownloadService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_LENGTH = 32;
+    private static final char SEPARATOR = '.';
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Inject
+    Logger log;
+
+    @Inject
+    @Current
+    RegistryStorage storage;
+
+    @ConfigProperty(name = "registry.downloads.signing-key")
+    @Info(category = "download", description = "Key used to sign the self-contained download links, at least "
+            + "32 characters long.  When set, it must be the same on all the nodes, and a link can then be used once "
+            + "on each node until it expires.  When not set, each node generates its own key, and a link can only "
+            + "be used once, on the node that created it", availableSince = "3.0.0")
+    Optional<String> signingKey;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Nonce of the consumed tokens, mapped to their expiration
+     */
+    private final Map<String, Long> consumedTokens = new ConcurrentHashMap<>();
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    void init() {
+        Optional<String> configuredKey = signingKey.filter(k -> !k.isBlank());
+        if (configuredKey.isPresent()) {
+            if (configuredKey.get().length() < MIN_KEY_LENGTH) {
+                throw new IllegalArgumentException("Illegal configuration value of 'registry.downloads.signing-key': "
+                        + "it must be at least " + MIN_KEY_LENGTH + " characters long");
+            }
+            key = new SecretKeySpec(configuredKey.get().getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        } else {
+            byte[] generatedKey = new byte[MIN_KEY_LENGTH];
+            new SecureRandom().nextBytes(generatedKey);
+            key = new SecretKeySpec(generatedKey, ALGORITHM);
+            log.debug("No download links signing key configured, download links are only valid on this node");
+        }
+    }
+
+    /**
+     * @return the ID of the single-use download
+     */
+    public String createDownload(DownloadContextDto context) {
+        ObjectNode payload = mapper.createObjectNode();
+        payload.put("nonce", UUID.randomUUID().toString());
+        payload.set("context", mapper.valueToTree(context));
+        try {
+            String encoded = ENCODER.encodeToString(mapper.writeValueAsBytes(payload));
+            return encoded + SEPARATOR + ENCODER.encodeToString(sign(encoded));
+        } catch (JsonProcessingException e) {
+            throw new UnreachableCodeException(e);
+        }
+    }
+
+    /**
+     * @throws DownloadNotFoundException if the download does not exist, has expired or has already been consumed
+     */
+    public DownloadContextDto consumeDownload(String downloadId) {
+        int separator = downloadId.indexOf(SEPARATOR);
+        if (separator < 0) {
+            // Stored download, created by a previous version
+            return storage.consumeDownload(downloadId);
+        }
+
+        String encoded = downloadId.substring(0, separator);
+        String nonce;
+        DownloadContextDto context;
+        try {
+            byte[] signature = DECODER.decode(downloadId.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(encoded), signature)) {
+                throw new DownloadNotFoundException();
+            }
+            JsonNode payload = mapper.readTree(DECODER.decode(encoded));
+            nonce = payload.get("nonce").asText();
+            context = mapper.treeToValue(payload.get("context"), DownloadContextDto.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new DownloadNotFoundException();
+        }
+
+        if (context.getExpires() <= System.currentTimeMillis()
+                || consumedTokens.putIfAbsent(nonce, context.getExpires()) != null) {
+            throw new DownloadNotFoundException();
+        }
+        return context;
+    }
+
+    /**
+     * Forget the consumed tokens that have expired, they are rejected anyway.
+     */
+    void purgeConsumedTokens() {
+        long now = System.currentTimeMillis();
+        consumedTokens.values().removeIf(expires -> expires <= now);
+    }
+
+    private byte[] sign(String data) {
+        try {
+            // Not thread safe, and cheap to create
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(data.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new UnreachableCodeException(e);
+        }
+    }
+}
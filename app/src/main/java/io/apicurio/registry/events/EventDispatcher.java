@@ -0,0 +1,234 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.registry.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_DROPPED;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_DROPPED_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_QUEUE_SIZE;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_QUEUE_SIZE_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_RETRIES;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_RETRIES_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_SENT;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_SENT_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_TAG_REASON;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_TAG_SINK;
+
+/**
+ * Sends the events of a sink in the background, so that the (event loop) thread triggering an event is never
+ * blocked by a slow or unavailable sink.
+ * <p>
+ * Events wait in a bounded queue, and are dropped when it is full.  A single thread takes them from the queue
+ * in batches, in order, and sends each batch with retries and exponential backoff.  A batch is sent again as a
+ * whole when it is retried, so a sink may receive an event more than once.
+ */
+public class EventDispatcher {
+
+    /**
+     * Sends a batch of events to a sink.
+     */
+    @FunctionalInterface
+    public interface BatchSender {
+
+        /**
+         * @return false if the sink rejected the batch, which must not be retried
+         * @throws Exception if sending the batch failed, and should be retried
+         */
+        boolean send(List<SinkEvent> batch) throws Exception;
+    }
+
+    static final String REASON_QUEUE_FULL = "queue_full";
+    static final String REASON_FAILED = "failed";
+    static final String REASON_REJECTED = "rejected";
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final String sinkName;
+    private final Logger log;
+    private final BatchSender sender;
+    private final int batchSize;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
+
+    private final BlockingQueue<SinkEvent> queue;
+    private final Thread worker;
+    private volatile boolean closed;
+    private volatile boolean overflowing;
+
+    private final Counter sent;
+    private final Counter retries;
+    private final Counter droppedQueueFull;
+    private final Counter droppedFailed;
+    private final Counter droppedRejected;
+
+    /**
+     * @param sinkName              name of the sink, used for logging and as a metrics tag
+     * @param queueCapacity         maximum number of events waiting to be sent
+     * @param batchSize             maximum number of events sent at once
+     * @param maxRetries            maximum number of times a batch is sent again after a failure
+     * @param retryBackoffMillis    time before the first retry, doubled for every following retry
+     * @param maxRetryBackoffMillis maximum time between two retries
+     */
+    public EventDispatcher(String sinkName, Logger log, MeterRegistry registry, BatchSender sender,
+                           int queueCapacity, int batchSize, int maxRetries,
+                           long retryBackoffMillis, long maxRetryBackoffMillis) {
+        this.sinkName = sinkName;
+        this.log = log;
+        this.sender = sender;
+        this.batchSize = batchSize;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder(EVENTS_QUEUE_SIZE, queue, BlockingQueue::size)
+                .description(EVENTS_QUEUE_SIZE_DESCRIPTION)
+                .tag(EVENTS_TAG_SINK, sinkName)
+                .register(registry);
+        sent = Counter.builder(EVENTS_SENT)
+                .description(EVENTS_SENT_DESCRIPTION)
+                .tag(EVENTS_TAG_SINK, sinkName)
+                .register(registry);
+        retries = Counter.builder(EVENTS_RETRIES)
+                .description(EVENTS_RETRIES_DESCRIPTION)
+                .tag(EVENTS_TAG_SINK, sinkName)
+                .register(registry);
+        droppedQueueFull = droppedCounter(registry, REASON_QUEUE_FULL);
+        droppedFailed = droppedCounter(registry, REASON_FAILED);
+        droppedRejected = droppedCounter(registry, REASON_REJECTED);
+
+        worker = new Thread(this::run, "registry-events-" + sinkName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private Counter droppedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder(EVENTS_DROPPED)
+                .description(EVENTS_DROPPED_DESCRIPTION)
+                .tag(EVENTS_TAG_SINK, sinkName)
+                .tag(EVENTS_TAG_REASON, reason)
+                .register(registry);
+    }
+
+    /**
+     * Queues the event to be sent, without blocking.
+     *
+     * @return false if the event has been dropped because the queue is full
+     */
+    public boolean dispatch(SinkEvent event) {
+        if (!closed && queue.offer(event)) {
+            if (overflowing) {
+                overflowing = false;
+            }
+            return true;
+        }
+        droppedQueueFull.increment();
+        // Log once per overflow, not for every dropped event
+        if (!overflowing) {
+            overflowing = true;
+            log.warn("The event queue of sink {} is full, dropping events", sinkName);
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of events waiting to be sent
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting events, and waits for the queued events to be sent for at most the given time.
+     * Events that have not been sent by then are dropped.
+     */
+    public void close(long timeoutMillis) {
+        closed = true;
+        try {
+            worker.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker.interrupt();
+        int remaining = queue.size();
+        if (remaining > 0) {
+            log.warn("Dropping {} event(s) of sink {} on shutdown", remaining, sinkName);
+            droppedFailed.increment(remaining);
+            queue.clear();
+        }
+    }
+
+    private void run() {
+        List<SinkEvent> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                SinkEvent event = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    continue;
+                }
+                batch.add(event);
+                queue.drainTo(batch, batchSize - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                droppedFailed.increment(batch.size());
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<SinkEvent> batch) throws InterruptedException {
+        long backoffMillis = retryBackoffMillis;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                if (sender.send(batch)) {
+                    sent.increment(batch.size());
+                } else {
+                    droppedRejected.increment(batch.size());
+                }
+                return;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                // Retries are abandoned on shutdown, so that the remaining events can still be sent
+                if (attempt >= maxRetries || closed) {
+                    log.error("Failed to send {} event(s) to sink {}, dropping them", batch.size(), sinkName, e);
+                    droppedFailed.increment(batch.size());
+                    return;
+                }
+                log.warn("Failed to send {} event(s) to sink {}, retrying in {} ms: {}", batch.size(), sinkName,
+                        backoffMillis, e.getMessage());
+                retries.increment();
+                // Jitter, so that the nodes of a cluster do not retry at the same time
+                Thread.sleep(backoffMillis / 2 + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1));
+                backoffMillis = Math.min(backoffMillis * 2, maxRetryBackoffMillis);
+            }
+        }
+    }
+}
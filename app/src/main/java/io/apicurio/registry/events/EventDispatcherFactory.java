@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.registry.events;
+
+import io.apicurio.common.apps.config.Info;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+/**
+ * Creates the {@link EventDispatcher} of event sinks, configured with the registry.events.dispatcher.* properties.
+ */
+@ApplicationScoped
+public class EventDispatcherFactory {
+
+    @Inject
+    Logger log;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "registry.events.dispatcher.queue-capacity", defaultValue = "10000")
+    @Info(category = "events", description = "Maximum number of events waiting to be sent to an event sink, "
+            + "further events are dropped", availableSince = "3.0.0")
+    int queueCapacity;
+
+    @ConfigProperty(name = "registry.events.dispatcher.batch-size", defaultValue = "100")
+    @Info(category = "events", description = "Maximum number of events sent at once to an event sink", availableSince = "3.0.0")
+    int batchSize;
+
+    @ConfigProperty(name = "registry.events.dispatcher.max-retries", defaultValue = "5")
+    @Info(category = "events", description = "Maximum number of times sending events to an event sink is retried "
+            + "before they are dropped", availableSince = "3.0.0")
+    int maxRetries;
+
+    @ConfigProperty(name = "registry.events.dispatcher.retry-backoff", defaultValue = "500")
+    @Info(category = "events", description = "Time (in milliseconds) before sending events to an event sink is retried "
+            + "for the first time, doubled for every following retry", availableSince = "3.0.0")
+    long retryBackoff;
+
+    @ConfigProperty(name = "registry.events.dispatcher.max-retry-backoff", defaultValue = "30000")
+    @Info(category = "events", description = "Maximum time (in milliseconds) between two retries of sending events "
+            + "to an event sink", availableSince = "3.0.0")
+    long maxRetryBackoff;
+
+    @ConfigProperty(name = "registry.events.dispatcher.send-timeout", defaultValue = "10000")
+    @Info(category = "events", description = "Time (in milliseconds) after which sending events to an event sink "
+            + "fails and is retried", availableSince = "3.0.0")
+    long sendTimeout;
+
+    @ConfigProperty(name = "registry.events.dispatcher.shutdown-timeout", defaultValue = "5000")
+    @Info(category = "events", description = "Time (in milliseconds) to wait on shutdown for the queued events "
+            + "to be sent", availableSince = "3.0.0")
+    long shutdownTimeout;
+
+    /**
+     * @param batchSize maximum number of events the sender accepts at once, capped by the configured batch size
+     */
+    public EventDispatcher create(String sinkName, int batchSize, EventDispatcher.BatchSender sender) {
+        return new EventDispatcher(sinkName, log, registry, sender, queueCapacity,
+                Math.max(1, Math.min(batchSize, this.batchSize)), maxRetries, retryBackoff, maxRetryBackoff);
+    }
+
+    public EventDispatcher create(String sinkName, EventDispatcher.BatchSender sender) {
+        return create(sinkName, batchSize, sender);
+    }
+
+    public long getSendTimeout() {
+        return sendTimeout;
+    }
+
+    public long getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+}
@@ -15,6 +15,9 @@
  */
 package io.apicurio.registry.events;
 
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.events.dto.ArtifactId;
 import io.apicurio.registry.events.dto.ArtifactRuleChange;
@@ -28,6 +31,11 @@ import io.apicurio.registry.storage.error.*;
 import io.apicurio.registry.types.ArtifactState;
 import io.apicurio.registry.types.RuleType;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.Transactional;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import org.slf4j.Logger;
 
 import java.util.HashMap;
@@ -35,6 +43,13 @@ import java.util.List;
 import java.util.Optional;
 
 /**
+ * Fires a registry event for every change to the storage.
+ * <p>
+ * By default, the events are sent to the configured event sinks once the transaction of the change has been
+ * committed, and are lost if the node stops before sending them.  When the outbox is enabled, the events
+ * are instead stored in the outbox, in the transaction of the change, and the {@link OutboxRelay} sends them
+ * to the sinks.  The outbox also backs the change feed of the REST API.
+ *
  * @author Fabian Martinez
  */
 @ApplicationScoped
@@ -44,16 +59,60 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
 
     final EventsService eventsService;
 
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    private final ObjectMapper mapper;
+
     // Need to have an eager evaluation of the EventsService implementation
     EventSourcedRegistryStorage(EventsService eventService, Logger log) {
         this.log = log;
         this.eventsService = eventService;
+        this.mapper = new ObjectMapper();
+        this.mapper.setSerializationInclusion(Include.NON_NULL);
     }
 
     private void fireEvent(RegistryEventType type, String artifactId, Object data, Throwable error) {
         if (error == null && data != null) {
-            eventsService.triggerEvent(type, Optional.ofNullable(artifactId), data);
+            if (eventsService.isOutboxEnabled()) {
+                storeOutboxEvent(type, data);
+            } else if (transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+                // Do not announce a change that may still be rolled back
+                transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                    @Override
+                    public void beforeCompletion() {
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == Status.STATUS_COMMITTED) {
+                            eventsService.triggerEvent(type, Optional.ofNullable(artifactId), data);
+                        }
+                    }
+                });
+            } else {
+                eventsService.triggerEvent(type, Optional.ofNullable(artifactId), data);
+            }
+        }
+    }
+
+    private void storeOutboxEvent(RegistryEventType type, Object data) {
+        OutboxEventDto.OutboxEventDtoBuilder event = OutboxEventDto.builder()
+                .eventType(type.name())
+                .createdOn(System.currentTimeMillis());
+        if (data instanceof ArtifactId) {
+            ArtifactId id = (ArtifactId) data;
+            event.groupId(id.getGroupId()).artifactId(id.getArtifactId()).version(id.getVersion());
+        } else if (data instanceof ArtifactStateChange) {
+            ArtifactStateChange change = (ArtifactStateChange) data;
+            event.groupId(change.getGroupId()).artifactId(change.getArtifactId()).version(change.getVersion());
+        }
+        try {
+            event.payload(mapper.writeValueAsString(data));
+        } catch (JsonProcessingException e) {
+            throw new RegistryStorageException(e);
         }
+        delegate.createOutboxEvent(event.build());
     }
 
     /**
@@ -64,8 +123,9 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
         if (!eventsService.isReady()) {
             throw new RuntimeException("Events Service not configured, please report this as a bug.");
         }
-        log.info("Events service is configured: " + eventsService.isConfigured());
-        return eventsService.isConfigured();
+        log.info("Events service is configured: " + eventsService.isConfigured()
+                + ", outbox enabled: " + eventsService.isOutboxEnabled());
+        return eventsService.isOutboxEnabled() || eventsService.isConfigured();
     }
 
     /**
@@ -77,6 +137,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public void updateArtifactState(String groupId, String artifactId, ArtifactState state) throws ArtifactNotFoundException, RegistryStorageException {
         delegate.updateArtifactState(groupId, artifactId, state);
         ArtifactStateChange data = new ArtifactStateChange();
@@ -87,6 +148,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public void updateArtifactState(String groupId, String artifactId, String version, ArtifactState state)
             throws ArtifactNotFoundException, VersionNotFoundException, RegistryStorageException {
         delegate.updateArtifactState(groupId, artifactId, version, state);
@@ -99,6 +161,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public ArtifactMetaDataDto createArtifact(String groupId, String artifactId,
                                               String version, String artifactType, ContentHandle content, List<ArtifactReferenceDto> references)
             throws ArtifactAlreadyExistsException, RegistryStorageException {
@@ -116,6 +179,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
      * @see io.apicurio.registry.storage.RegistryStorage#createArtifactWithMetadata (java.lang.String, java.lang.String, java.lang.String, java.lang.String, io.apicurio.registry.content.ContentHandle, io.apicurio.registry.delegate.dto.EditableArtifactMetaDataDto)
      */
     @Override
+    @Transactional
     public ArtifactMetaDataDto createArtifactWithMetadata(String groupId, String artifactId, String version,
                                                           String artifactType, ContentHandle content, EditableArtifactMetaDataDto metaData, List<ArtifactReferenceDto> references) throws ArtifactAlreadyExistsException, RegistryStorageException {
         ArtifactMetaDataDto meta = delegate.createArtifactWithMetadata(groupId, artifactId, version, artifactType, content, metaData, references);
@@ -129,6 +193,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public List<String> deleteArtifact(String groupId, String artifactId) throws ArtifactNotFoundException, RegistryStorageException {
         List<String> set = delegate.deleteArtifact(groupId, artifactId);
         ArtifactId data = new ArtifactId();
@@ -139,6 +204,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public void deleteArtifacts(String groupId) throws RegistryStorageException {
         delegate.deleteArtifacts(groupId);
         ArtifactId data = new ArtifactId();
@@ -147,6 +213,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public ArtifactMetaDataDto updateArtifact(String groupId, String artifactId, String version, String artifactType, ContentHandle content, List<ArtifactReferenceDto> references)
             throws ArtifactNotFoundException, RegistryStorageException {
         ArtifactMetaDataDto meta = delegate.updateArtifact(groupId, artifactId, version, artifactType, content, references);
@@ -160,6 +227,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public ArtifactMetaDataDto updateArtifactWithMetadata(String groupId, String artifactId, String version, String artifactType, ContentHandle content,
                                                           EditableArtifactMetaDataDto metaData, List<ArtifactReferenceDto> references) throws ArtifactNotFoundException, RegistryStorageException {
         ArtifactMetaDataDto meta = delegate.updateArtifactWithMetadata(groupId, artifactId, version, artifactType, content, metaData, references);
@@ -177,6 +245,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
      * @see io.apicurio.registry.storage.RegistryStorage#createArtifactRule(java.lang.String, java.lang.String, io.apicurio.registry.types.RuleType, io.apicurio.registry.storage.dto.RuleConfigurationDto)
      */
     @Override
+    @Transactional
     public void createArtifactRule(String groupId, String artifactId, RuleType rule, RuleConfigurationDto config)
             throws ArtifactNotFoundException, RuleAlreadyExistsException, RegistryStorageException {
         delegate.createArtifactRule(groupId, artifactId, rule, config);
@@ -188,6 +257,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public void deleteArtifactRules(String groupId, String artifactId) throws ArtifactNotFoundException, RegistryStorageException {
         delegate.deleteArtifactRules(groupId, artifactId);
         ArtifactRuleChange data = new ArtifactRuleChange();
@@ -197,6 +267,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public void updateArtifactRule(String groupId, String artifactId, RuleType rule, RuleConfigurationDto config)
             throws ArtifactNotFoundException, RuleNotFoundException, RegistryStorageException {
         delegate.updateArtifactRule(groupId, artifactId, rule, config);
@@ -208,6 +279,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public void deleteArtifactRule(String groupId, String artifactId, RuleType rule) throws ArtifactNotFoundException, RuleNotFoundException, RegistryStorageException {
         delegate.deleteArtifactRule(groupId, artifactId, rule);
         ArtifactRuleChange data = new ArtifactRuleChange();
@@ -218,6 +290,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public void deleteArtifactVersion(String groupId, String artifactId, String version) throws ArtifactNotFoundException, VersionNotFoundException, RegistryStorageException {
         delegate.deleteArtifactVersion(groupId, artifactId, version);
         ArtifactId data = new ArtifactId();
@@ -228,6 +301,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public void createGlobalRule(RuleType rule, RuleConfigurationDto config) throws RuleAlreadyExistsException, RegistryStorageException {
         delegate.createGlobalRule(rule, config);
         ArtifactRuleChange data = new ArtifactRuleChange();
@@ -236,12 +310,14 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public void deleteGlobalRules() throws RegistryStorageException {
         delegate.deleteGlobalRules();
         fireEvent(RegistryEventType.ALL_GLOBAL_RULES_DELETED, null, new HashMap<String, Object>(), null);
     }
 
     @Override
+    @Transactional
     public void updateGlobalRule(RuleType rule, RuleConfigurationDto config) throws RuleNotFoundException, RegistryStorageException {
         delegate.updateGlobalRule(rule, config);
         ArtifactRuleChange data = new ArtifactRuleChange();
@@ -250,6 +326,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
     }
 
     @Override
+    @Transactional
     public void deleteGlobalRule(RuleType rule) throws RuleNotFoundException, RegistryStorageException {
         delegate.deleteGlobalRule(rule);
         ArtifactRuleChange data = new ArtifactRuleChange();
@@ -261,6 +338,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
      * @see io.apicurio.registry.storage.RegistryStorage#createGroup(io.apicurio.registry.storage.dto.GroupMetaDataDto)
      */
     @Override
+    @Transactional
     public void createGroup(GroupMetaDataDto group) throws GroupAlreadyExistsException, RegistryStorageException {
         delegate.createGroup(group);
         ArtifactId data = new ArtifactId();
@@ -272,6 +350,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
      * @see io.apicurio.registry.storage.RegistryStorage#updateGroupMetaData(io.apicurio.registry.storage.dto.GroupMetaDataDto)
      */
     @Override
+    @Transactional
     public void updateGroupMetaData(GroupMetaDataDto group) throws GroupNotFoundException, RegistryStorageException {
         delegate.updateGroupMetaData(group);
         ArtifactId data = new ArtifactId();
@@ -283,6 +362,7 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecoratorBase im
      * @see io.apicurio.registry.storage.RegistryStorage#deleteGroup(java.lang.String)
      */
     @Override
+    @Transactional
     public void deleteGroup(String groupId) throws GroupNotFoundException, RegistryStorageException {
         delegate.deleteGroup(groupId);
         ArtifactId data = new ArtifactId();
@@ -28,6 +28,16 @@ public interface EventsService {
 
     boolean isConfigured();
 
+    /**
+     * @return true if events are stored in the outbox, and relayed to the sinks from there
+     */
+    boolean isOutboxEnabled();
+
     void triggerEvent(RegistryEventType type, Optional<String> artifactId, Object data);
 
+    /**
+     * Sends an event whose data has already been serialized to JSON, e.g. an event relayed from the outbox.
+     */
+    void triggerSerializedEvent(RegistryEventType type, Optional<String> artifactId, byte[] data);
+
 }
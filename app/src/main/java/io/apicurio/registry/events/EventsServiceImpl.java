@@ -18,6 +18,7 @@ package io.apicurio.registry.events;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.apicurio.common.apps.config.Info;
 import io.apicurio.registry.events.dto.RegistryEventType;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
@@ -26,6 +27,7 @@ import io.vertx.core.eventbus.EventBus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
 import jakarta.annotation.PostConstruct;
@@ -55,6 +57,13 @@ public class EventsServiceImpl implements EventsService {
     @Inject
     Instance<EventSink> sinks;
 
+    @ConfigProperty(name = "registry.events.outbox.enabled", defaultValue = "false")
+    @Info(category = "events", description = "Store registry events in an outbox table, in the same transaction "
+            + "as the change they describe, and relay them to the event sinks from there. "
+            + "Required by the change feed.  Not supported by the KafkaSQL storage, where each node would "
+            + "have its own outbox.", availableSince = "3.0.0")
+    boolean outboxEnabled;
+
     @PostConstruct
     public void init() {
         for (EventSink sink : sinks) {
@@ -77,16 +86,29 @@ public class EventsServiceImpl implements EventsService {
         return configuredSinks;
     }
 
+    @Override
+    public boolean isOutboxEnabled() {
+        return outboxEnabled;
+    }
+
     @Override
     public void triggerEvent(RegistryEventType type, Optional<String> artifactId, Object data) {
         if (configuredSinks && data != null) {
-            Buffer buffer;
+            byte[] bytes;
             try {
-                buffer = Buffer.buffer(getMapper().writeValueAsBytes(data));
+                bytes = getMapper().writeValueAsBytes(data);
             } catch (JsonProcessingException e) {
                 log.error("Error serializing event data", e);
                 return;
             }
+            triggerSerializedEvent(type, artifactId, bytes);
+        }
+    }
+
+    @Override
+    public void triggerSerializedEvent(RegistryEventType type, Optional<String> artifactId, byte[] data) {
+        if (configuredSinks && data != null) {
+            Buffer buffer = Buffer.buffer(data);
             DeliveryOptions opts = new DeliveryOptions()
                     .addHeader("type", type.cloudEventType());
             if (artifactId.isPresent()) {
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.registry.events;
+
+import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.events.dto.RegistryEventType;
+import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.dto.OutboxEventDto;
+import io.apicurio.registry.types.Current;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static io.quarkus.scheduler.Scheduled.ConcurrentExecution.SKIP;
+
+/**
+ * Periodically sends the events stored in the outbox to the event sinks, in batches and in order, and deletes
+ * the events that are older than the retention period.
+ * <p>
+ * Each batch is claimed in the storage before it is sent, so that a batch is sent by a single node.  Events
+ * are claimed even when no sink is configured (the outbox then only backs the change feed), so that they
+ * can be deleted.
+ */
+@ApplicationScoped
+public class OutboxRelay {
+
+    @Inject
+    Logger log;
+
+    @Inject
+    @Current
+    RegistryStorage storage;
+
+    @Inject
+    EventsService eventsService;
+
+    @ConfigProperty(name = "registry.events.outbox.relay.batch-size", defaultValue = "100")
+    @Info(category = "events", description = "Number of outbox events claimed and sent to the event sinks at once",
+            availableSince = "3.0.0")
+    int batchSize;
+
+    @ConfigProperty(name = "registry.events.outbox.retention", defaultValue = "24h")
+    @Info(category = "events", description = "How long events are kept in the outbox after they have been sent, "
+            + "which bounds how far behind a client of the change feed can be", availableSince = "3.0.0")
+    Duration retention;
+
+    @Scheduled(delay = 2, concurrentExecution = SKIP, every = "{registry.events.outbox.relay.every}")
+    void run() {
+        if (!eventsService.isOutboxEnabled()) {
+            return;
+        }
+        try {
+            if (storage.isReady()) {
+                if (!storage.isReadOnly()) {
+                    log.debug("Running outbox relay job");
+                    relay();
+                    purge();
+                } else {
+                    log.debug("Skipping outbox relay job because the storage is in read-only mode.");
+                }
+            } else {
+                log.debug("Skipping outbox relay job because the storage is not ready.");
+            }
+        } catch (Exception ex) {
+            log.error("Exception thrown when running outbox relay job", ex);
+        }
+    }
+
+    /**
+     * Send all events that have not been sent yet.
+     */
+    void relay() {
+        List<OutboxEventDto> batch;
+        do {
+            batch = storage.claimOutboxEvents(batchSize);
+            for (OutboxEventDto event : batch) {
+                // Same key as when the event is sent directly, the group of group level events
+                String key = event.getArtifactId() != null ? event.getArtifactId() : event.getGroupId();
+                eventsService.triggerSerializedEvent(RegistryEventType.valueOf(event.getEventType()),
+                        Optional.ofNullable(key), event.getPayload().getBytes(StandardCharsets.UTF_8));
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Delete the events that have been sent and are older than the retention period.
+     */
+    void purge() {
+        int deleted = storage.deleteOutboxEvents(System.currentTimeMillis() - retention.toMillis());
+        if (deleted > 0) {
+            log.debug("Deleted {} event(s) from the outbox", deleted);
+        }
+    }
+}
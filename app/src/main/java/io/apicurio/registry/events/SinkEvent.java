@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.registry.events;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.Message;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An event waiting to be sent to an event sink.  The CloudEvents ID and time are assigned when the event is
+ * received, so that they do not change when sending it is retried.
+ */
+public class SinkEvent {
+
+    private final String id;
+    private final String type;
+    private final String artifactId;
+    private final Instant time;
+    private final byte[] data;
+
+    public SinkEvent(String id, String type, String artifactId, Instant time, byte[] data) {
+        this.id = id;
+        this.type = type;
+        this.artifactId = artifactId;
+        this.time = time;
+        this.data = data;
+    }
+
+    public static SinkEvent fromMessage(Message<Buffer> message) {
+        return new SinkEvent(UUID.randomUUID().toString(), message.headers().get("type"),
+                message.headers().get("artifactId"), Instant.now(), message.body().getBytes());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return the artifactId of artifact related events, or null
+     */
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public Instant getTime() {
+        return time;
+    }
+
+    /**
+     * @return the JSON serialized event data
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return "SinkEvent [id=" + id + ", type=" + type + ", artifactId=" + artifactId + "]";
+    }
+}
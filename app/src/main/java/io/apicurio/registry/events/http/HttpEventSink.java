@@ -15,34 +15,82 @@
  */
 package io.apicurio.registry.events.http;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.events.EventDispatcher;
+import io.apicurio.registry.events.EventDispatcherFactory;
 import io.apicurio.registry.events.EventSink;
+import io.apicurio.registry.events.SinkEvent;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
+ * Sends events to HTTP endpoints, in the CloudEvents binary content mode or, if enabled, in the batched
+ * content mode.  Each endpoint has its own {@link EventDispatcher}, so that a slow endpoint does not delay
+ * the events of the others.
+ *
  * @author Fabian Martinez
  */
 @ApplicationScoped
 public class HttpEventSink implements EventSink {
 
+    private static final String CLOUDEVENTS_BATCH_CONTENT_TYPE = "application/cloudevents-batch+json";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private HttpClient httpClient;
 
+    private final List<EventDispatcher> dispatchers = new ArrayList<>();
+
     @Inject
     Logger log;
 
     @Inject
     HttpSinksConfiguration sinksConfiguration;
 
+    @Inject
+    EventDispatcherFactory dispatcherFactory;
+
+    @ConfigProperty(name = "registry.events.http.batch-mode.enabled", defaultValue = "false")
+    @Info(category = "events", description = "Send events to HTTP sinks in batches, using the CloudEvents batched content mode", availableSince = "3.0.0")
+    boolean batchModeEnabled;
+
+    @PostConstruct
+    void init() {
+        if (isConfigured()) {
+            // Without the batched content mode, a request contains a single event
+            int batchSize = batchModeEnabled ? Integer.MAX_VALUE : 1;
+            for (HttpSinkConfiguration httpSink : sinksConfiguration.httpSinks()) {
+                dispatchers.add(dispatcherFactory.create(httpSink.getName(), batchSize,
+                        batch -> sendEventsHttp(httpSink, batch)));
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        dispatchers.forEach(dispatcher -> dispatcher.close(dispatcherFactory.getShutdownTimeout()));
+    }
+
     @Override
     public String name() {
         return "HTTP Sink";
@@ -55,43 +103,78 @@ public class HttpEventSink implements EventSink {
 
     @Override
     public void handle(Message<Buffer> message) {
+        SinkEvent event = SinkEvent.fromMessage(message);
 
-        String type = message.headers().get("type");
+        log.debug("Firing event " + event.getType());
 
-        log.info("Firing event " + type);
-
-        for (HttpSinkConfiguration httpSink : sinksConfiguration.httpSinks()) {
-            sendEventHttp(type, httpSink, message.body());
+        for (EventDispatcher dispatcher : dispatchers) {
+            dispatcher.dispatch(event);
         }
 
     }
 
-    private void sendEventHttp(String type, HttpSinkConfiguration httpSink, Buffer data) {
-        try {
-            log.debug("Sending event to sink " + httpSink.getName());
-
-            final HttpRequest eventRequest = HttpRequest.newBuilder()
-                    .uri(URI.create(httpSink.getEndpoint()))
-                    .version(HttpClient.Version.HTTP_1_1)
-                    .header("ce-id", UUID.randomUUID().toString())
+    private boolean sendEventsHttp(HttpSinkConfiguration httpSink, List<SinkEvent> events) throws Exception {
+        log.debug("Sending {} event(s) to sink {}", events.size(), httpSink.getName());
+
+        HttpRequest.Builder eventRequest = HttpRequest.newBuilder()
+                .uri(URI.create(httpSink.getEndpoint()))
+                .version(HttpClient.Version.HTTP_1_1)
+                .timeout(Duration.ofMillis(dispatcherFactory.getSendTimeout()));
+
+        if (batchModeEnabled) {
+            eventRequest
+                    .header("content-type", CLOUDEVENTS_BATCH_CONTENT_TYPE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(toBatch(events)));
+        } else {
+            SinkEvent event = events.get(0);
+            eventRequest
+                    .header("ce-id", event.getId())
                     .header("ce-specversion", "1.0")
                     .header("ce-source", "apicurio-registry")
-                    .header("ce-type", type)
+                    .header("ce-type", event.getType())
+                    .header("ce-time", event.getTime().toString())
                     .header("content-type", MediaType.APPLICATION_JSON)
-                    .POST(HttpRequest.BodyPublishers.ofByteArray(data.getBytes()))
-                    .build();
-
-            final HttpResponse<String> eventResponse = getHttpClient()
-                    .send(eventRequest, HttpResponse.BodyHandlers.ofString());
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(event.getData()));
+        }
 
-            if (eventResponse.statusCode() != 200) {
-                log.warn("Error sending http event: {}", eventResponse.body());
-            }
+        final HttpResponse<String> eventResponse = getHttpClient()
+                .send(eventRequest.build(), HttpResponse.BodyHandlers.ofString());
 
+        int status = eventResponse.statusCode();
+        if (status >= 200 && status < 300) {
+            return true;
+        }
+        if (status == 429 || status >= 500) {
+            throw new IOException("Sink responded with status " + status + ": " + eventResponse.body());
+        }
+        log.warn("Error sending http event, sink {} responded with status {}: {}", httpSink.getName(), status,
+                eventResponse.body());
+        return false;
+    }
 
-        } catch (Exception e) {
-            log.error("Error sending http event", e);
+    /**
+     * Serializes the events as a JSON array of CloudEvents in the structured content mode.  The event data is
+     * already serialized as JSON, and is embedded as is.
+     */
+    private static byte[] toBatch(List<SinkEvent> events) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartArray();
+            for (SinkEvent event : events) {
+                generator.writeStartObject();
+                generator.writeStringField("specversion", "1.0");
+                generator.writeStringField("id", event.getId());
+                generator.writeStringField("source", "apicurio-registry");
+                generator.writeStringField("type", event.getType());
+                generator.writeStringField("time", event.getTime().toString());
+                generator.writeStringField("datacontenttype", MediaType.APPLICATION_JSON);
+                generator.writeFieldName("data");
+                generator.writeRawValue(new String(event.getData(), StandardCharsets.UTF_8));
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
         }
+        return out.toByteArray();
     }
 
     private synchronized HttpClient getHttpClient() {
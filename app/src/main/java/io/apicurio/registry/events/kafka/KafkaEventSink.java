@@ -15,22 +15,30 @@
  */
 package io.apicurio.registry.events.kafka;
 
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.apache.kafka.common.serialization.Serdes;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.events.EventDispatcher;
+import io.apicurio.registry.events.EventDispatcherFactory;
 import io.apicurio.registry.events.EventSink;
+import io.apicurio.registry.events.SinkEvent;
 import io.apicurio.registry.utils.RegistryProperties;
 import io.apicurio.registry.utils.kafka.AsyncProducer;
 import io.apicurio.registry.utils.kafka.ProducerActions;
@@ -38,11 +46,22 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
 
 /**
+ * Sends events to a Kafka topic.  The events are sent by an {@link EventDispatcher}, so that the event loop
+ * is not blocked while the producer fetches metadata or its buffer is full.  All the events of a batch are
+ * handed to the producer before waiting for any of them, so that the producer can batch them.
+ * <p>
+ * The events are delivered at least once: if any event of a batch fails, the whole batch is retried, so the
+ * events of the batch that were sent are sent again.  Consumers of the topic must tolerate duplicates, e.g. by
+ * the ce_id header of the event.
+ *
  * @author Fabian Martinez
  */
 @ApplicationScoped
 public class KafkaEventSink implements EventSink {
 
+    // Gives the producer time to batch the events of a dispatched batch, unless configured otherwise
+    private static final String DEFAULT_LINGER_MS = "10";
+
     @Inject
     Logger log;
 
@@ -53,8 +72,12 @@ public class KafkaEventSink implements EventSink {
     )
     Properties producerProperties;
 
+    @Inject
+    EventDispatcherFactory dispatcherFactory;
+
     private ProducerActions<String, byte[]> producer;
     private Integer partition;
+    private EventDispatcher dispatcher;
 
     @ConfigProperty(name = "registry.events.kafka.topic")
     @Info(category = "kafka", description = "Events Kafka topic", availableSince = "2.0.0.Final")
@@ -67,6 +90,26 @@ public class KafkaEventSink implements EventSink {
     @PostConstruct
     void init() {
         partition = eventsTopicPartition.orElse(null);
+        if (isConfigured()) {
+            producerProperties.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, DEFAULT_LINGER_MS);
+            dispatcher = dispatcherFactory.create("kafka", this::send);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (dispatcher != null) {
+            dispatcher.close(dispatcherFactory.getShutdownTimeout());
+        }
+        synchronized (this) {
+            if (producer != null) {
+                try {
+                    producer.close();
+                } catch (Exception e) {
+                    log.warn("Error closing the events producer", e);
+                }
+            }
+        }
     }
 
     @Override
@@ -81,35 +124,44 @@ public class KafkaEventSink implements EventSink {
 
     @Override
     public void handle(Message<Buffer> message) {
-        String type = message.headers().get("type");
-        String artifactId = message.headers().get("artifactId");
+        SinkEvent event = SinkEvent.fromMessage(message);
 
-        log.info("Firing event " + type);
+        log.debug("Firing event " + event.getType());
 
-        UUID uuid = UUID.randomUUID();
+        dispatcher.dispatch(event);
+    }
 
+    private boolean send(List<SinkEvent> events) throws Exception {
+        List<CompletableFuture<RecordMetadata>> results = new ArrayList<>(events.size());
+        for (SinkEvent event : events) {
+            results.add(getProducer().apply(toRecord(event)));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                .get(dispatcherFactory.getSendTimeout(), TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    private ProducerRecord<String, byte[]> toRecord(SinkEvent event) {
         Headers headers = new RecordHeaders();
-        headers.add("ce_id", uuid.toString().getBytes());
+        headers.add("ce_id", event.getId().getBytes());
         headers.add("ce_specversion", "1.0".getBytes());
         headers.add("ce_source", "apicurio-registry".getBytes());
-        headers.add("ce_type", type.getBytes());
-        headers.add("ce_time", Instant.now().toString().getBytes());
+        headers.add("ce_type", event.getType().getBytes());
+        headers.add("ce_time", event.getTime().toString().getBytes());
         headers.add("content-type", "application/json".getBytes());
 
         //for artifact related operations message key will be the artifactId which will place all messages for an artifact in the same topic
-        String key = artifactId;
+        String key = event.getArtifactId();
         if (key == null) {
-            key = uuid.toString();
+            key = event.getId();
         }
 
-        getProducer()
-            .apply(new ProducerRecord<String, byte[]>(
-                    eventsTopic.get(),
-                    partition, //partition is optional and can be null
-                    key,
-                    message.body().getBytes(),
-                    headers));
-
+        return new ProducerRecord<String, byte[]>(
+                eventsTopic.get(),
+                partition, //partition is optional and can be null
+                key,
+                event.getData(),
+                headers);
     }
 
     public synchronized ProducerActions<String, byte[]> getProducer() {
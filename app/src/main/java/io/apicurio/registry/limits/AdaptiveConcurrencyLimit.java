@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.limits;
+
+/**
+ * Limits the number of concurrent requests, adapting the limit to how the registry copes with the load
+ * (additive increase, multiplicative decrease). The limit grows slowly while requests complete within the
+ * latency threshold, and shrinks quickly when they are slower or fail with a server error, which is the sign
+ * that a shared resource (e.g. the database connection pool) is saturated.
+ * <p>
+ * The limit is decreased at most once per sampling window: the requests that started before the last decrease
+ * were admitted under the previous limit, so their latency says nothing about the decreased limit.  A burst of
+ * slow requests then decreases the limit once, rather than once per request.
+ */
+class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+
+    private double limit;
+    private int inFlight;
+
+    // Whether the limit has been decreased yet
+    private boolean decreased;
+    // Start of the current sampling window, i.e. time of the last decrease
+    private long windowStartNanos;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * @return true if the request can be executed, in which case {@link #release(long, long, boolean)} must be
+     * called once it completes
+     */
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * @param startNanos start of the completed request, from {@link System#nanoTime()}
+     * @param endNanos   end of the completed request, from {@link System#nanoTime()}
+     * @param failed     whether the request failed because the registry is overloaded
+     */
+    synchronized void release(long startNanos, long endNanos, boolean failed) {
+        inFlight--;
+        if (failed || endNanos - startNanos > latencyThresholdNanos) {
+            if (!decreased || startNanos - windowStartNanos >= 0) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                decreased = true;
+                windowStartNanos = endNanos;
+            }
+        } else if (inFlight + 1 >= limit / 2) {
+            // Only grow the limit when it is actually used
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.limits;
+
+import io.apicurio.registry.types.RegistryException;
+
+/**
+ * Thrown when a request is rejected by the {@link RequestRateLimiter}, the client should retry it later.
+ */
+public class RateLimitExceededException extends RegistryException {
+
+    private static final long serialVersionUID = 3317415367931402914L;
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return the number of seconds after which the request can be retried
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -79,10 +79,8 @@ public class RegistryStorageLimitsEnforcer extends RegistryStorageDecoratorBase
                                               String version, String artifactType, ContentHandle content, List<ArtifactReferenceDto> references)
             throws ArtifactAlreadyExistsException, RegistryStorageException {
 
-        ArtifactMetaDataDto dto = withLimitsCheck(() -> limitsService.canCreateArtifact(null, content))
+        return withLimitsCheck(() -> limitsService.canCreateArtifact(null, content))
                 .execute(() -> super.createArtifact(groupId, artifactId, version, artifactType, content, references));
-        limitsService.artifactCreated();
-        return dto;
     }
 
     /**
@@ -94,10 +92,8 @@ public class RegistryStorageLimitsEnforcer extends RegistryStorageDecoratorBase
                                                           EditableArtifactMetaDataDto metaData, List<ArtifactReferenceDto> references)
             throws ArtifactAlreadyExistsException, RegistryStorageException {
 
-        ArtifactMetaDataDto dto = withLimitsCheck(() -> limitsService.canCreateArtifact(metaData, content))
+        return withLimitsCheck(() -> limitsService.canCreateArtifact(metaData, content))
                 .execute(() -> super.createArtifactWithMetadata(groupId, artifactId, version, artifactType, content, metaData, references));
-        limitsService.artifactCreated();
-        return dto;
     }
 
     /**
@@ -108,10 +104,8 @@ public class RegistryStorageLimitsEnforcer extends RegistryStorageDecoratorBase
                                               String version, String artifactType, ContentHandle content, List<ArtifactReferenceDto> references)
             throws ArtifactNotFoundException, RegistryStorageException {
 
-        ArtifactMetaDataDto dto = withLimitsCheck(() -> limitsService.canCreateArtifactVersion(groupId, artifactId, null, content))
+        return withLimitsCheck(() -> limitsService.canCreateArtifactVersion(groupId, artifactId, null, content))
                 .execute(() -> super.updateArtifact(groupId, artifactId, version, artifactType, content, references));
-        limitsService.artifactVersionCreated(groupId, artifactId);
-        return dto;
     }
 
     /**
@@ -122,10 +116,8 @@ public class RegistryStorageLimitsEnforcer extends RegistryStorageDecoratorBase
                                                           String version, String artifactType, ContentHandle content,
                                                           EditableArtifactMetaDataDto metaData, List<ArtifactReferenceDto> references) throws ArtifactNotFoundException, RegistryStorageException {
 
-        ArtifactMetaDataDto dto = withLimitsCheck(() -> limitsService.canCreateArtifactVersion(groupId, artifactId, metaData, content))
+        return withLimitsCheck(() -> limitsService.canCreateArtifactVersion(groupId, artifactId, metaData, content))
                 .execute(() -> super.updateArtifactWithMetadata(groupId, artifactId, version, artifactType, content, metaData, references));
-        limitsService.artifactVersionCreated(groupId, artifactId);
-        return dto;
     }
 
     /**
@@ -158,37 +150,6 @@ public class RegistryStorageLimitsEnforcer extends RegistryStorageDecoratorBase
                 });
     }
 
-    /**
-     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#deleteArtifact(java.lang.String, java.lang.String)
-     */
-    @Override
-    public List<String> deleteArtifact(String groupId, String artifactId)
-            throws ArtifactNotFoundException, RegistryStorageException {
-        List<String> ids = super.deleteArtifact(groupId, artifactId);
-        limitsService.artifactDeleted();
-        return ids;
-    }
-
-    /**
-     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#deleteArtifacts(java.lang.String)
-     */
-    @Override
-    public void deleteArtifacts(String groupId) throws RegistryStorageException {
-        super.deleteArtifacts(groupId);
-        limitsService.artifactDeleted();
-    }
-
-    /**
-     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#deleteArtifactVersion(java.lang.String, java.lang.String, java.lang.String)
-     */
-    @Override
-    public void deleteArtifactVersion(String groupId, String artifactId, String version)
-            throws ArtifactNotFoundException, VersionNotFoundException, RegistryStorageException {
-        super.deleteArtifactVersion(groupId, artifactId, version);
-        limitsService.artifactVersionDeleted(groupId, artifactId);
-    }
-
-
     /**
      * Notice the "threadContext.withContextCapture" because of using CompletionStage it's possible that certain operations may be executed in different threads.
      * We need context propagation to move the ThreadLocale context
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.limits;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.apicurio.common.apps.config.Info;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.security.identity.SecurityIdentity;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpServletRequest;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static io.apicurio.registry.metrics.MetricsConstants.REST_CONCURRENCY_LIMIT;
+import static io.apicurio.registry.metrics.MetricsConstants.REST_CONCURRENCY_LIMIT_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.REST_REQUESTS_REJECTED;
+import static io.apicurio.registry.metrics.MetricsConstants.REST_REQUESTS_REJECTED_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.REST_REQUESTS_REJECTED_TAG_ENDPOINT_CLASS;
+import static io.apicurio.registry.metrics.MetricsConstants.REST_REQUESTS_REJECTED_TAG_REASON;
+
+/**
+ * Protects the registry from clients sending too many requests, e.g. a serializer that keeps registering
+ * schemas in a loop because of a broken configuration:
+ * <ul>
+ *     <li>Each client (the authenticated principal, or the remote address of anonymous requests) gets a token
+ *     bucket per endpoint class (read or write), refilled at the max requests per second limit.</li>
+ *     <li>The number of concurrent write requests is limited, adapting the limit to the latency of the
+ *     requests (see {@link AdaptiveConcurrencyLimit}).</li>
+ * </ul>
+ * Rejected requests get a 429 response with a Retry-After header, which the serdes already retry.
+ */
+@ApplicationScoped
+public class RequestRateLimiter {
+
+    private static final String API_PATH_PREFIX = "/apis/";
+
+    // Buckets of the clients that sent a request recently, the others would be full anyway
+    private static final long MAX_CLIENTS = 10000;
+
+    private static final Permit NO_PERMIT = status -> {
+    };
+
+    @Inject
+    Logger log;
+
+    @Inject
+    RegistryLimitsConfiguration limitsConfiguration;
+
+    @Inject
+    SecurityIdentity securityIdentity;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "registry.limits.concurrency.write.enabled", defaultValue = "false")
+    @Info(category = "limits", description = "Enable the adaptive limit of concurrent write requests", availableSince = "3.0.0")
+    boolean concurrencyLimitEnabled;
+
+    @ConfigProperty(name = "registry.limits.concurrency.write.initial-limit", defaultValue = "20")
+    @Info(category = "limits", description = "Initial limit of concurrent write requests", availableSince = "3.0.0")
+    int concurrencyInitialLimit;
+
+    @ConfigProperty(name = "registry.limits.concurrency.write.min-limit", defaultValue = "1")
+    @Info(category = "limits", description = "Minimum limit of concurrent write requests", availableSince = "3.0.0")
+    int concurrencyMinLimit;
+
+    @ConfigProperty(name = "registry.limits.concurrency.write.max-limit", defaultValue = "200")
+    @Info(category = "limits", description = "Maximum limit of concurrent write requests", availableSince = "3.0.0")
+    int concurrencyMaxLimit;
+
+    @ConfigProperty(name = "registry.limits.concurrency.write.latency-threshold", defaultValue = "500")
+    @Info(category = "limits", description = "Latency (ms) of write requests above which the limit of concurrent "
+            + "write requests is decreased", availableSince = "3.0.0")
+    long concurrencyLatencyThreshold;
+
+    private Cache<String, TokenBucket> buckets;
+
+    private AdaptiveConcurrencyLimit writeConcurrencyLimit;
+
+    private Counter readRateRejected;
+    private Counter writeRateRejected;
+    private Counter writeConcurrencyRejected;
+
+    @PostConstruct
+    void init() {
+        buckets = CacheBuilder.newBuilder()
+                .expireAfterAccess(1, TimeUnit.MINUTES)
+                .maximumSize(MAX_CLIENTS)
+                .build();
+
+        readRateRejected = rejectedCounter("rate", "read");
+        writeRateRejected = rejectedCounter("rate", "write");
+        writeConcurrencyRejected = rejectedCounter("concurrency", "write");
+
+        if (concurrencyLimitEnabled) {
+            writeConcurrencyLimit = new AdaptiveConcurrencyLimit(concurrencyInitialLimit, concurrencyMinLimit,
+                    concurrencyMaxLimit, TimeUnit.MILLISECONDS.toNanos(concurrencyLatencyThreshold));
+            Gauge.builder(REST_CONCURRENCY_LIMIT, writeConcurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                    .description(REST_CONCURRENCY_LIMIT_DESCRIPTION)
+                    .register(registry);
+        }
+    }
+
+    private Counter rejectedCounter(String reason, String endpointClass) {
+        return Counter.builder(REST_REQUESTS_REJECTED)
+                .description(REST_REQUESTS_REJECTED_DESCRIPTION)
+                .tag(REST_REQUESTS_REJECTED_TAG_REASON, reason)
+                .tag(REST_REQUESTS_REJECTED_TAG_ENDPOINT_CLASS, endpointClass)
+                .register(registry);
+    }
+
+    /**
+     * Checks the limits of an incoming request.
+     *
+     * @return the permit of the request, which must be released once the request completes
+     * @throws RateLimitExceededException if the request must be rejected
+     */
+    public Permit acquire(HttpServletRequest request) throws RateLimitExceededException {
+        String requestURI = request.getRequestURI();
+        if (requestURI == null || !requestURI.startsWith(API_PATH_PREFIX)) {
+            return NO_PERMIT;
+        }
+        boolean write = isWrite(request.getMethod());
+
+        Long maxRequestsPerSecond = limitsConfiguration.getMaxRequestsPerSecondCount();
+        if (maxRequestsPerSecond != null && maxRequestsPerSecond > 0) {
+            String key = (write ? "write:" : "read:") + getClientKey(request);
+            long now = System.nanoTime();
+            long waitNanos = getBucket(key, maxRequestsPerSecond, now).tryTake(now);
+            if (waitNanos > 0) {
+                (write ? writeRateRejected : readRateRejected).increment();
+                log.debug("Rate limit exceeded for {}", key);
+                throw new RateLimitExceededException("Maximum number of requests per second exceeded",
+                        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+            }
+        }
+
+        if (write && writeConcurrencyLimit != null) {
+            if (!writeConcurrencyLimit.tryAcquire()) {
+                writeConcurrencyRejected.increment();
+                throw new RateLimitExceededException("Maximum number of concurrent requests exceeded", 1);
+            }
+            long start = System.nanoTime();
+            return status -> writeConcurrencyLimit.release(start, System.nanoTime(), status >= 500);
+        }
+        return NO_PERMIT;
+    }
+
+    private TokenBucket getBucket(String key, long tokensPerSecond, long now) {
+        try {
+            return buckets.get(key, () -> new TokenBucket(tokensPerSecond, tokensPerSecond, now));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private String getClientKey(HttpServletRequest request) {
+        try {
+            if (!securityIdentity.isAnonymous()) {
+                return "principal:" + securityIdentity.getPrincipal().getName();
+            }
+        } catch (RuntimeException e) {
+            // Authentication failures are reported later, when the request is authorized
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    private static boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    /**
+     * Permit of a request that passed the limits.
+     */
+    @FunctionalInterface
+    public interface Permit {
+
+        /**
+         * @param status HTTP status code of the response
+         */
+        void release(int status);
+    }
+}
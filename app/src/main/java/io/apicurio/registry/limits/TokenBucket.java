@@ -0,0 +1,65 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.limits;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket holding up to {@code capacity} tokens, refilled at a constant rate.
+ * Each request takes one token, so the bucket allows bursts of {@code capacity} requests
+ * and a sustained rate of {@code tokensPerSecond} requests.
+ */
+class TokenBucket {
+
+    private final long capacity;
+    private final long nanosPerToken;
+
+    private long tokens;
+    private long lastRefill;
+
+    /**
+     * @param now current time, in nanoseconds (see {@link System#nanoTime()})
+     */
+    TokenBucket(long tokensPerSecond, long capacity, long now) {
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, TimeUnit.SECONDS.toNanos(1) / tokensPerSecond);
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    /**
+     * Takes a token from the bucket.
+     *
+     * @param now current time, in nanoseconds (see {@link System#nanoTime()})
+     * @return 0 if a token was taken, otherwise the number of nanoseconds until the next token is available
+     */
+    synchronized long tryTake(long now) {
+        long refill = (now - lastRefill) / nanosPerToken;
+        if (refill >= capacity - tokens) {
+            tokens = capacity;
+            lastRefill = now;
+        } else if (refill > 0) {
+            tokens += refill;
+            lastRefill += refill * nanosPerToken;
+        }
+        if (tokens > 0) {
+            tokens--;
+            return 0;
+        }
+        return nanosPerToken - (now - lastRefill);
+    }
+}
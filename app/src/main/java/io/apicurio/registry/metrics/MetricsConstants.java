@@ -26,6 +26,16 @@ public interface MetricsConstants {
     String REST_REQUESTS_TAG_METHOD = "method";
     String REST_REQUESTS_TAG_STATUS_CODE_FAMILY = "status_code_group";
 
+    // REST limits
+
+    String REST_REQUESTS_REJECTED = REST_REQUESTS + ".rejected";
+    String REST_REQUESTS_REJECTED_DESCRIPTION = "Count of REST endpoints calls rejected by the rate and concurrency limits";
+    String REST_REQUESTS_REJECTED_TAG_REASON = "reason";
+    String REST_REQUESTS_REJECTED_TAG_ENDPOINT_CLASS = "endpoint_class";
+
+    String REST_CONCURRENCY_LIMIT = REST_PREFIX + "concurrency.limit";
+    String REST_CONCURRENCY_LIMIT_DESCRIPTION = "Current adaptive limit of concurrent calls to write REST endpoints";
+
     // Storage
 
     String STORAGE_PREFIX = "storage.";
@@ -36,4 +46,35 @@ public interface MetricsConstants {
 
     String STORAGE_METHOD_CALL_TAG_METHOD = "method";
     String STORAGE_METHOD_CALL_TAG_SUCCESS = "success";
+
+    // SQL storage
+
+    String STORAGE_STATEMENT = STORAGE_PREFIX + "statement";
+    String STORAGE_STATEMENT_DESCRIPTION = "Timing and results of SQL statements, until their results have been read";
+    String STORAGE_STATEMENT_ROWS = STORAGE_STATEMENT + ".rows";
+    String STORAGE_STATEMENT_ROWS_DESCRIPTION = "Number of rows read or updated by SQL statements";
+    String STORAGE_CONNECTION_WAIT = STORAGE_PREFIX + "connection.wait";
+    String STORAGE_CONNECTION_WAIT_DESCRIPTION = "Time spent waiting for a database connection from the pool";
+
+    // SQL storage tags/labels
+
+    String STORAGE_STATEMENT_TAG_DATASOURCE = "datasource";
+    String STORAGE_STATEMENT_TAG_STATEMENT = "statement";
+
+    // Events
+
+    String EVENTS_PREFIX = "events.";
+    String EVENTS_QUEUE_SIZE = EVENTS_PREFIX + "queue.size";
+    String EVENTS_QUEUE_SIZE_DESCRIPTION = "Number of events waiting to be sent to an event sink";
+    String EVENTS_SENT = EVENTS_PREFIX + "sent";
+    String EVENTS_SENT_DESCRIPTION = "Count of events sent to an event sink";
+    String EVENTS_RETRIES = EVENTS_PREFIX + "retries";
+    String EVENTS_RETRIES_DESCRIPTION = "Count of retried attempts to send a batch of events to an event sink";
+    String EVENTS_DROPPED = EVENTS_PREFIX + "dropped";
+    String EVENTS_DROPPED_DESCRIPTION = "Count of events that were not sent to an event sink";
+
+    // Events tags/labels
+
+    String EVENTS_TAG_SINK = "sink";
+    String EVENTS_TAG_REASON = "reason";
 }
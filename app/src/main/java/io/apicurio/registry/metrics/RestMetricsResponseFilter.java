@@ -31,6 +31,10 @@ import jakarta.ws.rs.container.ResourceInfo;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.ext.Provider;
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import static io.apicurio.registry.metrics.MetricsConstants.REST_REQUESTS;
@@ -56,7 +60,8 @@ public class RestMetricsResponseFilter implements ContainerRequestFilter, Contai
     @Inject
     MeterRegistry registry;
 
-    public static final String TIMER_SAMPLE_CONTEXT_PROPERTY_NAME = "request-timer-sample";
+    // Start time of the request, in the monotonic time of the registry clock
+    public static final String START_TIME_CONTEXT_PROPERTY_NAME = "request-start-time";
 
     @Context
     private ResourceInfo resourceInfo;
@@ -66,12 +71,17 @@ public class RestMetricsResponseFilter implements ContainerRequestFilter, Contai
     // See https://docs.oracle.com/javaee/7/api/javax/ws/rs/NameBinding.html
     static final Pattern ENABLED_PATTERN = Pattern.compile("/apis/.*");
 
+    // Status code groups 1xx to 5xx, and an unknown group (index 0)
+    private static final int STATUS_GROUPS = 6;
+
+    // Meters of each resource method, registered on first use
+    private final Map<Method, EndpointMeters> endpoints = new ConcurrentHashMap<>();
+
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
         final boolean enabled = ENABLED_PATTERN.matcher(requestContext.getUriInfo().getPath()).matches();
         if (enabled) {
-            Timer.Sample sample = Timer.start(registry);
-            requestContext.setProperty(TIMER_SAMPLE_CONTEXT_PROPERTY_NAME, sample);
+            requestContext.setProperty(START_TIME_CONTEXT_PROPERTY_NAME, registry.config().clock().monotonicTime());
         }
     }
 
@@ -79,28 +89,42 @@ public class RestMetricsResponseFilter implements ContainerRequestFilter, Contai
     public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
             throws IOException {
 
-        if (requestContext.getProperty(TIMER_SAMPLE_CONTEXT_PROPERTY_NAME) == null) {
+        Long start = (Long) requestContext.getProperty(START_TIME_CONTEXT_PROPERTY_NAME);
+        if (start == null) {
             return;
         }
 
-        Timer timer = Timer
-                .builder(REST_REQUESTS)
-                .description(REST_REQUESTS_DESCRIPTION)
-                .tag(REST_REQUESTS_TAG_PATH, this.getPath())
-                .tag(REST_REQUESTS_TAG_METHOD, requestContext.getMethod())
-                .tag(REST_REQUESTS_TAG_STATUS_CODE_FAMILY, this.getStatusGroup(responseContext.getStatus()))
-                .register(registry);
-
-        Timer.Sample sample = (Timer.Sample) requestContext.getProperty(TIMER_SAMPLE_CONTEXT_PROPERTY_NAME);
-        sample.stop(timer);
-
-        Counter.builder(REST_REQUESTS_COUNTER)
-                .description(REST_REQUESTS_COUNTER_DESCRIPTION)
-                .tag(REST_REQUESTS_TAG_PATH, this.getPath())
-                .tag(REST_REQUESTS_TAG_METHOD, requestContext.getMethod())
-                .tag(REST_REQUESTS_TAG_STATUS_CODE_FAMILY, this.getStatusGroup(responseContext.getStatus()))
-                .register(registry)
-                .increment();
+        record(resourceInfo.getResourceClass(), resourceInfo.getResourceMethod(), requestContext.getMethod(),
+                responseContext.getStatus(), registry.config().clock().monotonicTime() - start);
+    }
+
+    void record(Class<?> resourceClass, Method resourceMethod, String httpMethod, int statusCode, long durationNanos) {
+        Meters meters = getMeters(resourceClass, resourceMethod, httpMethod, statusCode);
+        meters.timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        meters.counter.increment();
+    }
+
+    /**
+     * Returns the meters of the given resource method, for the given HTTP method and status code,
+     * registering them on first use.
+     */
+    private Meters getMeters(Class<?> resourceClass, Method resourceMethod, String httpMethod, int statusCode) {
+        EndpointMeters endpoint = endpoints.get(resourceMethod);
+        if (endpoint == null) {
+            endpoint = endpoints.computeIfAbsent(resourceMethod, m -> new EndpointMeters(getPath(resourceClass, resourceMethod)));
+        }
+        Meters[] byStatusGroup = endpoint.byHttpMethod.get(httpMethod);
+        if (byStatusGroup == null) {
+            byStatusGroup = endpoint.byHttpMethod.computeIfAbsent(httpMethod, m -> new Meters[STATUS_GROUPS]);
+        }
+        int statusGroupIndex = statusCode < 100 || statusCode >= 600 ? 0 : statusCode / 100;
+        Meters meters = byStatusGroup[statusGroupIndex];
+        if (meters == null) {
+            // Registering the same meters twice is harmless, the registry returns the existing ones
+            meters = new Meters(endpoint.path, httpMethod, getStatusGroup(statusCode));
+            byStatusGroup[statusGroupIndex] = meters;
+        }
+        return meters;
     }
 
     private String getStatusGroup(int statusCode) {
@@ -111,18 +135,43 @@ public class RestMetricsResponseFilter implements ContainerRequestFilter, Contai
         return String.format("%dxx", statusCodeGroup);
     }
 
-    private String getPath() {
-        return getResourceClassPath() + getResourceMethodPath();
+    private static String getPath(Class<?> resourceClass, Method resourceMethod) {
+        Path classPath = resourceClass.getAnnotation(Path.class);
+        Path methodPath = resourceMethod.getAnnotation(Path.class);
+        return (classPath != null ? classPath.value() : "") + (methodPath != null ? methodPath.value() : "");
     }
 
-    private String getResourceClassPath() {
-        Path classPath = resourceInfo.getResourceClass().getAnnotation(Path.class);
-        return classPath != null ? classPath.value() : "";
-    }
+    private static class EndpointMeters {
+
+        private final String path;
+
+        private final Map<String, Meters[]> byHttpMethod = new ConcurrentHashMap<>();
 
-    private String getResourceMethodPath() {
-        Path methodPath = resourceInfo.getResourceMethod().getAnnotation(Path.class);
-        return methodPath != null ? methodPath.value() : "";
+        private EndpointMeters(String path) {
+            this.path = path;
+        }
     }
 
+    private class Meters {
+
+        private final Timer timer;
+
+        private final Counter counter;
+
+        private Meters(String path, String httpMethod, String statusGroup) {
+            timer = Timer
+                    .builder(REST_REQUESTS)
+                    .description(REST_REQUESTS_DESCRIPTION)
+                    .tag(REST_REQUESTS_TAG_PATH, path)
+                    .tag(REST_REQUESTS_TAG_METHOD, httpMethod)
+                    .tag(REST_REQUESTS_TAG_STATUS_CODE_FAMILY, statusGroup)
+                    .register(registry);
+            counter = Counter.builder(REST_REQUESTS_COUNTER)
+                    .description(REST_REQUESTS_COUNTER_DESCRIPTION)
+                    .tag(REST_REQUESTS_TAG_PATH, path)
+                    .tag(REST_REQUESTS_TAG_METHOD, httpMethod)
+                    .tag(REST_REQUESTS_TAG_STATUS_CODE_FAMILY, statusGroup)
+                    .register(registry);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package io.apicurio.registry.metrics;
 
+import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.eclipse.microprofile.context.ThreadContext;
@@ -9,7 +10,10 @@ import jakarta.interceptor.AroundInvoke;
 import jakarta.interceptor.Interceptor;
 import jakarta.interceptor.InvocationContext;
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_METHOD_CALL;
 import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_METHOD_CALL_DESCRIPTION;
@@ -31,13 +35,17 @@ public class StorageMetricsInterceptor {
     @Inject
     ThreadContext threadContext;
 
+    // Timers of each method, for a failed (index 0) and a successful (index 1) call, registered on first use
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
     @AroundInvoke
     public Object intercept(InvocationContext context) throws Exception {
 
         Exception exception = null;
         Object result = null;
 
-        Timer.Sample sample = Timer.start(registry);
+        Clock clock = registry.config().clock();
+        long start = clock.monotonicTime();
 
         try {
             result = context.proceed();
@@ -46,29 +54,41 @@ public class StorageMetricsInterceptor {
         }
 
         if (exception != null) {
-            this.record(sample, context.getMethod(), false);
+            this.record(clock, start, context.getMethod(), false);
             throw exception;
         }
 
         if (result instanceof CompletionStage) {
             CompletionStage<?> r = (CompletionStage<?>) result;
             threadContext.withContextCapture(r).whenComplete((ok, ex) ->
-                this.record(sample, context.getMethod(), ex == null)); // TODO
+                this.record(clock, start, context.getMethod(), ex == null)); // TODO
             return r;
         }
 
-        this.record(sample, context.getMethod(), true);
+        this.record(clock, start, context.getMethod(), true);
         return result;
     }
 
-    private void record(Timer.Sample sample, Method method, boolean success) {
-        Timer timer = Timer
+    void record(Clock clock, long start, Method method, boolean success) {
+        Timer[] methodTimers = timers.get(method);
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(method, this::registerTimers);
+        }
+        methodTimers[success ? 1 : 0].record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer[] registerTimers(Method method) {
+        String methodString = getMethodString(method);
+        return new Timer[] { registerTimer(methodString, false), registerTimer(methodString, true) };
+    }
+
+    private Timer registerTimer(String methodString, boolean success) {
+        return Timer
             .builder(STORAGE_METHOD_CALL)
             .description(STORAGE_METHOD_CALL_DESCRIPTION)
-            .tag(STORAGE_METHOD_CALL_TAG_METHOD, getMethodString(method))
+            .tag(STORAGE_METHOD_CALL_TAG_METHOD, methodString)
             .tag(STORAGE_METHOD_CALL_TAG_SUCCESS, String.valueOf(success))
             .register(registry);
-        sample.stop(timer);
     }
 
     private static String getMethodString(Method method) {
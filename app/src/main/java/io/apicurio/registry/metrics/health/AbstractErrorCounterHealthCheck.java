@@ -1,23 +1,26 @@
 package io.apicurio.registry.metrics.health;
 
-import java.time.Duration;
-import java.time.Instant;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Abstract class containing common logic for health checks based on an error counter.
+ * <p>
+ * Errors may be reported concurrently by any thread, so the state is kept in atomics and compared against
+ * {@link System#nanoTime()} instead of being guarded by a lock.
  *
  * @author Jakub Senko <em>m@jsenko.net</em>
  */
 public abstract class AbstractErrorCounterHealthCheck {
 
-    protected long errorCounter = 0;
-    private Instant nextCounterReset;
-    private Optional<Duration> statusResetWindowDuration;
-    private Optional<Instant> nextStatusReset;
-    protected boolean up = true;
-    private Duration counterResetWindowDuration;
-    private Integer configErrorThreshold;
+    private final AtomicLong errorCounter = new AtomicLong();
+    private volatile long lastErrorNanos;
+    private volatile long statusResetNanos;
+    protected volatile boolean up = true;
+    private long counterResetWindowNanos;
+    // Zero if the status is never reset
+    private long statusResetWindowNanos;
+    private long configErrorThreshold;
 
     protected void init(Integer configErrorThreshold, Integer configCounterResetWindowDurationSec, Integer configStatusResetWindowDurationSec) {
         if (configErrorThreshold == null || configErrorThreshold < 0) {
@@ -33,29 +36,43 @@ public abstract class AbstractErrorCounterHealthCheck {
             throw new IllegalArgumentException("Illegal configuration value of " +
                     "'registry.metrics.[...].statusResetWindowDurationSec': '" + configCounterResetWindowDurationSec + "'");
         }
-        counterResetWindowDuration = Duration.ofSeconds(configCounterResetWindowDurationSec);
-        nextCounterReset = Instant.now().plus(counterResetWindowDuration);
+        counterResetWindowNanos = TimeUnit.SECONDS.toNanos(configCounterResetWindowDurationSec);
+        lastErrorNanos = nanoTime();
         if (configStatusResetWindowDurationSec > 0) {
-            statusResetWindowDuration = Optional.of(Duration.ofSeconds(configStatusResetWindowDurationSec));
+            statusResetWindowNanos = TimeUnit.SECONDS.toNanos(configStatusResetWindowDurationSec);
         }
     }
 
-    protected synchronized void suspectSuper() {
-        nextCounterReset = Instant.now().plus(counterResetWindowDuration);
-        if (++errorCounter > configErrorThreshold) {
+    protected void suspectSuper() {
+        long now = nanoTime();
+        // Written before the counter is incremented, see callSuper()
+        lastErrorNanos = now;
+        if (errorCounter.incrementAndGet() > configErrorThreshold) {
+            statusResetNanos = now + statusResetWindowNanos;
             up = false;
-            statusResetWindowDuration.ifPresent(duration -> nextStatusReset = Optional.of(Instant.now().plus(duration)));
         }
     }
 
-    protected synchronized void callSuper() {
-        if (!up && nextStatusReset.isPresent() && Instant.now().isAfter(nextStatusReset.get())) {
-            nextStatusReset = Optional.empty();
+    protected void callSuper() {
+        long now = nanoTime();
+        if (!up && statusResetWindowNanos > 0 && now - statusResetNanos > 0) {
             up = true; // Next 'if' will reset the error count
         }
-        if (up && nextCounterReset != null && Instant.now().isAfter(nextCounterReset)) { // Do not reset the count if not up
-            nextCounterReset = null;
-            errorCounter = 0;
+        if (up) { // Do not reset the count if not up
+            // The counter is read before the time of the last error, and only reset if it has not changed since,
+            // so that an error reported concurrently is never lost
+            long count = errorCounter.get();
+            if (count > 0 && now - lastErrorNanos > counterResetWindowNanos) {
+                errorCounter.compareAndSet(count, 0);
+            }
         }
     }
+
+    protected long getErrorCount() {
+        return errorCounter.get();
+    }
+
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
 }
@@ -62,11 +62,11 @@ public class PersistenceExceptionLivenessCheck extends AbstractErrorCounterHealt
     }
 
     @Override
-    public synchronized HealthCheckResponse call() {
+    public HealthCheckResponse call() {
         callSuper();
         return HealthCheckResponse.builder()
                 .name("PersistenceExceptionLivenessCheck")
-                .withData("errorCount", errorCounter)
+                .withData("errorCount", getErrorCount())
                 .up()
                 .build();
     }
@@ -78,7 +78,7 @@ public class PersistenceExceptionLivenessCheck extends AbstractErrorCounterHealt
         }
         super.suspectSuper();
         if (disableLogging != Boolean.TRUE) {
-            log.info("After this event, the error counter is {} (out of the maximum {} allowed).", errorCounter, configErrorThreshold);
+            log.info("After this event, the error counter is {} (out of the maximum {} allowed).", getErrorCount(), configErrorThreshold);
         }
     }
 
@@ -89,7 +89,7 @@ public class PersistenceExceptionLivenessCheck extends AbstractErrorCounterHealt
         }
         super.suspectSuper();
         if (disableLogging != Boolean.TRUE) {
-            log.info("After this event, the error counter is {} (out of the maximum {} allowed).", errorCounter, configErrorThreshold);
+            log.info("After this event, the error counter is {} (out of the maximum {} allowed).", getErrorCount(), configErrorThreshold);
         }
     }
 }
@@ -60,11 +60,11 @@ public class ResponseErrorLivenessCheck extends AbstractErrorCounterHealthCheck
     }
 
     @Override
-    public synchronized HealthCheckResponse call() {
+    public HealthCheckResponse call() {
         callSuper();
         return HealthCheckResponse.builder()
                 .name("ResponseErrorLivenessCheck")
-                .withData("errorCount", errorCounter)
+                .withData("errorCount", getErrorCount())
                 .up()
                 .build();
     }
@@ -76,7 +76,7 @@ public class ResponseErrorLivenessCheck extends AbstractErrorCounterHealthCheck
         }
         super.suspectSuper();
         if (disableLogging != Boolean.TRUE) {
-            log.info("After this event, the error counter is {} (out of the maximum {} allowed).", errorCounter, configErrorThreshold);
+            log.info("After this event, the error counter is {} (out of the maximum {} allowed).", getErrorCount(), configErrorThreshold);
         }
     }
 
@@ -87,7 +87,7 @@ public class ResponseErrorLivenessCheck extends AbstractErrorCounterHealthCheck
         }
         super.suspectSuper();
         if (disableLogging != Boolean.TRUE) {
-            log.info("After this event, the error counter is {} (out of the maximum {} allowed).", errorCounter, configErrorThreshold);
+            log.info("After this event, the error counter is {} (out of the maximum {} allowed).", getErrorCount(), configErrorThreshold);
         }
     }
 }
@@ -1,6 +1,6 @@
 package io.apicurio.registry.metrics.health.readiness;
 
-import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Default;
@@ -60,26 +60,26 @@ public class PersistenceTimeoutReadinessCheck extends AbstractErrorCounterHealth
     @Info(category = "health", description = "Timeout of persistence readiness check", availableSince = "1.0.2.Final")
     Integer configTimeoutSec;
 
-    private Duration timeoutSec;
+    private long timeoutNanos;
 
     @PostConstruct
     void init() {
         init(configErrorThreshold, configCounterResetWindowDurationSec, configStatusResetWindowDurationSec);
-        timeoutSec = Duration.ofSeconds(configTimeoutSec);
+        timeoutNanos = TimeUnit.SECONDS.toNanos(configTimeoutSec);
     }
 
     @Override
-    public synchronized HealthCheckResponse call() {
+    public HealthCheckResponse call() {
         callSuper();
         return HealthCheckResponse.builder()
                 .name("PersistenceTimeoutReadinessCheck")
-                .withData("errorCount", errorCounter)
+                .withData("errorCount", getErrorCount())
                 .up()
                 .build();
     }
 
-    public Duration getTimeoutSec() {
-        return timeoutSec;
+    public long getTimeoutNanos() {
+        return timeoutNanos;
     }
 
     public void suspect() {
@@ -1,7 +1,5 @@
 package io.apicurio.registry.metrics.health.readiness;
 
-import java.time.Instant;
-
 import jakarta.inject.Inject;
 import jakarta.interceptor.AroundInvoke;
 import jakarta.interceptor.Interceptor;
@@ -28,9 +26,9 @@ public class PersistenceTimeoutReadinessInterceptor {
 
     @AroundInvoke
     public Object intercept(InvocationContext context) throws Exception {
-        Instant start = Instant.now();
+        long start = System.nanoTime();
         Object result = context.proceed();
-        if (start.plus(check.getTimeoutSec()).isBefore(Instant.now())) {
+        if (System.nanoTime() - start > check.getTimeoutNanos()) {
             check.suspect();
         }
         return result;
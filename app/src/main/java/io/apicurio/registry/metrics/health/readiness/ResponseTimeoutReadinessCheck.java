@@ -8,9 +8,7 @@ import org.eclipse.microprofile.health.HealthCheck;
 import org.eclipse.microprofile.health.HealthCheckResponse;
 import org.eclipse.microprofile.health.Readiness;
 import org.slf4j.Logger;
-import java.time.Duration;
-import java.time.Instant;
-import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Default;
 import jakarta.enterprise.inject.Instance;
@@ -31,7 +29,7 @@ import jakarta.ws.rs.ext.Provider;
 public class ResponseTimeoutReadinessCheck extends AbstractErrorCounterHealthCheck
         implements HealthCheck, ContainerRequestFilter, ContainerResponseFilter {
 
-    private static final String HEADER_NAME = "X-Apicurio-Registry-ResponseTimeoutReadinessCheck-RequestStart";
+    private static final String PROPERTY_NAME = "io.apicurio.registry.ResponseTimeoutReadinessCheck.RequestStart";
 
     @Inject
     Logger log;
@@ -69,42 +67,37 @@ public class ResponseTimeoutReadinessCheck extends AbstractErrorCounterHealthChe
     @Info(category = "health", description = "Timeout of response readiness check", availableSince = "1.0.2.Final")
     Instance<Integer> configTimeoutSec;
 
-    private Duration timeoutSec;
+    private long timeoutNanos;
 
     @PostConstruct
     void init() {
         init(configErrorThreshold.get(), configCounterResetWindowDurationSec.get(), configStatusResetWindowDurationSec.get());
-        timeoutSec = Duration.ofSeconds(configTimeoutSec.get());
+        timeoutNanos = TimeUnit.SECONDS.toNanos(configTimeoutSec.get());
     }
 
     @Override
     public void filter(ContainerRequestContext requestContext) {
-        requestContext.getHeaders().putSingle(HEADER_NAME, Instant.now().toString());
+        requestContext.setProperty(PROPERTY_NAME, System.nanoTime());
     }
 
     @Override
     public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
-        String requestStart = requestContext.getHeaderString(HEADER_NAME);
+        Long requestStart = (Long) requestContext.getProperty(PROPERTY_NAME);
         if (requestStart != null) {
-            try {
-                if (Instant.parse(requestStart).plus(timeoutSec).isBefore(Instant.now())) {
-                    suspectSuper();
-                }
-            } catch (DateTimeParseException ex) {
-                log.error("Value '{}' of header '{}' is the wrong format!", requestStart, HEADER_NAME);
+            if (System.nanoTime() - requestStart > timeoutNanos) {
+                suspectSuper();
             }
-
         } else if (responseContext.getStatus() != 404){
-            log.warn("Expected header '{}' not found.", HEADER_NAME);
+            log.warn("Expected request property '{}' not found.", PROPERTY_NAME);
         }
     }
 
     @Override
-    public synchronized HealthCheckResponse call() {
+    public HealthCheckResponse call() {
         callSuper();
         return HealthCheckResponse.builder()
                 .name("ResponseTimeoutReadinessCheck")
-                .withData("errorCount", errorCounter)
+                .withData("errorCount", getErrorCount())
                 .up()
                 .build();
     }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rest;
+
+import io.apicurio.common.apps.config.Info;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.function.Supplier;
+
+/**
+ * Support for HTTP caching of REST API responses.  The ETag of content is the hash of the stored content.
+ * Content addressed by its ID or its hash never changes, so it is served with a long lived immutable
+ * Cache-Control header.  Content addressed otherwise, e.g. by the global ID of a version that can be disabled
+ * or deleted, must be revalidated by clients.  The callers check that the content still exists and can be
+ * served before asking for a response, so that a conditional request for deleted content gets a 404.
+ */
+@ApplicationScoped
+public class HttpCaching {
+
+    @ConfigProperty(name = "registry.rest.http-caching.enabled", defaultValue = "true")
+    @Info(category = "rest", description = "Enable ETags, conditional requests and Cache-Control headers for content and meta-data", availableSince = "3.0.0")
+    boolean enabled;
+
+    @ConfigProperty(name = "registry.rest.http-caching.immutable-max-age", defaultValue = "31536000")
+    @Info(category = "rest", description = "Time (in seconds) for which clients and caches may reuse content addressed by its ID or its hash", availableSince = "3.0.0")
+    long immutableMaxAge;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the response for content addressed by its ID or its hash, which never changes.
+     *
+     * @param ifNoneMatch      value of the If-None-Match request header, may be null
+     * @param etag             strong ETag of the content, different for each content coding, see {@link #etag(String)}
+     * @param responseSupplier loads the content, only called if the client does not have it already
+     */
+    public Response.ResponseBuilder immutable(String ifNoneMatch, String etag, Supplier<Response.ResponseBuilder> responseSupplier) {
+        return conditional(ifNoneMatch, etag, "max-age=" + immutableMaxAge + ", immutable", responseSupplier);
+    }
+
+    /**
+     * Returns the response for content that clients may keep but must revalidate before using it, because the
+     * resource it was requested for can be disabled or deleted.
+     *
+     * @param ifNoneMatch      value of the If-None-Match request header, may be null
+     * @param etag             strong ETag of the content, different for each content coding, see {@link #etag(String)}
+     * @param responseSupplier loads the content, only called if the client does not have it already
+     */
+    public Response.ResponseBuilder revalidated(String ifNoneMatch, String etag, Supplier<Response.ResponseBuilder> responseSupplier) {
+        return conditional(ifNoneMatch, etag, "no-cache", responseSupplier);
+    }
+
+    private Response.ResponseBuilder conditional(String ifNoneMatch, String etag, String cacheControl,
+            Supplier<Response.ResponseBuilder> responseSupplier) {
+        if (!enabled) {
+            return responseSupplier.get();
+        }
+        Response.ResponseBuilder builder = matches(ifNoneMatch, etag) ? Response.notModified() : responseSupplier.get();
+        return builder
+                .header(HttpHeaders.ETAG, etag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl);
+    }
+
+    /**
+     * Returns a strong ETag for the given opaque value, e.g. a content hash.
+     *
+     * @throws IllegalArgumentException if the value contains characters that are not allowed in an ETag
+     */
+    public static String etag(String value) {
+        if (value.isEmpty() || !value.chars().allMatch(c -> c > 0x20 && c < 0x7f && c != '"')) {
+            throw new IllegalArgumentException("Invalid ETag value: " + value);
+        }
+        return '"' + value + '"';
+    }
+    /**
+     * Returns true if the If-None-Match header contains the given ETag.  The comparison is weak, as required
+     * for If-None-Match, so a weak version of the ETag matches too.
+     *
+     * @param ifNoneMatch may be null
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
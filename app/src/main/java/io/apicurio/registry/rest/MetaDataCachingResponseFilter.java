@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rest;
+
+import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
+import io.apicurio.registry.rest.v2.beans.GroupMetaData;
+import io.apicurio.registry.rest.v2.beans.VersionMetaData;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.Providers;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+
+/**
+ * Adds validators to the meta-data returned by the REST API, so that clients can revalidate the meta-data
+ * they have with a conditional request instead of downloading it again.  The ETag is a hash of the returned
+ * meta-data, since the modifiedOn timestamp of an artifact is the creation time of its latest version and
+ * does not change when the meta-data is edited.  Group meta-data also gets a Last-Modified header.
+ * The meta-data is serialized by the JAX-RS provider that would serialize the response, and the serialized
+ * meta-data is sent as is, so it is serialized only once.
+ */
+@Provider
+@ApplicationScoped
+public class MetaDataCachingResponseFilter implements ContainerResponseFilter {
+
+    @Inject
+    HttpCaching httpCaching;
+
+    @Context
+    Providers providers;
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) throws IOException {
+        Object entity = responseContext.getEntity();
+        if (!httpCaching.isEnabled() || !HttpMethod.GET.equals(requestContext.getMethod())
+                || responseContext.getStatus() != Response.Status.OK.getStatusCode()
+                || !(entity instanceof ArtifactMetaData || entity instanceof VersionMetaData || entity instanceof GroupMetaData)) {
+            return;
+        }
+
+        MediaType mediaType = responseContext.getMediaType();
+        MessageBodyWriter writer = mediaType == null ? null : providers.getMessageBodyWriter(responseContext.getEntityClass(),
+                responseContext.getEntityType(), responseContext.getEntityAnnotations(), mediaType);
+        if (writer == null) {
+            // The response will fail to serialize as well, nothing to validate
+            return;
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writer.writeTo(entity, responseContext.getEntityClass(), responseContext.getEntityType(),
+                responseContext.getEntityAnnotations(), mediaType, new MultivaluedHashMap<>(), body);
+        responseContext.setEntity(body.toByteArray(), responseContext.getEntityAnnotations(), mediaType);
+
+        String etag = "W/" + HttpCaching.etag(DigestUtils.sha256Hex(body.toByteArray()));
+        Date lastModified = entity instanceof GroupMetaData ? ((GroupMetaData) entity).getModifiedOn() : null;
+
+        responseContext.getHeaders().putSingle(HttpHeaders.ETAG, etag);
+        responseContext.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (lastModified != null) {
+            responseContext.getHeaders().putSingle(HttpHeaders.LAST_MODIFIED, lastModified);
+        }
+
+        String ifNoneMatch = requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+        boolean notModified;
+        if (ifNoneMatch != null) {
+            notModified = HttpCaching.matches(ifNoneMatch, etag);
+        } else {
+            notModified = lastModified != null
+                    && !isModifiedSince(lastModified, requestContext.getHeaderString(HttpHeaders.IF_MODIFIED_SINCE));
+        }
+        if (notModified) {
+            responseContext.setStatus(Response.Status.NOT_MODIFIED.getStatusCode());
+            responseContext.setEntity(null);
+            responseContext.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+        }
+    }
+
+    /**
+     * Returns true unless the If-Modified-Since header is a valid date that is not before the given date.
+     * The header has a precision of one second.
+     */
+    private static boolean isModifiedSince(Date lastModified, String ifModifiedSince) {
+        if (ifModifiedSince == null) {
+            return true;
+        }
+        try {
+            long since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+            return lastModified.getTime() / 1000 > since;
+        } catch (DateTimeParseException e) {
+            return true;
+        }
+    }
+}
@@ -18,6 +18,8 @@ package io.apicurio.registry.rest;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.apicurio.registry.limits.RateLimitExceededException;
+import io.apicurio.registry.limits.RequestRateLimiter;
 import io.apicurio.registry.services.DisabledApisMatcherService;
 import io.apicurio.registry.services.http.ErrorHttpResponse;
 import io.apicurio.registry.services.http.RegistryExceptionMapperService;
@@ -26,6 +28,7 @@ import jakarta.inject.Inject;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import org.slf4j.Logger;
 
@@ -36,6 +39,7 @@ import java.io.IOException;
  * Disable APIs: it's possible to provide a list of regular expressions to disable API paths.
  * The list of regular expressions will be applied to all incoming requests, if any of them match the request will get a 404 response.
  * Note: this is implemented in a servlet to be able to disable the web UI (/ui), because the web is served with Servlets
+ * Rate limits: API requests exceeding the rate or concurrency limits get a 429 response, see {@link RequestRateLimiter}.
  *
  * @author Fabian Martinez
  */
@@ -53,6 +57,9 @@ public class RegistryApplicationServletFilter implements Filter {
     @Inject
     RegistryExceptionMapperService exceptionMapper;
 
+    @Inject
+    RequestRateLimiter rateLimiter;
+
     /**
      * @see jakarta.servlet.Filter#doFilter(jakarta.servlet.ServletRequest, jakarta.servlet.ServletResponse, jakarta.servlet.FilterChain)
      */
@@ -74,7 +81,20 @@ public class RegistryApplicationServletFilter implements Filter {
             }
         }
 
-        chain.doFilter(request, response);
+        RequestRateLimiter.Permit permit;
+        try {
+            permit = rateLimiter.acquire(req);
+        } catch (RateLimitExceededException e) {
+            mapException(response, e);
+            //important to return, to stop the filters chain
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permit.release(((HttpServletResponse) response).getStatus());
+        }
     }
 
     private void mapException(ServletResponse response, Throwable throwable) throws IOException {
@@ -84,6 +104,10 @@ public class RegistryApplicationServletFilter implements Filter {
         httpResponse.reset();
         httpResponse.setStatus(res.getStatus());
         httpResponse.setContentType(MediaType.APPLICATION_JSON);
+        if (throwable instanceof RateLimitExceededException) {
+            httpResponse.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(((RateLimitExceededException) throwable).getRetryAfterSeconds()));
+        }
 
         getMapper().writeValue(httpResponse.getOutputStream(), res.getError());
     }
@@ -23,6 +23,10 @@ public class RestConfig {
     @Info(category = "rest", description = "Enables artifact version deletion", availableSince = "2.4.2-SNAPSHOT")
     Supplier<Boolean> artifactVersionDeletionEnabled;
 
+    @ConfigProperty(name = "registry.rest.artifact.test.batch.max-items", defaultValue = "1000")
+    @Info(category = "rest", description = "Max number of artifact updates that can be tested in a single batch request", availableSince = "3.0.0")
+    int testBatchMaxItems;
+
     public int getDownloadMaxSize() { return this.downloadMaxSize; }
 
     public boolean getDownloadSkipSSLValidation() { return this.downloadSkipSSLValidation; }
@@ -31,4 +35,6 @@ public class RestConfig {
         return artifactVersionDeletionEnabled.get();
     }
 
+    public int getTestBatchMaxItems() { return this.testBatchMaxItems; }
+
 }
@@ -27,14 +27,19 @@ import java.util.Map;
 import jakarta.inject.Inject;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
 import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.content.ContentCompression;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.content.dereference.ContentDereferencer;
 import io.apicurio.registry.content.refs.JsonPointerExternalReference;
+import io.apicurio.registry.rest.HttpCaching;
 import io.apicurio.registry.rest.v2.beans.HandleReferencesType;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
@@ -58,6 +63,9 @@ public abstract class AbstractResourceImpl {
     @Inject
     ArtifactTypeUtilProviderFactory factory;
 
+    @Inject
+    ContentCompression contentCompression;
+
     @Context
     HttpServletRequest request;
 
@@ -65,23 +73,85 @@ public abstract class AbstractResourceImpl {
     @Info(category = "api", description = "API base href (URI)", availableSince = "2.5.0.Final")
     String apiBaseHref;
 
+    @ConfigProperty(name = "registry.storage.dereferenced-content.cache.enabled", defaultValue = "true")
+    @Info(category = "storage", description = "Store the result of dereferencing content, so that later requests for the same dereferenced content are served from the storage", availableSince = "3.0.0")
+    boolean dereferencedContentCacheEnabled;
+
+    /**
+     * Returns a response with the stored gzip compressed copy of some content, or null if the client does not
+     * accept the gzip encoding or no compressed copy of the content is stored.  The compressed copy is the
+     * content as stored, so it can only be returned when the references are preserved.  Either way the
+     * response depends on the Accept-Encoding request header, see {@link #varyOnAcceptEncoding(Response.ResponseBuilder)}.
+     * @param contentId
+     * @param contentType
+     */
+    protected Response.ResponseBuilder compressedContentResponse(long contentId, MediaType contentType) {
+        if (!acceptsCompressedContent()) {
+            return null;
+        }
+        byte[] compressed = storage.getCompressedContent(contentId);
+        if (compressed == null) {
+            return null;
+        }
+        return Response.ok(compressed, contentType)
+                .header(HttpHeaders.CONTENT_ENCODING, ContentCompression.GZIP);
+    }
+
+    /**
+     * Returns true if the stored gzip compressed copy of content may be sent to the client.
+     */
+    protected boolean acceptsCompressedContent() {
+        return contentCompression.isEnabled() && ContentCompression.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    /**
+     * Returns the strong ETag of content, which differs for the gzip encoded representation of the content.
+     * @param value identifies the content, e.g. its hash
+     * @param compressible true if the stored gzip compressed copy of the content may be sent
+     */
+    protected String contentEtag(String value, boolean compressible) {
+        return HttpCaching.etag(compressible && acceptsCompressedContent() ? value + "-" + ContentCompression.GZIP : value);
+    }
+
+    /**
+     * Adds the Vary header to every response for content, compressed or not, since the content can be sent
+     * gzip encoded depending on the Accept-Encoding request header.  Shared caches must not send a gzip
+     * encoded response to clients that do not accept it.
+     * @param builder
+     */
+    protected static Response.ResponseBuilder varyOnAcceptEncoding(Response.ResponseBuilder builder) {
+        return builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
     /**
      * Handle the content references based on the value of "HandleReferencesType" - this can either mean
      * we need to fully dereference the content, or we need to rewrite the references, or we do nothing.
+     * The dereferenced content only depends on the content and the artifact versions it references, so it is
+     * cached in the storage.
      * @param referencesType
-     * @param metaData
-     * @param artifact
+     * @param artifactType
+     * @param contentId
      * @param content
+     * @param references
      */
     protected ContentHandle handleContentReferences(HandleReferencesType referencesType, String artifactType, 
-            ContentHandle content, List<ArtifactReferenceDto> references) {
+            long contentId, ContentHandle content, List<ArtifactReferenceDto> references) {
         // Dereference or rewrite references
         if (!references.isEmpty()) {
             if (referencesType == HandleReferencesType.DEREFERENCE) {
+                ContentHandle cached = dereferencedContentCacheEnabled ? storage.getDereferencedContent(contentId) : null;
+                if (cached != null) {
+                    return cached;
+                }
                 ArtifactTypeUtilProvider artifactTypeProvider = factory.getArtifactTypeProvider(artifactType);
                 ContentDereferencer contentDereferencer = artifactTypeProvider.getContentDereferencer();
                 Map<String, ContentHandle> resolvedReferences = storage.resolveReferences(references);
                 content = contentDereferencer.dereference(content, resolvedReferences);
+                // Content with missing references would have to be dereferenced again once they exist
+                if (dereferencedContentCacheEnabled && !storage.isReadOnly()
+                        && references.stream().allMatch(ref -> resolvedReferences.containsKey(ref.getName()))) {
+                    storeDereferencedContent(contentId, content);
+                }
             } else if (referencesType == HandleReferencesType.REWRITE) {
                 ArtifactTypeUtilProvider artifactTypeProvider = factory.getArtifactTypeProvider(artifactType);
                 ContentDereferencer contentDereferencer = artifactTypeProvider.getContentDereferencer();
@@ -92,6 +162,15 @@ public abstract class AbstractResourceImpl {
         return content;
     }
 
+    private void storeDereferencedContent(long contentId, ContentHandle dereferencedContent) {
+        try {
+            storage.storeDereferencedContent(contentId, dereferencedContent);
+        } catch (Exception e) {
+            // E.g. the content has been deleted in the meantime, the response is not affected
+            log.debug("Failed to cache the dereferenced content {}: {}", contentId, e.getMessage());
+        }
+    }
+
     /**
      * Convert the list of references into a list of REST API URLs that point to the content.  This means
      * that we generate a REST API URL from the GAV (groupId, artifactId, version) information found in
@@ -16,6 +16,10 @@
 
 package io.apicurio.registry.rest.v2;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.apicurio.common.apps.config.*;
 import io.apicurio.common.apps.logging.Logged;
 import io.apicurio.common.apps.logging.audit.Audited;
@@ -23,8 +27,13 @@ import io.apicurio.registry.auth.Authorized;
 import io.apicurio.registry.auth.AuthorizedLevel;
 import io.apicurio.registry.auth.AuthorizedStyle;
 import io.apicurio.registry.auth.RoleBasedAccessApiOperation;
+import io.apicurio.registry.downloads.DownloadService;
+import io.apicurio.registry.events.EventsService;
+import io.apicurio.registry.events.dto.RegistryEventType;
+import io.apicurio.registry.exception.UnreachableCodeException;
 import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.metrics.health.readiness.ResponseTimeoutReadinessCheck;
+import io.apicurio.registry.rest.ConflictException;
 import io.apicurio.registry.rest.MissingRequiredParameterException;
 import io.apicurio.registry.rest.v2.beans.*;
 import io.apicurio.registry.rest.v2.shared.DataExporter;
@@ -33,6 +42,7 @@ import io.apicurio.registry.rules.RulesProperties;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.dto.DownloadContextDto;
 import io.apicurio.registry.storage.dto.DownloadContextType;
+import io.apicurio.registry.storage.dto.OutboxEventDto;
 import io.apicurio.registry.storage.dto.RoleMappingDto;
 import io.apicurio.registry.storage.dto.RuleConfigurationDto;
 import io.apicurio.registry.storage.error.ConfigPropertyNotFoundException;
@@ -44,21 +54,25 @@ import io.apicurio.registry.types.RoleType;
 import io.apicurio.registry.types.RuleType;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProviderFactory;
 import io.apicurio.registry.utils.impexp.Entity;
-import io.apicurio.registry.utils.impexp.EntityReader;
+import io.apicurio.registry.utils.impexp.SegmentedEntityReader;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.interceptor.Interceptors;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -101,6 +115,15 @@ public class AdminResourceImpl implements AdminResource {
     @Inject
     DataExporter exporter;
 
+    @Inject
+    EventsService eventsService;
+
+    @Inject
+    DownloadService downloads;
+
+    @Inject
+    ManagedExecutor executor;
+
     @Context
     HttpServletRequest request;
 
@@ -109,6 +132,13 @@ public class AdminResourceImpl implements AdminResource {
     @Info(category = "download", description = "Download link expiry", availableSince = "2.1.2.Final")
     Supplier<Long> downloadHrefTtl;
 
+    private static final int DEFAULT_CHANGES_LIMIT = 100;
+    private static final int MAX_CHANGES_LIMIT = 1000;
+
+    // The data of registry events only has string properties
+    private static final ObjectReader EVENT_DATA_READER = new ObjectMapper()
+            .readerFor(new TypeReference<Map<String, String>>() {});
+
     private static final void requireParameter(String parameterName, Object parameterValue) {
         if (parameterValue == null) {
             throw new MissingRequiredParameterException(parameterName);
@@ -252,7 +282,7 @@ public class AdminResourceImpl implements AdminResource {
     @Authorized(style=AuthorizedStyle.None, level=AuthorizedLevel.Admin)
     public void importData(Boolean xRegistryPreserveGlobalId, Boolean xRegistryPreserveContentId, InputStream data) {
         final ZipInputStream zip = new ZipInputStream(data, StandardCharsets.UTF_8);
-        final EntityReader reader = new EntityReader(zip);
+        final SegmentedEntityReader reader = new SegmentedEntityReader(zip, executor);
         EntityInputStream stream = new EntityInputStream() {
             @Override
             public Entity nextEntity() throws IOException {
@@ -266,32 +296,65 @@ public class AdminResourceImpl implements AdminResource {
 
             @Override
             public void close() throws IOException {
-                zip.close();
+                reader.close();
             }
         };
         this.storage.importData(stream, isNullOrTrue(xRegistryPreserveGlobalId), isNullOrTrue(xRegistryPreserveContentId));
     }
 
     /**
-     * @see io.apicurio.registry.rest.v2.AdminResource#exportData(java.lang.Boolean)
+     * @see io.apicurio.registry.rest.v2.AdminResource#exportData(java.lang.Boolean, java.lang.Long, java.lang.Long)
      */
     @Override
     @Audited(extractParameters = {"0", KEY_FOR_BROWSER})
     @Authorized(style=AuthorizedStyle.None, level=AuthorizedLevel.Admin)
-    public Response exportData(Boolean forBrowser) {
+    public Response exportData(Boolean forBrowser, Long sinceGlobalId, Long sinceTimestamp) {
         String acceptHeader = request.getHeader("Accept");
         if (Boolean.TRUE.equals(forBrowser) || MediaType.APPLICATION_JSON.equals(acceptHeader)) {
             long expires = System.currentTimeMillis() + (downloadHrefTtl.get() * 1000);
-            DownloadContextDto downloadCtx = DownloadContextDto.builder().type(DownloadContextType.EXPORT).expires(expires).build();
-            String downloadId = storage.createDownload(downloadCtx);
+            DownloadContextDto downloadCtx = DownloadContextDto.builder().type(DownloadContextType.EXPORT).expires(expires)
+                    .sinceGlobalId(sinceGlobalId).sinceTimestamp(sinceTimestamp).build();
+            String downloadId = downloads.createDownload(downloadCtx);
             String downloadHref = createDownloadHref(downloadId);
             DownloadRef downloadRef = new DownloadRef();
             downloadRef.setDownloadId(downloadId);
             downloadRef.setHref(downloadHref);
             return Response.ok(downloadRef).type(MediaType.APPLICATION_JSON_TYPE).build();
         } else {
-            return exporter.exportData();
+            return exporter.exportData(sinceGlobalId, sinceTimestamp);
+        }
+    }
+
+    /**
+     * @see io.apicurio.registry.rest.v2.AdminResource#listChanges(java.lang.Long, java.math.BigInteger)
+     */
+    @Override
+    @Authorized(style=AuthorizedStyle.None, level=AuthorizedLevel.Read)
+    public ChangeFeed listChanges(Long since, BigInteger limit) {
+        if (!eventsService.isOutboxEnabled()) {
+            throw new ConflictException("The change feed is not enabled, see registry.events.outbox.enabled.");
+        }
+        if (limit == null) {
+            limit = BigInteger.valueOf(DEFAULT_CHANGES_LIMIT);
+        }
+        if (limit.signum() < 0) {
+            throw new BadRequestException("The limit must not be negative.");
         }
+        if (limit.signum() == 0) {
+            // Where to start polling, without going through the retained changes
+            ChangeFeed feed = new ChangeFeed();
+            feed.setChanges(List.of());
+            feed.setCursor(storage.getLatestOutboxEventId());
+            return feed;
+        }
+        long afterId = since == null ? 0 : since;
+
+        int max = limit.min(BigInteger.valueOf(MAX_CHANGES_LIMIT)).intValue();
+        List<OutboxEventDto> events = storage.getOutboxEvents(afterId, max);
+        ChangeFeed feed = new ChangeFeed();
+        feed.setChanges(events.stream().map(this::outboxEventToChange).collect(Collectors.toList()));
+        feed.setCursor(events.isEmpty() ? afterId : events.get(events.size() - 1).getId());
+        return feed;
     }
 
     /**
@@ -418,6 +481,22 @@ public class AdminResourceImpl implements AdminResource {
         storage.deleteConfigProperty(propertyName);
     }
 
+    private Change outboxEventToChange(OutboxEventDto event) {
+        Change change = new Change();
+        change.setId(event.getId());
+        change.setType(RegistryEventType.valueOf(event.getEventType()).cloudEventType());
+        change.setCreatedOn(new Date(event.getCreatedOn()));
+        change.setGroupId(event.getGroupId());
+        change.setArtifactId(event.getArtifactId());
+        change.setVersion(event.getVersion());
+        try {
+            change.setData(EVENT_DATA_READER.readValue(event.getPayload()));
+        } catch (JsonProcessingException e) {
+            throw new UnreachableCodeException(e);
+        }
+        return change;
+    }
+
     private static RoleMapping dtoToRoleMapping(RoleMappingDto dto) {
         RoleMapping mapping = new RoleMapping();
         mapping.setPrincipalId(dto.getPrincipalId());
@@ -20,14 +20,13 @@ import io.apicurio.common.apps.logging.Logged;
 import io.apicurio.registry.auth.Authorized;
 import io.apicurio.registry.auth.AuthorizedLevel;
 import io.apicurio.registry.auth.AuthorizedStyle;
+import io.apicurio.registry.downloads.DownloadService;
 import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.metrics.health.readiness.ResponseTimeoutReadinessCheck;
 import io.apicurio.registry.rest.v2.shared.DataExporter;
-import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.dto.DownloadContextDto;
 import io.apicurio.registry.storage.dto.DownloadContextType;
 import io.apicurio.registry.storage.error.DownloadNotFoundException;
-import io.apicurio.registry.types.Current;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.interceptor.Interceptors;
@@ -47,8 +46,7 @@ import jakarta.ws.rs.core.Response;
 public class DownloadsResourceImpl {
 
     @Inject
-    @Current
-    RegistryStorage storage;
+    DownloadService downloads;
 
     @Inject
     DataExporter exporter;
@@ -58,9 +56,9 @@ public class DownloadsResourceImpl {
     @Path("{downloadId}")
     @Produces("*/*")
     public Response download(@PathParam("downloadId") String downloadId) {
-        DownloadContextDto downloadContext = storage.consumeDownload(downloadId);
+        DownloadContextDto downloadContext = downloads.consumeDownload(downloadId);
         if (downloadContext.getType() == DownloadContextType.EXPORT) {
-            return exporter.exportData();
+            return exporter.exportData(downloadContext.getSinceGlobalId(), downloadContext.getSinceTimestamp());
         }
 
         // TODO support other types of downloads (e.g. download content by contentId)
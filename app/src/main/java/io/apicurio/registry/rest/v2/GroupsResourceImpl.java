@@ -22,6 +22,7 @@ import io.apicurio.common.apps.logging.audit.Audited;
 import io.apicurio.registry.auth.Authorized;
 import io.apicurio.registry.auth.AuthorizedLevel;
 import io.apicurio.registry.auth.AuthorizedStyle;
+import io.apicurio.registry.auth.OwnerBasedAccessController;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.metrics.health.readiness.ResponseTimeoutReadinessCheck;
@@ -33,6 +34,7 @@ import io.apicurio.registry.rest.v2.beans.*;
 import io.apicurio.registry.rest.v2.shared.CommonResourceOperations;
 import io.apicurio.registry.rules.RuleApplicationType;
 import io.apicurio.registry.rules.RulesService;
+import io.apicurio.registry.services.http.RegistryExceptionMapperService;
 import io.apicurio.registry.storage.dto.*;
 import io.apicurio.registry.storage.error.*;
 import io.apicurio.registry.types.ArtifactState;
@@ -49,11 +51,14 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.interceptor.Interceptors;
 import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.HttpMethod;
 import jakarta.ws.rs.NotAllowedException;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import lombok.EqualsAndHashCode;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jose4j.base64url.Base64;
 
 import java.io.BufferedInputStream;
@@ -67,6 +72,8 @@ import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -103,6 +110,15 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
     @Inject
     CommonResourceOperations common;
 
+    @Inject
+    OwnerBasedAccessController obac;
+
+    @Inject
+    RegistryExceptionMapperService exceptionMapper;
+
+    @Inject
+    ManagedExecutor executor;
+
     /**
      * @see io.apicurio.registry.rest.v2.GroupsResource#getLatestArtifact(java.lang.String, java.lang.String, io.apicurio.registry.rest.v2.beans.HandleReferencesType)
      */
@@ -120,16 +136,19 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
         if (ArtifactState.DISABLED.equals(metaData.getState())) {
             throw new ArtifactNotFoundException(groupId, artifactId);
         }
-        StoredArtifactDto artifact = storage.getArtifact(defaultGroupIdToNull(groupId), artifactId);
-
         MediaType contentType = factory.getArtifactMediaType(metaData.getType());
 
-        ContentHandle contentToReturn = artifact.getContent();
-        contentToReturn = handleContentReferences(references, metaData.getType(), contentToReturn, artifact.getReferences());  
-        
-        Response.ResponseBuilder builder = Response.ok(contentToReturn, contentType);
+        Response.ResponseBuilder builder = references == HandleReferencesType.PRESERVE
+                ? compressedContentResponse(metaData.getContentId(), contentType) : null;
+        if (builder == null) {
+            StoredArtifactDto artifact = storage.getArtifact(defaultGroupIdToNull(groupId), artifactId);
+            ContentHandle contentToReturn = artifact.getContent();
+            contentToReturn = handleContentReferences(references, metaData.getType(), metaData.getContentId(),
+                    contentToReturn, artifact.getReferences());
+            builder = Response.ok(contentToReturn, contentType);
+        }
         checkIfDeprecated(metaData::getState, groupId, artifactId, metaData.getVersion(), builder);
-        return builder.build();
+        return varyOnAcceptEncoding(builder).build();
     }
 
     /**
@@ -492,6 +511,76 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
         rulesService.applyRules(defaultGroupIdToNull(groupId), artifactId, artifactType, content, RuleApplicationType.UPDATE, Collections.emptyList(), Collections.emptyMap()); //TODO:references not supported for testing update
     }
 
+    /**
+     * @see io.apicurio.registry.rest.v2.GroupsResource#testUpdateArtifacts(java.util.List)
+     */
+    @Override
+    @Authorized(style = AuthorizedStyle.None, level = AuthorizedLevel.Write)
+    public List<ArtifactUpdateTestResult> testUpdateArtifacts(List<ArtifactUpdateTest> data) {
+        requireParameter("data", data);
+        if (data.size() > restConfig.getTestBatchMaxItems()) {
+            throw new BadRequestException("Too many artifact updates to test: " + data.size()
+                    + " (the maximum is " + restConfig.getTestBatchMaxItems() + ").");
+        }
+
+        // The type, rules and current content of each artifact are loaded only once, and shared by all the
+        // updates of that artifact.  The updates themselves are tested concurrently.
+        Map<ArtifactKey, CompletableFuture<ArtifactUpdateTestContext>> contexts = new HashMap<>();
+        List<CompletableFuture<ArtifactUpdateTestResult>> results = new ArrayList<>(data.size());
+        for (ArtifactUpdateTest test : data) {
+            ArtifactKey key = new ArtifactKey(defaultGroupIdToNull(test.getGroupId()), test.getArtifactId());
+            CompletableFuture<ArtifactUpdateTestContext> context = contexts.computeIfAbsent(key,
+                    k -> CompletableFuture.supplyAsync(() -> loadArtifactUpdateTestContext(k), executor));
+            results.add(context
+                    .thenAcceptAsync(ctx -> testUpdateArtifact(ctx, test), executor)
+                    .handle((v, t) -> toArtifactUpdateTestResult(test, t)));
+        }
+        return results.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    private ArtifactUpdateTestContext loadArtifactUpdateTestContext(ArtifactKey key) {
+        requireParameter("artifactId", key.artifactId);
+        // The operation is not bound to a single artifact, so ownership is verified for each artifact instead.
+        if (!obac.isAuthorized(key.groupId, key.artifactId)) {
+            throw new ForbiddenException("User " + securityIdentity.getPrincipal().getName()
+                    + " is not authorized to perform the requested operation.");
+        }
+        ArtifactMetaDataDto metaData = storage.getArtifactMetaData(key.groupId, key.artifactId);
+        return new ArtifactUpdateTestContext(key, metaData.getType(),
+                storage.getArtifactRuleConfigurations(key.groupId, key.artifactId),
+                new LazyContentList(storage, storage.getEnabledArtifactContentIds(key.groupId, key.artifactId), true));
+    }
+
+    private void testUpdateArtifact(ArtifactUpdateTestContext context, ArtifactUpdateTest test) {
+        if (test.getContent() == null || test.getContent().isEmpty()) {
+            throw new BadRequestException(EMPTY_CONTENT_ERROR_MESSAGE);
+        }
+        ContentHandle content = ContentHandle.create(test.getContent());
+        if (ContentTypeUtil.isParsableYaml(content)) {
+            content = ContentTypeUtil.yamlToJson(content);
+        }
+
+        List<ArtifactReference> references = test.getReferences() != null ? test.getReferences() : Collections.emptyList();
+        final Map<String, ContentHandle> resolvedReferences = storage.resolveReferences(toReferenceDtos(references));
+
+        rulesService.applyRules(context.key.groupId, context.key.artifactId, context.artifactType, content,
+                context.artifactRules, context.currentContent, references, resolvedReferences);
+    }
+
+    private ArtifactUpdateTestResult toArtifactUpdateTestResult(ArtifactUpdateTest test, Throwable t) {
+        ArtifactUpdateTestResult result = new ArtifactUpdateTestResult();
+        result.setGroupId(test.getGroupId());
+        result.setArtifactId(test.getArtifactId());
+        result.setSuccess(t == null);
+        if (t != null) {
+            Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            result.setError(exceptionMapper.mapException(cause).getError());
+        }
+        return result;
+    }
+
     /**
      * @see io.apicurio.registry.rest.v2.GroupsResource#getArtifactVersion(java.lang.String, java.lang.String, java.lang.String, io.apicurio.registry.rest.v2.beans.HandleReferencesType)
      */
@@ -510,16 +599,19 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
         if (ArtifactState.DISABLED.equals(metaData.getState())) {
             throw new VersionNotFoundException(groupId, artifactId, version);
         }
-        StoredArtifactDto artifact = storage.getArtifactVersion(defaultGroupIdToNull(groupId), artifactId, version);
-
         MediaType contentType = factory.getArtifactMediaType(metaData.getType());
 
-        ContentHandle contentToReturn = artifact.getContent();
-        contentToReturn = handleContentReferences(references, metaData.getType(), contentToReturn, artifact.getReferences());  
-
-        Response.ResponseBuilder builder = Response.ok(contentToReturn, contentType);
+        Response.ResponseBuilder builder = references == HandleReferencesType.PRESERVE
+                ? compressedContentResponse(metaData.getContentId(), contentType) : null;
+        if (builder == null) {
+            StoredArtifactDto artifact = storage.getArtifactVersion(defaultGroupIdToNull(groupId), artifactId, version);
+            ContentHandle contentToReturn = artifact.getContent();
+            contentToReturn = handleContentReferences(references, metaData.getType(), metaData.getContentId(),
+                    contentToReturn, artifact.getReferences());
+            builder = Response.ok(contentToReturn, contentType);
+        }
         checkIfDeprecated(metaData::getState, groupId, artifactId, version, builder);
-        return builder.build();
+        return varyOnAcceptEncoding(builder).build();
     }
 
     /**
@@ -1112,6 +1204,35 @@ public class GroupsResourceImpl extends AbstractResourceImpl implements GroupsRe
         return null;
     }
 
+    @EqualsAndHashCode
+    private static class ArtifactKey {
+        private final String groupId;
+        private final String artifactId;
+
+        private ArtifactKey(String groupId, String artifactId) {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+        }
+    }
+
+    /**
+     * Everything needed to test updates of an artifact against its rules.
+     */
+    private static class ArtifactUpdateTestContext {
+        private final ArtifactKey key;
+        private final String artifactType;
+        private final Map<RuleType, RuleConfigurationDto> artifactRules;
+        private final List<ContentHandle> currentContent;
+
+        private ArtifactUpdateTestContext(ArtifactKey key, String artifactType,
+                Map<RuleType, RuleConfigurationDto> artifactRules, List<ContentHandle> currentContent) {
+            this.key = key;
+            this.artifactType = artifactType;
+            this.artifactRules = artifactRules;
+            this.currentContent = currentContent;
+        }
+    }
+
     private List<ArtifactReferenceDto> toReferenceDtos(List<ArtifactReference> references) {
         if (references == null) {
             references = Collections.emptyList();
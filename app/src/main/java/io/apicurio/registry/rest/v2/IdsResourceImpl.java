@@ -24,6 +24,7 @@ import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.metrics.health.readiness.ResponseTimeoutReadinessCheck;
 import io.apicurio.registry.rest.HeadersHack;
+import io.apicurio.registry.rest.HttpCaching;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
 import io.apicurio.registry.rest.v2.beans.HandleReferencesType;
 import io.apicurio.registry.rest.v2.shared.CommonResourceOperations;
@@ -31,12 +32,14 @@ import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.ContentWrapperDto;
 import io.apicurio.registry.storage.dto.StoredArtifactDto;
 import io.apicurio.registry.storage.error.ArtifactNotFoundException;
+import io.apicurio.registry.storage.error.ContentNotFoundException;
 import io.apicurio.registry.types.ArtifactMediaTypes;
 import io.apicurio.registry.types.ArtifactState;
 import io.apicurio.registry.types.ReferenceType;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.interceptor.Interceptors;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -55,6 +58,9 @@ public class IdsResourceImpl extends AbstractResourceImpl implements IdsResource
     @Inject
     CommonResourceOperations common;
 
+    @Inject
+    HttpCaching httpCaching;
+
     private void checkIfDeprecated(Supplier<ArtifactState> stateSupplier, String artifactId, String version, Response.ResponseBuilder builder) {
         HeadersHack.checkIfDeprecated(stateSupplier, null, artifactId, version, builder);
     }
@@ -65,9 +71,18 @@ public class IdsResourceImpl extends AbstractResourceImpl implements IdsResource
     @Override
     @Authorized(style = AuthorizedStyle.None, level = AuthorizedLevel.Read)
     public Response getContentById(long contentId) {
-        ContentHandle content = storage.getArtifactByContentId(contentId).getContent();
-        Response.ResponseBuilder builder = Response.ok(content, ArtifactMediaTypes.BINARY);
-        return builder.build();
+        String contentHash = storage.contentHashFromId(contentId)
+                .orElseThrow(() -> new ContentNotFoundException(contentId));
+        String etag = contentEtag(contentHash, true);
+        Response.ResponseBuilder builder = httpCaching.immutable(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag, () -> {
+            Response.ResponseBuilder compressed = compressedContentResponse(contentId, ArtifactMediaTypes.BINARY);
+            if (compressed != null) {
+                return compressed;
+            }
+            ContentHandle content = storage.getArtifactByContentId(contentId).getContent();
+            return Response.ok(content, ArtifactMediaTypes.BINARY);
+        });
+        return varyOnAcceptEncoding(builder).build();
     }
 
     /**
@@ -76,25 +91,43 @@ public class IdsResourceImpl extends AbstractResourceImpl implements IdsResource
     @Override
     @Authorized(style = AuthorizedStyle.GlobalId, level = AuthorizedLevel.Read)
     public Response getContentByGlobalId(long globalId, HandleReferencesType references) {
+        HandleReferencesType referencesType = references == null ? HandleReferencesType.PRESERVE : references;
         ArtifactMetaDataDto metaData = storage.getArtifactMetaData(globalId);
         if (ArtifactState.DISABLED.equals(metaData.getState())) {
             throw new ArtifactNotFoundException(null, String.valueOf(globalId));
         }
 
-        if (references == null) {
-            references = HandleReferencesType.PRESERVE;
+        Response.ResponseBuilder builder;
+        if (referencesType == HandleReferencesType.REWRITE) {
+            // The rewritten references depend on the URL used to access the API
+            builder = getContentByGlobalIdResponse(metaData, referencesType);
+        } else {
+            // The version can be disabled or deleted, so the client must revalidate the content it has
+            String contentHash = storage.contentHashFromId(metaData.getContentId())
+                    .orElseThrow(() -> new ContentNotFoundException(metaData.getContentId()));
+            String etag = contentEtag(contentHash + "-" + referencesType.name().toLowerCase(),
+                    referencesType == HandleReferencesType.PRESERVE);
+            builder = httpCaching.revalidated(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag,
+                    () -> getContentByGlobalIdResponse(metaData, referencesType));
         }
+        checkIfDeprecated(metaData::getState, metaData.getId(), metaData.getVersion(), builder);
+        return varyOnAcceptEncoding(builder).build();
+    }
 
-        StoredArtifactDto artifact = storage.getArtifactVersion(globalId);
-
+    private Response.ResponseBuilder getContentByGlobalIdResponse(ArtifactMetaDataDto metaData, HandleReferencesType references) {
+        long globalId = metaData.getGlobalId();
         MediaType contentType = factory.getArtifactMediaType(metaData.getType());
 
-        ContentHandle contentToReturn = artifact.getContent();
-        handleContentReferences(references, metaData.getType(), contentToReturn, artifact.getReferences());
-
-        Response.ResponseBuilder builder = Response.ok(contentToReturn, contentType);
-        checkIfDeprecated(metaData::getState, metaData.getId(), metaData.getVersion(), builder);
-        return builder.build();
+        Response.ResponseBuilder builder = references == HandleReferencesType.PRESERVE
+                ? compressedContentResponse(metaData.getContentId(), contentType) : null;
+        if (builder == null) {
+            StoredArtifactDto artifact = storage.getArtifactVersion(globalId);
+            ContentHandle contentToReturn = artifact.getContent();
+            contentToReturn = handleContentReferences(references, metaData.getType(), metaData.getContentId(),
+                    contentToReturn, artifact.getReferences());
+            builder = Response.ok(contentToReturn, contentType);
+        }
+        return builder;
     }
 
     /**
@@ -103,9 +136,16 @@ public class IdsResourceImpl extends AbstractResourceImpl implements IdsResource
     @Override
     @Authorized(style = AuthorizedStyle.None, level = AuthorizedLevel.Read)
     public Response getContentByHash(String contentHash) {
-        ContentHandle content = storage.getArtifactByContentHash(contentHash).getContent();
-        Response.ResponseBuilder builder = Response.ok(content, ArtifactMediaTypes.BINARY);
-        return builder.build();
+        // Also rejects a hash that would not be a valid ETag, since no stored content has it
+        if (!storage.isContentExists(contentHash)) {
+            throw new ContentNotFoundException(contentHash);
+        }
+        String etag = contentEtag(contentHash, false);
+        Response.ResponseBuilder builder = httpCaching.immutable(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag, () -> {
+            ContentHandle content = storage.getArtifactByContentHash(contentHash).getContent();
+            return Response.ok(content, ArtifactMediaTypes.BINARY);
+        });
+        return varyOnAcceptEncoding(builder).build();
     }
 
     /**
@@ -16,18 +16,25 @@
 
 package io.apicurio.registry.rest.v2.shared;
 
+import io.apicurio.common.apps.config.Info;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.types.Current;
+import io.apicurio.registry.utils.impexp.Entity;
 import io.apicurio.registry.utils.impexp.EntityWriter;
+import io.apicurio.registry.utils.impexp.ExportCompression;
+import io.apicurio.registry.utils.impexp.SegmentedEntityWriter;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.zip.ZipOutputStream;
 
 /**
@@ -43,16 +50,43 @@ public class DataExporter {
     @Current
     RegistryStorage storage;
 
+    @Inject
+    ManagedExecutor executor;
+
+    @ConfigProperty(name = "registry.export.compression", defaultValue = "default")
+    @Info(category = "import", description = "Compression of the exported zip file entries, one of 'default', "
+            + "'fast' or 'none'.", availableSince = "3.0.0")
+    ExportCompression compression;
+
+    @ConfigProperty(name = "registry.export.segmented", defaultValue = "false")
+    @Info(category = "import", description = "Write the exported zip file in segments that are encoded and "
+            + "compressed concurrently.  Such an export can only be imported by a registry supporting "
+            + "segmented exports.", availableSince = "3.0.0")
+    boolean segmented;
+
+    @ConfigProperty(name = "registry.export.parallelism", defaultValue = "4")
+    @Info(category = "import", description = "Maximum number of segments of a segmented export being encoded "
+            + "or waiting to be written.", availableSince = "3.0.0")
+    int parallelism;
+
     /**
-     * Exports all registry data.
+     * Exports the registry data created or modified after the given watermark, or all registry data when
+     * both parts of the watermark are null.
+     * @param sinceGlobalId
+     * @param sinceTimestamp
      */
-    public Response exportData() {
+    public Response exportData(Long sinceGlobalId, Long sinceTimestamp) {
+        if (segmented) {
+            return exportSegmentedData(sinceGlobalId, sinceTimestamp);
+        }
+
         StreamingOutput stream = os -> {
             try {
                 ZipOutputStream zip = new ZipOutputStream(os, StandardCharsets.UTF_8);
+                zip.setLevel(compression.getLevel());
                 EntityWriter writer = new EntityWriter(zip);
                 AtomicInteger errorCounter = new AtomicInteger(0);
-                storage.exportData(entity -> {
+                Function<Entity, Void> handler = entity -> {
                     try {
                         writer.writeEntity(entity);
                     } catch (Exception e) {
@@ -61,7 +95,13 @@ public class DataExporter {
                         errorCounter.incrementAndGet();
                     }
                     return null;
-                });
+                };
+                if (sinceGlobalId == null && sinceTimestamp == null) {
+                    storage.exportData(handler);
+                } else {
+                    storage.exportData(handler, sinceGlobalId == null ? 0 : sinceGlobalId,
+                            sinceTimestamp == null ? 0 : sinceTimestamp);
+                }
 
                 // TODO if the errorCounter > 0, then what?
 
@@ -77,4 +117,41 @@ public class DataExporter {
         return Response.ok(stream).type("application/zip").build();
     }
 
+    /**
+     * Exports the registry data as {@link #exportData(Long, Long)} does, reading it from the storage in
+     * dependency order in a single transaction, while the segments of the exported zip file are encoded
+     * concurrently and streamed as soon as they are done.
+     * @param sinceGlobalId
+     * @param sinceTimestamp
+     */
+    private Response exportSegmentedData(Long sinceGlobalId, Long sinceTimestamp) {
+        StreamingOutput stream = os -> {
+            try (SegmentedEntityWriter writer = new SegmentedEntityWriter(os, compression, executor, parallelism)) {
+                AtomicInteger errorCounter = new AtomicInteger(0);
+                Function<Entity, Void> handler = entity -> {
+                    try {
+                        writer.writeEntity(entity);
+                    } catch (Exception e) {
+                        log.error("Error writing entity {} to the export.", entity.getEntityType(), e);
+                        errorCounter.incrementAndGet();
+                    }
+                    return null;
+                };
+                if (sinceGlobalId == null && sinceTimestamp == null) {
+                    storage.exportData(handler);
+                } else {
+                    storage.exportData(handler, sinceGlobalId == null ? 0 : sinceGlobalId,
+                            sinceTimestamp == null ? 0 : sinceTimestamp);
+                }
+                writer.finish();
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        };
+
+        return Response.ok(stream).type("application/zip").build();
+    }
+
 }
@@ -21,6 +21,7 @@ import java.util.Map;
 
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
+import io.apicurio.registry.storage.dto.RuleConfigurationDto;
 import io.apicurio.registry.types.RuleType;
 
 /**
@@ -48,6 +49,25 @@ public interface RulesService {
                     RuleApplicationType ruleApplicationType, List<ArtifactReference> references,
                     Map<String, ContentHandle> resolvedReferences) throws RuleViolationException;
 
+    /**
+     * Applies all configured rules to check whether a content update for an artifact is allowed, using
+     * the artifact rules and the current artifact content already loaded by the caller.  This allows
+     * many updates of the same artifact to be checked without loading them again for each update.
+     * @param groupId
+     * @param artifactId
+     * @param artifactType
+     * @param artifactContent
+     * @param artifactRules
+     * @param currentContent
+     * @param references
+     * @param resolvedReferences
+     * @throws RuleViolationException
+     */
+    public void applyRules(String groupId, String artifactId, String artifactType, ContentHandle artifactContent,
+                    Map<RuleType, RuleConfigurationDto> artifactRules, List<ContentHandle> currentContent,
+                    List<ArtifactReference> references, Map<String, ContentHandle> resolvedReferences)
+            throws RuleViolationException;
+
     /**
      * Applies a single, specific rule to the content update for the given artifact.
      * @param groupId
@@ -28,10 +28,11 @@ import io.apicurio.registry.types.RuleType;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Implements the {@link RulesService} interface.
@@ -59,10 +60,9 @@ public class RulesServiceImpl implements RulesService {
     public void applyRules(String groupId, String artifactId, String artifactType, ContentHandle artifactContent,
             RuleApplicationType ruleApplicationType, List<ArtifactReference> references,
             Map<String, ContentHandle> resolvedReferences) throws RuleViolationException {
-        @SuppressWarnings("unchecked")
-        List<RuleType> rules = Collections.EMPTY_LIST;
+        Map<RuleType, RuleConfigurationDto> artifactRules = Collections.emptyMap();
         if (ruleApplicationType == RuleApplicationType.UPDATE) {
-            rules = storage.getArtifactRules(groupId, artifactId);
+            artifactRules = storage.getArtifactRuleConfigurations(groupId, artifactId);
         }
         LazyContentList currentContent = null;
         if (ruleApplicationType == RuleApplicationType.UPDATE) {
@@ -71,26 +71,24 @@ public class RulesServiceImpl implements RulesService {
             currentContent = new LazyContentList(storage, Collections.emptyList());
         }
 
-        applyGlobalAndArtifactRules(groupId, artifactId, artifactType, currentContent, artifactContent, rules, references, resolvedReferences);
+        applyGlobalAndArtifactRules(groupId, artifactId, artifactType, currentContent, artifactContent, artifactRules, references, resolvedReferences);
+    }
+
+    /**
+     * @see io.apicurio.registry.rules.RulesService#applyRules(java.lang.String, java.lang.String, java.lang.String, io.apicurio.registry.content.ContentHandle, java.util.Map, java.util.List, java.util.List, java.util.Map)
+     */
+    @Override
+    public void applyRules(String groupId, String artifactId, String artifactType, ContentHandle artifactContent,
+            Map<RuleType, RuleConfigurationDto> artifactRules, List<ContentHandle> currentContent,
+            List<ArtifactReference> references, Map<String, ContentHandle> resolvedReferences) throws RuleViolationException {
+        applyGlobalAndArtifactRules(groupId, artifactId, artifactType, currentContent, artifactContent, artifactRules, references, resolvedReferences);
     }
 
     private void applyGlobalAndArtifactRules(String groupId, String artifactId, String artifactType,
             List<ContentHandle> currentArtifactContent, ContentHandle updatedArtifactContent,
-            List<RuleType> artifactRules, List<ArtifactReference> references, Map<String, ContentHandle> resolvedReferences) {
-
-        Map<RuleType, RuleConfigurationDto> globalOrArtifactRulesMap = artifactRules.stream()
-            .collect(Collectors.toMap(ruleType -> ruleType, ruleType -> storage.getArtifactRule(groupId, artifactId, ruleType)));
+            Map<RuleType, RuleConfigurationDto> artifactRules, List<ArtifactReference> references, Map<String, ContentHandle> resolvedReferences) {
 
-        if (globalOrArtifactRulesMap.isEmpty()) {
-            List<RuleType> globalRules = storage.getGlobalRules();
-            globalOrArtifactRulesMap = globalRules.stream()
-                .collect(Collectors.toMap(ruleType -> ruleType, storage::getGlobalRule));
-
-            // Add any default global rules to the map (after filtering out any global rules from artifactStore)
-            Map<RuleType, RuleConfigurationDto>  filteredDefaultGlobalRulesMap = rulesProperties.getFilteredDefaultGlobalRules(globalRules).stream()
-                .collect(Collectors.toMap(ruleType -> ruleType, rulesProperties::getDefaultGlobalRuleConfiguration));
-            globalOrArtifactRulesMap.putAll(filteredDefaultGlobalRulesMap);
-        }
+        Map<RuleType, RuleConfigurationDto> globalOrArtifactRulesMap = resolveEffectiveRules(artifactRules);
 
         if (globalOrArtifactRulesMap.isEmpty()) {
             return;
@@ -102,6 +100,30 @@ public class RulesServiceImpl implements RulesService {
         }
     }
 
+    /**
+     * Resolves the rules that apply to an artifact.  The artifact rules, if there are any, take precedence
+     * over the global rules.  Otherwise the global rules (served from the storage cache) are used, completed
+     * by any default global rules that have not been explicitly configured.
+     * @param artifactRules
+     */
+    private Map<RuleType, RuleConfigurationDto> resolveEffectiveRules(Map<RuleType, RuleConfigurationDto> artifactRules) {
+        if (!artifactRules.isEmpty()) {
+            return artifactRules;
+        }
+
+        Map<RuleType, RuleConfigurationDto> globalRules = storage.getGlobalRuleConfigurations();
+        List<RuleType> filteredDefaultGlobalRules = rulesProperties.getFilteredDefaultGlobalRules(new ArrayList<>(globalRules.keySet()));
+        if (filteredDefaultGlobalRules.isEmpty()) {
+            return globalRules;
+        }
+
+        // Add any default global rules to the map (after filtering out any global rules from artifactStore)
+        Map<RuleType, RuleConfigurationDto> effectiveRules = new EnumMap<>(RuleType.class);
+        effectiveRules.putAll(globalRules);
+        filteredDefaultGlobalRules.forEach(ruleType -> effectiveRules.put(ruleType, rulesProperties.getDefaultGlobalRuleConfiguration(ruleType)));
+        return effectiveRules;
+    }
+
     /**
      * @see io.apicurio.registry.rules.RulesService#applyRule(java.lang.String, java.lang.String, java.lang.String, io.apicurio.registry.content.ContentHandle, io.apicurio.registry.types.RuleType, java.lang.String, io.apicurio.registry.rules.RuleApplicationType, java.util.List, java.util.Map)
      */
@@ -148,6 +170,6 @@ public class RulesServiceImpl implements RulesService {
             Map<String, ContentHandle> resolvedReferences) throws RuleViolationException {
         StoredArtifactDto versionContent = storage.getArtifactVersion(groupId, artifactId, artifactVersion);
         applyGlobalAndArtifactRules(groupId, artifactId, artifactType, Collections.singletonList(versionContent.getContent()),
-                updatedContent, storage.getArtifactRules(groupId, artifactId), references, resolvedReferences);
+                updatedContent, storage.getArtifactRuleConfigurations(groupId, artifactId), references, resolvedReferences);
     }
 }
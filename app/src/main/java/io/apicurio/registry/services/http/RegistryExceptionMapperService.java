@@ -28,6 +28,7 @@ import io.apicurio.registry.ccompat.rest.error.UnprocessableEntityException;
 import io.apicurio.registry.metrics.health.liveness.LivenessUtil;
 import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.limits.LimitExceededException;
+import io.apicurio.registry.limits.RateLimitExceededException;
 import io.apicurio.registry.rest.MissingRequiredParameterException;
 import io.apicurio.registry.rest.ParametersConflictException;
 import io.apicurio.registry.rest.v2.beans.Error;
@@ -64,6 +65,7 @@ import static java.net.HttpURLConnection.*;
 public class RegistryExceptionMapperService {
 
     private static final int HTTP_UNPROCESSABLE_ENTITY = 422;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
 
     private static final Map<Class<? extends Exception>, Integer> CODE_MAP;
 
@@ -108,6 +110,7 @@ public class RegistryExceptionMapperService {
         map.put(NotAuthorizedException.class, HTTP_FORBIDDEN);
         map.put(NotFoundException.class, HTTP_NOT_FOUND);
         map.put(ParametersConflictException.class, HTTP_CONFLICT);
+        map.put(RateLimitExceededException.class, HTTP_TOO_MANY_REQUESTS);
         map.put(ReadOnlyStorageException.class, HTTP_CONFLICT);
         map.put(ReferenceExistsException.class, HTTP_UNPROCESSABLE_ENTITY);
         map.put(RoleMappingAlreadyExistsException.class, HTTP_CONFLICT);
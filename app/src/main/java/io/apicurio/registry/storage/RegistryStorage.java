@@ -33,6 +33,7 @@ import io.apicurio.registry.storage.dto.GroupMetaDataDto;
 import io.apicurio.registry.storage.dto.GroupSearchResultsDto;
 import io.apicurio.registry.storage.dto.OrderBy;
 import io.apicurio.registry.storage.dto.OrderDirection;
+import io.apicurio.registry.storage.dto.OutboxEventDto;
 import io.apicurio.registry.storage.dto.RoleMappingDto;
 import io.apicurio.registry.storage.dto.RuleConfigurationDto;
 import io.apicurio.registry.storage.dto.SearchFilter;
@@ -195,6 +196,15 @@ public interface RegistryStorage extends DynamicConfigStorage {
      */
     ContentWrapperDto getArtifactByContentId(long contentId) throws ContentNotFoundException, RegistryStorageException;
 
+    /**
+     * Gets the gzip compressed copy of some artifact content by the unique contentId.  Returns null if no
+     * compressed copy of the content is stored (which includes the content not existing).
+     *
+     * @param contentId
+     * @throws RegistryStorageException
+     */
+    byte[] getCompressedContent(long contentId) throws RegistryStorageException;
+
     /**
      * Gets some artifact content by the SHA-256 hash of that content.  This method of getting content
      * from storage does not allow extra meta-data to be returned, because the content hash only
@@ -269,6 +279,21 @@ public interface RegistryStorage extends DynamicConfigStorage {
      */
     Set<String> getArtifactIds(Integer limit);
 
+    /**
+     * Get a page of artifact ids in a group, ordered by the creation time of the artifacts.  Only the ids are
+     * loaded, which makes this cheaper than {@link #searchArtifacts} when nothing else is needed (e.g. to list
+     * the subjects of the Confluent API).
+     *
+     * @param groupId          may be null to indicate the default group
+     * @param artifactIdPrefix only return artifact ids starting with this prefix, may be null
+     * @param artifactTypes    only return artifacts of these types, may be null to return all types
+     * @param state            only return artifacts whose latest version is in this state, may be null to return all states
+     * @param offset           the number of artifact ids to skip
+     * @param limit            the maximum number of artifact ids to return
+     */
+    List<String> getArtifactIds(String groupId, String artifactIdPrefix, Set<String> artifactTypes, ArtifactState state,
+                                int offset, int limit) throws RegistryStorageException;
+
     /**
      * Search artifacts by given criteria
      *
@@ -310,6 +335,19 @@ public interface RegistryStorage extends DynamicConfigStorage {
     ArtifactVersionMetaDataDto getArtifactVersionMetaData(String groupId, String artifactId, boolean canonical,
                                                           ContentHandle content, List<ArtifactReferenceDto> artifactReferences) throws ArtifactNotFoundException, RegistryStorageException;
 
+    /**
+     * Gets the metadata of the latest version whose content, with all its references inlined, has the given
+     * SHA-256 hash.  The dereferenced hash is only available for content that has references.
+     *
+     * @param groupId           (optional)
+     * @param artifactId
+     * @param dereferencedHash
+     * @throws ArtifactNotFoundException
+     * @throws RegistryStorageException
+     */
+    ArtifactVersionMetaDataDto getArtifactVersionMetaDataByDereferencedHash(String groupId, String artifactId, String dereferencedHash)
+            throws ArtifactNotFoundException, RegistryStorageException;
+
     /**
      * Gets the stored meta-data for an artifact by global ID.  This will include client-editable meta-data such as
      * name and description, but also generated meta-data such as "modifedOn" and "globalId".
@@ -354,6 +392,17 @@ public interface RegistryStorage extends DynamicConfigStorage {
      */
     List<RuleType> getArtifactRules(String groupId, String artifactId) throws ArtifactNotFoundException, RegistryStorageException;
 
+    /**
+     * Gets the type and configuration of all rules configured for a specific Artifact (by group and ID) using
+     * a single query.  Unlike {@link #getArtifactRules(String, String)} this does not verify that the artifact
+     * exists, an empty map is returned instead.
+     *
+     * @param groupId    (optional)
+     * @param artifactId
+     * @throws RegistryStorageException
+     */
+    Map<RuleType, RuleConfigurationDto> getArtifactRuleConfigurations(String groupId, String artifactId) throws RegistryStorageException;
+
     /**
      * Creates an artifact rule for a specific Artifact.  If the named rule already exists for the artifact, then
      * this should fail.
@@ -532,6 +581,14 @@ public interface RegistryStorage extends DynamicConfigStorage {
      */
     List<RuleType> getGlobalRules() throws RegistryStorageException;
 
+    /**
+     * Gets the type and configuration of all global rules.  Implementations may serve the result from
+     * a cache, which must be invalidated whenever a global rule is created, updated or deleted.
+     *
+     * @throws RegistryStorageException
+     */
+    Map<RuleType, RuleConfigurationDto> getGlobalRuleConfigurations() throws RegistryStorageException;
+
     /**
      * Creates a single global rule.  Duplicates (by name) are not allowed.  Stores the rule name and configuration.
      *
@@ -628,6 +685,22 @@ public interface RegistryStorage extends DynamicConfigStorage {
      */
     void exportData(Function<Entity, Void> handler) throws RegistryStorageException;
 
+    /**
+     * Called to export the data created or modified after a watermark, so that it can be imported on top of
+     * a registry that already contains the data exported before.  The export contains the artifact versions
+     * with a globalId greater than {@code sinceGlobalId} or created after {@code sinceTimestamp} together with
+     * their content, the groups and comments created or modified after {@code sinceTimestamp} (or of such an
+     * artifact version), and all artifact and global rules, which are not timestamped.  A part of the watermark
+     * that is zero is ignored.  Deleted data and changes to the meta-data of existing artifact versions are not
+     * exported.
+     *
+     * @param handler
+     * @param sinceGlobalId  the highest globalId of the previous export, see {@link ManifestEntity#lastGlobalId}
+     * @param sinceTimestamp the time of the previous export in milliseconds, see {@link ManifestEntity#exportedOn}
+     * @throws RegistryStorageException
+     */
+    void exportData(Function<Entity, Void> handler, long sinceGlobalId, long sinceTimestamp) throws RegistryStorageException;
+
     /**
      * Called to import previously exported data into the registry.
      *
@@ -728,12 +801,15 @@ public interface RegistryStorage extends DynamicConfigStorage {
     DownloadContextDto consumeDownload(String downloadId) throws RegistryStorageException;
 
     /**
-     * Called to delete any expired rows in the downloads table.  This is basically cleaning up
-     * any single-use download links that were never "clicked".
+     * Called to delete expired rows in the downloads table.  This is basically cleaning up
+     * any single-use download links that were never "clicked".  At most the given number of rows
+     * are deleted, so that a large backlog is deleted in several short transactions.
      *
+     * @param limit maximum number of rows to delete
+     * @return the number of deleted rows
      * @throws RegistryStorageException
      */
-    void deleteAllExpiredDownloads() throws RegistryStorageException;
+    int deleteExpiredDownloads(int limit) throws RegistryStorageException;
 
     /**
      * Gets the raw value of a property, bypassing any caching that might be enabled.
@@ -916,9 +992,85 @@ public interface RegistryStorage extends DynamicConfigStorage {
     void updateContentCanonicalHash(String newCanonicalHash, long contentId, String contentHash);
 
 
+    /**
+     * Returns up to {@code limit} content entities without a canonical hash (e.g. imported content), with
+     * a contentId greater than {@code afterContentId}, ordered by contentId. The artifact type of each entity
+     * is taken from an artifact version using the content, and is null if there is no such version (yet).
+     */
+    List<ContentEntity> getContentEntitiesWithoutCanonicalHash(long afterContentId, int limit) throws RegistryStorageException;
+
+
+    void updateContentDereferencedHash(String dereferencedHash, long contentId, String contentHash);
+
+
+    /**
+     * Returns up to {@code limit} content entities with references but without a dereferenced hash, used by
+     * an artifact of the given type, with a contentId greater than {@code afterContentId}, ordered by contentId.
+     */
+    List<ContentEntity> getContentEntitiesWithoutDereferencedHash(String artifactType, long afterContentId, int limit) throws RegistryStorageException;
+
+
+    /**
+     * Returns the cached result of dereferencing the content with the given contentId, or null if it has
+     * not been cached (yet).
+     */
+    ContentHandle getDereferencedContent(long contentId) throws RegistryStorageException;
+
+
+    /**
+     * Caches the result of dereferencing the content with the given contentId.  The cache is cleared
+     * whenever artifact versions are deleted, since a referenced version may be one of them.
+     */
+    void storeDereferencedContent(long contentId, ContentHandle dereferencedContent) throws RegistryStorageException;
+
+
+    /**
+     * Appends an event to the outbox, as part of the transaction of the caller, so that the event is stored
+     * if and only if the change it describes is committed.  Events get increasing IDs in commit order.
+     *
+     * @return the ID of the event
+     */
+    long createOutboxEvent(OutboxEventDto event) throws RegistryStorageException;
+
+
+    /**
+     * Returns up to {@code limit} outbox events with an ID greater than {@code afterId}, ordered by ID.
+     */
+    List<OutboxEventDto> getOutboxEvents(long afterId, int limit) throws RegistryStorageException;
+
+
+    /**
+     * Returns the ID of the latest outbox event, even if it has since been deleted, or 0 if there is none.
+     * Passed as {@code afterId} to {@link #getOutboxEvents(long, int)}, it only returns the later events.
+     */
+    long getLatestOutboxEventId() throws RegistryStorageException;
+
+
+    /**
+     * Returns the next (up to {@code limit}) outbox events that have not been relayed to the event sinks yet,
+     * and marks them as relayed.  When several nodes claim events at the same time, only one of them gets
+     * the events and the others get an empty list.
+     */
+    List<OutboxEventDto> claimOutboxEvents(int limit) throws RegistryStorageException;
+
+
+    /**
+     * Deletes the outbox events created before the given timestamp (in milliseconds) that have been relayed.
+     *
+     * @return the number of deleted events
+     */
+    int deleteOutboxEvents(long createdBefore) throws RegistryStorageException;
+
+
     Optional<Long> contentIdFromHash(String contentHash);
 
 
+    /**
+     * Returns the hash of the content with the given ID, without loading the content.
+     */
+    Optional<String> contentHashFromId(long contentId) throws RegistryStorageException;
+
+
     ArtifactMetaDataDto updateArtifactWithMetadata(String groupId, String artifactId, String version,
                                                    String artifactType, String contentHash, String createdBy, Date createdOn,
                                                    EditableArtifactMetaDataDto metaData,
@@ -362,9 +362,9 @@ public class ReadOnlyRegistryStorageDecorator extends RegistryStorageDecoratorRe
 
 
     @Override
-    public void deleteAllExpiredDownloads() throws RegistryStorageException {
+    public int deleteExpiredDownloads(int limit) throws RegistryStorageException {
         checkReadOnly();
-        delegate.deleteAllExpiredDownloads();
+        return delegate.deleteExpiredDownloads(limit);
     }
 
 
@@ -446,6 +446,41 @@ public class ReadOnlyRegistryStorageDecorator extends RegistryStorageDecoratorRe
     }
 
 
+    @Override
+    public void updateContentDereferencedHash(String dereferencedHash, long contentId, String contentHash) {
+        checkReadOnly();
+        delegate.updateContentDereferencedHash(dereferencedHash, contentId, contentHash);
+    }
+
+
+    @Override
+    public void storeDereferencedContent(long contentId, ContentHandle dereferencedContent) throws RegistryStorageException {
+        checkReadOnly();
+        delegate.storeDereferencedContent(contentId, dereferencedContent);
+    }
+
+
+    @Override
+    public long createOutboxEvent(OutboxEventDto event) throws RegistryStorageException {
+        checkReadOnly();
+        return delegate.createOutboxEvent(event);
+    }
+
+
+    @Override
+    public List<OutboxEventDto> claimOutboxEvents(int limit) throws RegistryStorageException {
+        checkReadOnly();
+        return delegate.claimOutboxEvents(limit);
+    }
+
+
+    @Override
+    public int deleteOutboxEvents(long createdBefore) throws RegistryStorageException {
+        checkReadOnly();
+        return delegate.deleteOutboxEvents(createdBefore);
+    }
+
+
     @Override
     public ArtifactMetaDataDto updateArtifactWithMetadata(String groupId, String artifactId, String version,
                                                           String artifactType, String contentHash, String createdBy,
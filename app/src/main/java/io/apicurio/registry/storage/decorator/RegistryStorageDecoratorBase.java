@@ -251,8 +251,8 @@ public class RegistryStorageDecoratorBase extends RegistryStorageDecoratorReadOn
 
 
     @Override
-    public void deleteAllExpiredDownloads() throws RegistryStorageException {
-        delegate.deleteAllExpiredDownloads();
+    public int deleteExpiredDownloads(int limit) throws RegistryStorageException {
+        return delegate.deleteExpiredDownloads(limit);
     }
 
 
@@ -353,6 +353,36 @@ public class RegistryStorageDecoratorBase extends RegistryStorageDecoratorReadOn
     }
 
 
+    @Override
+    public void updateContentDereferencedHash(String dereferencedHash, long contentId, String contentHash) {
+        delegate.updateContentDereferencedHash(dereferencedHash, contentId, contentHash);
+    }
+
+
+    @Override
+    public void storeDereferencedContent(long contentId, ContentHandle dereferencedContent) throws RegistryStorageException {
+        delegate.storeDereferencedContent(contentId, dereferencedContent);
+    }
+
+
+    @Override
+    public long createOutboxEvent(OutboxEventDto event) throws RegistryStorageException {
+        return delegate.createOutboxEvent(event);
+    }
+
+
+    @Override
+    public List<OutboxEventDto> claimOutboxEvents(int limit) throws RegistryStorageException {
+        return delegate.claimOutboxEvents(limit);
+    }
+
+
+    @Override
+    public int deleteOutboxEvents(long createdBefore) throws RegistryStorageException {
+        return delegate.deleteOutboxEvents(createdBefore);
+    }
+
+
     @Override
     public ArtifactMetaDataDto updateArtifactWithMetadata(String groupId, String artifactId, String version,
                                                           String artifactType, String contentHash, String createdBy,
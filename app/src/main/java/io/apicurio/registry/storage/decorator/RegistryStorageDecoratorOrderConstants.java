@@ -12,4 +12,8 @@ public interface RegistryStorageDecoratorOrderConstants {
     int CONFIG_CACHE_DECORATOR = 30;
 
     int EVENT_SOURCED_DECORATOR = 40;
+
+    int CCOMPAT_SCHEMA_CACHE_DECORATOR = 50;
+
+    int AUTHORIZATION_CACHE_DECORATOR = 60;
 }
@@ -21,7 +21,9 @@ import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.dto.*;
 import io.apicurio.registry.storage.error.*;
+import io.apicurio.registry.types.ArtifactState;
 import io.apicurio.registry.types.RuleType;
+import io.apicurio.registry.utils.impexp.ContentEntity;
 import io.apicurio.registry.utils.impexp.Entity;
 
 import java.time.Instant;
@@ -94,6 +96,12 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public byte[] getCompressedContent(long contentId) throws RegistryStorageException {
+        return delegate.getCompressedContent(contentId);
+    }
+
+
     @Override
     public ContentWrapperDto getArtifactByContentHash(String contentHash)
             throws ContentNotFoundException, RegistryStorageException {
@@ -113,6 +121,13 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public List<String> getArtifactIds(String groupId, String artifactIdPrefix, Set<String> artifactTypes, ArtifactState state,
+                                       int offset, int limit) throws RegistryStorageException {
+        return delegate.getArtifactIds(groupId, artifactIdPrefix, artifactTypes, state, offset, limit);
+    }
+
+
     @Override
     public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy,
                                                     OrderDirection orderDirection, int offset, int limit) {
@@ -142,6 +157,13 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public ArtifactVersionMetaDataDto getArtifactVersionMetaDataByDereferencedHash(String groupId, String artifactId, String dereferencedHash)
+            throws ArtifactNotFoundException, RegistryStorageException {
+        return delegate.getArtifactVersionMetaDataByDereferencedHash(groupId, artifactId, dereferencedHash);
+    }
+
+
     @Override
     public ArtifactMetaDataDto getArtifactMetaData(long globalId)
             throws ArtifactNotFoundException, RegistryStorageException {
@@ -164,6 +186,13 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public Map<RuleType, RuleConfigurationDto> getArtifactRuleConfigurations(String groupId, String artifactId)
+            throws RegistryStorageException {
+        return delegate.getArtifactRuleConfigurations(groupId, artifactId);
+    }
+
+
     @Override
     public RuleConfigurationDto getArtifactRule(String groupId, String artifactId, RuleType rule)
             throws ArtifactNotFoundException, RuleNotFoundException, RegistryStorageException {
@@ -213,6 +242,12 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public Map<RuleType, RuleConfigurationDto> getGlobalRuleConfigurations() throws RegistryStorageException {
+        return delegate.getGlobalRuleConfigurations();
+    }
+
+
     @Override
     public RuleConfigurationDto getGlobalRule(RuleType rule)
             throws RuleNotFoundException, RegistryStorageException {
@@ -239,6 +274,12 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public void exportData(Function<Entity, Void> handler, long sinceGlobalId, long sinceTimestamp) throws RegistryStorageException {
+        delegate.exportData(handler, sinceGlobalId, sinceTimestamp);
+    }
+
+
     @Override
     public long countArtifacts() throws RegistryStorageException {
         return delegate.countArtifacts();
@@ -388,6 +429,42 @@ public abstract class RegistryStorageDecoratorReadOnlyBase implements RegistrySt
     }
 
 
+    @Override
+    public Optional<String> contentHashFromId(long contentId) throws RegistryStorageException {
+        return delegate.contentHashFromId(contentId);
+    }
+
+
+    @Override
+    public List<ContentEntity> getContentEntitiesWithoutCanonicalHash(long afterContentId, int limit) throws RegistryStorageException {
+        return delegate.getContentEntitiesWithoutCanonicalHash(afterContentId, limit);
+    }
+
+
+    @Override
+    public List<ContentEntity> getContentEntitiesWithoutDereferencedHash(String artifactType, long afterContentId, int limit) throws RegistryStorageException {
+        return delegate.getContentEntitiesWithoutDereferencedHash(artifactType, afterContentId, limit);
+    }
+
+
+    @Override
+    public ContentHandle getDereferencedContent(long contentId) throws RegistryStorageException {
+        return delegate.getDereferencedContent(contentId);
+    }
+
+
+    @Override
+    public List<OutboxEventDto> getOutboxEvents(long afterId, int limit) throws RegistryStorageException {
+        return delegate.getOutboxEvents(afterId, limit);
+    }
+
+
+    @Override
+    public long getLatestOutboxEventId() throws RegistryStorageException {
+        return delegate.getLatestOutboxEventId();
+    }
+
+
     @Override
     public String normalizeVersion(String groupId, String artifactId, String version) {
         return delegate.normalizeVersion(groupId, artifactId, version);
@@ -43,6 +43,10 @@ public class DownloadContextDto {
     private Long contentId;
     private String contentHash;
 
+    // Watermark of an incremental export
+    private Long sinceGlobalId;
+    private Long sinceTimestamp;
+
     /**
      * Constructor.
      */
@@ -24,18 +24,31 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 public class LazyContentList implements List<ContentHandle> {
 
     private final RegistryStorage storage;
     private final List<Long> contentIds;
+    private final Map<Long, ContentHandle> loadedContent;
 
     public LazyContentList(RegistryStorage storage, List<Long> contentIds) {
+        this(storage, contentIds, false);
+    }
+
+    /**
+     * @param retainContent if true, content is loaded from the storage only once and then kept, so that the
+     *                      same content handles (and the content they parsed) are shared by every access. This
+     *                      is useful when the list is used many times, possibly concurrently.
+     */
+    public LazyContentList(RegistryStorage storage, List<Long> contentIds, boolean retainContent) {
         this.storage = storage;
         this.contentIds = contentIds;
+        this.loadedContent = retainContent ? new ConcurrentHashMap<>() : null;
     }
 
     @Override
@@ -56,7 +69,7 @@ public class LazyContentList implements List<ContentHandle> {
     @Override
     public ContentHandle get(int index) {
         //Not the best solution, works for now...
-        return storage.getArtifactByContentId(contentIds.get(index)).getContent();
+        return loadContent(contentIds.get(index));
     }
 
     @Override
@@ -169,7 +182,7 @@ public class LazyContentList implements List<ContentHandle> {
     @Override
     public void forEach(Consumer<? super ContentHandle> action) {
         for (Long contentId : contentIds) {
-            ContentHandle retrievedContent = storage.getArtifactByContentId(contentId).getContent();
+            ContentHandle retrievedContent = loadContent(contentId);
             action.accept(retrievedContent);
         }
     }
@@ -180,12 +193,28 @@ public class LazyContentList implements List<ContentHandle> {
 
     public ContentHandle getContentById(long contentId) {
         if (contentIds.contains(contentId)) {
-            return storage.getArtifactByContentId(contentId).getContent();
+            return loadContent(contentId);
         } else {
             throw new NoSuchElementException(String.format("No content found with id %d", contentId));
         }
     }
 
+    private ContentHandle loadContent(long contentId) {
+        if (loadedContent == null) {
+            return storage.getArtifactByContentId(contentId).getContent();
+        }
+        ContentHandle content = loadedContent.get(contentId);
+        if (content == null) {
+            // Loaded outside of the map operation, concurrent loads of the same content keep the first handle
+            content = storage.getArtifactByContentId(contentId).getContent();
+            ContentHandle existing = loadedContent.putIfAbsent(contentId, content);
+            if (existing != null) {
+                content = existing;
+            }
+        }
+        return content;
+    }
+
     private static class LazyContentListIterator implements Iterator<ContentHandle> {
 
         private final LazyContentList lazyContentList;
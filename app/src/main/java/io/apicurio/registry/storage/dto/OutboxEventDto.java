@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A registry event stored in the outbox, in the same transaction as the change it describes.
+ */
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode
+@Getter
+@Setter
+@ToString
+@RegisterForReflection
+public class OutboxEventDto {
+
+    // Assigned by the storage, in commit order
+    private long id;
+    // Name of the RegistryEventType
+    private String eventType;
+    private String groupId;
+    private String artifactId;
+    private String version;
+    private long createdOn;
+    // JSON serialized event data, as sent to the event sinks
+    private String payload;
+
+    /**
+     * Constructor.
+     */
+    public OutboxEventDto() {
+    }
+
+}
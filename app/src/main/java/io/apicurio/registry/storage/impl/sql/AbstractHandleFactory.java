@@ -21,9 +21,11 @@ import io.apicurio.registry.storage.error.RegistryStorageException;
 import io.apicurio.registry.storage.impl.sql.jdb.Handle;
 import io.apicurio.registry.storage.impl.sql.jdb.HandleCallback;
 import io.apicurio.registry.storage.impl.sql.jdb.HandleImpl;
+import io.apicurio.registry.storage.impl.sql.jdb.StatementListener;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
@@ -42,11 +44,14 @@ public abstract class AbstractHandleFactory implements HandleFactory {
 
     private Logger log;
 
-    protected void initialize(AgroalDataSource dataSource, String dataSourceId, Logger log) {
+    private StatementListener listener;
+
+    protected void initialize(AgroalDataSource dataSource, String dataSourceId, Logger log, SqlStatementMetrics metrics) {
         // CDI error if there is no no-args constructor
         this.dataSource = dataSource;
         this.dataSourceId = dataSourceId;
         this.log = log;
+        this.listener = metrics.createListener(dataSourceId);
     }
 
     @Override
@@ -58,7 +63,10 @@ public abstract class AbstractHandleFactory implements HandleFactory {
          */
         try {
             if (get().handle == null) {
-                get().handle = new HandleImpl(dataSource.getConnection());
+                long start = System.nanoTime();
+                Connection connection = dataSource.getConnection();
+                listener.connectionAcquired(System.nanoTime() - start);
+                get().handle = new HandleImpl(connection, listener);
             } else {
                 get().level++;
             }
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.apicurio.common.apps.config.DynamicConfigPropertyDto;
 import io.apicurio.common.apps.config.Info;
 import io.apicurio.common.apps.core.System;
+import io.apicurio.registry.content.ContentCompression;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.exception.UnreachableCodeException;
 import io.apicurio.registry.storage.ArtifactStateExt;
@@ -31,6 +32,7 @@ import io.apicurio.registry.storage.StorageEventType;
 import io.apicurio.registry.storage.dto.*;
 import io.apicurio.registry.storage.error.*;
 import io.apicurio.registry.storage.impexp.EntityInputStream;
+import io.apicurio.registry.storage.impl.sql.jdb.Batch;
 import io.apicurio.registry.storage.impl.sql.jdb.Handle;
 import io.apicurio.registry.storage.impl.sql.jdb.Query;
 import io.apicurio.registry.storage.impl.sql.jdb.RowMapper;
@@ -53,6 +55,9 @@ import io.apicurio.registry.utils.impexp.ManifestEntity;
 import io.quarkus.security.identity.SecurityIdentity;
 import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.tuple.Pair;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -63,6 +68,8 @@ import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -86,6 +93,9 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
             IoUtil.toString(AbstractSqlRegistryStorage.class.getResourceAsStream("db-version"))).intValue();
     private static final Object inmemorySequencesMutex = new Object();
 
+    // 9999-12-31T23:59:59Z, later than any stored timestamp and supported by all the databases
+    private static final Date MAX_WATERMARK_DATE = new Date(253402300799000L);
+
     private static final ObjectMapper mapper = new ObjectMapper();
 
     static {
@@ -96,6 +106,13 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     private static final String GLOBAL_ID_SEQUENCE = "globalId";
     private static final String CONTENT_ID_SEQUENCE = "contentId";
     private static final String COMMENT_ID_SEQUENCE = "commentId";
+    private static final String OUTBOX_ID_SEQUENCE = "outboxId";
+
+    // Names of the counters in the "counters" table, and the number of rows (slots) of each counter seeded
+    // by the DDL. Writers update a random slot, so that concurrent transactions rarely wait on the same row.
+    private static final String ARTIFACTS_COUNTER = "artifacts";
+    private static final String VERSIONS_COUNTER = "versions";
+    private static final int COUNTER_SLOTS = 8;
 
     @Inject
     Logger log;
@@ -123,6 +140,9 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Inject
     RegistryStorageContentUtils utils;
 
+    @Inject
+    ContentCompression contentCompression;
+
     protected SqlStatements sqlStatements() {
         return sqlStatements;
     }
@@ -135,6 +155,26 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Info(category = "storage", description = "Datasource jdbc URL", availableSince = "2.1.0.Final")
     String jdbcUrl;
 
+    @ConfigProperty(name = "registry.sql.global-rules.cache.ttl", defaultValue = "10s")
+    @Info(category = "storage", description = "How long the global rules are cached before being reloaded from the database. "
+            + "The cache is invalidated when a global rule is modified on this replica, or applied from the KafkaSQL "
+            + "journal.  Replicas sharing the same database without KafkaSQL can serve global rules modified on another "
+            + "replica for up to this duration.", availableSince = "3.0.0")
+    Duration globalRulesCacheTtl;
+
+    @ConfigProperty(name = "registry.sql.import.batch-size", defaultValue = "500")
+    @Info(category = "storage", description = "Number of content, artifact version and comment entities that are "
+            + "written to the database in a single transaction and in batched statements when importing data.", availableSince = "3.0.0")
+    int importBatchSize;
+
+    @ConfigProperty(name = "registry.sql.export.fetch-size", defaultValue = "1000")
+    @Info(category = "storage", description = "Number of rows fetched from the database in a single round trip "
+            + "when exporting data.", availableSince = "3.0.0")
+    int exportFetchSize;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
     @Inject
     Event<SqlStorageEvent> sqlStorageEvent;
 
@@ -145,6 +185,9 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     private volatile Instant isAliveLastCheck = Instant.MIN;
     private volatile boolean isAliveCached = false;
 
+    private final AtomicLong globalRulesCacheGeneration = new AtomicLong();
+    private volatile CachedGlobalRules globalRulesCache;
+
     /**
      * @param emitStorageReadyEvent The concrete implementation needs to tell AbstractSqlRegistryStorage
      *                              whether it should fire {@see io.apicurio.registry.storage.StorageEvent} in addition to
@@ -351,6 +394,19 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    @Override
+    @Transactional
+    public byte[] getCompressedContent(long contentId) throws RegistryStorageException {
+        return handles.withHandleNoException(handle -> {
+            List<byte[]> res = handle.createQuery(sqlStatements().selectContentGzipById())
+                    .bind(0, contentId)
+                    .map(rs -> rs.getBytes("contentGzip"))
+                    .list();
+            return res.isEmpty() ? null : res.get(0);
+        });
+    }
+
+
     @Override
     @Transactional
     public ContentWrapperDto getArtifactByContentHash(String contentHash) throws ContentNotFoundException, RegistryStorageException {
@@ -495,6 +551,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(11, contentId)
                         .execute();
 
+                updateCounter(handle, VERSIONS_COUNTER, 1);
                 return null;
             });
         } else {
@@ -518,6 +575,8 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(13, contentId)
                         .execute();
 
+                updateCounter(handle, VERSIONS_COUNTER, 1);
+
                 // If version is null, update the row we just inserted to set the version to the generated versionId
                 if (finalVersion2 == null) {
 
@@ -584,12 +643,13 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
             return getOrCreateContentRaw(content,
                     utils.getContentHash(content, references),
                     utils.getCanonicalContentHash(content, artifactType, references, this::resolveReferences),
+                    utils.getDereferencedContentHash(content, artifactType, references, this::resolveReferences),
                     references, SqlUtil.serializeReferences(references));
         } else {
             return getOrCreateContentRaw(content,
                     utils.getContentHash(content, null),
                     utils.getCanonicalContentHash(content, artifactType, null, null),
-                    null, null);
+                    null, null, null);
         }
     }
 
@@ -599,8 +659,11 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
      * If the content already exists, just return the content ID of the existing row.
      * <p>
      * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
+     *
+     * @param dereferencedContentHash may be null
      */
-    private Long getOrCreateContentRaw(ContentHandle content, String contentHash, String canonicalContentHash, List<ArtifactReferenceDto> references, String referencesSerialized) {
+    private Long getOrCreateContentRaw(ContentHandle content, String contentHash, String canonicalContentHash,
+                                       String dereferencedContentHash, List<ArtifactReferenceDto> references, String referencesSerialized) {
         return handles.withHandleNoException(handle -> {
             byte[] contentBytes = content.bytes();
 
@@ -612,16 +675,20 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
             boolean insertReferences = true;
             if (Set.of("mssql", "postgresql").contains(sqlStatements.dbType())) {
 
-                handle.createUpdate(sqlStatements.upsertContent())
+                int rowCount = handle.createUpdate(sqlStatements.upsertContent())
                         .bind(0, nextContentId())
                         .bind(1, canonicalContentHash)
                         .bind(2, contentHash)
                         .bind(3, contentBytes)
                         .bind(4, referencesSerialized)
+                        .bind(5, dereferencedContentHash)
                         .execute();
 
                 contentId = contentIdFromHash(contentHash)
                         .orElseThrow(() -> new RegistryStorageException("Content hash not found."));
+                if (rowCount > 0) {
+                    insertCompressedContent(handle, contentId, contentBytes);
+                }
 
             } else if ("h2".equals(sqlStatements.dbType())) {
 
@@ -639,10 +706,12 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                             .bind(2, contentHash)
                             .bind(3, contentBytes)
                             .bind(4, referencesSerialized)
+                            .bind(5, dereferencedContentHash)
                             .execute();
 
                     contentId = contentIdFromHash(contentHash)
                             .orElseThrow(() -> new RegistryStorageException("Content hash not found."));
+                    insertCompressedContent(handle, contentId, contentBytes);
                 }
             } else {
                 throw new UnsupportedOperationException("Unsupported database type: " + sqlStatements.dbType());
@@ -657,6 +726,41 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    /**
+     * Add a delta to one of the counters of the "counters" table. The counters are updated in the same
+     * transaction as the rows they count, so they are accurate for every replica sharing the database,
+     * and counting artifacts or versions does not need to scan the tables.
+     * <p>
+     * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
+     */
+    private void updateCounter(Handle handle, String name, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        handle.createUpdate(sqlStatements.updateCounter())
+                .bind(0, delta)
+                .bind(1, name)
+                .bind(2, ThreadLocalRandom.current().nextInt(COUNTER_SLOTS))
+                .execute();
+    }
+
+
+    /**
+     * Store the compressed copy of new content, if one should be stored.
+     * <p>
+     * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
+     */
+    private void insertCompressedContent(Handle handle, long contentId, byte[] contentBytes) {
+        byte[] compressed = contentCompression.compress(contentBytes);
+        if (compressed != null) {
+            handle.createUpdate(sqlStatements.updateContentGzip())
+                    .bind(0, compressed)
+                    .bind(1, contentId)
+                    .execute();
+        }
+    }
+
+
     /**
      * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
      */
@@ -740,6 +844,8 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(4, createdOn)
                         .execute();
 
+                updateCounter(handle, ARTIFACTS_COUNTER, 1);
+
                 // Then create a row in the content and versions tables (for the content and version meta-data)
                 ArtifactVersionMetaDataDto vmdd = createArtifactVersionRaw(true, groupId, artifactId, version,
                         metaData.getName(), metaData.getDescription(), metaData.getLabels(), metaData.getProperties(), createdBy, createdOn,
@@ -796,7 +902,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .execute();
 
                 // Delete versions
-                handle.createUpdate(sqlStatements.deleteVersions())
+                int versionCount = handle.createUpdate(sqlStatements.deleteVersions())
                         .bind(0, normalizeGroupId(groupId))
                         .bind(1, artifactId)
                         .execute();
@@ -816,6 +922,10 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 if (rowCount == 0) {
                     throw new ArtifactNotFoundException(groupId, artifactId);
                 }
+
+                // Artifacts before versions, in the same order as when they are created (avoids deadlocks)
+                updateCounter(handle, ARTIFACTS_COUNTER, -rowCount);
+                updateCounter(handle, VERSIONS_COUNTER, -versionCount);
                 return versions;
             });
             deleteAllOrphanedContent();
@@ -848,7 +958,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .execute();
 
                 // Delete versions
-                handle.createUpdate(sqlStatements.deleteVersionsByGroupId())
+                int versionCount = handle.createUpdate(sqlStatements.deleteVersionsByGroupId())
                         .bind(0, normalizeGroupId(groupId))
                         .execute();
 
@@ -865,6 +975,10 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 if (rowCount == 0) {
                     throw new ArtifactNotFoundException(groupId, null);
                 }
+
+                // Artifacts before versions, in the same order as when they are created (avoids deadlocks)
+                updateCounter(handle, ARTIFACTS_COUNTER, -rowCount);
+                updateCounter(handle, VERSIONS_COUNTER, -versionCount);
                 return null;
             });
             deleteAllOrphanedContent();
@@ -1041,6 +1155,74 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    @Override
+    @Transactional
+    public List<String> getArtifactIds(String groupId, String artifactIdPrefix, Set<String> artifactTypes, ArtifactState state,
+                                       int offset, int limit) throws RegistryStorageException {
+        return handles.withHandleNoException(handle -> {
+            List<SqlStatementVariableBinder> binders = new LinkedList<>();
+
+            StringBuilder sql = new StringBuilder("SELECT a.artifactId FROM artifacts a ");
+            if (state != null) {
+                sql.append("JOIN versions v ON a.latest = v.globalId ");
+            }
+            sql.append("WHERE a.groupId = ?");
+            binders.add((query, idx) -> {
+                query.bind(idx, normalizeGroupId(groupId));
+            });
+            if (artifactIdPrefix != null && !artifactIdPrefix.isEmpty()) {
+                sql.append(" AND a.artifactId LIKE ? ESCAPE '\\'");
+                String pattern = artifactIdPrefix.replace("\\", "\\\\")
+                        .replace("%", "\\%")
+                        .replace("_", "\\_") + "%";
+                binders.add((query, idx) -> {
+                    query.bind(idx, pattern);
+                });
+            }
+            if (artifactTypes != null) {
+                if (artifactTypes.isEmpty()) {
+                    return List.of();
+                }
+                sql.append(" AND a.type IN (");
+                sql.append(String.join(", ", Collections.nCopies(artifactTypes.size(), "?")));
+                sql.append(")");
+                for (String artifactType : artifactTypes) {
+                    binders.add((query, idx) -> {
+                        query.bind(idx, artifactType);
+                    });
+                }
+            }
+            if (state != null) {
+                sql.append(" AND v.state = ?");
+                binders.add((query, idx) -> {
+                    query.bind(idx, state.name());
+                });
+            }
+            sql.append(" ORDER BY a.createdOn ASC, a.artifactId ASC");
+            if ("mssql".equals(sqlStatements.dbType())) {
+                sql.append(" OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+            } else {
+                sql.append(" LIMIT ? OFFSET ?");
+            }
+
+            Query query = handle.createQuery(sql.toString());
+            int idx = 0;
+            for (SqlStatementVariableBinder binder : binders) {
+                binder.bind(query, idx);
+                idx++;
+            }
+            if ("mssql".equals(sqlStatements.dbType())) {
+                query.bind(idx++, offset);
+                query.bind(idx++, limit);
+            } else {
+                query.bind(idx++, limit);
+                query.bind(idx++, offset);
+            }
+            return query.mapTo(String.class).list();
+        });
+    }
+
+
     /**
      * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
      *
@@ -1350,6 +1532,52 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(2, hash)
                         .map(ArtifactVersionMetaDataDtoMapper.instance)
                         .findFirst();
+                if (res.isEmpty() && canonical) {
+                    res = findVersionWithoutCanonicalHash(handle, groupId, artifactId, hash);
+                }
+                return res.orElseThrow(() -> new ArtifactNotFoundException(groupId, artifactId));
+            });
+        } catch (ArtifactNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RegistryStorageException(e);
+        }
+    }
+
+
+    /**
+     * Imported content may not have a canonical hash until the {@link io.apicurio.registry.storage.importing.CanonicalHashUpdater}
+     * has processed it, so the canonical hash of the versions of the artifact that are still missing one is computed on demand.
+     */
+    private Optional<ArtifactVersionMetaDataDto> findVersionWithoutCanonicalHash(Handle handle, String groupId, String artifactId,
+                                                                                 String canonicalHash) {
+        return handle.createQuery(sqlStatements.selectArtifactVersionMetaDataWithoutCanonicalHash())
+                .bind(0, normalizeGroupId(groupId))
+                .bind(1, artifactId)
+                .map(rs -> Pair.of(ArtifactVersionMetaDataDtoMapper.instance.map(rs),
+                        Pair.of(ContentHandle.create(rs.getBytes("content")), rs.getString("artifactreferences"))))
+                .list()
+                .stream()
+                .filter(version -> canonicalHash.equals(utils.getCanonicalContentHash(version.getRight().getLeft(),
+                        version.getLeft().getType(), SqlUtil.deserializeReferences(version.getRight().getRight()),
+                        this::resolveReferences)))
+                .map(Pair::getLeft)
+                .findFirst();
+    }
+
+
+    @Override
+    @Transactional
+    public ArtifactVersionMetaDataDto getArtifactVersionMetaDataByDereferencedHash(String groupId, String artifactId, String dereferencedHash)
+            throws ArtifactNotFoundException, RegistryStorageException {
+        try {
+            return handles.withHandle(handle -> {
+                Optional<ArtifactVersionMetaDataDto> res = handle.createQuery(sqlStatements.selectArtifactVersionMetaDataByDereferencedHash())
+                        .bind(0, normalizeGroupId(groupId))
+                        .bind(1, artifactId)
+                        .bind(2, dereferencedHash)
+                        .map(ArtifactVersionMetaDataDtoMapper.instance)
+                        .findFirst();
                 return res.orElseThrow(() -> new ArtifactNotFoundException(groupId, artifactId));
             });
         } catch (ArtifactNotFoundException e) {
@@ -1454,6 +1682,19 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    @Override
+    @Transactional
+    public Map<RuleType, RuleConfigurationDto> getArtifactRuleConfigurations(String groupId, String artifactId)
+            throws RegistryStorageException {
+        log.debug("Getting the configuration of all artifact rules for: {} {}", groupId, artifactId);
+        return handles.withHandleNoException(handle -> {
+            return toRuleConfigurationMap(handle.createQuery(sqlStatements.selectArtifactRules())
+                    .bind(0, normalizeGroupId(groupId))
+                    .bind(1, artifactId));
+        });
+    }
+
+
     @Override
     @Transactional
     public void createArtifactRule(String groupId, String artifactId, RuleType rule, RuleConfigurationDto config)
@@ -1802,6 +2043,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
 
                 // If the row was deleted, update the "latest" column to the globalId of the highest remaining version
                 if (rows == 1) {
+                    updateCounter(handle, VERSIONS_COUNTER, -1);
                     versions.remove(version);
 
                     // Update the 'latest' version of the artifact to the globalId of the highest remaining version
@@ -2136,10 +2378,60 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    @Override
+    @Transactional
+    public Map<RuleType, RuleConfigurationDto> getGlobalRuleConfigurations() throws RegistryStorageException {
+        long generation = globalRulesCacheGeneration.get();
+        CachedGlobalRules cached = globalRulesCache;
+        if (cached != null && cached.isValid(generation, globalRulesCacheTtl)) {
+            return cached.getRules();
+        }
+        log.debug("Loading the configuration of all global rules");
+        Map<RuleType, RuleConfigurationDto> rules = Collections.unmodifiableMap(handles.withHandleNoException(handle -> {
+            return toRuleConfigurationMap(handle.createQuery(sqlStatements.selectGlobalRuleConfigurations()));
+        }));
+        // A snapshot loaded concurrently with a modification is rejected by isValid() on the next read.
+        globalRulesCache = new CachedGlobalRules(generation, rules);
+        return rules;
+    }
+
+
+    private static Map<RuleType, RuleConfigurationDto> toRuleConfigurationMap(Query query) {
+        Map<RuleType, RuleConfigurationDto> rules = new EnumMap<>(RuleType.class);
+        query.map(rs -> Pair.of(RuleType.fromValue(rs.getString("type")), RuleConfigurationDtoMapper.instance.map(rs)))
+                .list()
+                .forEach(pair -> rules.put(pair.getKey(), pair.getValue()));
+        return rules;
+    }
+
+
+    /**
+     * Invalidates the cached global rules.  When called within a transaction, the cache is invalidated
+     * again once the transaction completes, so that readers running concurrently with the modification
+     * cannot keep serving the state from before the commit (or the state of a rolled back transaction).
+     */
+    private void invalidateGlobalRulesCache() {
+        globalRulesCacheGeneration.incrementAndGet();
+        if (transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    globalRulesCacheGeneration.incrementAndGet();
+                }
+            });
+        }
+    }
+
+
     @Override
     @Transactional
     public void createGlobalRule(RuleType rule, RuleConfigurationDto config)
             throws RuleAlreadyExistsException, RegistryStorageException {
+        invalidateGlobalRulesCache();
         log.debug("Inserting a global rule row for: {}", rule.name());
         try {
             handles.withHandle(handle -> {
@@ -2161,6 +2453,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Override
     @Transactional
     public void deleteGlobalRules() throws RegistryStorageException {
+        invalidateGlobalRulesCache();
         log.debug("Deleting all Global Rules");
         handles.withHandleNoException(handle -> {
             handle.createUpdate(sqlStatements.deleteGlobalRules())
@@ -2195,6 +2488,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Transactional
     public void updateGlobalRule(RuleType rule, RuleConfigurationDto config)
             throws RuleNotFoundException, RegistryStorageException {
+        invalidateGlobalRulesCache();
         log.debug("Updating a global rule: {}::{}", rule.name(), config.getConfiguration());
         try {
             handles.withHandle(handle -> {
@@ -2218,6 +2512,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Override
     @Transactional
     public void deleteGlobalRule(RuleType rule) throws RuleNotFoundException, RegistryStorageException {
+        invalidateGlobalRulesCache();
         log.debug("Deleting a global rule: {}", rule.name());
         try {
             handles.withHandle(handle -> {
@@ -2441,6 +2736,26 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Override
     @Transactional
     public void exportData(Function<Entity, Void> handler) throws RegistryStorageException {
+        exportDataSince(handler, null, null);
+    }
+
+
+    @Override
+    @Transactional
+    public void exportData(Function<Entity, Void> handler, long sinceGlobalId, long sinceTimestamp) throws RegistryStorageException {
+        if (sinceGlobalId <= 0 && sinceTimestamp <= 0) {
+            exportDataSince(handler, null, null);
+        } else {
+            exportDataSince(handler, sinceGlobalId, new Date(sinceTimestamp));
+        }
+    }
+
+
+    /**
+     * Exports all data, or only the data created or modified after the watermark when it is not null.
+     * IMPORTANT: Private methods can't be @Transactional. Callers MUST have started a transaction.
+     */
+    private void exportDataSince(Function<Entity, Void> handler, Long sinceGlobalId, Date since) throws RegistryStorageException {
         try {
             // Export a simple manifest file
             /////////////////////////////////
@@ -2451,13 +2766,27 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
             manifest.systemName = system.getName();
             manifest.systemDescription = system.getDescription();
             manifest.systemVersion = system.getVersion();
+            // MAX() is NULL when there are no artifact versions yet
+            manifest.lastGlobalId = handles.withHandle(handle -> handle.createQuery(sqlStatements.selectMaxGlobalId())
+                    .map(rs -> rs.getObject(1) == null ? 0L : rs.getLong(1))
+                    .one());
+            if (since != null) {
+                manifest.sinceGlobalId = sinceGlobalId;
+                manifest.sinceTimestamp = since.getTime();
+            }
             handler.apply(manifest);
 
-            // Export all content
+            // A part of the watermark that is not set (zero) must not match anything, rather than everything
+            final Long afterGlobalId = since == null || sinceGlobalId > 0 ? sinceGlobalId : Long.MAX_VALUE;
+            final Date after = since == null || since.getTime() > 0 ? since : MAX_WATERMARK_DATE;
+
+            // Export all content (used by the exported artifact versions)
             /////////////////////////////////
             handles.withHandle(handle -> {
-                Stream<ContentEntity> stream = handle.createQuery(sqlStatements.exportContent())
-                        .setFetchSize(50)
+                Query query = since == null ? handle.createQuery(sqlStatements.exportContent())
+                        : handle.createQuery(sqlStatements.exportContentSince()).bind(0, afterGlobalId).bind(1, after);
+                Stream<ContentEntity> stream = query
+                        .setFetchSize(exportFetchSize)
                         .map(ContentEntityMapper.instance)
                         .stream();
                 // Process and then close the stream.
@@ -2467,11 +2796,13 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 return null;
             });
 
-            // Export all groups
+            // Export all groups (created or modified after the watermark)
             /////////////////////////////////
             handles.withHandle(handle -> {
-                Stream<GroupEntity> stream = handle.createQuery(sqlStatements.exportGroups())
-                        .setFetchSize(50)
+                Query query = since == null ? handle.createQuery(sqlStatements.exportGroups())
+                        : handle.createQuery(sqlStatements.exportGroupsSince()).bind(0, after).bind(1, after).bind(2, afterGlobalId);
+                Stream<GroupEntity> stream = query
+                        .setFetchSize(exportFetchSize)
                         .map(GroupEntityMapper.instance)
                         .stream();
                 // Process and then close the stream.
@@ -2481,11 +2812,13 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 return null;
             });
 
-            // Export all artifact versions
+            // Export all artifact versions (created after the watermark)
             /////////////////////////////////
             handles.withHandle(handle -> {
-                Stream<ArtifactVersionEntity> stream = handle.createQuery(sqlStatements.exportArtifactVersions())
-                        .setFetchSize(50)
+                Query query = since == null ? handle.createQuery(sqlStatements.exportArtifactVersions())
+                        : handle.createQuery(sqlStatements.exportArtifactVersionsSince()).bind(0, afterGlobalId).bind(1, after);
+                Stream<ArtifactVersionEntity> stream = query
+                        .setFetchSize(exportFetchSize)
                         .map(ArtifactVersionEntityMapper.instance)
                         .stream();
                 // Process and then close the stream.
@@ -2495,11 +2828,13 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                 return null;
             });
 
-            // Export all artifact comments
+            // Export all artifact comments (created after the watermark, or on an exported artifact version)
             /////////////////////////////////
             handles.withHandle(handle -> {
-                Stream<CommentEntity> stream = handle.createQuery(sqlStatements.exportComments())
-                        .setFetchSize(50)
+                Query query = since == null ? handle.createQuery(sqlStatements.exportComments())
+                        : handle.createQuery(sqlStatements.exportCommentsSince()).bind(0, afterGlobalId).bind(1, after);
+                Stream<CommentEntity> stream = query
+                        .setFetchSize(exportFetchSize)
                         .map(CommentEntityMapper.instance)
                         .stream();
                 // Process and then close the stream.
@@ -2513,7 +2848,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
             /////////////////////////////////
             handles.withHandle(handle -> {
                 Stream<ArtifactRuleEntity> stream = handle.createQuery(sqlStatements.exportArtifactRules())
-                        .setFetchSize(50)
+                        .setFetchSize(exportFetchSize)
                         .map(ArtifactRuleEntityMapper.instance)
                         .stream();
                 // Process and then close the stream.
@@ -2527,7 +2862,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
             /////////////////////////////////
             handles.withHandle(handle -> {
                 Stream<GlobalRuleEntity> stream = handle.createQuery(sqlStatements.exportGlobalRules())
-                        .setFetchSize(50)
+                        .setFetchSize(exportFetchSize)
                         .map(GlobalRuleEntityMapper.instance)
                         .stream();
                 // Process and then close the stream.
@@ -2546,17 +2881,162 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
 
     @Override
     public void importData(EntityInputStream entities, boolean preserveGlobalId, boolean preserveContentId) {
-        DataImporter dataImporter = new SqlDataImporter(log, utils, this, preserveGlobalId, preserveContentId);
+        DataImporter dataImporter = new SqlDataImporter(log, utils, this, preserveGlobalId, preserveContentId,
+                this::importEntities, importBatchSize);
         dataImporter.importData(entities, () -> {
         });
     }
 
 
+    /**
+     * Imports a chunk of content, artifact version and comment entities in a single transaction. Each entity
+     * must come after the entities it depends on (e.g. content before the versions using it), or these must
+     * already exist. The rows of each table are inserted with a single batched statement. Content and artifact
+     * versions that already exist are skipped.
+     */
+    @Transactional
+    public void importEntities(List<Entity> entities) {
+        handles.withHandleNoException(handle -> {
+            Batch content = handle.createBatch(sqlStatements.importContent());
+            Batch compressedContent = handle.createBatch(sqlStatements.updateContentGzip());
+            Batch references = handle.createBatch(sqlStatements.upsertReference());
+            Batch artifacts = handle.createBatch(sqlStatements.insertArtifact());
+            Batch versions = handle.createBatch(sqlStatements.importArtifactVersion());
+            Batch labels = handle.createBatch(sqlStatements.insertLabel());
+            Batch properties = handle.createBatch(sqlStatements.insertProperty());
+            Batch latest = handle.createBatch(sqlStatements.updateArtifactLatest());
+            Batch comments = handle.createBatch(sqlStatements.insertComment());
+
+            Set<Long> contentIds = new HashSet<>();
+            Set<Long> globalIds = new HashSet<>();
+            Set<Pair<String, String>> artifactIds = new HashSet<>();
+            long artifactCount = 0;
+
+            for (Entity entity : entities) {
+                switch (entity.getEntityType()) {
+                    case Content:
+                        ContentEntity contentEntity = (ContentEntity) entity;
+                        if (contentIds.contains(contentEntity.contentId) || isContentExists(contentEntity.contentId)) {
+                            log.warn("Duplicate contentId {} detected, skipping import of content: {}", contentEntity.contentId, contentEntity);
+                            break;
+                        }
+                        contentIds.add(contentEntity.contentId);
+                        content.bind(0, contentEntity.contentId)
+                                .bind(1, contentEntity.canonicalHash)
+                                .bind(2, contentEntity.contentHash)
+                                .bind(3, contentEntity.contentBytes)
+                                .bind(4, contentEntity.serializedReferences)
+                                .add();
+                        byte[] compressed = contentCompression.compress(contentEntity.contentBytes);
+                        if (compressed != null) {
+                            compressedContent.bind(0, compressed)
+                                    .bind(1, contentEntity.contentId)
+                                    .add();
+                        }
+                        // Reference names are unique per content, ignore duplicates like upsertReference does
+                        Set<String> referenceNames = new HashSet<>();
+                        for (ArtifactReferenceDto reference : SqlUtil.deserializeReferences(contentEntity.serializedReferences)) {
+                            if (referenceNames.add(reference.getName())) {
+                                references.bind(0, contentEntity.contentId)
+                                        .bind(1, normalizeGroupId(reference.getGroupId()))
+                                        .bind(2, reference.getArtifactId())
+                                        .bind(3, reference.getVersion())
+                                        .bind(4, reference.getName())
+                                        .add();
+                            }
+                        }
+                        break;
+                    case ArtifactVersion:
+                        ArtifactVersionEntity versionEntity = (ArtifactVersionEntity) entity;
+                        if (globalIds.contains(versionEntity.globalId) || isGlobalIdExists(versionEntity.globalId)) {
+                            log.warn("Duplicate globalId {} detected, skipping import of artifact version: {}", versionEntity.globalId, versionEntity);
+                            break;
+                        }
+                        globalIds.add(versionEntity.globalId);
+                        if (artifactIds.add(Pair.of(normalizeGroupId(versionEntity.groupId), versionEntity.artifactId))
+                                && !isArtifactExists(versionEntity.groupId, versionEntity.artifactId)) {
+                            artifacts.bind(0, normalizeGroupId(versionEntity.groupId))
+                                    .bind(1, versionEntity.artifactId)
+                                    .bind(2, versionEntity.artifactType)
+                                    .bind(3, versionEntity.createdBy)
+                                    .bind(4, new Date(versionEntity.createdOn))
+                                    .add();
+                            artifactCount++;
+                        }
+                        versions.bind(0, versionEntity.globalId)
+                                .bind(1, normalizeGroupId(versionEntity.groupId))
+                                .bind(2, versionEntity.artifactId)
+                                .bind(3, versionEntity.version)
+                                .bind(4, versionEntity.versionId)
+                                .bind(5, versionEntity.state)
+                                .bind(6, versionEntity.name)
+                                .bind(7, versionEntity.description)
+                                .bind(8, versionEntity.createdBy)
+                                .bind(9, new Date(versionEntity.createdOn))
+                                .bind(10, SqlUtil.serializeLabels(versionEntity.labels))
+                                .bind(11, SqlUtil.serializeProperties(versionEntity.properties))
+                                .bind(12, versionEntity.contentId)
+                                .add();
+                        if (versionEntity.labels != null) {
+                            versionEntity.labels.forEach(label -> {
+                                labels.bind(0, versionEntity.globalId)
+                                        .bind(1, label.toLowerCase())
+                                        .add();
+                            });
+                        }
+                        if (versionEntity.properties != null) {
+                            versionEntity.properties.forEach((k, v) -> {
+                                properties.bind(0, versionEntity.globalId)
+                                        .bind(1, k.toLowerCase())
+                                        .bind(2, v.toLowerCase())
+                                        .add();
+                            });
+                        }
+                        if (versionEntity.isLatest) {
+                            latest.bind(0, versionEntity.globalId)
+                                    .bind(1, normalizeGroupId(versionEntity.groupId))
+                                    .bind(2, versionEntity.artifactId)
+                                    .add();
+                        }
+                        break;
+                    case Comment:
+                        CommentEntity commentEntity = (CommentEntity) entity;
+                        comments.bind(0, commentEntity.commentId)
+                                .bind(1, commentEntity.globalId)
+                                .bind(2, commentEntity.createdBy)
+                                .bind(3, new Date(commentEntity.createdOn))
+                                .bind(4, commentEntity.value)
+                                .add();
+                        break;
+                    default:
+                        throw new RegistryStorageException("Unhandled entity type during chunk import: " + entity.getEntityType());
+                }
+            }
+
+            // Executed in the order of the foreign keys between the tables
+            content.execute();
+            compressedContent.execute();
+            references.execute();
+            artifacts.execute();
+            versions.execute();
+            labels.execute();
+            properties.execute();
+            latest.execute();
+            comments.execute();
+
+            updateCounter(handle, ARTIFACTS_COUNTER, artifactCount);
+            updateCounter(handle, VERSIONS_COUNTER, globalIds.size());
+            return null;
+        });
+    }
+
+
     @Override
     @Transactional
     public long countArtifacts() throws RegistryStorageException {
         return handles.withHandle(handle -> {
-            return handle.createQuery(sqlStatements.selectAllArtifactCount())
+            return handle.createQuery(sqlStatements.selectCounter())
+                    .bind(0, ARTIFACTS_COUNTER)
                     .mapTo(Long.class)
                     .one();
         });
@@ -2584,7 +3064,8 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Transactional
     public long countTotalArtifactVersions() throws RegistryStorageException {
         return handles.withHandle(handle -> {
-            return handle.createQuery(sqlStatements.selectTotalArtifactVersionsCount())
+            return handle.createQuery(sqlStatements.selectCounter())
+                    .bind(0, VERSIONS_COUNTER)
                     .mapTo(Long.class)
                     .one();
         });
@@ -2766,14 +3247,14 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
 
     @Override
     @Transactional
-    public void deleteAllExpiredDownloads() throws RegistryStorageException {
-        log.debug("Deleting all expired downloads");
+    public int deleteExpiredDownloads(int limit) throws RegistryStorageException {
+        log.debug("Deleting at most {} expired downloads", limit);
         long now = java.lang.System.currentTimeMillis();
-        handles.withHandleNoException(handle -> {
-            handle.createUpdate(sqlStatements.deleteExpiredDownloads())
+        return handles.withHandleNoException(handle -> {
+            return handle.createUpdate(sqlStatements.deleteExpiredDownloads())
                     .bind(0, now)
+                    .bind(1, limit)
                     .execute();
-            return null;
         });
     }
 
@@ -2809,6 +3290,9 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
             handle.createUpdate(sqlStatements.deleteAllArtifacts())
                     .execute();
 
+            handle.createUpdate(sqlStatements.resetCounters())
+                    .execute();
+
             // Delete all groups
             handle.createUpdate(sqlStatements.deleteAllGroups())
                     .execute();
@@ -3063,6 +3547,10 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
             handle.createUpdate(sqlStatements.deleteAllOrphanedContent())
                     .execute();
 
+            // The deleted versions may have been referenced by cached dereferenced content
+            handle.createUpdate(sqlStatements.deleteAllDereferencedContent())
+                    .execute();
+
             return null;
         });
     }
@@ -3176,6 +3664,8 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(3, entity.createdBy)
                         .bind(4, new Date(entity.createdOn))
                         .execute();
+
+                updateCounter(handle, ARTIFACTS_COUNTER, 1);
             }
 
             if (!isGlobalIdExists(entity.globalId)) {
@@ -3196,6 +3686,8 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(12, entity.contentId)
                         .execute();
 
+                updateCounter(handle, VERSIONS_COUNTER, 1);
+
                 // Insert labels into the "labels" table
                 if (entity.labels != null && !entity.labels.isEmpty()) {
                     entity.labels.forEach(label -> {
@@ -3251,6 +3743,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
                         .bind(4, entity.serializedReferences)
                         .execute();
 
+                insertCompressedContent(handle, entity.contentId, entity.contentBytes);
                 insertReferences(entity.contentId, SqlUtil.deserializeReferences(entity.serializedReferences));
             } else {
                 throw new ContentAlreadyExistsException(entity.contentId);
@@ -3263,6 +3756,7 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     @Override
     @Transactional
     public void importGlobalRule(GlobalRuleEntity entity) {
+        invalidateGlobalRulesCache();
         handles.withHandleNoException(handle -> {
             handle.createUpdate(sqlStatements.importGlobalRule()) // TODO Duplicated SQL query
                     .bind(0, entity.ruleType.name())
@@ -3480,6 +3974,176 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    @Override
+    @Transactional
+    public List<ContentEntity> getContentEntitiesWithoutCanonicalHash(long afterContentId, int limit) throws RegistryStorageException {
+        return handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements().selectContentWithoutCanonicalHash())
+                    .bind(0, afterContentId)
+                    .bind(1, limit)
+                    .map(rs -> {
+                        ContentEntity entity = ContentEntityMapper.instance.map(rs);
+                        entity.artifactType = rs.getString("artifactType");
+                        return entity;
+                    })
+                    .list();
+        });
+    }
+
+
+    @Override
+    @Transactional
+    public ContentHandle getDereferencedContent(long contentId) throws RegistryStorageException {
+        return handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements().selectDereferencedContent())
+                    .bind(0, contentId)
+                    .map(rs -> ContentHandle.create(rs.getBytes("content")))
+                    .findFirst()
+                    .orElse(null);
+        });
+    }
+
+
+    @Override
+    @Transactional
+    public void storeDereferencedContent(long contentId, ContentHandle dereferencedContent) throws RegistryStorageException {
+        handles.withHandleNoException(handle -> {
+            handle.createUpdate(sqlStatements().upsertDereferencedContent())
+                    .bind(0, contentId)
+                    .bind(1, dereferencedContent.bytes())
+                    .execute();
+            return null;
+        });
+    }
+
+
+    @Override
+    @Transactional
+    public long createOutboxEvent(OutboxEventDto event) throws RegistryStorageException {
+        return handles.withHandleNoException(handle -> {
+            // Unlike nextSequenceValue(), this keeps the row of the sequence locked until the transaction
+            // completes, so that an event never becomes visible before an event with a lower ID.  Readers
+            // of the outbox rely on this to move their cursor forward without missing events.
+            handle.createUpdate(sqlStatements.incrementSequenceValue())
+                    .bind(0, OUTBOX_ID_SEQUENCE)
+                    .execute();
+            long id = handle.createQuery(sqlStatements.selectCurrentSequenceValue())
+                    .bind(0, OUTBOX_ID_SEQUENCE)
+                    .mapTo(Long.class)
+                    .one();
+
+            handle.createUpdate(sqlStatements.insertOutboxEvent())
+                    .bind(0, id)
+                    .bind(1, event.getEventType())
+                    .bind(2, event.getGroupId())
+                    .bind(3, event.getArtifactId())
+                    .bind(4, event.getVersion())
+                    .bind(5, event.getCreatedOn())
+                    .bind(6, event.getPayload())
+                    .execute();
+            return id;
+        });
+    }
+
+
+    @Override
+    @Transactional
+    public List<OutboxEventDto> getOutboxEvents(long afterId, int limit) throws RegistryStorageException {
+        return handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements.selectOutboxEvents())
+                    .bind(0, afterId)
+                    .bind(1, limit)
+                    .map(OutboxEventDtoMapper.instance)
+                    .list();
+        });
+    }
+
+
+    @Override
+    @Transactional
+    public long getLatestOutboxEventId() throws RegistryStorageException {
+        return handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements.selectLatestOutboxEventId())
+                    .mapTo(Long.class)
+                    .one();
+        });
+    }
+
+
+    @Override
+    @Transactional
+    public List<OutboxEventDto> claimOutboxEvents(int limit) throws RegistryStorageException {
+        return handles.withHandleNoException(handle -> {
+            long relayedId = handle.createQuery(sqlStatements.selectOutboxRelayedId())
+                    .mapTo(Long.class)
+                    .one();
+            List<OutboxEventDto> events = handle.createQuery(sqlStatements.selectOutboxEvents())
+                    .bind(0, relayedId)
+                    .bind(1, limit)
+                    .map(OutboxEventDtoMapper.instance)
+                    .list();
+            if (!events.isEmpty()) {
+                // Compare-and-set, the events belong to whoever moves the cursor first
+                int rowCount = handle.createUpdate(sqlStatements.updateOutboxRelayedId())
+                        .bind(0, events.get(events.size() - 1).getId())
+                        .bind(1, relayedId)
+                        .execute();
+                if (rowCount == 0) {
+                    log.debug("Outbox events after {} have been claimed concurrently", relayedId);
+                    return List.<OutboxEventDto>of();
+                }
+            }
+            return events;
+        });
+    }
+
+
+    @Override
+    @Transactional
+    public int deleteOutboxEvents(long createdBefore) throws RegistryStorageException {
+        return handles.withHandleNoException(handle -> {
+            return handle.createUpdate(sqlStatements.deleteRelayedOutboxEvents())
+                    .bind(0, createdBefore)
+                    .execute();
+        });
+    }
+
+
+    @Override
+    @Transactional
+    public void updateContentDereferencedHash(String dereferencedHash, long contentId, String contentHash) {
+        handles.withHandleNoException(handle -> {
+            int rowCount = handle.createUpdate(sqlStatements().updateContentDereferencedHash())
+                    .bind(0, dereferencedHash)
+                    .bind(1, contentId)
+                    .bind(2, contentHash)
+                    .execute();
+            if (rowCount == 0) {
+                log.warn("update content dereferencedHash, no row match contentId {} contentHash {}", contentId, contentHash);
+            }
+            return null;
+        });
+    }
+
+
+    @Override
+    @Transactional
+    public List<ContentEntity> getContentEntitiesWithoutDereferencedHash(String artifactType, long afterContentId, int limit) throws RegistryStorageException {
+        return handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements().selectContentWithoutDereferencedHash())
+                    .bind(0, afterContentId)
+                    .bind(1, artifactType)
+                    .bind(2, limit)
+                    .map(rs -> {
+                        ContentEntity entity = ContentEntityMapper.instance.map(rs);
+                        entity.artifactType = artifactType;
+                        return entity;
+                    })
+                    .list();
+        });
+    }
+
+
     @Override
     @Transactional
     public Optional<Long> contentIdFromHash(String contentHash) {
@@ -3492,6 +4156,18 @@ public abstract class AbstractSqlRegistryStorage implements RegistryStorage {
     }
 
 
+    @Override
+    @Transactional
+    public Optional<String> contentHashFromId(long contentId) throws RegistryStorageException {
+        return handles.withHandleNoException(handle -> {
+            return handle.createQuery(sqlStatements().selectContentHashById())
+                    .bind(0, contentId)
+                    .mapTo(String.class)
+                    .findOne();
+        });
+    }
+
+
     @Override
     @Transactional
     public ArtifactMetaDataDto updateArtifactWithMetadata(String groupId, String artifactId, String version,
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.registry.storage.dto.RuleConfigurationDto;
+import io.apicurio.registry.types.RuleType;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the global rules, valid until the next modification or until it expires.
+ */
+class CachedGlobalRules {
+
+    private final long generation;
+    private final long loadedAt = System.nanoTime();
+    private final Map<RuleType, RuleConfigurationDto> rules;
+
+    CachedGlobalRules(long generation, Map<RuleType, RuleConfigurationDto> rules) {
+        this.generation = generation;
+        this.rules = rules;
+    }
+
+    boolean isValid(long currentGeneration, Duration ttl) {
+        return generation == currentGeneration && System.nanoTime() - loadedAt < ttl.toNanos();
+    }
+
+    Map<RuleType, RuleConfigurationDto> getRules() {
+        return rules;
+    }
+}
@@ -92,6 +92,14 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "SELECT r.type FROM globalrules r ";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectGlobalRuleConfigurations()
+     */
+    @Override
+    public String selectGlobalRuleConfigurations() {
+        return "SELECT r.* FROM globalrules r ";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectGlobalRuleByType()
      */
@@ -237,6 +245,28 @@ public abstract class CommonSqlStatements implements SqlStatements {
                 + "WHERE v.groupId = ? AND v.artifactId = ? AND c.canonicalHash = ? ORDER BY v.globalId DESC";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactVersionMetaDataWithoutCanonicalHash()
+     */
+    @Override
+    public String selectArtifactVersionMetaDataWithoutCanonicalHash() {
+        return "SELECT v.*, a.type, c.content, c.artifactreferences FROM versions v "
+                + "JOIN content c ON v.contentId = c.contentId "
+                + "JOIN artifacts a ON v.groupId = a.groupId AND v.artifactId = a.artifactId "
+                + "WHERE v.groupId = ? AND v.artifactId = ? AND c.canonicalHash IS NULL ORDER BY v.globalId DESC";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactVersionMetaDataByDereferencedHash()
+     */
+    @Override
+    public String selectArtifactVersionMetaDataByDereferencedHash() {
+        return "SELECT v.*, a.type FROM versions v "
+                + "JOIN content c ON v.contentId = c.contentId "
+                + "JOIN artifacts a ON v.groupId = a.groupId AND v.artifactId = a.artifactId "
+                + "WHERE v.groupId = ? AND v.artifactId = ? AND c.dereferencedHash = ? ORDER BY v.globalId DESC";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactVersionContentByGlobalId()
      */
@@ -342,6 +372,14 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "SELECT c.contentId FROM content c WHERE c.contentHash = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentHashById()
+     */
+    @Override
+    public String selectContentHashById() {
+        return "SELECT c.contentHash FROM content c WHERE c.contentId = ?";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactRules()
      */
@@ -599,30 +637,37 @@ public abstract class CommonSqlStatements implements SqlStatements {
     }
 
     /**
-     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectAllArtifactCount()
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectCounter()
      */
     @Override
-    public String selectAllArtifactCount() {
-        return "SELECT COUNT(a.artifactId) FROM artifacts a ";
+    public String selectCounter() {
+        return "SELECT COALESCE(SUM(c.cvalue), 0) FROM counters c WHERE c.name = ?";
     }
 
     /**
-     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectAllArtifactVersionsCount()
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#updateCounter()
      */
     @Override
-    public String selectAllArtifactVersionsCount() {
-        return "SELECT COUNT(v.globalId) FROM versions v "
-                + "JOIN artifacts a ON a.groupId = v.groupId AND a.artifactId = v.artifactId "
-                + "WHERE a.groupId = ? AND a.artifactId = ? ";
+    public String updateCounter() {
+        return "UPDATE counters SET cvalue = cvalue + ? WHERE name = ? AND slot = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#resetCounters()
+     */
+    @Override
+    public String resetCounters() {
+        return "UPDATE counters SET cvalue = 0";
     }
 
     /**
-     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectTotalArtifactVersionsCount()
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectAllArtifactVersionsCount()
      */
     @Override
-    public String selectTotalArtifactVersionsCount() {
+    public String selectAllArtifactVersionsCount() {
         return "SELECT COUNT(v.globalId) FROM versions v "
-                + "JOIN artifacts a ON a.groupId = v.groupId AND a.artifactId = v.artifactId ";
+                + "JOIN artifacts a ON a.groupId = v.groupId AND a.artifactId = v.artifactId "
+                + "WHERE a.groupId = ? AND a.artifactId = ? ";
     }
 
     /**
@@ -706,6 +751,70 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "UPDATE content SET canonicalHash = ? WHERE contentId = ? AND contentHash = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentWithoutCanonicalHash()
+     */
+    @Override
+    public String selectContentWithoutCanonicalHash() {
+        return "SELECT c.contentId, c.canonicalHash, c.contentHash, c.content, c.artifactreferences, "
+                + "(SELECT MAX(a.type) FROM versions v JOIN artifacts a ON a.groupId = v.groupId AND a.artifactId = v.artifactId "
+                + "WHERE v.contentId = c.contentId) AS artifactType "
+                + "FROM content c WHERE c.canonicalHash IS NULL AND c.contentId > ? "
+                + "ORDER BY c.contentId ASC LIMIT ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#updateContentDereferencedHash()
+     */
+    @Override
+    public String updateContentDereferencedHash() {
+        return "UPDATE content SET dereferencedHash = ? WHERE contentId = ? AND contentHash = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentWithoutDereferencedHash()
+     */
+    @Override
+    public String selectContentWithoutDereferencedHash() {
+        return "SELECT c.contentId, c.canonicalHash, c.contentHash, c.content, c.artifactreferences FROM content c "
+                + "WHERE c.dereferencedHash IS NULL AND c.artifactreferences IS NOT NULL AND c.contentId > ? "
+                + "AND EXISTS (SELECT 1 FROM versions v JOIN artifacts a ON a.groupId = v.groupId AND a.artifactId = v.artifactId "
+                + "WHERE v.contentId = c.contentId AND a.type = ?) "
+                + "ORDER BY c.contentId ASC LIMIT ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#updateContentGzip()
+     */
+    @Override
+    public String updateContentGzip() {
+        return "UPDATE content SET contentGzip = ? WHERE contentId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentGzipById()
+     */
+    @Override
+    public String selectContentGzipById() {
+        return "SELECT c.contentGzip FROM content c WHERE c.contentId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectDereferencedContent()
+     */
+    @Override
+    public String selectDereferencedContent() {
+        return "SELECT d.content FROM dereferenced_content d WHERE d.contentId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteAllDereferencedContent()
+     */
+    @Override
+    public String deleteAllDereferencedContent() {
+        return "DELETE FROM dereferenced_content";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#insertGroup()
      */
@@ -806,6 +915,40 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "SELECT * FROM groups g ";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#exportContentSince()
+     */
+    @Override
+    public String exportContentSince() {
+        return "SELECT c.contentId, c.canonicalHash, c.contentHash, c.content, c.artifactreferences FROM content c " +
+                "WHERE c.contentId IN (SELECT v.contentId FROM versions v WHERE v.globalId > ? OR v.createdOn > ?)";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#exportGroupsSince()
+     */
+    @Override
+    public String exportGroupsSince() {
+        return "SELECT * FROM groups g WHERE g.createdOn > ? OR g.modifiedOn > ? "
+                + "OR g.groupId IN (SELECT v.groupId FROM versions v WHERE v.globalId > ?)";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#exportCommentsSince()
+     */
+    @Override
+    public String exportCommentsSince() {
+        return "SELECT * FROM comments c WHERE c.globalId > ? OR c.createdOn > ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#exportArtifactVersionsSince()
+     */
+    @Override
+    public String exportArtifactVersionsSince() {
+        return exportArtifactVersions() + "WHERE v.globalId > ? OR v.createdOn > ?";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#importArtifactRule()
      */
@@ -981,7 +1124,7 @@ public abstract class CommonSqlStatements implements SqlStatements {
      */
     @Override
     public String deleteExpiredDownloads() {
-        return "DELETE FROM downloads WHERE expires < ?";
+        return "DELETE FROM downloads WHERE downloadId IN (SELECT d.downloadId FROM downloads d WHERE d.expires < ? LIMIT ?)";
     }
 
     /**
@@ -1067,6 +1210,11 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "SELECT value FROM sequences WHERE name = ? ";
     }
 
+    @Override
+    public String incrementSequenceValue() {
+        return "UPDATE sequences SET value = value + 1 WHERE name = ?";
+    }
+
     @Override
     public String insertComment() {
         return "INSERT INTO comments (commentId, globalId, createdBy, createdOn, cvalue) VALUES (?, ?, ?, ?, ?)";
@@ -1088,4 +1236,35 @@ public abstract class CommonSqlStatements implements SqlStatements {
     public String updateComment() {
         return "UPDATE comments SET cvalue = ? WHERE globalId = ? AND commentId = ? AND createdBy = ?";
     }
+
+    @Override
+    public String insertOutboxEvent() {
+        return "INSERT INTO outbox (id, eventType, groupId, artifactId, version, createdOn, payload) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    @Override
+    public String selectOutboxEvents() {
+        return "SELECT o.* FROM outbox o WHERE o.id > ? ORDER BY o.id ASC LIMIT ?";
+    }
+
+    @Override
+    public String selectLatestOutboxEventId() {
+        // Only relayed events are deleted, so the latest one is at most the last relayed one when none is left
+        return "SELECT COALESCE((SELECT MAX(o.id) FROM outbox o), (SELECT r.relayedId FROM outbox_relay r))";
+    }
+
+    @Override
+    public String selectOutboxRelayedId() {
+        return "SELECT relayedId FROM outbox_relay";
+    }
+
+    @Override
+    public String updateOutboxRelayedId() {
+        return "UPDATE outbox_relay SET relayedId = ? WHERE relayedId = ?";
+    }
+
+    @Override
+    public String deleteRelayedOutboxEvents() {
+        return "DELETE FROM outbox WHERE createdOn < ? AND id <= (SELECT relayedId FROM outbox_relay)";
+    }
 }
@@ -27,7 +27,7 @@ import org.slf4j.Logger;
 public class DefaultHandleFactory extends AbstractHandleFactory {
 
 
-    public DefaultHandleFactory(AgroalDataSource dataSource, Logger log) {
-        initialize(dataSource, "default", log);
+    public DefaultHandleFactory(AgroalDataSource dataSource, Logger log, SqlStatementMetrics metrics) {
+        initialize(dataSource, "default", log, metrics);
     }
 }
@@ -66,7 +66,15 @@ public class H2SqlStatements extends CommonSqlStatements {
      */
     @Override
     public String upsertContent() {
-        return "INSERT INTO content (contentId, canonicalHash, contentHash, content, artifactreferences) VALUES (?, ?, ?, ?, ?)";
+        return "INSERT INTO content (contentId, canonicalHash, contentHash, content, artifactreferences, dereferencedHash) VALUES (?, ?, ?, ?, ?, ?)";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#upsertDereferencedContent()
+     */
+    @Override
+    public String upsertDereferencedContent() {
+        return "MERGE INTO dereferenced_content (contentId, content) KEY (contentId) VALUES (?, ?)";
     }
 
     /**
@@ -101,6 +109,14 @@ public class H2SqlStatements extends CommonSqlStatements {
         return "INSERT INTO sequences (name, seq_value) VALUES (?, ?)";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#incrementSequenceValue()
+     */
+    @Override
+    public String incrementSequenceValue() {
+        return "UPDATE sequences SET seq_value = seq_value + 1 WHERE name = ?";
+    }
+
     /**
      * @see SqlStatements#upsertReference()
      */
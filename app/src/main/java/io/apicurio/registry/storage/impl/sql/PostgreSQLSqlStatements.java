@@ -66,7 +66,15 @@ public class PostgreSQLSqlStatements extends CommonSqlStatements {
      */
     @Override
     public String upsertContent() {
-        return "INSERT INTO content (contentId, canonicalHash, contentHash, content, artifactreferences) VALUES (?, ?, ?, ?, ?) ON CONFLICT (contentHash) DO NOTHING";
+        return "INSERT INTO content (contentId, canonicalHash, contentHash, content, artifactreferences, dereferencedHash) VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (contentHash) DO NOTHING";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#upsertDereferencedContent()
+     */
+    @Override
+    public String upsertDereferencedContent() {
+        return "INSERT INTO dereferenced_content (contentId, content) VALUES (?, ?) ON CONFLICT (contentId) DO NOTHING";
     }
 
     /**
@@ -1,14 +1,19 @@
 package io.apicurio.registry.storage.impl.sql;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.apicurio.common.apps.config.Info;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
 import io.apicurio.registry.storage.dto.EditableArtifactMetaDataDto;
 import io.apicurio.registry.types.RegistryException;
 import io.apicurio.registry.types.provider.ArtifactTypeUtilProviderFactory;
 import io.apicurio.registry.util.ArtifactTypeUtil;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
 import java.io.ByteArrayOutputStream;
@@ -33,6 +38,24 @@ public class RegistryStorageContentUtils {
     @Inject
     Logger log;
 
+    @ConfigProperty(name = "registry.storage.canonical-hash.cache.max-size", defaultValue = "10000")
+    @Info(category = "storage", description = "Maximum number of canonical content hashes kept in memory, "
+            + "so that known content does not have to be canonicalized again.", availableSince = "3.0.0")
+    long canonicalHashCacheMaxSize;
+
+    /**
+     * Canonicalization is deterministic for a given artifact type and content (including its references),
+     * so the canonical hash is memoized by artifact type and content hash.
+     */
+    private Cache<String, String> canonicalHashCache;
+
+    @PostConstruct
+    void init() {
+        canonicalHashCache = CacheBuilder.newBuilder()
+                .maximumSize(canonicalHashCacheMaxSize)
+                .build();
+    }
+
     /**
      * Canonicalize the given content.
      *
@@ -73,21 +96,57 @@ public class RegistryStorageContentUtils {
      */
     public String getCanonicalContentHash(ContentHandle content, String artifactType, List<ArtifactReferenceDto> references,
                                           Function<List<ArtifactReferenceDto>, Map<String, ContentHandle>> referenceResolver) {
+        String cacheKey = artifactType + ":" + getContentHash(content, references);
+        String canonicalHash = canonicalHashCache.getIfPresent(cacheKey);
+        if (canonicalHash != null) {
+            return canonicalHash;
+        }
         try {
             if (notEmpty(references)) {
                 String referencesSerialized = SqlUtil.serializeReferences(references);
                 ContentHandle canonicalContent = canonicalizeContent(artifactType, content, referenceResolver.apply(references));
-                return DigestUtils.sha256Hex(concatContentAndReferences(canonicalContent.bytes(), referencesSerialized));
+                canonicalHash = DigestUtils.sha256Hex(concatContentAndReferences(canonicalContent.bytes(), referencesSerialized));
             } else {
                 ContentHandle canonicalContent = canonicalizeContent(artifactType, content, Map.of());
-                return DigestUtils.sha256Hex(canonicalContent.bytes());
+                canonicalHash = DigestUtils.sha256Hex(canonicalContent.bytes());
             }
+            canonicalHashCache.put(cacheKey, canonicalHash);
+            return canonicalHash;
         } catch (IOException ex) {
             throw new RegistryException("Failed to compute canonical content hash.", ex);
         }
     }
 
 
+    /**
+     * Returns the SHA-256 hash of the content with all its references inlined, so that the content can be
+     * found when a client sends it in dereferenced form.  Returns null if the content has no references,
+     * the artifact type does not support dereferencing, or the references cannot be resolved (yet).
+     *
+     * @param references may be null
+     */
+    public String getDereferencedContentHash(ContentHandle content, String artifactType, List<ArtifactReferenceDto> references,
+                                             Function<List<ArtifactReferenceDto>, Map<String, ContentHandle>> referenceResolver) {
+        if (!notEmpty(references)) {
+            return null;
+        }
+        var dereferencer = factory.getArtifactTypeProvider(artifactType).getContentDereferencer();
+        if (dereferencer == null) {
+            return null;
+        }
+        try {
+            Map<String, ContentHandle> resolvedReferences = referenceResolver.apply(references);
+            if (references.stream().anyMatch(ref -> !resolvedReferences.containsKey(ref.getName()))) {
+                return null;
+            }
+            return DigestUtils.sha256Hex(dereferencer.dereference(content, resolvedReferences).content());
+        } catch (Exception ex) {
+            log.debug("Failed to dereference content: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+
     /**
      * @param references may be null
      */
@@ -69,11 +69,25 @@ public class SQLServerSqlStatements extends CommonSqlStatements {
     public String upsertContent() {
         return String.join(" ",
                 "MERGE INTO content AS target",
-                "USING (VALUES (?, ?, ?, ?, ?, ?)) AS source (contentId, canonicalHash, contentHash, content, artifactreferences)",
+                "USING (VALUES (?, ?, ?, ?, ?, ?)) AS source (contentId, canonicalHash, contentHash, content, artifactreferences, dereferencedHash)",
                 "ON (target.contentHash = source.contentHash)",
                 "WHEN NOT MATCHED THEN",
-                    "INSERT (contentId, canonicalHash, contentHash, content, artifactreferences)",
-                    "VALUES (source.contentId, source.canonicalHash, source.contentHash, source.content, source.artifactreferences);");
+                    "INSERT (contentId, canonicalHash, contentHash, content, artifactreferences, dereferencedHash)",
+                    "VALUES (source.contentId, source.canonicalHash, source.contentHash, source.content, source.artifactreferences, source.dereferencedHash);");
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#upsertDereferencedContent()
+     */
+    @Override
+    public String upsertDereferencedContent() {
+        return String.join(" ",
+                "MERGE INTO dereferenced_content AS target",
+                "USING (VALUES (?, ?)) AS source (contentId, content)",
+                "ON (target.contentId = source.contentId)",
+                "WHEN NOT MATCHED THEN",
+                    "INSERT (contentId, content)",
+                    "VALUES (source.contentId, source.content);");
     }
 
     /**
@@ -137,6 +151,30 @@ public class SQLServerSqlStatements extends CommonSqlStatements {
         return "SELECT TOP (?) artifactId FROM artifacts WHERE groupId = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentWithoutCanonicalHash()
+     */
+    @Override
+    public String selectContentWithoutCanonicalHash() {
+        return "SELECT c.contentId, c.canonicalHash, c.contentHash, c.content, c.artifactreferences, "
+                + "(SELECT MAX(a.type) FROM versions v JOIN artifacts a ON a.groupId = v.groupId AND a.artifactId = v.artifactId "
+                + "WHERE v.contentId = c.contentId) AS artifactType "
+                + "FROM content c WHERE c.canonicalHash IS NULL AND c.contentId > ? "
+                + "ORDER BY c.contentId ASC OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentWithoutDereferencedHash()
+     */
+    @Override
+    public String selectContentWithoutDereferencedHash() {
+        return "SELECT c.contentId, c.canonicalHash, c.contentHash, c.content, c.artifactreferences FROM content c "
+                + "WHERE c.dereferencedHash IS NULL AND c.artifactreferences IS NOT NULL AND c.contentId > ? "
+                + "AND EXISTS (SELECT 1 FROM versions v JOIN artifacts a ON a.groupId = v.groupId AND a.artifactId = v.artifactId "
+                + "WHERE v.contentId = c.contentId AND a.type = ?) "
+                + "ORDER BY c.contentId ASC OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectAllArtifactVersions()
      */
@@ -158,4 +196,21 @@ public class SQLServerSqlStatements extends CommonSqlStatements {
                 + "ORDER BY groupId ASC";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectOutboxEvents()
+     */
+    @Override
+    public String selectOutboxEvents() {
+        return "SELECT o.* FROM outbox o WHERE o.id > ? ORDER BY o.id ASC OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteExpiredDownloads()
+     */
+    @Override
+    public String deleteExpiredDownloads() {
+        return "DELETE FROM downloads WHERE downloadId IN (SELECT d.downloadId FROM downloads d WHERE d.expires < ? "
+                + "ORDER BY d.expires OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY)";
+    }
+
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.storage.impl.sql.jdb.SqlParam;
+import io.apicurio.registry.storage.impl.sql.jdb.StatementListener;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_CONNECTION_WAIT;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_CONNECTION_WAIT_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_METHOD_CALL_TAG_SUCCESS;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_STATEMENT;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_STATEMENT_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_STATEMENT_ROWS;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_STATEMENT_ROWS_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_STATEMENT_TAG_DATASOURCE;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_STATEMENT_TAG_STATEMENT;
+
+/**
+ * Collects the metrics of the SQL statements executed by the storage, and logs the slow ones.
+ * <p>
+ * Statements are identified by the name of the {@link SqlStatements} method that produced their SQL,
+ * so that the number of meters is bounded. The SQL built dynamically (e.g. searches) is reported
+ * as a single "other" statement.
+ */
+@ApplicationScoped
+public class SqlStatementMetrics {
+
+    private static final String OTHER_STATEMENT = "other";
+
+    @Inject
+    Logger log;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    SqlStatements sqlStatements;
+
+    @ConfigProperty(name = "registry.storage.metrics.statements.enabled", defaultValue = "true")
+    @Info(category = "storage", description = "Enable the latency and row count metrics of each SQL statement, "
+            + "and the connection wait time metric", availableSince = "3.0.0")
+    boolean enabled;
+
+    @ConfigProperty(name = "registry.storage.slow-query-log.threshold", defaultValue = "-1")
+    @Info(category = "storage", description = "Duration (ms) above which SQL statements are logged, with their "
+            + "bound parameters redacted. Disabled when negative.", availableSince = "3.0.0")
+    long slowQueryThreshold;
+
+    private Map<String, String> statementNames;
+
+    @PostConstruct
+    void init() {
+        statementNames = indexStatements(sqlStatements);
+    }
+
+    /**
+     * Creates the listener of the handles of a data source.
+     */
+    public StatementListener createListener(String dataSourceId) {
+        if (!enabled && slowQueryThreshold < 0) {
+            return StatementListener.NONE;
+        }
+        return new DataSourceListener(dataSourceId);
+    }
+
+    private String getStatementName(String sql) {
+        return statementNames.getOrDefault(sql, OTHER_STATEMENT);
+    }
+
+    /**
+     * Maps the SQL returned by each method of the statements to the name of the method.
+     */
+    static Map<String, String> indexStatements(SqlStatements statements) {
+        Map<String, String> names = new HashMap<>();
+        Method[] methods = SqlStatements.class.getMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName));
+        for (Method method : methods) {
+            if (method.getReturnType() != String.class) {
+                continue;
+            }
+            try {
+                if (method.getParameterCount() == 0) {
+                    names.putIfAbsent((String) method.invoke(statements), method.getName());
+                } else if (method.getParameterCount() == 1 && method.getParameterTypes()[0] == boolean.class) {
+                    names.putIfAbsent((String) method.invoke(statements, true), method.getName());
+                    names.putIfAbsent((String) method.invoke(statements, false), method.getName());
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Not supported by this database, the statement is reported as "other"
+            }
+        }
+        return names;
+    }
+
+    private class DataSourceListener implements StatementListener {
+
+        private final String dataSourceId;
+
+        private final Timer connectionWait;
+
+        private final Map<String, StatementMeters> statements = new ConcurrentHashMap<>();
+
+        private DataSourceListener(String dataSourceId) {
+            this.dataSourceId = dataSourceId;
+            connectionWait = enabled ? Timer.builder(STORAGE_CONNECTION_WAIT)
+                    .description(STORAGE_CONNECTION_WAIT_DESCRIPTION)
+                    .tag(STORAGE_STATEMENT_TAG_DATASOURCE, dataSourceId)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry) : null;
+        }
+
+        @Override
+        public void connectionAcquired(long waitNanos) {
+            if (connectionWait != null) {
+                connectionWait.record(waitNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public void statementExecuted(String sql, List<SqlParam> parameters, long durationNanos, long rows, boolean success) {
+            String name = getStatementName(sql);
+            if (enabled) {
+                StatementMeters meters = statements.get(name);
+                if (meters == null) {
+                    meters = statements.computeIfAbsent(name, StatementMeters::new);
+                }
+                (success ? meters.success : meters.failure).record(durationNanos, TimeUnit.NANOSECONDS);
+                meters.rows.record(rows);
+            }
+            if (slowQueryThreshold >= 0 && durationNanos > TimeUnit.MILLISECONDS.toNanos(slowQueryThreshold)) {
+                log.warn("Slow SQL statement {} on data source {}: {} ms, {} rows{}. SQL: {} Parameters: [{}]",
+                        name, dataSourceId, TimeUnit.NANOSECONDS.toMillis(durationNanos), rows,
+                        success ? "" : ", failed", sql,
+                        parameters.stream().map(SqlParam::toRedactedString).collect(Collectors.joining(", ")));
+            }
+        }
+
+        private class StatementMeters {
+
+            private final Timer success;
+
+            private final Timer failure;
+
+            private final DistributionSummary rows;
+
+            private StatementMeters(String name) {
+                success = Timer.builder(STORAGE_STATEMENT)
+                        .description(STORAGE_STATEMENT_DESCRIPTION)
+                        .tag(STORAGE_STATEMENT_TAG_DATASOURCE, dataSourceId)
+                        .tag(STORAGE_STATEMENT_TAG_STATEMENT, name)
+                        .tag(STORAGE_METHOD_CALL_TAG_SUCCESS, "true")
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(registry);
+                // Failures are rare, their latency distribution is not worth the extra time series
+                failure = Timer.builder(STORAGE_STATEMENT)
+                        .description(STORAGE_STATEMENT_DESCRIPTION)
+                        .tag(STORAGE_STATEMENT_TAG_DATASOURCE, dataSourceId)
+                        .tag(STORAGE_STATEMENT_TAG_STATEMENT, name)
+                        .tag(STORAGE_METHOD_CALL_TAG_SUCCESS, "false")
+                        .register(registry);
+                rows = DistributionSummary.builder(STORAGE_STATEMENT_ROWS)
+                        .description(STORAGE_STATEMENT_ROWS_DESCRIPTION)
+                        .tag(STORAGE_STATEMENT_TAG_DATASOURCE, dataSourceId)
+                        .tag(STORAGE_STATEMENT_TAG_STATEMENT, name)
+                        .register(registry);
+            }
+        }
+    }
+}
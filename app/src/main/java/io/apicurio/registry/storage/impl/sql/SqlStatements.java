@@ -78,6 +78,11 @@ public interface SqlStatements {
      */
     public String selectGlobalRules();
 
+    /**
+     * A statement used to select all global rules, including their configuration.
+     */
+    public String selectGlobalRuleConfigurations();
+
     /**
      * A statement used to select a single global rule by its type/id.
      */
@@ -144,6 +149,17 @@ public interface SqlStatements {
      */
     public String selectArtifactVersionMetaDataByCanonicalHash();
 
+    /**
+     * A statement used to select the versions of an artifact whose content has no canonical hash yet, along
+     * with the content and its references.
+     */
+    public String selectArtifactVersionMetaDataWithoutCanonicalHash();
+
+    /**
+     * A statement used to select a single row in the versions by artifactId and dereferenced content hash.
+     */
+    public String selectArtifactVersionMetaDataByDereferencedHash();
+
     /**
      * A statement to select the content of an artifact version from the versions table by globalId.
      */
@@ -165,19 +181,24 @@ public interface SqlStatements {
     public String selectAllArtifactVersions();
 
     /**
-     * A statement used to count the total # of artifacts.
+     * A statement used to read a counter, by summing all of its slots in the "counters" table (zero if it has none).
      */
-    public String selectAllArtifactCount();
+    public String selectCounter();
 
     /**
-     * A statement used to count the total # of versions for an artifact.
+     * A statement used to add a (possibly negative) delta to one slot of a counter in the "counters" table.
      */
-    public String selectAllArtifactVersionsCount();
+    public String updateCounter();
+
+    /**
+     * A statement used to reset all counters in the "counters" table to zero.
+     */
+    public String resetCounters();
 
     /**
-     * A statement used to count the total # of versions for all artifact.
+     * A statement used to count the total # of versions for an artifact.
      */
-    public String selectTotalArtifactVersionsCount();
+    public String selectAllArtifactVersionsCount();
 
     /**
      * A statement used to select artifact version metadata by artifactId and version.
@@ -204,6 +225,48 @@ public interface SqlStatements {
      */
     public String updateContentCanonicalHash();
 
+    /**
+     * A statement to select a page of rows in the "content" table that have no canonicalHash yet, ordered
+     * by contentId, together with the type of an artifact using the content.
+     */
+    public String selectContentWithoutCanonicalHash();
+
+    /**
+     * A statement to update dereferencedHash value in a row in the "content" table
+     */
+    public String updateContentDereferencedHash();
+
+    /**
+     * A statement to select a page of rows in the "content" table that have references but no dereferencedHash
+     * yet and are used by an artifact of the given type, ordered by contentId.
+     */
+    public String selectContentWithoutDereferencedHash();
+
+    /**
+     * A statement to update the compressed copy of the content in a row in the "content" table
+     */
+    public String updateContentGzip();
+
+    /**
+     * A statement to get the compressed copy of the content by contentId.
+     */
+    public String selectContentGzipById();
+
+    /**
+     * A statement to get the cached dereferenced content by the contentId of the root content.
+     */
+    public String selectDereferencedContent();
+
+    /**
+     * A statement to "upsert" a row in the "dereferenced_content" table.
+     */
+    public String upsertDereferencedContent();
+
+    /**
+     * A statement to delete all rows in the "dereferenced_content" table.
+     */
+    public String deleteAllDereferencedContent();
+
     /**
      * A statement to get a single artifact (latest version) content by artifactId.
      */
@@ -245,6 +308,11 @@ public interface SqlStatements {
      */
     public String selectContentIdByHash();
 
+    /**
+     * A statement to select the contentHash of a row in the content table by contentId.
+     */
+    public String selectContentHashById();
+
     /**
      * A statement used to select artifact rules by artifactId.
      */
@@ -524,6 +592,12 @@ public interface SqlStatements {
 
     public String insertSequenceValue();
 
+    /**
+     * A statement used to increment an existing sequence.  The row stays locked until the end of the
+     * transaction, so concurrent transactions get the values in commit order.
+     */
+    public String incrementSequenceValue();
+
     /*
      * The next few statements support exporting data from the DB.
      */
@@ -540,6 +614,19 @@ public interface SqlStatements {
 
     public String exportArtifactVersions();
 
+    /*
+     * The next few statements support incremental exports, with the data created or modified after a
+     * globalId and/or timestamp watermark.
+     */
+
+    public String exportContentSince();
+
+    public String exportGroupsSince();
+
+    public String exportCommentsSince();
+
+    public String exportArtifactVersionsSince();
+
     /*
      * The next few statements support importing data into the DB.
      */
@@ -596,6 +683,9 @@ public interface SqlStatements {
 
     public String deleteDownload();
 
+    /**
+     * Deletes at most the given number of expired downloads.
+     */
     public String deleteExpiredDownloads();
 
 
@@ -631,4 +721,20 @@ public interface SqlStatements {
 
     public String updateComment();
 
+    /*
+     * The next statements relate to the outbox of registry events.
+     */
+
+    public String insertOutboxEvent();
+
+    public String selectOutboxEvents();
+
+    public String selectLatestOutboxEventId();
+
+    public String selectOutboxRelayedId();
+
+    public String updateOutboxRelayedId();
+
+    public String deleteRelayedOutboxEvents();
+
 }
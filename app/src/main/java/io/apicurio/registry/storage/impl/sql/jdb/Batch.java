@@ -0,0 +1,36 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.registry.storage.impl.sql.jdb;
+
+/**
+ * A statement executed many times with different parameters, sent to the database in a single round trip.
+ * Parameters are bound as for an {@link Update}, then {@link #add()} is called once per execution.
+ */
+public interface Batch extends Sql<Batch> {
+
+    /**
+     * Adds the currently bound parameters to the batch, and clears them so that the next
+     * execution can be bound.
+     */
+    public Batch add();
+
+    /**
+     * Executes the batch.  Does nothing if nothing was added to it.
+     * @return the update counts of each execution
+     */
+    public int[] execute();
+
+}
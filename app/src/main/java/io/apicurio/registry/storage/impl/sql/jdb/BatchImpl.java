@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.registry.storage.impl.sql.jdb;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BatchImpl extends SqlImpl<Batch> implements Batch {
+
+    private final List<List<SqlParam>> executions = new ArrayList<>();
+
+    /**
+     * Constructor.
+     * @param connection
+     * @param sql
+     */
+    public BatchImpl(Connection connection, String sql) {
+        super(connection, sql);
+    }
+
+    /**
+     * Constructor.
+     * @param connection
+     * @param sql
+     * @param listener
+     */
+    public BatchImpl(Connection connection, String sql, StatementListener listener) {
+        super(connection, sql, listener);
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.Batch#add()
+     */
+    @Override
+    public Batch add() {
+        executions.add(new ArrayList<>(parameters));
+        parameters.clear();
+        return this;
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.Batch#execute()
+     */
+    @Override
+    public int[] execute() {
+        if (executions.isEmpty()) {
+            return new int[0];
+        }
+        List<SqlParam> lastExecution = executions.get(executions.size() - 1);
+        long start = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (List<SqlParam> execution : executions) {
+                execution.forEach(param -> param.bindTo(statement));
+                statement.addBatch();
+            }
+            int[] counts = statement.executeBatch();
+            // Drivers may report SUCCESS_NO_INFO (negative) instead of a row count
+            long rows = Arrays.stream(counts).filter(count -> count > 0).asLongStream().sum();
+            listener.statementExecuted(sql, lastExecution, System.nanoTime() - start, rows, true);
+            return counts;
+        } catch (SQLException e) {
+            listener.statementExecuted(sql, lastExecution, System.nanoTime() - start, 0, false);
+            throw new RuntimeSqlException(e);
+        } finally {
+            executions.clear();
+        }
+    }
+
+}
@@ -35,4 +35,10 @@ public interface Handle extends Closeable {
      */
     Update createUpdate(String sql);
 
+    /**
+     * Create a new Batch statement from the given SQL.
+     * @param sql
+     */
+    Batch createBatch(String sql);
+
 }
@@ -26,13 +26,24 @@ import java.sql.SQLException;
 public class HandleImpl implements Handle {
 
     private final Connection connection;
+    private final StatementListener listener;
 
     /**
      * Constructor.
      * @param connection
      */
     public HandleImpl(Connection connection) {
+        this(connection, StatementListener.NONE);
+    }
+
+    /**
+     * Constructor.
+     * @param connection
+     * @param listener
+     */
+    public HandleImpl(Connection connection, StatementListener listener) {
         this.connection = connection;
+        this.listener = listener;
     }
 
     /**
@@ -52,7 +63,7 @@ public class HandleImpl implements Handle {
      */
     @Override
     public Query createQuery(String sql) {
-        QueryImpl query = new QueryImpl(connection, sql);
+        QueryImpl query = new QueryImpl(connection, sql, listener);
         return query;
     }
 
@@ -61,8 +72,17 @@ public class HandleImpl implements Handle {
      */
     @Override
     public Update createUpdate(String sql) {
-        UpdateImpl update = new UpdateImpl(connection, sql);
+        UpdateImpl update = new UpdateImpl(connection, sql, listener);
         return update;
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.Handle#createBatch(java.lang.String)
+     */
+    @Override
+    public Batch createBatch(String sql) {
+        BatchImpl batch = new BatchImpl(connection, sql, listener);
+        return batch;
+    }
+
 }
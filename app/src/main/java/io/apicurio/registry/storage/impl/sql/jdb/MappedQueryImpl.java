@@ -38,6 +38,14 @@ public class MappedQueryImpl<T> implements MappedQuery<T>, Closeable {
     final RowMapper<T> mapper;
     final ResultSet resultSet;
 
+    final StatementListener listener;
+    final String sql;
+    final List<SqlParam> parameters;
+    final long start;
+    long rows;
+    boolean failed;
+    boolean closed;
+
     /**
      * Constructor.
      * @param statement
@@ -45,9 +53,38 @@ public class MappedQueryImpl<T> implements MappedQuery<T>, Closeable {
      * @throws SQLException
      */
     public MappedQueryImpl(PreparedStatement statement, RowMapper<T> mapper) throws SQLException {
+        this(statement, mapper, StatementListener.NONE, null, List.of());
+    }
+
+    /**
+     * Constructor.
+     * @param statement
+     * @param mapper
+     * @param listener notified once the query is closed
+     * @param sql
+     * @param parameters
+     * @throws SQLException
+     */
+    public MappedQueryImpl(PreparedStatement statement, RowMapper<T> mapper, StatementListener listener,
+                           String sql, List<SqlParam> parameters) throws SQLException {
         this.statement = statement;
         this.mapper = mapper;
-        this.resultSet = statement.executeQuery();
+        this.listener = listener;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.start = System.nanoTime();
+        try {
+            this.resultSet = statement.executeQuery();
+        } catch (SQLException e) {
+            failed = true;
+            close();
+            throw e;
+        }
+    }
+
+    private T mapRow() throws SQLException {
+        rows++;
+        return this.mapper.map(resultSet);
     }
 
     /**
@@ -58,7 +95,7 @@ public class MappedQueryImpl<T> implements MappedQuery<T>, Closeable {
         T rval = null;
         try {
             if (this.resultSet.next()) {
-                rval = this.mapper.map(resultSet);
+                rval = mapRow();
                 if (this.resultSet.next()) {
                     throw new RuntimeSqlException("SQL error: Expected only one result but got multiple.");
                 }
@@ -66,6 +103,7 @@ public class MappedQueryImpl<T> implements MappedQuery<T>, Closeable {
                 throw new RuntimeSqlException("SQL error: Expected only one result row but got none.");
             }
         } catch (SQLException e) {
+            failed = true;
             throw new RuntimeSqlException(e);
         } finally {
             close();
@@ -81,11 +119,12 @@ public class MappedQueryImpl<T> implements MappedQuery<T>, Closeable {
         T rval = null;
         try {
             if (this.resultSet.next()) {
-                rval = this.mapper.map(resultSet);
+                rval = mapRow();
             } else {
                 throw new RuntimeSqlException("SQL error: Expected AT LEAST one result row but got none.");
             }
         } catch (SQLException e) {
+            failed = true;
             throw new RuntimeSqlException(e);
         } finally {
             close();
@@ -101,7 +140,7 @@ public class MappedQueryImpl<T> implements MappedQuery<T>, Closeable {
         Optional<T> rval;
         try {
             if (this.resultSet.next()) {
-                rval = Optional.of(this.mapper.map(resultSet));
+                rval = Optional.of(mapRow());
                 if (this.resultSet.next()) {
                     throw new RuntimeSqlException("SQL error: Expected only one result but got multiple.");
                 }
@@ -109,6 +148,7 @@ public class MappedQueryImpl<T> implements MappedQuery<T>, Closeable {
                 rval = Optional.empty();
             }
         } catch (SQLException e) {
+            failed = true;
             throw new RuntimeSqlException(e);
         } finally {
             close();
@@ -124,11 +164,12 @@ public class MappedQueryImpl<T> implements MappedQuery<T>, Closeable {
         Optional<T> rval = null;
         try {
             if (this.resultSet.next()) {
-                rval = Optional.of(this.mapper.map(resultSet));
+                rval = Optional.of(mapRow());
             } else {
                 rval = Optional.empty();
             }
         } catch (SQLException e) {
+            failed = true;
             throw new RuntimeSqlException(e);
         } finally {
             close();
@@ -144,12 +185,13 @@ public class MappedQueryImpl<T> implements MappedQuery<T>, Closeable {
         Optional<T> rval = null;
         try {
             while (this.resultSet.next()) {
-                rval = Optional.of(this.mapper.map(resultSet));
+                rval = Optional.of(mapRow());
             }
             if (rval == null) {
                 rval = Optional.empty();
             }
         } catch (SQLException e) {
+            failed = true;
             throw new RuntimeSqlException(e);
         } finally {
             close();
@@ -165,10 +207,11 @@ public class MappedQueryImpl<T> implements MappedQuery<T>, Closeable {
         List<T> rval = new LinkedList<>();
         try {
             while (this.resultSet.next()) {
-                T t = this.mapper.map(resultSet);
+                T t = mapRow();
                 rval.add(t);
             }
         } catch (SQLException e) {
+            failed = true;
             throw new RuntimeSqlException(e);
         } finally {
             close();
@@ -188,10 +231,11 @@ public class MappedQueryImpl<T> implements MappedQuery<T>, Closeable {
                     if (!resultSet.next()) {
                         return false;
                     }
-                    T t = mapper.map(resultSet);
+                    T t = mapRow();
                     action.accept(t);
                     return true;
                 } catch (SQLException e) {
+                    failed = true;
                     throw new RuntimeSqlException(e);
                 }
             }
@@ -204,6 +248,10 @@ public class MappedQueryImpl<T> implements MappedQuery<T>, Closeable {
      */
     @Override
     public void close() {
+        if (!closed) {
+            closed = true;
+            listener.statementExecuted(sql, parameters, System.nanoTime() - start, rows, !failed);
+        }
         try {
             this.statement.close();
         } catch (SQLException e) {
@@ -40,6 +40,16 @@ public class QueryImpl extends SqlImpl<Query> implements Query {
         super(connection, sql);
     }
 
+    /**
+     * Constructor.
+     * @param connection
+     * @param sql
+     * @param listener
+     */
+    public QueryImpl(Connection connection, String sql, StatementListener listener) {
+        super(connection, sql, listener);
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.jdb.Query#setFetchSize(int)
      */
@@ -60,7 +70,7 @@ public class QueryImpl extends SqlImpl<Query> implements Query {
             if (this.fetchSize != -1) {
                 statement.setFetchSize(fetchSize);
             }
-            return new MappedQueryImpl<T>(statement, mapper);
+            return new MappedQueryImpl<T>(statement, mapper, listener, sql, parameters);
         } catch (SQLException e) {
             throw new RuntimeSqlException(e);
         }
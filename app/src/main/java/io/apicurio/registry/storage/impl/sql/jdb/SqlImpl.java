@@ -31,15 +31,26 @@ public abstract class SqlImpl<Q> implements Sql<Q> {
     protected final Connection connection;
     protected final String sql;
     protected final List<SqlParam> parameters;
+    protected final StatementListener listener;
 
     /**
      * @param connection
      * @param sql
      */
     public SqlImpl(Connection connection, String sql) {
+        this(connection, sql, StatementListener.NONE);
+    }
+
+    /**
+     * @param connection
+     * @param sql
+     * @param listener
+     */
+    public SqlImpl(Connection connection, String sql, StatementListener listener) {
         this.connection = connection;
         this.sql = sql;
         this.parameters = new LinkedList<>();
+        this.listener = listener;
     }
 
     /**
@@ -43,6 +43,13 @@ public class SqlParam {
         this.type = type;
     }
 
+    /**
+     * Describes this parameter without its value, which may contain user data.
+     */
+    public String toRedactedString() {
+        return "?" + (position + 1) + "=" + (value == null ? "NULL" : "<" + type + ">");
+    }
+
     /**
      * Binds this SQL parameter to the given statement.
      * @param statement
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql.jdb;
+
+import java.util.List;
+
+/**
+ * Notified of the connections and SQL statements used by a {@link Handle}, e.g. to collect metrics.
+ */
+public interface StatementListener {
+
+    StatementListener NONE = new StatementListener() {
+    };
+
+    /**
+     * @param waitNanos time spent waiting for a connection from the pool
+     */
+    default void connectionAcquired(long waitNanos) {
+    }
+
+    /**
+     * @param sql           the SQL of the statement
+     * @param parameters    the parameters bound to the statement (of the last execution, for batches)
+     * @param durationNanos time from the execution of the statement until its results have been read
+     * @param rows          number of rows read by a query, or updated by an update or a batch
+     * @param success       false if the statement failed
+     */
+    default void statementExecuted(String sql, List<SqlParam> parameters, long durationNanos, long rows, boolean success) {
+    }
+}
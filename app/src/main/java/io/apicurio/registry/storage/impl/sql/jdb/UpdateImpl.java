@@ -34,15 +34,29 @@ public class UpdateImpl extends SqlImpl<Update> implements Update {
         super(connection, sql);
     }
 
+    /**
+     * Constructor.
+     * @param connection
+     * @param sql
+     * @param listener
+     */
+    public UpdateImpl(Connection connection, String sql, StatementListener listener) {
+        super(connection, sql, listener);
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.jdb.Update#execute()
      */
     @Override
     public int execute() {
+        long start = System.nanoTime();
         try (PreparedStatement statement = connection.prepareStatement(sql)) {
             bindParametersTo(statement);
-            return statement.executeUpdate();
+            int rows = statement.executeUpdate();
+            listener.statementExecuted(sql, parameters, System.nanoTime() - start, rows, true);
+            return rows;
         } catch (SQLException e) {
+            listener.statementExecuted(sql, parameters, System.nanoTime() - start, 0, false);
             throw new RuntimeSqlException(e);
         }
     }
@@ -52,10 +66,13 @@ public class UpdateImpl extends SqlImpl<Update> implements Update {
      */
     @Override
     public void executeNoUpdate() {
+        long start = System.nanoTime();
         try (PreparedStatement statement = connection.prepareStatement(sql)) {
             bindParametersTo(statement);
             statement.execute();
+            listener.statementExecuted(sql, parameters, System.nanoTime() - start, 0, true);
         } catch (SQLException e) {
+            listener.statementExecuted(sql, parameters, System.nanoTime() - start, 0, false);
             throw new RuntimeSqlException(e);
         }
     }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql.mappers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import io.apicurio.registry.storage.dto.OutboxEventDto;
+import io.apicurio.registry.storage.impl.sql.jdb.RowMapper;
+
+public class OutboxEventDtoMapper implements RowMapper<OutboxEventDto> {
+
+    public static final OutboxEventDtoMapper instance = new OutboxEventDtoMapper();
+
+    /**
+     * Constructor.
+     */
+    private OutboxEventDtoMapper() {
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.RowMapper#map(java.sql.ResultSet)
+     */
+    @Override
+    public OutboxEventDto map(ResultSet rs) throws SQLException {
+        return OutboxEventDto.builder()
+                .id(rs.getLong("id"))
+                .eventType(rs.getString("eventType"))
+                .groupId(rs.getString("groupId"))
+                .artifactId(rs.getString("artifactId"))
+                .version(rs.getString("version"))
+                .createdOn(rs.getLong("createdOn"))
+                .payload(rs.getString("payload"))
+                .build();
+    }
+
+}
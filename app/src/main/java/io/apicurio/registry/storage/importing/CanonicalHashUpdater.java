@@ -0,0 +1,167 @@
+package io.apicurio.registry.storage.importing;
+
+import io.apicurio.common.apps.config.Info;
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
+import io.apicurio.registry.storage.impl.sql.RegistryStorageContentUtils;
+import io.apicurio.registry.storage.impl.sql.SqlUtil;
+import io.apicurio.registry.types.Current;
+import io.apicurio.registry.types.provider.ArtifactTypeUtilProviderFactory;
+import io.apicurio.registry.utils.impexp.ContentEntity;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.quarkus.scheduler.Scheduled.ConcurrentExecution.SKIP;
+
+/**
+ * Periodically computes the canonical hash of content that does not have one yet, which is the case
+ * for imported content when the export did not include it. Doing this in the background keeps
+ * canonicalization off the import request path, and guarantees that referenced content has been
+ * imported before the canonical hash is computed.
+ * <p>
+ * The dereferenced hash of content with references is filled in the same way, since it is not part of
+ * the export and is not computed when content is imported (or replicated by KafkaSQL).
+ * <p>
+ * Both hashes only depend on the content and its references, so with KafkaSQL every node runs this job
+ * and writes the hashes to its local store, nothing is written to the journal.  Until the job has
+ * processed imported content, canonical lookups compute the missing canonical hashes of the versions of
+ * the looked up artifact on demand.
+ * <p>
+ * Content is processed in batches, and the content of each batch is canonicalized in parallel.
+ */
+@ApplicationScoped
+public class CanonicalHashUpdater {
+
+    @Inject
+    Logger log;
+
+    @Inject
+    @Current
+    RegistryStorage storage;
+
+    @Inject
+    RegistryStorageContentUtils utils;
+
+    @Inject
+    ArtifactTypeUtilProviderFactory factory;
+
+    @ConfigProperty(name = "registry.storage.canonical-hash.updater.batch-size", defaultValue = "100")
+    @Info(category = "storage", description = "Number of content rows without a canonical hash that are loaded "
+            + "and canonicalized at once by the background canonical hash updater.", availableSince = "3.0.0")
+    int batchSize;
+
+    @Scheduled(delay = 2, concurrentExecution = SKIP, every = "{registry.storage.canonical-hash.updater.every}")
+    void run() {
+        try {
+            if (storage.isReady()) {
+                if (!storage.isReadOnly()) {
+                    log.debug("Running canonical hash updater job");
+                    update();
+                } else {
+                    log.debug("Skipping canonical hash updater job because the storage is in read-only mode.");
+                }
+            } else {
+                log.debug("Skipping canonical hash updater job because the storage is not ready.");
+            }
+        } catch (Exception ex) {
+            log.error("Exception thrown when running canonical hash updater job", ex);
+        }
+    }
+
+    /**
+     * Compute the canonical hash of all content that does not have one yet.
+     */
+    void update() {
+        long afterContentId = -1;
+        long updated = 0;
+        List<ContentEntity> batch;
+        do {
+            batch = storage.getContentEntitiesWithoutCanonicalHash(afterContentId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            afterContentId = batch.get(batch.size() - 1).contentId;
+            updated += batch.parallelStream()
+                    .filter(this::update)
+                    .count();
+        } while (batch.size() == batchSize);
+
+        if (updated > 0) {
+            log.info("Computed the canonical hash of {} content(s)", updated);
+        }
+
+        updated = 0;
+        for (String artifactType : factory.getAllArtifactTypes()) {
+            if (factory.getArtifactTypeProvider(artifactType).getContentDereferencer() == null) {
+                continue;
+            }
+            afterContentId = -1;
+            do {
+                batch = storage.getContentEntitiesWithoutDereferencedHash(artifactType, afterContentId, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterContentId = batch.get(batch.size() - 1).contentId;
+                updated += batch.parallelStream()
+                        .filter(this::updateDereferencedHash)
+                        .count();
+            } while (batch.size() == batchSize);
+        }
+
+        if (updated > 0) {
+            log.info("Computed the dereferenced hash of {} content(s)", updated);
+        }
+    }
+
+    /**
+     * Returns false if the canonical hash of the content cannot be computed yet, because no artifact
+     * version uses the content or some of its references cannot be resolved (e.g. during an import).
+     * Such content is retried on the next run.
+     */
+    private boolean update(ContentEntity entity) {
+        if (entity.artifactType == null) {
+            return false;
+        }
+        try {
+            List<ArtifactReferenceDto> references = SqlUtil.deserializeReferences(entity.serializedReferences);
+            Map<String, ContentHandle> resolvedReferences = storage.resolveReferences(references);
+            if (references.stream().anyMatch(ref -> !resolvedReferences.containsKey(ref.getName()))) {
+                return false;
+            }
+            String canonicalHash = utils.getCanonicalContentHash(ContentHandle.create(entity.contentBytes),
+                    entity.artifactType, references, refs -> resolvedReferences);
+            storage.updateContentCanonicalHash(canonicalHash, entity.contentId, entity.contentHash);
+            return true;
+        } catch (Exception ex) {
+            log.warn("Failed to compute the canonical hash of content {}: {}", entity.contentId, ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns false if the dereferenced hash of the content cannot be computed yet, because some of its
+     * references cannot be resolved. Such content is retried on the next run.
+     */
+    private boolean updateDereferencedHash(ContentEntity entity) {
+        try {
+            List<ArtifactReferenceDto> references = SqlUtil.deserializeReferences(entity.serializedReferences);
+            String dereferencedHash = utils.getDereferencedContentHash(ContentHandle.create(entity.contentBytes),
+                    entity.artifactType, references, storage::resolveReferences);
+            if (dereferencedHash == null) {
+                return false;
+            }
+            storage.updateContentDereferencedHash(dereferencedHash, entity.contentId, entity.contentHash);
+            return true;
+        } catch (Exception ex) {
+            log.warn("Failed to compute the dereferenced hash of content {}: {}", entity.contentId, ex.getMessage());
+            return false;
+        }
+    }
+}
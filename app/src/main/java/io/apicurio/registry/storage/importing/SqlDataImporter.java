@@ -1,27 +1,30 @@
 package io.apicurio.registry.storage.importing;
 
-import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.storage.RegistryStorage;
-import io.apicurio.registry.storage.dto.ArtifactReferenceDto;
+import io.apicurio.registry.storage.dto.GroupMetaDataDto;
+import io.apicurio.registry.storage.dto.RuleConfigurationDto;
+import io.apicurio.registry.storage.error.GroupNotFoundException;
+import io.apicurio.registry.storage.error.RuleNotFoundException;
 import io.apicurio.registry.storage.error.VersionAlreadyExistsException;
 import io.apicurio.registry.storage.impexp.EntityInputStream;
 import io.apicurio.registry.storage.impl.sql.RegistryStorageContentUtils;
-import io.apicurio.registry.storage.impl.sql.SqlUtil;
 import io.apicurio.registry.types.RegistryException;
 import io.apicurio.registry.utils.impexp.*;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 
 public class SqlDataImporter extends AbstractDataImporter {
 
+    private static final long PROGRESS_INTERVAL = 10000;
+
     protected RegistryStorageContentUtils utils;
 
     protected final RegistryStorage storage;
@@ -30,30 +33,89 @@ public class SqlDataImporter extends AbstractDataImporter {
 
     private final boolean preserveContentId;
 
-    // To handle the case where we are trying to import a version before its content has been imported
-    protected final List<ArtifactVersionEntity> waitingForContent = new ArrayList<>();
+    // To handle the case where we are trying to import a version before its content has been imported,
+    // indexed by the (original) content ID the versions are waiting for
+    protected final Map<Long, List<ArtifactVersionEntity>> waitingForContent = new HashMap<>();
+
+    // To handle the case where we are trying to import a comment before its version has been imported,
+    // indexed by the (original) global ID the comments are waiting for
+    private final Map<Long, List<CommentEntity>> waitingForVersion = new HashMap<>();
 
-    // To handle the case where we are trying to import a comment before its version has been imported
-    private final List<CommentEntity> waitingForVersion = new ArrayList<>();
+    // Groups and rules of an incremental export may already exist, in which case they are updated
+    private boolean incremental;
 
     // ID remapping
     protected final Map<Long, Long> globalIdMapping = new HashMap<>();
     protected final Map<Long, Long> contentIdMapping = new HashMap<>();
 
+    // Content, artifact versions and comments are imported in chunks when a chunk importer is provided
+    private final Consumer<List<Entity>> chunkImporter;
+    private final int chunkSize;
+    private final List<Entity> chunk = new ArrayList<>();
+
+    // Progress reporting
+    private final Map<EntityType, Long> entityCounts = new EnumMap<>(EntityType.class);
+    private long entityCount;
+    private long startTime;
+
 
     public SqlDataImporter(Logger logger, RegistryStorageContentUtils utils, RegistryStorage storage,
                            boolean preserveGlobalId, boolean preserveContentId) {
+        this(logger, utils, storage, preserveGlobalId, preserveContentId, null, 0);
+    }
+
+
+    /**
+     * @param chunkImporter imports a chunk of content, artifact version and comment entities at once, ideally in a
+     *                      single transaction. The entities of a chunk are ordered so that an entity always comes
+     *                      after the entities it depends on. If a chunk cannot be imported, its entities are imported
+     *                      one by one instead.
+     * @param chunkSize     maximum number of entities in a chunk
+     */
+    public SqlDataImporter(Logger logger, RegistryStorageContentUtils utils, RegistryStorage storage,
+                           boolean preserveGlobalId, boolean preserveContentId,
+                           Consumer<List<Entity>> chunkImporter, int chunkSize) {
         super(logger);
         this.utils = utils;
         this.storage = storage;
         this.preserveGlobalId = preserveGlobalId;
         this.preserveContentId = preserveContentId;
+        this.chunkImporter = chunkImporter;
+        this.chunkSize = chunkSize;
+    }
+
+
+    @Override
+    public void importEntity(Entity entity) {
+        if (entity.getEntityType() == EntityType.Manifest && ((ManifestEntity) entity).isIncremental()) {
+            ManifestEntity manifest = (ManifestEntity) entity;
+            incremental = true;
+            log.info("Importing the data created or modified after globalId {} and timestamp {}",
+                    manifest.sinceGlobalId, manifest.sinceTimestamp);
+        }
+        super.importEntity(entity);
+        entityCounts.merge(entity.getEntityType(), 1L, Long::sum);
+        if (++entityCount % PROGRESS_INTERVAL == 0) {
+            logProgress("Import in progress");
+        }
     }
 
 
     @Override
     public void importArtifactRule(ArtifactRuleEntity entity) {
+        // The artifact may have been created by an artifact version that is still in the current chunk
+        flushChunk();
         try {
+            if (incremental) {
+                try {
+                    storage.updateArtifactRule(entity.groupId, entity.artifactId, entity.type,
+                            RuleConfigurationDto.builder().configuration(entity.configuration).build());
+                    log.debug("Artifact rule updated successfully: {}", entity);
+                    return;
+                } catch (RuleNotFoundException ex) {
+                    // The rule has been created after the previous export
+                }
+            }
             storage.importArtifactRule(entity);
             log.debug("Artifact rule imported successfully: {}", entity);
         } catch (Exception ex) {
@@ -66,39 +128,29 @@ public class SqlDataImporter extends AbstractDataImporter {
     public void importArtifactVersion(ArtifactVersionEntity entity) {
         try {
             // Content needs to be imported before artifact version
-            if (!contentIdMapping.containsKey(entity.contentId)) {
+            Long contentId = contentIdMapping.get(entity.contentId);
+            if (contentId == null) {
                 // Add to the queue waiting for content imported
-                waitingForContent.add(entity);
+                waitingForContent.computeIfAbsent(entity.contentId, k -> new ArrayList<>()).add(entity);
                 return;
             }
 
-            entity.contentId = contentIdMapping.get(entity.contentId);
+            entity.contentId = contentId;
 
             var oldGlobalId = entity.globalId;
             if (!preserveGlobalId) {
                 entity.globalId = storage.nextGlobalId();
             }
 
-
-            storage.importArtifactVersion(entity);
-            log.debug("Artifact version imported successfully: {}", entity);
+            write(entity);
             globalIdMapping.put(oldGlobalId, entity.globalId);
 
             // Import comments that were waiting for this version
-            var commentsToImport = waitingForVersion.stream()
-                    .filter(comment -> comment.globalId == oldGlobalId)
-                    .collect(Collectors.toList());
-            for (CommentEntity commentEntity : commentsToImport) {
-                importComment(commentEntity);
+            List<CommentEntity> commentsToImport = waitingForVersion.remove(oldGlobalId);
+            if (commentsToImport != null) {
+                commentsToImport.forEach(this::importComment);
             }
-            waitingForVersion.removeAll(commentsToImport);
 
-        } catch (VersionAlreadyExistsException ex) {
-            if (ex.getGlobalId() != null) {
-                log.warn("Duplicate globalId {} detected, skipping import of artifact version: {}", ex.getGlobalId(), entity);
-            } else {
-                log.warn("Failed to import artifact version {}: {}", entity, ex.getMessage());
-            }
         } catch (Exception ex) {
             log.warn("Failed to import artifact version {}: {}", entity, ex.getMessage());
         }
@@ -108,37 +160,22 @@ public class SqlDataImporter extends AbstractDataImporter {
     @Override
     public void importContent(ContentEntity entity) {
         try {
-            List<ArtifactReferenceDto> references = SqlUtil.deserializeReferences(entity.serializedReferences);
-
-            // We do not need canonicalHash if we have artifactType
-            if (entity.canonicalHash == null && entity.artifactType != null) {
-                ContentHandle canonicalContent = utils.canonicalizeContent(
-                        entity.artifactType, ContentHandle.create(entity.contentBytes),
-                        storage.resolveReferences(references));
-                entity.canonicalHash = DigestUtils.sha256Hex(canonicalContent.bytes());
-            }
-
+            // A missing canonicalHash is not computed here, since the referenced content may not have been
+            // imported yet. The CanonicalHashUpdater job fills it in once the import is complete.
 
             var oldContentId = entity.contentId;
             if (!preserveContentId) {
                 entity.contentId = storage.nextContentId();
             }
 
-            storage.importContent(entity);
-            log.debug("Content imported successfully: {}", entity);
-
+            write(entity);
             contentIdMapping.put(oldContentId, entity.contentId);
 
             // Import artifact versions that were waiting for this content
-            var artifactsToImport = waitingForContent.stream()
-                    .filter(artifactVersion -> artifactVersion.contentId == oldContentId)
-                    .collect(Collectors.toList());
-
-            for (ArtifactVersionEntity artifactVersionEntity : artifactsToImport) {
-                artifactVersionEntity.contentId = entity.contentId;
-                importArtifactVersion(artifactVersionEntity);
+            List<ArtifactVersionEntity> artifactsToImport = waitingForContent.remove(oldContentId);
+            if (artifactsToImport != null) {
+                artifactsToImport.forEach(this::importArtifactVersion);
             }
-            waitingForContent.removeAll(artifactsToImport);
 
         } catch (Exception ex) {
             log.warn("Failed to import content {}: {}", entity, ex.getMessage());
@@ -149,6 +186,16 @@ public class SqlDataImporter extends AbstractDataImporter {
     @Override
     public void importGlobalRule(GlobalRuleEntity entity) {
         try {
+            if (incremental) {
+                try {
+                    storage.updateGlobalRule(entity.ruleType,
+                            RuleConfigurationDto.builder().configuration(entity.configuration).build());
+                    log.debug("Global rule updated successfully: {}", entity);
+                    return;
+                } catch (RuleNotFoundException ex) {
+                    // The rule has been created after the previous export
+                }
+            }
             storage.importGlobalRule(entity);
             log.debug("Global rule imported successfully: {}", entity);
         } catch (Exception ex) {
@@ -160,6 +207,22 @@ public class SqlDataImporter extends AbstractDataImporter {
     @Override
     public void importGroup(GroupEntity entity) {
         try {
+            if (incremental) {
+                try {
+                    storage.updateGroupMetaData(GroupMetaDataDto.builder()
+                            .groupId(entity.groupId)
+                            .description(entity.description)
+                            .artifactsType(entity.artifactsType)
+                            .modifiedBy(entity.modifiedBy)
+                            .modifiedOn(entity.modifiedOn)
+                            .properties(entity.properties)
+                            .build());
+                    log.debug("Group updated successfully: {}", entity);
+                    return;
+                } catch (GroupNotFoundException ex) {
+                    // The group has been created after the previous export
+                }
+            }
             storage.importGroup(entity);
             log.debug("Group imported successfully: {}", entity);
         } catch (Exception ex) {
@@ -171,31 +234,118 @@ public class SqlDataImporter extends AbstractDataImporter {
     @Override
     public void importComment(CommentEntity entity) {
         try {
-            if (!globalIdMapping.containsKey(entity.globalId)) {
+            Long globalId = globalIdMapping.get(entity.globalId);
+            if (globalId == null && incremental && preserveGlobalId) {
+                // The comment is on an artifact version imported before
+                globalId = entity.globalId;
+            }
+            if (globalId == null) {
                 // The version hasn't been imported yet.  Need to wait for it.
-                waitingForVersion.add(entity);
+                waitingForVersion.computeIfAbsent(entity.globalId, k -> new ArrayList<>()).add(entity);
                 return;
             }
-            entity.globalId = globalIdMapping.get(entity.globalId);
+            entity.globalId = globalId;
 
-            storage.importComment(entity);
-            log.debug("Comment imported successfully: {}", entity);
+            write(entity);
         } catch (Exception ex) {
             log.warn("Failed to import comment {}: {}", entity, ex.getMessage());
         }
     }
 
 
+    /**
+     * Writes an entity whose dependencies have been written, either to the current chunk or directly to the storage.
+     */
+    private void write(Entity entity) {
+        if (chunkImporter == null) {
+            writeToStorage(entity);
+            return;
+        }
+        chunk.add(entity);
+        if (chunk.size() >= chunkSize) {
+            flushChunk();
+        }
+    }
+
+
+    private void flushChunk() {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Entity> entities = new ArrayList<>(chunk);
+        chunk.clear();
+        try {
+            chunkImporter.accept(entities);
+            log.debug("Chunk of {} entities imported successfully", entities.size());
+        } catch (Exception ex) {
+            log.warn("Failed to import a chunk of {} entities, importing them one by one: {}", entities.size(), ex.getMessage());
+            entities.forEach(this::writeToStorage);
+        }
+    }
+
+
+    private void writeToStorage(Entity entity) {
+        try {
+            switch (entity.getEntityType()) {
+                case Content:
+                    storage.importContent((ContentEntity) entity);
+                    break;
+                case ArtifactVersion:
+                    storage.importArtifactVersion((ArtifactVersionEntity) entity);
+                    break;
+                case Comment:
+                    storage.importComment((CommentEntity) entity);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unexpected entity type: " + entity.getEntityType());
+            }
+            log.debug("Entity imported successfully: {}", entity);
+        } catch (VersionAlreadyExistsException ex) {
+            if (ex.getGlobalId() != null) {
+                log.warn("Duplicate globalId {} detected, skipping import of artifact version: {}", ex.getGlobalId(), entity);
+            } else {
+                log.warn("Failed to import artifact version {}: {}", entity, ex.getMessage());
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to import {} {}: {}", entity.getEntityType(), entity, ex.getMessage());
+        }
+    }
+
+
+    private void logProgress(String message) {
+        long elapsed = Math.max(System.currentTimeMillis() - startTime, 1);
+        log.info("{}: {} entities read in {} s ({} entities/s) {}", message, entityCount, elapsed / 1000,
+                entityCount * 1000 / elapsed, entityCounts);
+    }
+
+
     /**
      * WARNING: Must be executed within a transaction!
      */
     @Override
     public void importData(EntityInputStream entities, Runnable postImportAction) {
         try {
+            startTime = System.currentTimeMillis();
             Entity entity = null;
             while ((entity = entities.nextEntity()) != null) {
                 importEntity(entity);
             }
+            flushChunk();
+            logProgress("Import finished");
+
+            long missingContent = waitingForContent.values().stream().mapToLong(List::size).sum();
+            if (missingContent > 0) {
+                log.warn("{} artifact versions were not imported because their content is missing", missingContent);
+            }
+            long missingVersions = waitingForVersion.values().stream().mapToLong(List::size).sum();
+            if (missingVersions > 0 && incremental && !preserveGlobalId) {
+                // The artifact versions imported before got new global IDs, which the export does not know about
+                throw new RegistryException(missingVersions + " comments of the incremental import are on artifact "
+                        + "versions imported before, which can only be found when global IDs are preserved");
+            }
+            if (missingVersions > 0) {
+                log.warn("{} comments were not imported because their artifact version is missing", missingVersions);
+            }
 
             postImportAction.run();
 
@@ -16,8 +16,9 @@
 
 package io.apicurio.registry.util;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.google.protobuf.DescriptorProtos;
 import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
@@ -29,9 +30,12 @@ import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.core.MediaType;
 import org.apache.avro.Schema;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
 import java.util.regex.Pattern;
@@ -43,7 +47,15 @@ public final class ArtifactTypeUtil {
 
     private static final Pattern QUOTED_BRACKETS = Pattern.compile(": *\"\\{}\"");
 
-    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private static final XMLInputFactory xmlInputFactory;
+    static {
+        xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
 
     /**
      * Constructor.
@@ -125,9 +137,19 @@ public final class ArtifactTypeUtil {
     @SuppressWarnings("deprecation")
     private static String discoverType(ContentHandle content, String contentType, Map<String, ContentHandle> resolvedReferences) throws InvalidArtifactTypeException {
         boolean triedProto = false;
+        char firstChar = firstSignificantChar(content.bytes());
+
+        // XML can only be one of the XML formatted types, so only peek at its root element.
+        if (firstChar == '<') {
+            String type = sniffXmlType(content);
+            if (type != null) {
+                return type;
+            }
+            throw new InvalidArtifactTypeException("Failed to discover artifact type from content.");
+        }
 
-        // If the content-type suggests it's protobuf, try that first.
-        if (contentType == null || contentType.toLowerCase().contains("proto")) {
+        // If the content-type suggests it's protobuf, try that first (JSON content can never be protobuf).
+        if (contentType == null && firstChar != '{' && firstChar != '[' || contentType != null && contentType.toLowerCase().contains("proto")) {
             triedProto = true;
             String type = tryProto(content);
             if (type != null) {
@@ -136,27 +158,13 @@ public final class ArtifactTypeUtil {
         }
 
         // Try the various JSON formatted types
-        try {
-            JsonNode tree = mapper.readTree(content.content());
-
-            // OpenAPI
-            if (tree.has("openapi") || tree.has("swagger")) {
-                return ArtifactType.OPENAPI;
-            }
-            // AsyncAPI
-            if (tree.has("asyncapi")) {
-                return ArtifactType.ASYNCAPI;
-            }
-            // JSON Schema
-            if (tree.has("$schema") && tree.get("$schema").asText().contains("json-schema.org") || tree.has("properties")) {
-                return ArtifactType.JSON;
+        if (firstChar == '{') {
+            String type = sniffJsonType(content);
+            if (type != null) {
+                return type;
             }
             // Kafka Connect??
             // TODO detect Kafka Connect schemas
-
-            throw new InvalidArtifactTypeException("Failed to discover artifact type from JSON content.");
-        } catch (Exception e) {
-            // Apparently it's not JSON.
         }
 
         try {
@@ -206,28 +214,113 @@ public final class ArtifactTypeUtil {
             return ArtifactType.GRAPHQL;
         }
 
-        // Try the various XML formatted types
+        throw new InvalidArtifactTypeException("Failed to discover artifact type from content.");
+    }
+
+    /**
+     * Streams through the top level fields of a JSON object looking for one of the fields that identify the
+     * JSON formatted types, without building the whole tree.  Nested values are skipped and the scan stops as
+     * soon as an OpenAPI or AsyncAPI marker is found.  The JSON Schema markers have a lower precedence, so
+     * they are only remembered until the end of the object.  Returns null if the content is not a JSON object
+     * or none of the identifying fields are present.
+     * @param content
+     */
+    private static String sniffJsonType(ContentHandle content) {
+        try (JsonParser parser = jsonFactory.createParser(content.bytes())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            String type = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (fieldName) {
+                    // OpenAPI
+                    case "openapi":
+                    case "swagger":
+                        return ArtifactType.OPENAPI;
+                    // AsyncAPI
+                    case "asyncapi":
+                        return ArtifactType.ASYNCAPI;
+                    // JSON Schema
+                    case "properties":
+                        type = ArtifactType.JSON;
+                        break;
+                    case "$schema":
+                        if (value == JsonToken.VALUE_STRING && parser.getText().contains("json-schema.org")) {
+                            type = ArtifactType.JSON;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                parser.skipChildren();
+            }
+            return type;
+        } catch (IOException e) {
+            // Apparently it's not JSON.
+        }
+        return null;
+    }
+
+    /**
+     * Reads XML content only up to its root element and uses the namespace of that element to tell the
+     * XML formatted types apart.  Returns null if the content is not XML.
+     * @param content
+     */
+    private static String sniffXmlType(ContentHandle content) {
+        XMLStreamReader reader = null;
         try (InputStream stream = content.stream()) {
-            Document xmlDocument = DocumentBuilderAccessor.getDocumentBuilder().parse(stream);
-            Element root = xmlDocument.getDocumentElement();
-            String ns = root.getNamespaceURI();
+            reader = xmlInputFactory.createXMLStreamReader(stream);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    String ns = reader.getNamespaceURI();
 
-            // XSD
-            if (ns != null && ns.equals("http://www.w3.org/2001/XMLSchema")) {
-                return ArtifactType.XSD;
-            } // WSDL
-            else if (ns != null && (ns.equals("http://schemas.xmlsoap.org/wsdl/")
-                    || ns.equals("http://www.w3.org/ns/wsdl/"))) {
-                return ArtifactType.WSDL;
-            } else {
-                // default to XML since its been parsed
-                return ArtifactType.XML;
+                    // XSD
+                    if (ns != null && ns.equals("http://www.w3.org/2001/XMLSchema")) {
+                        return ArtifactType.XSD;
+                    } // WSDL
+                    else if (ns != null && (ns.equals("http://schemas.xmlsoap.org/wsdl/")
+                            || ns.equals("http://www.w3.org/ns/wsdl/"))) {
+                        return ArtifactType.WSDL;
+                    } else {
+                        // default to XML since it has a root element
+                        return ArtifactType.XML;
+                    }
+                }
             }
-        } catch (Exception e) {
+        } catch (IOException | XMLStreamException e) {
             // It's not XML.
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // ignored
+                }
+            }
         }
+        return null;
+    }
 
-        throw new InvalidArtifactTypeException("Failed to discover artifact type from content.");
+    /**
+     * Returns the first character of the content that is not whitespace (or a byte order mark), or 0
+     * if there is none.  Only ASCII is considered, which is enough to spot JSON and XML documents.
+     * @param bytes
+     */
+    private static char firstSignificantChar(byte[] bytes) {
+        int i = 0;
+        // UTF-8 byte order mark
+        if (bytes.length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+            i = 3;
+        }
+        for (; i < bytes.length; i++) {
+            char c = (char) (bytes[i] & 0xFF);
+            if (!Character.isWhitespace(c)) {
+                return c;
+            }
+        }
+        return 0;
     }
 
     private static String tryProto(ContentHandle content) {
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.auth;
+
+import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.storage.dto.ArtifactOwnerDto;
+import io.apicurio.registry.storage.error.ArtifactNotFoundException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+class AuthorizationCacheTest {
+
+    private AuthorizationCache cache;
+
+    private int transactionStatus = Status.STATUS_NO_TRANSACTION;
+    private final List<Synchronization> synchronizations = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cache = new AuthorizationCache();
+        cache.transactionSynchronizationRegistry = (TransactionSynchronizationRegistry) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { TransactionSynchronizationRegistry.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getTransactionStatus":
+                            return transactionStatus;
+                        case "registerInterposedSynchronization":
+                            synchronizations.add((Synchronization) args[0]);
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        cache.enabled = true;
+        cache.maxSize = 100;
+        cache.ttl = 60;
+        cache.init();
+        // The write methods only need to be forwarded
+        cache.setDelegate((RegistryStorage) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { RegistryStorage.class }, (proxy, method, args) -> null));
+    }
+
+    @Test
+    void testRoleForPrincipal() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = () -> {
+            loads.incrementAndGet();
+            return null;
+        };
+
+        // A principal without a role mapping is cached as well
+        Assertions.assertNull(cache.getRoleForPrincipal("alice", loader));
+        Assertions.assertNull(cache.getRoleForPrincipal("alice", loader));
+        Assertions.assertEquals(1, loads.get());
+
+        cache.createRoleMapping("alice", "ADMIN", "Alice");
+        Assertions.assertEquals("ADMIN", cache.getRoleForPrincipal("alice", () -> "ADMIN"));
+        Assertions.assertEquals("ADMIN", cache.getRoleForPrincipal("alice", loader));
+        Assertions.assertEquals(1, loads.get());
+
+        cache.updateRoleMapping("alice", "READ_ONLY");
+        Assertions.assertEquals("READ_ONLY", cache.getRoleForPrincipal("alice", () -> "READ_ONLY"));
+
+        cache.deleteRoleMapping("alice");
+        Assertions.assertNull(cache.getRoleForPrincipal("alice", loader));
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testArtifactOwner() {
+        Assertions.assertEquals("alice", cache.getArtifactOwner("g", "a", () -> "alice"));
+        Assertions.assertEquals("alice", cache.getArtifactOwner("g", "a", () -> "bob"));
+        Assertions.assertEquals("bob", cache.getArtifactOwner(null, "a", () -> "bob"));
+        Assertions.assertEquals("alice", cache.getArtifactOwner(1L, () -> "alice"));
+
+        cache.updateArtifactOwner("g", "a", ArtifactOwnerDto.builder().owner("bob").build());
+        Assertions.assertEquals("bob", cache.getArtifactOwner("g", "a", () -> "bob"));
+        Assertions.assertEquals("bob", cache.getArtifactOwner(1L, () -> "bob"));
+
+        // An artifact may be created again by another principal
+        cache.deleteArtifact("g", "a");
+        Assertions.assertEquals("carol", cache.getArtifactOwner("g", "a", () -> "carol"));
+    }
+
+    @Test
+    void testGroupOwner() {
+        Assertions.assertEquals("alice", cache.getGroupOwner("g", () -> "alice"));
+        Assertions.assertEquals("alice", cache.getGroupOwner("g", () -> "bob"));
+
+        cache.deleteGroup("g");
+        Assertions.assertEquals("bob", cache.getGroupOwner("g", () -> "bob"));
+    }
+
+    @Test
+    void testNotFoundIsNotCached() {
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> cache.getArtifactOwner("g", "a", () -> {
+            throw new ArtifactNotFoundException("g", "a");
+        }));
+        Assertions.assertEquals("alice", cache.getArtifactOwner("g", "a", () -> "alice"));
+    }
+
+    @Test
+    void testConcurrentInvalidation() {
+        // The role mapping is changed while the previous role is being loaded
+        Assertions.assertEquals("ADMIN", cache.getRoleForPrincipal("alice", () -> {
+            cache.updateRoleMapping("alice", "READ_ONLY");
+            return "ADMIN";
+        }));
+        Assertions.assertEquals("READ_ONLY", cache.getRoleForPrincipal("alice", () -> "READ_ONLY"));
+    }
+
+    @Test
+    void testInvalidationAfterCommit() {
+        Assertions.assertEquals("ADMIN", cache.getRoleForPrincipal("alice", () -> "ADMIN"));
+
+        // The role mapping is changed in a transaction, a concurrent request still sees the previous role
+        transactionStatus = Status.STATUS_ACTIVE;
+        cache.updateRoleMapping("alice", "READ_ONLY");
+        Assertions.assertEquals("ADMIN", cache.getRoleForPrincipal("alice", () -> "ADMIN"));
+
+        transactionStatus = Status.STATUS_COMMITTED;
+        Assertions.assertEquals(1, synchronizations.size());
+        synchronizations.get(0).afterCompletion(Status.STATUS_COMMITTED);
+        Assertions.assertEquals("READ_ONLY", cache.getRoleForPrincipal("alice", () -> "READ_ONLY"));
+    }
+
+    @Test
+    void testDisabled() {
+        cache.enabled = false;
+        Assertions.assertEquals("alice", cache.getRoleForPrincipal("alice", () -> "alice"));
+        Assertions.assertEquals("bob", cache.getRoleForPrincipal("alice", () -> "bob"));
+    }
+}
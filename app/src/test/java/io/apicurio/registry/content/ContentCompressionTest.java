@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.content;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+class ContentCompressionTest {
+
+    @Test
+    void testCompress() throws IOException {
+        ContentCompression compression = new ContentCompression();
+        compression.enabled = true;
+        compression.minSize = 1024;
+
+        byte[] content = "{\"type\": \"string\"},".repeat(200).getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = compression.compress(content);
+        Assertions.assertNotNull(compressed);
+        Assertions.assertTrue(compressed.length < content.length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            Assertions.assertArrayEquals(content, gzip.readAllBytes());
+        }
+
+        // Too small
+        Assertions.assertNull(compression.compress("{\"type\": \"string\"}".getBytes(StandardCharsets.UTF_8)));
+
+        compression.enabled = false;
+        Assertions.assertNull(compression.compress(content));
+    }
+
+    @Test
+    void testAcceptsGzip() {
+        Assertions.assertTrue(ContentCompression.acceptsGzip("gzip"));
+        Assertions.assertTrue(ContentCompression.acceptsGzip("deflate, gzip;q=1.0, *;q=0.5"));
+        Assertions.assertTrue(ContentCompression.acceptsGzip("br, *"));
+        Assertions.assertFalse(ContentCompression.acceptsGzip(null));
+        Assertions.assertFalse(ContentCompression.acceptsGzip("identity"));
+        Assertions.assertFalse(ContentCompression.acceptsGzip("gzip;q=0"));
+        Assertions.assertFalse(ContentCompression.acceptsGzip("gzip;q=0, *"));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.downloads;
+
+import io.apicurio.registry.storage.dto.DownloadContextDto;
+import io.apicurio.registry.storage.dto.DownloadContextType;
+import io.apicurio.registry.storage.error.DownloadNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+class DownloadServiceTest {
+
+    private static DownloadService service(String signingKey) {
+        DownloadService service = new DownloadService();
+        service.log = LoggerFactory.getLogger(DownloadServiceTest.class);
+        service.signingKey = Optional.ofNullable(signingKey);
+        service.init();
+        return service;
+    }
+
+    private static DownloadContextDto context(long expires) {
+        return DownloadContextDto.builder().type(DownloadContextType.EXPORT).expires(expires).sinceGlobalId(42L).build();
+    }
+
+    @Test
+    void testSingleUse() {
+        DownloadService service = service("a-signing-key-of-at-least-32-characters");
+        DownloadContextDto context = context(System.currentTimeMillis() + 60000);
+
+        String downloadId = service.createDownload(context);
+        Assertions.assertEquals(context, service.consumeDownload(downloadId));
+        Assertions.assertThrows(DownloadNotFoundException.class, () -> service.consumeDownload(downloadId));
+
+        // Every download gets a different token
+        Assertions.assertNotEquals(service.createDownload(context), service.createDownload(context));
+    }
+
+    @Test
+    void testSharedKey() {
+        DownloadService node1 = service("a-signing-key-of-at-least-32-characters");
+        DownloadService node2 = service("a-signing-key-of-at-least-32-characters");
+        DownloadService other = service("another-signing-key-of-at-least-32-characters");
+        DownloadContextDto context = context(System.currentTimeMillis() + 60000);
+
+        Assertions.assertEquals(context, node2.consumeDownload(node1.createDownload(context)));
+        Assertions.assertThrows(DownloadNotFoundException.class, () -> other.consumeDownload(node1.createDownload(context)));
+    }
+
+    @Test
+    void testGeneratedKey() {
+        DownloadService node1 = service(null);
+        DownloadService node2 = service(" ");
+        DownloadContextDto context = context(System.currentTimeMillis() + 60000);
+
+        // Only the node that created a download accepts it
+        String downloadId = node1.createDownload(context);
+        Assertions.assertThrows(DownloadNotFoundException.class, () -> node2.consumeDownload(downloadId));
+        Assertions.assertEquals(context, node1.consumeDownload(downloadId));
+    }
+
+    @Test
+    void testShortKey() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service("a-short-signing-key"));
+    }
+
+    @Test
+    void testExpired() {
+        DownloadService service = service("a-signing-key-of-at-least-32-characters");
+
+        String downloadId = service.createDownload(context(System.currentTimeMillis() - 1));
+        Assertions.assertThrows(DownloadNotFoundException.class, () -> service.consumeDownload(downloadId));
+    }
+
+    @Test
+    void testTampered() {
+        DownloadService service = service("a-signing-key-of-at-least-32-characters");
+        String downloadId = service.createDownload(context(System.currentTimeMillis() + 60000));
+        String tamperedContext = service.createDownload(context(System.currentTimeMillis() + 3600000)).split("\\.")[0];
+        String signature = downloadId.split("\\.")[1];
+
+        Assertions.assertThrows(DownloadNotFoundException.class, () -> service.consumeDownload(tamperedContext + "." + signature));
+        Assertions.assertThrows(DownloadNotFoundException.class, () -> service.consumeDownload(downloadId + "x"));
+        Assertions.assertThrows(DownloadNotFoundException.class, () -> service.consumeDownload("not-base64!.signature"));
+    }
+
+    @Test
+    void testPurgeConsumedTokens() {
+        DownloadService service = service("a-signing-key-of-at-least-32-characters");
+        DownloadContextDto context = context(System.currentTimeMillis() + 60000);
+        String downloadId = service.createDownload(context);
+        service.consumeDownload(downloadId);
+
+        // Tokens that have not expired yet are still rejected after a purge
+        service.purgeConsumedTokens();
+        Assertions.assertThrows(DownloadNotFoundException.class, () -> service.consumeDownload(downloadId));
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_DROPPED;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_RETRIES;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_SENT;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_TAG_REASON;
+
+class EventDispatcherTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventDispatcherTest.class);
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private EventDispatcher dispatcher(EventDispatcher.BatchSender sender, int queueCapacity, int batchSize) {
+        return new EventDispatcher("test", log, registry, sender, queueCapacity, batchSize, 2, 1, 10);
+    }
+
+    private static SinkEvent event(int i) {
+        return new SinkEvent(String.valueOf(i), "type", null, Instant.now(), new byte[0]);
+    }
+
+    private double count(String name) {
+        return registry.get(name).counter().count();
+    }
+
+    private double dropped(String reason) {
+        return registry.get(EVENTS_DROPPED).tag(EVENTS_TAG_REASON, reason).counter().count();
+    }
+
+    /**
+     * Retries are abandoned on close, so wait for the event to be sent or dropped first.
+     */
+    private void awaitProcessed(double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (count(EVENTS_SENT) + dropped(EventDispatcher.REASON_FAILED) < expected) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the events");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testBatchesInOrder() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        EventDispatcher dispatcher = dispatcher(batch -> {
+            batches.add(batch.stream().map(SinkEvent::getId).collect(Collectors.toList()));
+            blocked.countDown();
+            release.await();
+            return true;
+        }, 100, 3);
+
+        // The first event is sent alone, the others are queued while it is being sent
+        Assertions.assertTrue(dispatcher.dispatch(event(0)));
+        Assertions.assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) {
+            Assertions.assertTrue(dispatcher.dispatch(event(i)));
+        }
+        Assertions.assertEquals(5, dispatcher.getQueueSize());
+        release.countDown();
+        dispatcher.close(10000);
+
+        Assertions.assertEquals(List.of(List.of("0"), List.of("1", "2", "3"), List.of("4", "5")), batches);
+        Assertions.assertEquals(6, count(EVENTS_SENT));
+    }
+
+    @Test
+    void testRetry() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        EventDispatcher dispatcher = dispatcher(batch -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException("unavailable");
+            }
+            return true;
+        }, 100, 10);
+
+        dispatcher.dispatch(event(0));
+        awaitProcessed(1);
+        dispatcher.close(10000);
+
+        Assertions.assertEquals(3, attempts.get());
+        Assertions.assertEquals(2, count(EVENTS_RETRIES));
+        Assertions.assertEquals(1, count(EVENTS_SENT));
+    }
+
+    @Test
+    void testDroppedAfterRetries() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        EventDispatcher dispatcher = dispatcher(batch -> {
+            attempts.incrementAndGet();
+            throw new IOException("unavailable");
+        }, 100, 10);
+
+        dispatcher.dispatch(event(0));
+        awaitProcessed(1);
+        dispatcher.close(10000);
+
+        // The first attempt and 2 retries
+        Assertions.assertEquals(3, attempts.get());
+        Assertions.assertEquals(1, dropped(EventDispatcher.REASON_FAILED));
+        Assertions.assertEquals(0, count(EVENTS_SENT));
+    }
+
+    @Test
+    void testRejected() {
+        AtomicInteger attempts = new AtomicInteger();
+        EventDispatcher dispatcher = dispatcher(batch -> {
+            attempts.incrementAndGet();
+            return false;
+        }, 100, 10);
+
+        dispatcher.dispatch(event(0));
+        dispatcher.close(10000);
+
+        Assertions.assertEquals(1, attempts.get());
+        Assertions.assertEquals(1, dropped(EventDispatcher.REASON_REJECTED));
+    }
+
+    @Test
+    void testQueueFull() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> sent = new CopyOnWriteArrayList<>();
+        EventDispatcher dispatcher = dispatcher(batch -> {
+            blocked.countDown();
+            release.await();
+            batch.forEach(event -> sent.add(event.getId()));
+            return true;
+        }, 2, 10);
+
+        dispatcher.dispatch(event(0));
+        Assertions.assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        List<Boolean> accepted = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            accepted.add(dispatcher.dispatch(event(i)));
+        }
+        release.countDown();
+        dispatcher.close(10000);
+
+        Assertions.assertEquals(List.of(true, true, false, false), accepted);
+        Assertions.assertEquals(List.of("0", "1", "2"), sent);
+        Assertions.assertEquals(2, dropped(EventDispatcher.REASON_QUEUE_FULL));
+    }
+}
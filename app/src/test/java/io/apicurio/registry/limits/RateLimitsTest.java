@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.limits;
+
+import static io.restassured.RestAssured.given;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.response.Response;
+
+/**
+ * Does not extend AbstractResourceTestBase, whose setup sends requests that would count against the limit.
+ */
+@QuarkusTest
+@TestProfile(RateLimitsTestProfile.class)
+public class RateLimitsTest {
+
+    @Test
+    public void testTooManyRequests() {
+        // The bucket of the client allows a burst of 2 requests, then 2 requests per second
+        Response rejected = null;
+        for (int i = 0; i < 10 && rejected == null; i++) {
+            Response response = given().when().get("/apis/registry/v2/search/artifacts");
+            if (response.getStatusCode() == 429) {
+                rejected = response;
+            } else {
+                Assertions.assertEquals(200, response.getStatusCode());
+            }
+        }
+
+        Assertions.assertNotNull(rejected, "No request was rejected");
+        Assertions.assertTrue(Long.parseLong(rejected.getHeader("Retry-After")) >= 1);
+        Assertions.assertEquals(429, rejected.jsonPath().getInt("error_code"));
+
+        // Requests outside of the API are not limited
+        for (int i = 0; i < 5; i++) {
+            given().when().get("/health/live").then().statusCode(200);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.limits;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class RequestRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testTokenBucket() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(10, 10, now);
+
+        // The full bucket allows a burst
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(0, bucket.tryTake(now));
+        }
+        Assertions.assertEquals(SECOND / 10, bucket.tryTake(now));
+
+        // Then one request per 100ms
+        now += SECOND / 20;
+        Assertions.assertEquals(SECOND / 20, bucket.tryTake(now));
+        now += SECOND / 20;
+        Assertions.assertEquals(0, bucket.tryTake(now));
+        Assertions.assertEquals(SECOND / 10, bucket.tryTake(now));
+
+        // The bucket does not fill up above its capacity
+        now += 10 * SECOND;
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(0, bucket.tryTake(now));
+        }
+        Assertions.assertTrue(bucket.tryTake(now) > 0);
+    }
+
+    @Test
+    void testAdaptiveConcurrencyLimit() {
+        long threshold = TimeUnit.MILLISECONDS.toNanos(100);
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 4, threshold);
+        long now = 0;
+
+        Assertions.assertTrue(limit.tryAcquire());
+        Assertions.assertTrue(limit.tryAcquire());
+        Assertions.assertFalse(limit.tryAcquire());
+        Assertions.assertEquals(2, limit.getInFlight());
+
+        // Fast requests increase the limit, up to the max limit
+        for (int i = 0; i < 100; i++) {
+            limit.release(now, now + threshold / 2, false);
+            now += threshold / 2;
+            Assertions.assertTrue(limit.tryAcquire());
+        }
+        Assertions.assertEquals(4, limit.getLimit());
+
+        // Slow or failed requests decrease it, down to the min limit
+        limit.release(now, now + threshold * 2, false);
+        now += threshold * 2;
+        Assertions.assertEquals(3, limit.getLimit());
+        limit.release(now, now + threshold / 2, true);
+        now += threshold / 2;
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(limit.tryAcquire());
+            limit.release(now, now + threshold / 2, true);
+            now += threshold / 2;
+        }
+        Assertions.assertEquals(1, limit.getLimit());
+        Assertions.assertEquals(0, limit.getInFlight());
+        Assertions.assertTrue(limit.tryAcquire());
+        Assertions.assertFalse(limit.tryAcquire());
+    }
+
+    @Test
+    void testAdaptiveConcurrencyLimitDecreasesOncePerWindow() {
+        long threshold = TimeUnit.MILLISECONDS.toNanos(100);
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 1, 100, threshold);
+
+        // A burst of concurrent slow requests decreases the limit once
+        for (int i = 0; i < 50; i++) {
+            Assertions.assertTrue(limit.tryAcquire());
+        }
+        for (int i = 0; i < 50; i++) {
+            limit.release(0, threshold * 2 + i, true);
+        }
+        Assertions.assertEquals(90, limit.getLimit());
+
+        // A slow request started after the decrease decreases it again
+        Assertions.assertTrue(limit.tryAcquire());
+        limit.release(threshold * 3, threshold * 5, false);
+        Assertions.assertEquals(81, limit.getLimit());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.metrics;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import static io.apicurio.registry.metrics.MetricsConstants.REST_REQUESTS;
+import static io.apicurio.registry.metrics.MetricsConstants.REST_REQUESTS_COUNTER;
+import static io.apicurio.registry.metrics.MetricsConstants.REST_REQUESTS_TAG_METHOD;
+import static io.apicurio.registry.metrics.MetricsConstants.REST_REQUESTS_TAG_PATH;
+import static io.apicurio.registry.metrics.MetricsConstants.REST_REQUESTS_TAG_STATUS_CODE_FAMILY;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_METHOD_CALL;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_METHOD_CALL_TAG_METHOD;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_METHOD_CALL_TAG_SUCCESS;
+
+/**
+ * Checks that the meters of the REST endpoints and of the storage methods are registered once, on first use,
+ * and tagged as before they were cached.
+ */
+class MetricsRegistrationTest {
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Path("/test")
+    static class TestResource {
+
+        @Path("/items/{id}")
+        public String getItem(String id) {
+            return id;
+        }
+
+        public String getItems() {
+            return "";
+        }
+    }
+
+    @Test
+    void testRestMeters() throws Exception {
+        RestMetricsResponseFilter filter = new RestMetricsResponseFilter();
+        filter.registry = registry;
+        Method getItem = TestResource.class.getMethod("getItem", String.class);
+        Method getItems = TestResource.class.getMethod("getItems");
+
+        filter.record(TestResource.class, getItem, "GET", 200, TimeUnit.MILLISECONDS.toNanos(10));
+        filter.record(TestResource.class, getItem, "GET", 204, TimeUnit.MILLISECONDS.toNanos(20));
+        // A timer and a counter for the 2xx status codes
+        Assertions.assertEquals(2, registry.getMeters().size());
+
+        Timer timer = registry.get(REST_REQUESTS)
+                .tag(REST_REQUESTS_TAG_PATH, "/test/items/{id}")
+                .tag(REST_REQUESTS_TAG_METHOD, "GET")
+                .tag(REST_REQUESTS_TAG_STATUS_CODE_FAMILY, "2xx")
+                .timer();
+        Assertions.assertEquals(2, timer.count());
+        Assertions.assertEquals(30, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        Assertions.assertEquals(2, registry.get(REST_REQUESTS_COUNTER)
+                .tag(REST_REQUESTS_TAG_PATH, "/test/items/{id}")
+                .tag(REST_REQUESTS_TAG_STATUS_CODE_FAMILY, "2xx")
+                .counter().count());
+
+        filter.record(TestResource.class, getItem, "GET", 404, 0);
+        filter.record(TestResource.class, getItem, "DELETE", 204, 0);
+        filter.record(TestResource.class, getItems, "GET", 200, 0);
+        filter.record(TestResource.class, getItems, "GET", 999, 0);
+        Assertions.assertEquals(10, registry.getMeters().size());
+        Assertions.assertEquals(1, registry.get(REST_REQUESTS)
+                .tag(REST_REQUESTS_TAG_PATH, "/test/items/{id}")
+                .tag(REST_REQUESTS_TAG_METHOD, "GET")
+                .tag(REST_REQUESTS_TAG_STATUS_CODE_FAMILY, "4xx")
+                .timer().count());
+        Assertions.assertEquals(1, registry.get(REST_REQUESTS)
+                .tag(REST_REQUESTS_TAG_PATH, "/test/items/{id}")
+                .tag(REST_REQUESTS_TAG_METHOD, "DELETE")
+                .timer().count());
+        Assertions.assertEquals(1, registry.get(REST_REQUESTS)
+                .tag(REST_REQUESTS_TAG_PATH, "/test")
+                .tag(REST_REQUESTS_TAG_STATUS_CODE_FAMILY, "")
+                .timer().count());
+    }
+
+    @Test
+    void testStorageMeters() throws Exception {
+        StorageMetricsInterceptor interceptor = new StorageMetricsInterceptor();
+        interceptor.registry = registry;
+        Method method = TestResource.class.getMethod("getItem", String.class);
+        Clock clock = registry.config().clock();
+
+        interceptor.record(clock, clock.monotonicTime(), method, true);
+        interceptor.record(clock, clock.monotonicTime(), method, true);
+        // The timers for failed and successful calls are registered together
+        Assertions.assertEquals(2, registry.getMeters().size());
+
+        interceptor.record(clock, clock.monotonicTime(), method, false);
+        Assertions.assertEquals(2, registry.getMeters().size());
+        Assertions.assertEquals(2, registry.get(STORAGE_METHOD_CALL)
+                .tag(STORAGE_METHOD_CALL_TAG_METHOD, "getItem(String)")
+                .tag(STORAGE_METHOD_CALL_TAG_SUCCESS, "true")
+                .timer().count());
+        Assertions.assertEquals(1, registry.get(STORAGE_METHOD_CALL)
+                .tag(STORAGE_METHOD_CALL_TAG_METHOD, "getItem(String)")
+                .tag(STORAGE_METHOD_CALL_TAG_SUCCESS, "false")
+                .timer().count());
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.metrics.health;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class AbstractErrorCounterHealthCheckTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static class TestCheck extends AbstractErrorCounterHealthCheck {
+
+        long now = 42 * SECOND;
+
+        @Override
+        protected long nanoTime() {
+            return now;
+        }
+    }
+
+    private static TestCheck check(int errorThreshold, int counterResetWindowSec, int statusResetWindowSec) {
+        TestCheck check = new TestCheck();
+        check.init(errorThreshold, counterResetWindowSec, statusResetWindowSec);
+        return check;
+    }
+
+    @Test
+    void testThreshold() {
+        TestCheck check = check(1, 60, 300);
+
+        check.suspectSuper();
+        check.callSuper();
+        Assertions.assertTrue(check.up);
+        Assertions.assertEquals(1, check.getErrorCount());
+
+        check.suspectSuper();
+        check.callSuper();
+        Assertions.assertFalse(check.up);
+        Assertions.assertEquals(2, check.getErrorCount());
+    }
+
+    @Test
+    void testCounterReset() {
+        TestCheck check = check(2, 60, 300);
+
+        check.suspectSuper();
+        check.now += 30 * SECOND;
+        check.callSuper();
+        Assertions.assertEquals(1, check.getErrorCount());
+
+        // Every error restarts the window
+        check.now += 30 * SECOND;
+        check.suspectSuper();
+        check.now += 59 * SECOND;
+        check.callSuper();
+        Assertions.assertEquals(2, check.getErrorCount());
+
+        check.now += 2 * SECOND;
+        check.callSuper();
+        Assertions.assertTrue(check.up);
+        Assertions.assertEquals(0, check.getErrorCount());
+    }
+
+    @Test
+    void testStatusReset() {
+        TestCheck check = check(0, 60, 300);
+
+        check.suspectSuper();
+        check.now += 299 * SECOND;
+        check.callSuper();
+        Assertions.assertFalse(check.up);
+        Assertions.assertEquals(1, check.getErrorCount());
+
+        check.now += 2 * SECOND;
+        check.callSuper();
+        Assertions.assertTrue(check.up);
+        Assertions.assertEquals(0, check.getErrorCount());
+    }
+
+    @Test
+    void testNoStatusReset() {
+        TestCheck check = check(0, 60, 0);
+
+        check.suspectSuper();
+        check.now += 3600 * SECOND;
+        check.callSuper();
+        Assertions.assertFalse(check.up);
+    }
+
+    @Test
+    void testConcurrentErrors() throws Exception {
+        AbstractErrorCounterHealthCheck check = new AbstractErrorCounterHealthCheck() {
+        };
+        check.init(1000000, 60, 300);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    check.suspectSuper();
+                    check.callSuper();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(80000, check.getErrorCount());
+        Assertions.assertTrue(check.up);
+    }
+}
@@ -365,6 +365,49 @@ public class ConfluentCompatApiTest extends AbstractResourceTestBase {
         registerSchemaAndVerify(PROTOBUF_SCHEMA_SIMPLE_WRAPPED_WITH_TYPE, "subject_test_proto", "PROTOBUF");
     }
 
+    /**
+     * Endpoint: /schemas/ids/{int: id}
+     */
+    @Test
+    public void testGetSchemaByIdAfterDelete() throws Exception {
+        final String SUBJECT = "testGetSchemaByIdAfterDelete";
+        final Integer contentId = given()
+                .when()
+                .contentType(ContentTypes.COMPAT_SCHEMA_REGISTRY_STABLE_LATEST)
+                .body(SCHEMA_SIMPLE_WRAPPED)
+                .post(getBasePath() + "/subjects/{subject}/versions", SUBJECT)
+                .then()
+                .statusCode(200)
+                .extract().body().jsonPath().get("id");
+
+        // Served twice, the second time from the cache
+        for (int i = 0; i < 2; i++) {
+            given()
+                    .when()
+                    .contentType(ContentTypes.COMPAT_SCHEMA_REGISTRY_STABLE_LATEST)
+                    .accept(ContentTypes.COMPAT_SCHEMA_REGISTRY_V1)
+                    .get(getBasePath() + "/schemas/ids/{id}", contentId)
+                    .then()
+                    .statusCode(200)
+                    .header("Content-Type", Matchers.startsWith(ContentTypes.COMPAT_SCHEMA_REGISTRY_V1))
+                    .body("schema", Matchers.notNullValue());
+        }
+
+        given()
+                .when()
+                .delete("/registry/v2/groups/default/artifacts/{artifactId}", SUBJECT)
+                .then()
+                .statusCode(204);
+
+        // The cached response must not be served once the schema is deleted
+        given()
+                .when()
+                .contentType(ContentTypes.COMPAT_SCHEMA_REGISTRY_STABLE_LATEST)
+                .get(getBasePath() + "/schemas/ids/{id}", contentId)
+                .then()
+                .statusCode(404);
+    }
+
     private void registerSchemaAndVerify(String schema, String subject, String schemaTye) throws Exception {
         registerSchemaInSubject(schema, subject);
 
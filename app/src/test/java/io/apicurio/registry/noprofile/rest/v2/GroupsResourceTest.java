@@ -65,6 +65,7 @@ import io.apicurio.registry.rest.v2.beans.ArtifactOwner;
 import io.apicurio.registry.types.ArtifactState;
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
+import io.apicurio.registry.rest.v2.beans.ArtifactUpdateTest;
 import io.apicurio.registry.rest.v2.beans.Comment;
 import io.apicurio.registry.rest.v2.beans.EditableMetaData;
 import io.apicurio.registry.rest.v2.beans.IfExists;
@@ -657,6 +658,67 @@ public class GroupsResourceTest extends AbstractResourceTestBase {
 
     }
 
+    @Test
+    public void testTestUpdateArtifacts() throws Exception {
+        String artifactContent = resourceToString("jsonschema-valid.json");
+        String artifactContentInvalidSyntax = resourceToString("jsonschema-invalid.json");
+        String artifactId = "testTestUpdateArtifacts/ValidityRule";
+        createArtifact(GROUP, artifactId, ArtifactType.JSON, artifactContent);
+
+        // Add a rule
+        Rule rule = new Rule();
+        rule.setType(RuleType.VALIDITY);
+        rule.setConfig("FULL");
+        given()
+                .when()
+                .contentType(CT_JSON)
+                .pathParam("groupId", GROUP)
+                .body(rule)
+                .pathParam("artifactId", artifactId)
+                .post("/registry/v2/groups/{groupId}/artifacts/{artifactId}/rules")
+                .then()
+                .statusCode(204)
+                .body(anything());
+
+        List<ArtifactUpdateTest> tests = new ArrayList<>();
+        tests.add(toArtifactUpdateTest(GROUP, artifactId, artifactContent));
+        tests.add(toArtifactUpdateTest(GROUP, artifactId, artifactContentInvalidSyntax));
+        tests.add(toArtifactUpdateTest(GROUP, "testTestUpdateArtifacts/MissingAPI", artifactContent));
+        tests.add(toArtifactUpdateTest(GROUP, artifactId, ""));
+
+        // Test all the updates at once, results are returned in the same order
+        TestUtils.retry(() -> {
+            given()
+                    .when()
+                    .contentType(CT_JSON)
+                    .body(tests)
+                    .post("/registry/v2/groups/artifacts/test")
+                    .then()
+                    .statusCode(200)
+                    .body("size()", equalTo(4))
+                    .body("[0].artifactId", equalTo(artifactId))
+                    .body("[0].success", equalTo(true))
+                    .body("[0].error", nullValue())
+                    .body("[1].artifactId", equalTo(artifactId))
+                    .body("[1].success", equalTo(false))
+                    .body("[1].error.error_code", equalTo(409))
+                    .body("[1].error.causes", notNullValue())
+                    .body("[2].artifactId", equalTo("testTestUpdateArtifacts/MissingAPI"))
+                    .body("[2].success", equalTo(false))
+                    .body("[2].error.error_code", equalTo(404))
+                    .body("[3].success", equalTo(false))
+                    .body("[3].error.error_code", equalTo(400));
+        });
+    }
+
+    private static ArtifactUpdateTest toArtifactUpdateTest(String groupId, String artifactId, String content) {
+        ArtifactUpdateTest test = new ArtifactUpdateTest();
+        test.setGroupId(groupId);
+        test.setArtifactId(artifactId);
+        test.setContent(content);
+        return test;
+    }
+
     @Test
     public void testUpdateArtifactState() throws Exception {
         String oaiArtifactContent = resourceToString("openapi-empty.json");
@@ -17,6 +17,7 @@
 package io.apicurio.registry.noprofile.rest.v2;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
@@ -27,6 +28,8 @@ import org.junit.jupiter.api.Test;
 
 import io.apicurio.registry.AbstractResourceTestBase;
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
+import io.apicurio.registry.rest.v2.beans.UpdateState;
+import io.apicurio.registry.types.ArtifactState;
 import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.utils.tests.TestUtils;
 import io.quarkus.test.junit.QuarkusTest;
@@ -243,6 +246,164 @@ public class IdsResourceTest extends AbstractResourceTestBase {
                 .statusCode(404);
     }
 
+    @Test
+    public void testConditionalGetByContentId() throws Exception {
+        String artifactContent = resourceToString("openapi-empty.json").replaceAll("Empty API", "Conditional GET API");
+
+        String artifactId = "testConditionalGetByContentId/Empty";
+
+        // Create the artifact.
+        ArtifactMetaData amd = given()
+                .when()
+                    .contentType(CT_JSON)
+                    .pathParam("groupId", GROUP)
+                    .header("X-Registry-ArtifactId", artifactId)
+                    .header("X-Registry-ArtifactType", ArtifactType.OPENAPI)
+                    .body(artifactContent)
+                .post("/registry/v2/groups/{groupId}/artifacts")
+                .then()
+                    .statusCode(200)
+                .extract()
+                    .as(ArtifactMetaData.class);
+
+        // Get by contentId, the content is immutable
+        String etag = given()
+            .when()
+                .pathParam("contentId", amd.getContentId())
+                .get("/registry/v2/ids/contentIds/{contentId}")
+            .then()
+                .statusCode(200)
+                .header("Cache-Control", containsString("immutable"))
+                .header("Vary", "Accept-Encoding")
+                .header("ETag", notNullValue())
+            .extract()
+                .header("ETag");
+
+        // Get by contentId again, the client already has the content
+        given()
+            .when()
+                .header("If-None-Match", etag)
+                .pathParam("contentId", amd.getContentId())
+                .get("/registry/v2/ids/contentIds/{contentId}")
+            .then()
+                .statusCode(304)
+                .header("ETag", equalTo(etag));
+
+        // Get the artifact meta-data, then revalidate it
+        String metaDataEtag = given()
+            .when()
+                .pathParam("groupId", GROUP)
+                .pathParam("artifactId", artifactId)
+                .get("/registry/v2/groups/{groupId}/artifacts/{artifactId}/meta")
+            .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+            .extract()
+                .header("ETag");
+        given()
+            .when()
+                .header("If-None-Match", metaDataEtag)
+                .pathParam("groupId", GROUP)
+                .pathParam("artifactId", artifactId)
+                .get("/registry/v2/groups/{groupId}/artifacts/{artifactId}/meta")
+            .then()
+                .statusCode(304);
+
+        // Once the meta-data has been edited, the client gets it again
+        given()
+            .when()
+                .contentType(CT_JSON)
+                .pathParam("groupId", GROUP)
+                .pathParam("artifactId", artifactId)
+                .body("{\"name\": \"Edited\"}")
+                .put("/registry/v2/groups/{groupId}/artifacts/{artifactId}/meta")
+            .then()
+                .statusCode(204);
+        given()
+            .when()
+                .header("If-None-Match", metaDataEtag)
+                .pathParam("groupId", GROUP)
+                .pathParam("artifactId", artifactId)
+                .get("/registry/v2/groups/{groupId}/artifacts/{artifactId}/meta")
+            .then()
+                .statusCode(200)
+                .body("name", equalTo("Edited"));
+    }
+
+    @Test
+    public void testConditionalGetByGlobalId() throws Exception {
+        String artifactContent = resourceToString("openapi-empty.json").replaceAll("Empty API", "Conditional GET By Global ID API");
+
+        String artifactId = "testConditionalGetByGlobalId/Empty";
+
+        // Create the artifact.
+        ArtifactMetaData amd = given()
+                .when()
+                    .contentType(CT_JSON)
+                    .pathParam("groupId", GROUP)
+                    .header("X-Registry-ArtifactId", artifactId)
+                    .header("X-Registry-ArtifactType", ArtifactType.OPENAPI)
+                    .body(artifactContent)
+                .post("/registry/v2/groups/{groupId}/artifacts")
+                .then()
+                    .statusCode(200)
+                .extract()
+                    .as(ArtifactMetaData.class);
+
+        // Get by globalId, the version can be disabled so the content must be revalidated
+        String etag = given()
+            .when()
+                .pathParam("globalId", amd.getGlobalId())
+                .get("/registry/v2/ids/globalIds/{globalId}")
+            .then()
+                .statusCode(200)
+                .header("Cache-Control", equalTo("no-cache"))
+                .header("ETag", notNullValue())
+            .extract()
+                .header("ETag");
+
+        // Deprecate the version, the client is told about it even though it has the content
+        UpdateState updateState = new UpdateState();
+        updateState.setState(ArtifactState.DEPRECATED);
+        given()
+            .when()
+                .contentType(CT_JSON)
+                .pathParam("groupId", GROUP)
+                .pathParam("artifactId", artifactId)
+                .body(updateState)
+                .put("/registry/v2/groups/{groupId}/artifacts/{artifactId}/versions/1/state")
+            .then()
+                .statusCode(204);
+        given()
+            .when()
+                .header("If-None-Match", etag)
+                .pathParam("globalId", amd.getGlobalId())
+                .get("/registry/v2/ids/globalIds/{globalId}")
+            .then()
+                .statusCode(304)
+                .header("ETag", equalTo(etag))
+                .header("X-Registry-Deprecated", "true");
+
+        // Once the version is disabled, the content is not found even though the client has it
+        updateState.setState(ArtifactState.DISABLED);
+        given()
+            .when()
+                .contentType(CT_JSON)
+                .pathParam("groupId", GROUP)
+                .pathParam("artifactId", artifactId)
+                .body(updateState)
+                .put("/registry/v2/groups/{groupId}/artifacts/{artifactId}/versions/1/state")
+            .then()
+                .statusCode(204);
+        given()
+            .when()
+                .header("If-None-Match", etag)
+                .pathParam("globalId", amd.getGlobalId())
+                .get("/registry/v2/ids/globalIds/{globalId}")
+            .then()
+                .statusCode(404);
+    }
+
     @Test
     public void testGetByContentHash() throws Exception {
         String title = "Test By Content Hash API";
@@ -19,19 +19,28 @@ package io.apicurio.registry.noprofile.storage;
 import io.apicurio.common.apps.config.DynamicConfigPropertyDto;
 import io.apicurio.registry.AbstractResourceTestBase;
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.dereference.AvroDereferencer;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.dto.*;
 import io.apicurio.registry.storage.error.*;
+import io.apicurio.registry.storage.impexp.EntityInputStream;
 import io.apicurio.registry.types.ArtifactState;
 import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.types.RuleType;
+import io.apicurio.registry.utils.impexp.ArtifactVersionEntity;
+import io.apicurio.registry.utils.impexp.CommentEntity;
+import io.apicurio.registry.utils.impexp.ContentEntity;
+import io.apicurio.registry.utils.impexp.Entity;
 import io.apicurio.registry.utils.impexp.EntityType;
+import io.apicurio.registry.utils.impexp.ManifestEntity;
 import io.apicurio.registry.utils.tests.TestUtils;
 import jakarta.inject.Inject;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -725,6 +734,12 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
         Assertions.assertFalse(artifactRules.isEmpty());
         Assertions.assertEquals(1, artifactRules.size());
         Assertions.assertEquals(RuleType.VALIDITY, artifactRules.get(0));
+
+        Map<RuleType, RuleConfigurationDto> artifactRuleConfigs = storage().getArtifactRuleConfigurations(GROUP_ID, artifactId);
+        Assertions.assertEquals(1, artifactRuleConfigs.size());
+        Assertions.assertEquals("FULL", artifactRuleConfigs.get(RuleType.VALIDITY).getConfiguration());
+
+        Assertions.assertTrue(storage().getArtifactRuleConfigurations(GROUP_ID, "testCreateArtifactRule-missing").isEmpty());
     }
 
     @Test
@@ -805,6 +820,7 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
         List<RuleType> globalRules = storage().getGlobalRules();
         Assertions.assertNotNull(globalRules);
         Assertions.assertTrue(globalRules.isEmpty());
+        Assertions.assertTrue(storage().getGlobalRuleConfigurations().isEmpty());
 
         RuleConfigurationDto config = new RuleConfigurationDto();
         config.setConfiguration("FULL");
@@ -812,6 +828,8 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
 
         RuleConfigurationDto rule = storage().getGlobalRule(RuleType.COMPATIBILITY);
         Assertions.assertEquals(rule.getConfiguration(), config.getConfiguration());
+        Assertions.assertEquals(config.getConfiguration(),
+                storage().getGlobalRuleConfigurations().get(RuleType.COMPATIBILITY).getConfiguration());
 
         globalRules = storage().getGlobalRules();
         Assertions.assertNotNull(globalRules);
@@ -828,6 +846,8 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
 
         rule = storage().getGlobalRule(RuleType.COMPATIBILITY);
         Assertions.assertEquals(rule.getConfiguration(), updatedConfig.getConfiguration());
+        Assertions.assertEquals(updatedConfig.getConfiguration(),
+                storage().getGlobalRuleConfigurations().get(RuleType.COMPATIBILITY).getConfiguration());
 
         Assertions.assertThrows(RuleNotFoundException.class, () -> {
             storage().updateGlobalRule(RuleType.VALIDITY, config);
@@ -837,6 +857,7 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
         globalRules = storage().getGlobalRules();
         Assertions.assertNotNull(globalRules);
         Assertions.assertTrue(globalRules.isEmpty());
+        Assertions.assertTrue(storage().getGlobalRuleConfigurations().isEmpty());
 
         storage().createGlobalRule(RuleType.COMPATIBILITY, config);
         storage().deleteGlobalRule(RuleType.COMPATIBILITY);
@@ -1084,6 +1105,308 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
         Assertions.assertEquals("TEST_COMMENT_4", comments.get(0).getValue());
     }
 
+    @Test
+    public void testContentWithoutCanonicalHash() throws Exception {
+        ContentEntity entity = new ContentEntity();
+        entity.contentId = storage().nextContentId();
+        entity.contentHash = "testContentWithoutCanonicalHash";
+        entity.contentBytes = OPENAPI_CONTENT.getBytes(StandardCharsets.UTF_8);
+        storage().importContent(entity);
+
+        List<ContentEntity> entities = storage().getContentEntitiesWithoutCanonicalHash(entity.contentId - 1, 10);
+        Assertions.assertEquals(1, entities.size());
+        Assertions.assertEquals(entity.contentId, entities.get(0).contentId);
+        Assertions.assertEquals(entity.contentHash, entities.get(0).contentHash);
+        // Not used by any artifact version
+        Assertions.assertNull(entities.get(0).artifactType);
+
+        storage().updateContentCanonicalHash("testContentWithoutCanonicalHash-canonical", entity.contentId, entity.contentHash);
+        entities = storage().getContentEntitiesWithoutCanonicalHash(entity.contentId - 1, 10);
+        Assertions.assertTrue(entities.isEmpty());
+    }
+
+    @Test
+    public void testGetArtifactIds() throws Exception {
+        String groupId = "testGetArtifactIds";
+        ContentHandle content = ContentHandle.create(OPENAPI_CONTENT);
+        storage().createArtifact(groupId, "subject_a-1", null, ArtifactType.OPENAPI, content, null);
+        storage().createArtifact(groupId, "subject_a-2", null, ArtifactType.OPENAPI, content, null);
+        storage().createArtifact(groupId, "subjectXa-3", null, ArtifactType.OPENAPI, content, null);
+        storage().createArtifact(groupId, "other-4", null, ArtifactType.ASYNCAPI, content, null);
+        storage().updateArtifactState(groupId, "subject_a-2", ArtifactState.DEPRECATED);
+
+        Assertions.assertEquals(Set.of("subject_a-1", "subject_a-2", "subjectXa-3", "other-4"),
+                Set.copyOf(storage().getArtifactIds(groupId, null, null, null, 0, 10)));
+        // The underscore of the prefix is not a wildcard
+        Assertions.assertEquals(Set.of("subject_a-1", "subject_a-2"),
+                Set.copyOf(storage().getArtifactIds(groupId, "subject_", null, null, 0, 10)));
+        Assertions.assertEquals(Set.of("subject_a-1", "subjectXa-3"),
+                Set.copyOf(storage().getArtifactIds(groupId, null, Set.of(ArtifactType.OPENAPI), ArtifactState.ENABLED, 0, 10)));
+
+        Set<String> paged = new HashSet<>();
+        for (int offset = 0; offset < 3; offset++) {
+            List<String> page = storage().getArtifactIds(groupId, "subject", Set.of(ArtifactType.OPENAPI), null, offset, 1);
+            Assertions.assertEquals(1, page.size());
+            paged.addAll(page);
+        }
+        Assertions.assertEquals(Set.of("subject_a-1", "subject_a-2", "subjectXa-3"), paged);
+        Assertions.assertTrue(storage().getArtifactIds(groupId, null, Set.of(), null, 0, 10).isEmpty());
+    }
+
+    @Test
+    public void testDereferencedHash() throws Exception {
+        String refId = "testDereferencedHash-ref";
+        String artifactId = "testDereferencedHash";
+        ContentHandle refContent = ContentHandle.create("{\"type\":\"record\",\"name\":\"Ref\",\"namespace\":\"test\","
+                + "\"fields\":[{\"name\":\"f\",\"type\":\"string\"}]}");
+        ContentHandle content = ContentHandle.create("{\"type\":\"record\",\"name\":\"Main\",\"namespace\":\"test\","
+                + "\"fields\":[{\"name\":\"ref\",\"type\":\"test.Ref\"}]}");
+        storage().createArtifact(GROUP_ID, refId, null, ArtifactType.AVRO, refContent, null);
+        List<ArtifactReferenceDto> references = List.of(new ArtifactReferenceDto(GROUP_ID, refId, "1", "test.Ref"));
+        ArtifactMetaDataDto dto = storage().createArtifact(GROUP_ID, artifactId, null, ArtifactType.AVRO, content, references);
+
+        String dereferencedHash = DigestUtils.sha256Hex(new AvroDereferencer()
+                .dereference(content, Map.of("test.Ref", refContent)).content());
+        // Replicated (KafkaSQL) content gets its dereferenced hash from the background updater
+        TestUtils.retry(() -> {
+            ArtifactVersionMetaDataDto amd = storage().getArtifactVersionMetaDataByDereferencedHash(GROUP_ID, artifactId, dereferencedHash);
+            Assertions.assertEquals(dto.getGlobalId(), amd.getGlobalId());
+        }, "testDereferencedHash", 30);
+        Assertions.assertTrue(storage().getContentEntitiesWithoutDereferencedHash(ArtifactType.AVRO, dto.getContentId() - 1, 10).isEmpty());
+
+        // Only content with references has a dereferenced hash
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getArtifactVersionMetaDataByDereferencedHash(
+                GROUP_ID, refId, DigestUtils.sha256Hex(refContent.content())));
+    }
+
+    @Test
+    public void testDereferencedContentCache() throws Exception {
+        String refId = "testDereferencedContentCache-ref";
+        String artifactId = "testDereferencedContentCache";
+        ContentHandle refContent = ContentHandle.create("{\"type\":\"record\",\"name\":\"Ref\",\"namespace\":\"cache\","
+                + "\"fields\":[{\"name\":\"f\",\"type\":\"string\"}]}");
+        ContentHandle content = ContentHandle.create("{\"type\":\"record\",\"name\":\"Main\",\"namespace\":\"cache\","
+                + "\"fields\":[{\"name\":\"ref\",\"type\":\"cache.Ref\"}]}");
+        storage().createArtifact(GROUP_ID, refId, null, ArtifactType.AVRO, refContent, null);
+        List<ArtifactReferenceDto> references = List.of(new ArtifactReferenceDto(GROUP_ID, refId, "1", "cache.Ref"));
+        ArtifactMetaDataDto dto = storage().createArtifact(GROUP_ID, artifactId, null, ArtifactType.AVRO, content, references);
+
+        Assertions.assertNull(storage().getDereferencedContent(dto.getContentId()));
+        ContentHandle dereferenced = new AvroDereferencer().dereference(content, Map.of("cache.Ref", refContent));
+        storage().storeDereferencedContent(dto.getContentId(), dereferenced);
+        // Storing it again is a no-op
+        storage().storeDereferencedContent(dto.getContentId(), dereferenced);
+        Assertions.assertEquals(dereferenced.content(), storage().getDereferencedContent(dto.getContentId()).content());
+
+        // Deleting any artifact version clears the cache
+        storage().createArtifact(GROUP_ID, artifactId + "-other", null, ArtifactType.AVRO, refContent, null);
+        storage().deleteArtifact(GROUP_ID, artifactId + "-other");
+        Assertions.assertNull(storage().getDereferencedContent(dto.getContentId()));
+    }
+
+    @Test
+    public void testCounters() throws Exception {
+        String artifactId = "testCounters";
+        ContentHandle content = ContentHandle.create(OPENAPI_CONTENT);
+        long artifacts = storage().countArtifacts();
+        long versions = storage().countTotalArtifactVersions();
+
+        storage().createArtifact(GROUP_ID, artifactId + "-1", null, ArtifactType.OPENAPI, content, null);
+        storage().updateArtifact(GROUP_ID, artifactId + "-1", null, ArtifactType.OPENAPI, content, null);
+        storage().updateArtifact(GROUP_ID, artifactId + "-1", null, ArtifactType.OPENAPI, content, null);
+        storage().createArtifact(GROUP_ID, artifactId + "-2", null, ArtifactType.OPENAPI, content, null);
+        Assertions.assertEquals(artifacts + 2, storage().countArtifacts());
+        Assertions.assertEquals(versions + 4, storage().countTotalArtifactVersions());
+        Assertions.assertEquals(3, storage().countArtifactVersions(GROUP_ID, artifactId + "-1"));
+
+        storage().deleteArtifactVersion(GROUP_ID, artifactId + "-1", "2");
+        Assertions.assertEquals(artifacts + 2, storage().countArtifacts());
+        Assertions.assertEquals(versions + 3, storage().countTotalArtifactVersions());
+        Assertions.assertEquals(2, storage().countArtifactVersions(GROUP_ID, artifactId + "-1"));
+
+        storage().deleteArtifact(GROUP_ID, artifactId + "-1");
+        storage().deleteArtifactVersion(GROUP_ID, artifactId + "-2", "1");
+        Assertions.assertEquals(artifacts, storage().countArtifacts());
+        Assertions.assertEquals(versions, storage().countTotalArtifactVersions());
+    }
+
+    @Test
+    public void testImportEntitiesOutOfOrder() throws Exception {
+        String artifactId = "testImportEntitiesOutOfOrder-1";
+
+        ContentEntity content = new ContentEntity();
+        content.contentId = storage().nextContentId();
+        content.contentHash = "testImportEntitiesOutOfOrder";
+        content.contentBytes = OPENAPI_CONTENT.getBytes(StandardCharsets.UTF_8);
+
+        ArtifactVersionEntity version = new ArtifactVersionEntity();
+        version.globalId = storage().nextGlobalId();
+        version.groupId = GROUP_ID;
+        version.artifactId = artifactId;
+        version.version = "1";
+        version.versionId = 1;
+        version.artifactType = ArtifactType.OPENAPI;
+        version.state = ArtifactState.ENABLED;
+        version.createdOn = System.currentTimeMillis();
+        version.isLatest = true;
+        version.contentId = content.contentId;
+
+        CommentEntity comment = new CommentEntity();
+        comment.commentId = "testImportEntitiesOutOfOrder-comment";
+        comment.globalId = version.globalId;
+        comment.createdOn = System.currentTimeMillis();
+        comment.value = "Imported before its version";
+
+        // Each entity comes before the entity it depends on
+        Iterator<Entity> entities = List.<Entity>of(comment, version, content).iterator();
+        storage().importData(new EntityInputStream() {
+            @Override
+            public Entity nextEntity() {
+                return entities.hasNext() ? entities.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        }, true, true);
+
+        TestUtils.retry(() -> {
+            ArtifactMetaDataDto metaData = storage().getArtifactMetaData(GROUP_ID, artifactId);
+            Assertions.assertEquals(version.globalId, metaData.getGlobalId());
+            Assertions.assertEquals(content.contentId, metaData.getContentId());
+            List<CommentDto> comments = storage().getArtifactVersionComments(GROUP_ID, artifactId, "1");
+            Assertions.assertEquals(1, comments.size());
+            Assertions.assertEquals(comment.value, comments.get(0).getValue());
+        });
+
+        // Found by its canonical hash, whether or not the canonical hash updater has processed the content yet
+        ArtifactVersionMetaDataDto canonical = storage().getArtifactVersionMetaData(GROUP_ID, artifactId, true,
+                ContentHandle.create(OPENAPI_CONTENT), null);
+        Assertions.assertEquals(version.globalId, canonical.getGlobalId());
+    }
+
+    @Test
+    public void testExportDataSince() throws Exception {
+        String artifactId = "testExportDataSince-1";
+        storage().createArtifact(GROUP_ID, artifactId, null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT), null);
+
+        // The manifest of a full export provides the watermark of the incremental export
+        List<ManifestEntity> manifests = new ArrayList<>();
+        storage().exportData(e -> {
+            if (e.getEntityType() == EntityType.Manifest) {
+                manifests.add((ManifestEntity) e);
+            }
+            return null;
+        });
+        Assertions.assertEquals(1, manifests.size());
+        ManifestEntity manifest = manifests.get(0);
+        Assertions.assertFalse(manifest.isIncremental());
+        Thread.sleep(10);
+
+        ArtifactMetaDataDto dtov2 = storage().updateArtifact(GROUP_ID, artifactId, null, ArtifactType.OPENAPI,
+                ContentHandle.create(OPENAPI_CONTENT_V2), null);
+        storage().createArtifactVersionComment(GROUP_ID, artifactId, dtov2.getVersion(), "testExportDataSince");
+
+        Map<EntityType, List<Entity>> delta = new EnumMap<>(EntityType.class);
+        storage().exportData(e -> {
+            delta.computeIfAbsent(e.getEntityType(), k -> new ArrayList<>()).add(e);
+            return null;
+        }, manifest.lastGlobalId, manifest.exportedOn.getTime());
+
+        ManifestEntity deltaManifest = (ManifestEntity) delta.get(EntityType.Manifest).get(0);
+        Assertions.assertTrue(deltaManifest.isIncremental());
+        Assertions.assertEquals(manifest.lastGlobalId, deltaManifest.sinceGlobalId);
+        Assertions.assertEquals(dtov2.getGlobalId(), deltaManifest.lastGlobalId);
+
+        List<Entity> versions = delta.get(EntityType.ArtifactVersion);
+        Assertions.assertEquals(1, versions.size());
+        Assertions.assertEquals(dtov2.getGlobalId(), ((ArtifactVersionEntity) versions.get(0)).globalId);
+        List<Entity> content = delta.get(EntityType.Content);
+        Assertions.assertEquals(1, content.size());
+        Assertions.assertEquals(dtov2.getContentId(), ((ContentEntity) content.get(0)).contentId);
+        List<Entity> comments = delta.get(EntityType.Comment);
+        Assertions.assertEquals(1, comments.size());
+        Assertions.assertEquals("testExportDataSince", ((CommentEntity) comments.get(0)).value);
+
+        // A timestamp-only watermark selects the same artifact versions
+        Map<EntityType, List<Entity>> timestampDelta = new EnumMap<>(EntityType.class);
+        storage().exportData(e -> {
+            timestampDelta.computeIfAbsent(e.getEntityType(), k -> new ArrayList<>()).add(e);
+            return null;
+        }, 0, manifest.exportedOn.getTime());
+        versions = timestampDelta.get(EntityType.ArtifactVersion);
+        Assertions.assertEquals(1, versions.size());
+        Assertions.assertEquals(dtov2.getGlobalId(), ((ArtifactVersionEntity) versions.get(0)).globalId);
+        Assertions.assertEquals(1, timestampDelta.get(EntityType.Content).size());
+    }
+
+    @Test
+    public void testOutbox() throws Exception {
+        String artifactId = "testOutbox";
+        long id1 = storage().createOutboxEvent(outboxEvent(artifactId + "-1"));
+        long id2 = storage().createOutboxEvent(outboxEvent(artifactId + "-2"));
+        long id3 = storage().createOutboxEvent(outboxEvent(artifactId + "-3"));
+        Assertions.assertTrue(id1 < id2 && id2 < id3);
+        Assertions.assertEquals(id3, storage().getLatestOutboxEventId());
+
+        List<OutboxEventDto> events = storage().getOutboxEvents(id1, 10);
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertEquals(id2, events.get(0).getId());
+        Assertions.assertEquals(artifactId + "-2", events.get(0).getArtifactId());
+        Assertions.assertEquals("ARTIFACT_CREATED", events.get(0).getEventType());
+        Assertions.assertEquals("{\"artifactId\":\"" + artifactId + "-2\"}", events.get(0).getPayload());
+        Assertions.assertEquals(id3, events.get(1).getId());
+        Assertions.assertEquals(1, storage().getOutboxEvents(id1, 1).size());
+
+        // Every event is claimed once
+        Set<Long> claimed = new HashSet<>();
+        List<OutboxEventDto> batch;
+        while (!(batch = storage().claimOutboxEvents(2)).isEmpty()) {
+            batch.forEach(event -> Assertions.assertTrue(claimed.add(event.getId())));
+        }
+        Assertions.assertTrue(claimed.containsAll(List.of(id1, id2, id3)));
+
+        // Claimed events are deleted once they are older than the retention period
+        Assertions.assertTrue(storage().deleteOutboxEvents(2000) >= 3);
+        Assertions.assertTrue(storage().getOutboxEvents(id1 - 1, 10).isEmpty());
+        Assertions.assertEquals(id3, storage().getLatestOutboxEventId());
+
+        // Events that have not been claimed are kept
+        long id4 = storage().createOutboxEvent(outboxEvent(artifactId + "-4"));
+        Assertions.assertEquals(id4, storage().getLatestOutboxEventId());
+        Assertions.assertEquals(0, storage().deleteOutboxEvents(2000));
+        Assertions.assertEquals(id4, storage().getOutboxEvents(id3, 10).get(0).getId());
+        Assertions.assertEquals(id4, storage().claimOutboxEvents(10).get(0).getId());
+    }
+
+    @Test
+    public void testDeleteExpiredDownloads() throws Exception {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 3; i++) {
+            storage().createDownload(DownloadContextDto.builder().type(DownloadContextType.EXPORT).expires(now - 1000).build());
+        }
+        String downloadId = storage().createDownload(DownloadContextDto.builder().type(DownloadContextType.EXPORT).expires(now + 60000).build());
+
+        // Deleted in bounded batches
+        Assertions.assertEquals(2, storage().deleteExpiredDownloads(2));
+        while (storage().deleteExpiredDownloads(2) == 2) {
+            // Other expired downloads
+        }
+        Assertions.assertEquals(0, storage().deleteExpiredDownloads(2));
+
+        Assertions.assertEquals(DownloadContextType.EXPORT, storage().consumeDownload(downloadId).getType());
+    }
+
+    private static OutboxEventDto outboxEvent(String artifactId) {
+        return OutboxEventDto.builder()
+                .eventType("ARTIFACT_CREATED")
+                .groupId(GROUP_ID)
+                .artifactId(artifactId)
+                .createdOn(1000)
+                .payload("{\"artifactId\":\"" + artifactId + "\"}")
+                .build();
+    }
+
     private static String generateString(int size) {
         StringBuilder builder = new StringBuilder();
         for (int i = 0; i < size; i++) {
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rest;
+
+import io.apicurio.registry.AbstractResourceTestBase;
+import io.apicurio.registry.rest.v2.beans.Rule;
+import io.apicurio.registry.storage.RegistryStorage;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.types.Current;
+import io.apicurio.registry.types.RuleType;
+import io.apicurio.registry.utils.IoUtil;
+import io.apicurio.registry.utils.tests.ApicurioTestTags;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.anything;
+
+/**
+ * Exports the registry data in segments, then imports it back into an empty registry.
+ */
+@QuarkusTest
+@TestProfile(SegmentedExportTestProfile.class)
+@Tag(ApicurioTestTags.SLOW)
+public class SegmentedExportTest extends AbstractResourceTestBase {
+
+    @Inject
+    @Current
+    RegistryStorage storage;
+
+    @Test
+    void testExportImport() throws Exception {
+        String artifactContent = resourceToString("openapi-empty.json");
+        String group = "testSegmentedExport";
+
+        // Create 5 artifacts with 2 versions each
+        for (int idx = 0; idx < 5; idx++) {
+            String artifactId = "Empty-" + idx;
+            this.createArtifact(group, artifactId, ArtifactType.OPENAPI, artifactContent.replaceAll("Empty API", "Empty API " + idx));
+            this.createArtifactVersion(group, artifactId, ArtifactType.OPENAPI, artifactContent.replaceAll("Empty API", "Updated API " + idx));
+        }
+        this.createArtifactRule(group, "Empty-0", RuleType.VALIDITY, "FULL");
+
+        byte[] export = given()
+            .when()
+                .get("/registry/v2/admin/export")
+            .then()
+                .statusCode(200)
+                .extract().asByteArray();
+
+        int segmentCounter = 0;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(export))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                Assertions.assertTrue(entry.getName().endsWith(".Segment.zip"), entry.getName());
+                segmentCounter++;
+            }
+        }
+        Assertions.assertTrue(segmentCounter > 0);
+
+        storage.deleteAllUserData();
+        Assertions.assertEquals(0, clientV2.searchArtifacts(group, null, null, null, null, null, null, 0, 10).getCount().intValue());
+
+        given()
+            .when()
+                .contentType("application/zip")
+                .body(export)
+                .post("/registry/v2/admin/import")
+            .then()
+                .statusCode(204)
+                .body(anything());
+
+        Assertions.assertEquals(5, clientV2.listArtifactsInGroup(group).getCount().intValue());
+        for (int idx = 0; idx < 5; idx++) {
+            String artifactId = "Empty-" + idx;
+            Assertions.assertEquals(2, clientV2.listArtifactVersions(group, artifactId, 0, 10).getCount().intValue());
+            String latest = IoUtil.toString(clientV2.getLatestArtifact(group, artifactId));
+            Assertions.assertTrue(latest.contains("Updated API " + idx));
+        }
+        Rule rule = clientV2.getArtifactRuleConfig(group, "Empty-0", RuleType.VALIDITY);
+        Assertions.assertEquals("FULL", rule.getConfig());
+    }
+
+}
@@ -54,6 +54,7 @@ public class ReadOnlyRegistryStorageTest {
     static {
         EXPECTED_METHODS = Map.<String, State>ofEntries(
                 // Keep alphabetical
+                entry("claimOutboxEvents1", new State(true, s -> s.claimOutboxEvents(0))),
                 entry("consumeDownload1", new State(true, s -> s.consumeDownload(null))),
                 entry("contentIdFromHash1", new State(false, s -> s.contentIdFromHash(null))),
                 entry("countArtifacts0", new State(false, RegistryStorage::countArtifacts)),
@@ -68,8 +69,8 @@ public class ReadOnlyRegistryStorageTest {
                 entry("createDownload1", new State(true, s -> s.createDownload(null))),
                 entry("createGlobalRule2", new State(true, s -> s.createGlobalRule(null, null))),
                 entry("createGroup1", new State(true, s -> s.createGroup(null))),
+                entry("createOutboxEvent1", new State(true, s -> s.createOutboxEvent(null))),
                 entry("createRoleMapping3", new State(true, s -> s.createRoleMapping(null, null, null))),
-                entry("deleteAllExpiredDownloads0", new State(true, RegistryStorage::deleteAllExpiredDownloads)),
                 entry("deleteAllUserData0", new State(true, RegistryStorage::deleteAllUserData)),
                 entry("deleteArtifact2", new State(true, s -> s.deleteArtifact(null, null))),
                 entry("deleteArtifactRule3", new State(true, s -> s.deleteArtifactRule(null, null, null))),
@@ -79,40 +80,53 @@ public class ReadOnlyRegistryStorageTest {
                 entry("deleteArtifactVersionComment4", new State(true, s -> s.deleteArtifactVersionComment(null, null, null, null))),
                 entry("deleteArtifactVersionMetaData3", new State(true, s -> s.deleteArtifactVersionMetaData(null, null, null))),
                 entry("deleteConfigProperty1", new State(true, s -> s.deleteConfigProperty("test"))),
+                entry("deleteExpiredDownloads1", new State(true, s -> s.deleteExpiredDownloads(0))),
                 entry("deleteGlobalRule1", new State(true, s -> s.deleteGlobalRule(null))),
                 entry("deleteGlobalRules0", new State(true, RegistryStorage::deleteGlobalRules)),
                 entry("deleteGroup1", new State(true, s -> s.deleteGroup(null))),
+                entry("deleteOutboxEvents1", new State(true, s -> s.deleteOutboxEvents(0))),
                 entry("deleteRoleMapping1", new State(true, s -> s.deleteRoleMapping(null))),
                 entry("exportData1", new State(false, s -> s.exportData(null))),
+                entry("exportData3", new State(false, s -> s.exportData(null, 0, 0))),
                 entry("getArtifact2", new State(false, s -> s.getArtifact(null, null))),
                 entry("getArtifact3", new State(false, s -> s.getArtifact(null, null, null))),
                 entry("getArtifactByContentHash1", new State(false, s -> s.getArtifactByContentHash(null))),
                 entry("getArtifactByContentId1", new State(false, s -> s.getArtifactByContentId(0))),
                 entry("getArtifactContentIds2", new State(false, s -> s.getArtifactContentIds(null, null))),
                 entry("getArtifactIds1", new State(false, s -> s.getArtifactIds(null))),
+                entry("getArtifactIds6", new State(false, s -> s.getArtifactIds(null, null, null, null, 0, 0))),
                 entry("getArtifactMetaData1", new State(false, s -> s.getArtifactMetaData(0))),
                 entry("getArtifactMetaData2", new State(false, s -> s.getArtifactMetaData(null, null))),
                 entry("getArtifactMetaData3", new State(false, s -> s.getArtifactMetaData(null, null, null))),
                 entry("getArtifactRule3", new State(false, s -> s.getArtifactRule(null, null, null))),
+                entry("getArtifactRuleConfigurations2", new State(false, s -> s.getArtifactRuleConfigurations(null, null))),
                 entry("getArtifactRules2", new State(false, s -> s.getArtifactRules(null, null))),
                 entry("getArtifactVersion1", new State(false, s -> s.getArtifactVersion(0))),
                 entry("getArtifactVersion3", new State(false, s -> s.getArtifactVersion(null, null, null))),
                 entry("getArtifactVersionComments3", new State(false, s -> s.getArtifactVersionComments(null, null, null))),
                 entry("getArtifactVersionMetaData3", new State(false, s -> s.getArtifactVersionMetaData(null, null, null))),
                 entry("getArtifactVersionMetaData5", new State(false, s -> s.getArtifactVersionMetaData(null, null, false, null, null))),
+                entry("getArtifactVersionMetaDataByDereferencedHash3", new State(false, s -> s.getArtifactVersionMetaDataByDereferencedHash(null, null, null))),
                 entry("getArtifactVersions2", new State(false, s -> s.getArtifactVersions(null, null))),
                 entry("getArtifactVersions3", new State(false, s -> s.getArtifactVersions(null, null, RegistryStorage.ArtifactRetrievalBehavior.DEFAULT))),
                 entry("getEnabledArtifactContentIds2", new State(false, s -> s.getEnabledArtifactContentIds(null, null))),
                 entry("getArtifactVersionsByContentId1", new State(false, s -> s.getArtifactVersionsByContentId(0))),
+                entry("getCompressedContent1", new State(false, s -> s.getCompressedContent(0))),
                 entry("getConfigProperties0", new State(false, DynamicConfigStorage::getConfigProperties)),
                 entry("getConfigProperty1", new State(false, s -> s.getConfigProperty(null))),
+                entry("getContentEntitiesWithoutCanonicalHash2", new State(false, s -> s.getContentEntitiesWithoutCanonicalHash(0, 0))),
+                entry("getContentEntitiesWithoutDereferencedHash3", new State(false, s -> s.getContentEntitiesWithoutDereferencedHash(null, 0, 0))),
                 entry("getContentIdsReferencingArtifact3", new State(false, s -> s.getContentIdsReferencingArtifact(null, null, null))),
+                entry("getDereferencedContent1", new State(false, s -> s.getDereferencedContent(0))),
                 entry("getGlobalIdsReferencingArtifact3", new State(false, s -> s.getGlobalIdsReferencingArtifact(null, null, null))),
+                entry("getGlobalRuleConfigurations0", new State(false, RegistryStorage::getGlobalRuleConfigurations)),
                 entry("getGlobalRule1", new State(false, s -> s.getGlobalRule(null))),
                 entry("getGlobalRules0", new State(false, RegistryStorage::getGlobalRules)),
                 entry("getGroupIds1", new State(false, s -> s.getGroupIds(null))),
                 entry("getGroupMetaData1", new State(false, s -> s.getGroupMetaData(null))),
                 entry("getInboundArtifactReferences3", new State(false, s -> s.getInboundArtifactReferences(null, null, null))),
+                entry("getLatestOutboxEventId0", new State(false, RegistryStorage::getLatestOutboxEventId)),
+                entry("getOutboxEvents2", new State(false, s -> s.getOutboxEvents(0, 0))),
                 entry("getRawConfigProperty1", new State(false, s -> s.getRawConfigProperty(null))),
                 entry("getRoleForPrincipal1", new State(false, s -> s.getRoleForPrincipal(null))),
                 entry("getRoleMapping1", new State(false, s -> s.getRoleMapping(null))),
@@ -152,6 +166,7 @@ public class ReadOnlyRegistryStorageTest {
                     s.setConfigProperty(dto);
                 })),
                 entry("storageName0", new State(false, RegistryStorage::storageName)),
+                entry("storeDereferencedContent2", new State(true, s -> s.storeDereferencedContent(0, null))),
                 entry("updateArtifact6", new State(true, s -> s.updateArtifact(null, null, null, null, null, null))),
                 entry("updateArtifactMetaData3", new State(true, s -> s.updateArtifactMetaData(null, null, null))),
                 entry("updateArtifactOwner3", new State(true, s -> s.updateArtifactOwner(null, null, null))),
@@ -163,6 +178,7 @@ public class ReadOnlyRegistryStorageTest {
                 entry("updateArtifactWithMetadata7", new State(true, s -> s.updateArtifactWithMetadata(null, null, null, null, null, null, null))),
                 entry("updateArtifactWithMetadata9", new State(true, s -> s.updateArtifactWithMetadata(null, null, null, null, null, null, null, null, null))),
                 entry("updateContentCanonicalHash3", new State(true, s -> s.updateContentCanonicalHash(null, 0, null))),
+                entry("updateContentDereferencedHash3", new State(true, s -> s.updateContentDereferencedHash(null, 0, null))),
                 entry("updateGlobalRule2", new State(true, s -> s.updateGlobalRule(null, null))),
                 entry("updateGroupMetaData1", new State(true, s -> s.updateGroupMetaData(null))),
                 entry("updateRoleMapping2", new State(true, s -> s.updateRoleMapping(null, null)))
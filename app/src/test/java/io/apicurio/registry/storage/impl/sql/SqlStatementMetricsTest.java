@@ -0,0 +1,37 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class SqlStatementMetricsTest {
+
+    @Test
+    void testIndexStatements() {
+        for (SqlStatements statements : new SqlStatements[] {
+                new H2SqlStatements(), new PostgreSQLSqlStatements(), new SQLServerSqlStatements() }) {
+            Map<String, String> names = SqlStatementMetrics.indexStatements(statements);
+            Assertions.assertEquals("selectCounter", names.get(statements.selectCounter()));
+            Assertions.assertEquals("insertVersion", names.get(statements.insertVersion(true)));
+            Assertions.assertEquals("insertVersion", names.get(statements.insertVersion(false)));
+            Assertions.assertNull(names.get("SELECT 1"));
+        }
+    }
+}
@@ -120,6 +120,25 @@ class ArtifactTypeUtilTest extends AbstractRegistryTestBase {
         Assertions.assertEquals(ArtifactType.ASYNCAPI, type);
     }
 
+    /**
+     * Test method for {@link io.apicurio.registry.util.ArtifactTypeUtil#discoverType(ContentHandle, java.lang.String)}.
+     */
+    @Test
+    void testDiscoverType_JsonMarkerPrecedence() {
+        // OpenAPI/AsyncAPI markers win over JSON Schema markers regardless of their position
+        ContentHandle content = ContentHandle.create("{\"properties\": {\"openapi\": {}}, \"openapi\": \"3.0.2\"}");
+        String type = ArtifactTypeUtil.determineArtifactType(content, null, null, availableTypes);
+        Assertions.assertEquals(ArtifactType.OPENAPI, type);
+
+        content = ContentHandle.create("  {\"$schema\": \"http://json-schema.org/draft-07/schema#\", \"asyncapi\": \"2.0.0\"}");
+        type = ArtifactTypeUtil.determineArtifactType(content, null, null, availableTypes);
+        Assertions.assertEquals(ArtifactType.ASYNCAPI, type);
+
+        content = ContentHandle.create("{\"title\": \"Test\", \"definitions\": {\"asyncapi\": {}}, \"$schema\": \"http://json-schema.org/draft-07/schema#\"}");
+        type = ArtifactTypeUtil.determineArtifactType(content, null, null, availableTypes);
+        Assertions.assertEquals(ArtifactType.JSON, type);
+    }
+
     /**
      * Test method for {@link io.apicurio.registry.util.ArtifactTypeUtil#discoverType(ContentHandle, java.lang.String)}.
      */
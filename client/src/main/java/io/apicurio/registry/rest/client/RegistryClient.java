@@ -105,6 +105,11 @@ public interface RegistryClient extends Closeable {
         testUpdateArtifact(groupId, artifactId, null, data);
     }
 
+    /**
+     * Tests many artifact updates at once.  A result is returned for each update, in the same order.
+     */
+    List<ArtifactUpdateTestResult> testUpdateArtifacts(List<ArtifactUpdateTest> data);
+
     InputStream getArtifactVersion(String groupId, String artifactId, String version);
 
     VersionMetaData getArtifactVersionMetaData(String groupId, String artifactId, String version);
@@ -255,6 +260,15 @@ public interface RegistryClient extends Closeable {
 
     void deleteConfigProperty(String propertyName);
 
+    /**
+     * Lists the changes made to the registry after the given cursor, oldest first.  Requires the change feed
+     * to be enabled on the server.
+     *
+     * @param since cursor of the last change already seen, or null to start from the oldest retained change
+     * @param limit maximum number of changes returned, or null for the server default.  With 0, no change is
+     *              returned and the cursor of the feed is the latest change, from which to start polling.
+     */
+    ChangeFeed listChanges(Long since, Integer limit);
 
     List<ArtifactReference> getArtifactReferencesByGlobalId(long globalId);
 
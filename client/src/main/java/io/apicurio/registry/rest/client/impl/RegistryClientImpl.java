@@ -46,6 +46,9 @@ import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
 import io.apicurio.registry.rest.v2.beans.ArtifactOwner;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
 import io.apicurio.registry.rest.v2.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v2.beans.ArtifactUpdateTest;
+import io.apicurio.registry.rest.v2.beans.ArtifactUpdateTestResult;
+import io.apicurio.registry.rest.v2.beans.ChangeFeed;
 import io.apicurio.registry.rest.v2.beans.Comment;
 import io.apicurio.registry.rest.v2.beans.ConfigurationProperty;
 import io.apicurio.registry.rest.v2.beans.EditableMetaData;
@@ -212,6 +215,15 @@ public class RegistryClientImpl implements RegistryClient {
         apicurioHttpClient.sendRequest(GroupRequestsProvider.testUpdateArtifact(normalizeGid(groupId), artifactId, headers, data));
     }
 
+    @Override
+    public List<ArtifactUpdateTestResult> testUpdateArtifacts(List<ArtifactUpdateTest> data) {
+        try {
+            return apicurioHttpClient.sendRequest(GroupRequestsProvider.testUpdateArtifacts(data));
+        } catch (JsonProcessingException e) {
+            throw parseSerializationError(e);
+        }
+    }
+
     @Override
     public InputStream getArtifactVersion(String groupId, String artifactId, String version) {
         return apicurioHttpClient.sendRequest(GroupRequestsProvider.getArtifactVersion(normalizeGid(groupId), artifactId, version));
@@ -557,6 +569,18 @@ public class RegistryClientImpl implements RegistryClient {
         apicurioHttpClient.sendRequest(AdminRequestsProvider.deleteConfigProperty(propertyName));
     }
 
+    @Override
+    public ChangeFeed listChanges(Long since, Integer limit) {
+        final Map<String, List<String>> queryParams = new HashMap<>();
+        if (since != null) {
+            queryParams.put(Parameters.SINCE, Collections.singletonList(String.valueOf(since)));
+        }
+        if (limit != null) {
+            queryParams.put(Parameters.LIMIT, Collections.singletonList(String.valueOf(limit)));
+        }
+        return apicurioHttpClient.sendRequest(AdminRequestsProvider.listChanges(queryParams));
+    }
+
     @Override
     public UserInfo getCurrentUserInfo() {
         return apicurioHttpClient.sendRequest(UsersRequestsProvider.getCurrentUserInfo());
@@ -17,6 +17,7 @@
 package io.apicurio.registry.rest.client.request.provider;
 
 
+import static io.apicurio.registry.rest.client.request.provider.Routes.CHANGES_PATH;
 import static io.apicurio.registry.rest.client.request.provider.Routes.CONFIG_PROPERTIES_BASE_PATH;
 import static io.apicurio.registry.rest.client.request.provider.Routes.CONFIG_PROPERTY_PATH;
 import static io.apicurio.registry.rest.client.request.provider.Routes.EXPORT_PATH;
@@ -42,6 +43,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.apicurio.registry.rest.Headers;
 import io.apicurio.registry.rest.v2.beans.ArtifactTypeInfo;
+import io.apicurio.registry.rest.v2.beans.ChangeFeed;
 import io.apicurio.registry.rest.v2.beans.ConfigurationProperty;
 import io.apicurio.registry.rest.v2.beans.RoleMapping;
 import io.apicurio.registry.rest.v2.beans.Rule;
@@ -145,6 +147,15 @@ public class AdminRequestsProvider {
                 .build();
     }
 
+    public static Request<ChangeFeed> listChanges(Map<String, List<String>> queryParams) {
+        return new Request.RequestBuilder<ChangeFeed>()
+                .operation(GET)
+                .path(CHANGES_PATH)
+                .queryParams(queryParams)
+                .responseType(new TypeReference<ChangeFeed>() {})
+                .build();
+    }
+
     public static Request<Void> createRoleMapping(RoleMapping data) throws JsonProcessingException {
         return new Request.RequestBuilder<Void>()
                 .operation(POST)
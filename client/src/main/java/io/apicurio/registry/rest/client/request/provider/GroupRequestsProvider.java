@@ -31,6 +31,8 @@ import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
 import io.apicurio.registry.rest.v2.beans.ArtifactOwner;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
 import io.apicurio.registry.rest.v2.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v2.beans.ArtifactUpdateTest;
+import io.apicurio.registry.rest.v2.beans.ArtifactUpdateTestResult;
 import io.apicurio.registry.rest.v2.beans.Comment;
 import io.apicurio.registry.rest.v2.beans.EditableMetaData;
 import io.apicurio.registry.rest.v2.beans.GroupMetaData;
@@ -198,6 +200,16 @@ public class GroupRequestsProvider {
                 .build();
     }
 
+    public static Request<List<ArtifactUpdateTestResult>> testUpdateArtifacts(List<ArtifactUpdateTest> data) throws JsonProcessingException {
+        return new Request.RequestBuilder<List<ArtifactUpdateTestResult>>()
+                .operation(Operation.POST)
+                .path(Routes.ARTIFACTS_TEST)
+                .data(IoUtil.toStream(mapper.writeValueAsBytes(data)))
+                .responseType(new TypeReference<List<ArtifactUpdateTestResult>>() {
+                })
+                .build();
+    }
+
     public static Request<Void> updateArtifactState(String groupId, String artifactId, UpdateState data) throws JsonProcessingException {
         return new Request.RequestBuilder<Void>()
                 .operation(Operation.PUT)
@@ -42,6 +42,7 @@ public class Routes {
     protected static final String ARTIFACT_RULE = ARTIFACT_RULES + "/%s";
     protected static final String ARTIFACT_STATE = ARTIFACT_BASE_PATH + "/state";
     protected static final String ARTIFACT_TEST = ARTIFACT_BASE_PATH + "/test";
+    protected static final String ARTIFACTS_TEST = GROUPS_BASE_PATH + "/artifacts/test";
     protected static final String ARTIFACT_OWNER = ARTIFACT_BASE_PATH + "/owner";
 
     protected static final String VERSION_METADATA = ARTIFACT_VERSION + "/meta";
@@ -73,4 +74,6 @@ public class Routes {
     protected static final String IMPORT_PATH = ADMIN_BASE_PATH + "/import";
 
     protected static final String LIST_ARTIFACT_PATH = ADMIN_BASE_PATH + "/artifactTypes";
+
+    protected static final String CHANGES_PATH = ADMIN_BASE_PATH + "/changes";
 }
@@ -33,6 +33,9 @@ import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
 import io.apicurio.registry.rest.v2.beans.ArtifactOwner;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
 import io.apicurio.registry.rest.v2.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v2.beans.ArtifactUpdateTest;
+import io.apicurio.registry.rest.v2.beans.ArtifactUpdateTestResult;
+import io.apicurio.registry.rest.v2.beans.ChangeFeed;
 import io.apicurio.registry.rest.v2.beans.Comment;
 import io.apicurio.registry.rest.v2.beans.ConfigurationProperty;
 import io.apicurio.registry.rest.v2.beans.EditableMetaData;
@@ -244,6 +247,14 @@ public class LoadBalanceRegistryClient implements RegistryClient {
         getTarget().testUpdateArtifact(groupId, artifactId, contentType, data);
     }
 
+    /**
+     * @see RegistryClient#testUpdateArtifacts(List)
+     */
+    @Override
+    public List<ArtifactUpdateTestResult> testUpdateArtifacts(List<ArtifactUpdateTest> data) {
+        return getTarget().testUpdateArtifacts(data);
+    }
+
     /**
      * @see RegistryClient#getArtifactVersion(String, String, String)
      */
@@ -642,6 +653,14 @@ public class LoadBalanceRegistryClient implements RegistryClient {
         getTarget().deleteConfigProperty(propertyName);
     }
 
+    /**
+     * @see RegistryClient#listChanges(Long, Integer)
+     */
+    @Override
+    public ChangeFeed listChanges(Long since, Integer limit) {
+        return getTarget().listChanges(since, limit);
+    }
+
     /**
      * @see RegistryClient#getCurrentUserInfo()
      */
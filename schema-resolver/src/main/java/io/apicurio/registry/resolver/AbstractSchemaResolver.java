@@ -58,6 +58,7 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
     protected RegistryClient client;
     protected ApicurioHttpClient authClient;
     protected ArtifactReferenceResolverStrategy<S, T> artifactResolverStrategy;
+    protected ChangeFeedListener changeFeedListener;
 
     protected String explicitArtifactGroupId;
     protected String explicitArtifactId;
@@ -99,6 +100,7 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         schemaCache.configureLifetime(config.getCheckPeriod());
         schemaCache.configureRetryBackoff(config.getRetryBackoff());
         schemaCache.configureRetryCount(config.getRetryCount());
+        schemaCache.configureIndexLookupKeys(config.changeFeedEnabled());
 
         schemaCache.configureGlobalIdKeyExtractor(SchemaLookupResult::getGlobalId);
         schemaCache.configureContentKeyExtractor(schema -> Optional.ofNullable(schema.getParsedSchema().getRawSchema()).map(IoUtil::toString).orElse(null));
@@ -107,6 +109,11 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         schemaCache.configureArtifactCoordinatesKeyExtractor(SchemaLookupResult::toArtifactCoordinates);
         schemaCache.checkInitialized();
 
+        if (config.changeFeedEnabled() && changeFeedListener == null) {
+            changeFeedListener = new ChangeFeedListener(client, schemaCache);
+            changeFeedListener.start(config.getChangeFeedPollPeriod());
+        }
+
         String groupIdOverride = config.getExplicitArtifactGroupId();
         if (groupIdOverride != null) {
             this.explicitArtifactGroupId = groupIdOverride;
@@ -247,6 +254,9 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
      */
     @Override
     public void close() throws IOException {
+        if (this.changeFeedListener != null) {
+            this.changeFeedListener.close();
+        }
         if (this.client != null) {
             this.client.close();
         }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.resolver;
+
+import io.apicurio.registry.events.dto.RegistryEventType;
+import io.apicurio.registry.rest.client.RegistryClient;
+import io.apicurio.registry.rest.client.exception.RestClientException;
+import io.apicurio.registry.rest.v2.beans.Change;
+import io.apicurio.registry.rest.v2.beans.ChangeFeed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the change feed of the registry in the background, and evicts the cached schemas of the artifacts that
+ * changed, so that a new latest version is picked up within a poll period even when the cache lifetime is long.
+ *
+ * @see SchemaResolverConfig#CHANGE_FEED_ENABLED
+ */
+public class ChangeFeedListener implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedListener.class);
+
+    static final int LIMIT = 100;
+
+    /** Changes that can change the latest version of an artifact */
+    private static final Set<String> ARTIFACT_CHANGES = Set.of(
+            RegistryEventType.ARTIFACT_CREATED.cloudEventType(),
+            RegistryEventType.ARTIFACT_UPDATED.cloudEventType(),
+            RegistryEventType.ARTIFACT_DELETED.cloudEventType(),
+            RegistryEventType.ARTIFACT_STATE_CHANGED.cloudEventType());
+
+    /** Changes that delete all the artifacts of a group */
+    private static final Set<String> GROUP_CHANGES = Set.of(
+            RegistryEventType.ARTIFACTS_IN_GROUP_DELETED.cloudEventType(),
+            RegistryEventType.GROUP_DELETED.cloudEventType());
+
+    private static final Set<Integer> CHANGE_FEED_NOT_AVAILABLE = Set.of(404, 409);
+
+    private final RegistryClient client;
+    private final ERCache<?> cache;
+    private final ScheduledExecutorService executor;
+
+    /** Only accessed by the polling thread */
+    private Long cursor;
+
+    public ChangeFeedListener(RegistryClient client, ERCache<?> cache) {
+        this.client = client;
+        this.cache = cache;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "apicurio-registry-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start(Duration pollPeriod) {
+        executor.scheduleWithFixedDelay(this::poll, 0, Math.max(1, pollPeriod.toMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    void poll() {
+        try {
+            if (cursor == null) {
+                // Changes made before the first poll are skipped, the cache was empty
+                cursor = client.listChanges(null, 0).getCursor();
+                return;
+            }
+            ChangeFeed feed;
+            do {
+                feed = client.listChanges(cursor, LIMIT);
+                apply(feed.getChanges());
+                cursor = feed.getCursor();
+            } while (feed.getChanges().size() == LIMIT);
+        } catch (RestClientException e) {
+            // 409 when the change feed is not enabled, 404 when the registry does not have one
+            if (e.getError() != null && CHANGE_FEED_NOT_AVAILABLE.contains(e.getError().getErrorCode())) {
+                log.warn("The change feed is not enabled in the registry, cached schemas only expire after their lifetime");
+                executor.shutdown();
+            } else {
+                log.warn("Failed to poll the change feed of the registry: {}", e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            // Polled again after the next period, cached schemas still expire after their lifetime meanwhile
+            log.warn("Failed to poll the change feed of the registry: {}", e.getMessage());
+        }
+    }
+
+    private void apply(List<Change> changes) {
+        if (!changes.isEmpty() && changes.get(0).getId() > cursor + 1) {
+            // Changes have been missed, e.g. they have been deleted from the registry before they were polled
+            log.debug("Changes after {} have been missed, clearing the schema cache", cursor);
+            cache.clear();
+            return;
+        }
+        for (Change change : changes) {
+            if (change.getArtifactId() != null && ARTIFACT_CHANGES.contains(change.getType())) {
+                cache.evictArtifact(change.getGroupId(), change.getArtifactId());
+            } else if (GROUP_CHANGES.contains(change.getType())) {
+                cache.evictArtifact(change.getGroupId(), null);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
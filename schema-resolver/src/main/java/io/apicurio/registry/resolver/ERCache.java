@@ -25,7 +25,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -56,6 +58,10 @@ public class ERCache<V> {
     private Duration lifetime = Duration.ZERO;
     private Duration backoff = Duration.ofMillis(200);
     private long retries;
+    private boolean indexLookupKeys;
+
+    // Incremented on every eviction, so that a value loaded concurrently is not cached
+    private final AtomicLong generation = new AtomicLong();
 
     // === Configuration
 
@@ -71,6 +77,16 @@ public class ERCache<V> {
         this.retries = retries;
     }
 
+    /**
+     * Also index the values under the key they have been looked up with, when it differs from the extracted keys,
+     * e.g. coordinates without a version when looking up the latest version of an artifact.  Only enable it when
+     * changed artifacts are evicted, see {@link #evictArtifact(String, String)}, otherwise the latest version is
+     * only looked up again after the lifetime.
+     */
+    public void configureIndexLookupKeys(boolean indexLookupKeys) {
+        this.indexLookupKeys = indexLookupKeys;
+    }
+
     public void configureGlobalIdKeyExtractor(Function<V, Long> keyExtractor) {
         this.keyExtractor1 = keyExtractor;
     }
@@ -121,43 +137,46 @@ public class ERCache<V> {
     }
 
     public V getByGlobalId(Long key, Function<Long, V> loaderFunction) {
-        WrappedValue<V> value = this.index1.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(index1, key, loaderFunction);
     }
 
     public V getByContent(String key, Function<String, V> loaderFunction) {
-        WrappedValue<V> value = this.index2.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(index2, key, loaderFunction);
     }
 
     public V getByContentId(Long key, Function<Long, V> loaderFunction) {
-        WrappedValue<V> value = this.index3.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(index3, key, loaderFunction);
     }
 
     public V getByArtifactCoordinates(ArtifactCoordinates key, Function<ArtifactCoordinates, V> loaderFunction) {
-        WrappedValue<V> value = this.index4.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(index4, key, loaderFunction);
     }
 
     public V getByContentHash(String key, Function<String, V> loaderFunction) {
-        WrappedValue<V> value = this.index5.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(index5, key, loaderFunction);
     }
 
     // === Generic
 
-    private <T> V getValue(WrappedValue<V> value, T key, Function<T, V> loaderFunction) {
+    private <T> V getValue(Map<T, WrappedValue<V>> index, T key, Function<T, V> loaderFunction) {
+        WrappedValue<V> value = index.get(key);
         V result = value != null ? value.value : null;
 
         if (value == null || value.isExpired()) {
+            long loadedGeneration = generation.get();
             // With retry
             Result<V, RuntimeException> newValue = retry(backoff, retries, () -> {
                 return loaderFunction.apply(key);
             });
             if (newValue.isOk()) {
-                // Index
-                reindex(new WrappedValue<>(lifetime, Instant.now(), newValue.ok));
+                // Index, unless the value may have been evicted while it was loaded
+                if (loadedGeneration == generation.get()) {
+                    WrappedValue<V> wrappedValue = new WrappedValue<>(lifetime, Instant.now(), newValue.ok);
+                    reindex(wrappedValue);
+                    if (indexLookupKeys) {
+                        index.put(key, wrappedValue);
+                    }
+                }
                 // Return
                 result = newValue.ok;
             } else {
@@ -176,7 +195,23 @@ public class ERCache<V> {
         Optional.ofNullable(keyExtractor5.apply(newValue.value)).ifPresent(k -> index5.put(k, newValue));
     }
 
+    /**
+     * Evicts the values of the given artifact, or of all the artifacts of the given group if the artifact ID is null,
+     * that have been looked up by artifact coordinates or by content, so that they are looked up again.
+     * Values looked up by global ID, content ID or content hash are kept, since they do not change.
+     */
+    public void evictArtifact(String groupId, String artifactId) {
+        String normalizedGroupId = normalizeGroupId(groupId);
+        Predicate<ArtifactCoordinates> matches = coordinates -> coordinates != null
+                && normalizedGroupId.equals(normalizeGroupId(coordinates.getGroupId()))
+                && (artifactId == null || artifactId.equals(coordinates.getArtifactId()));
+        generation.incrementAndGet();
+        index4.keySet().removeIf(matches);
+        index2.values().removeIf(value -> matches.test(keyExtractor4.apply(value.value)));
+    }
+
     public void clear() {
+        generation.incrementAndGet();
         index1.clear();
         index2.clear();
         index3.clear();
@@ -186,6 +221,10 @@ public class ERCache<V> {
 
     // === Util & Other
 
+    private static String normalizeGroupId(String groupId) {
+        return groupId == null ? "default" : groupId;
+    }
+
     private static <T> Result<T, RuntimeException> retry(Duration backoff, long retries, Supplier<T> supplier) {
         if (retries < 0)
             throw new IllegalArgumentException();
@@ -152,6 +152,22 @@ public class SchemaResolverConfig {
     public static final String RETRY_BACKOFF_MS = "apicurio.registry.retry-backoff-ms";
     public static final long RETRY_BACKOFF_MS_DEFAULT = 300;
 
+    /**
+     * Optional, boolean to indicate whether the schema resolver should poll the change feed of the registry, and evict
+     * the cached schemas of the artifacts that changed.  New latest versions are then picked up within
+     * {@link SchemaResolverConfig#CHANGE_FEED_POLL_PERIOD_MS}, so that {@link SchemaResolverConfig#CHECK_PERIOD_MS}
+     * can be raised.  Requires the change feed to be enabled in the registry.
+     */
+    public static final String CHANGE_FEED_ENABLED = "apicurio.registry.change-feed.enabled";
+    public static final boolean CHANGE_FEED_ENABLED_DEFAULT = false;
+
+    /**
+     * How often the change feed of the registry is polled, in milliseconds.
+     * Only used when {@link SchemaResolverConfig#CHANGE_FEED_ENABLED} is 'true'.
+     */
+    public static final String CHANGE_FEED_POLL_PERIOD_MS = "apicurio.registry.change-feed.poll-period-ms";
+    public static final long CHANGE_FEED_POLL_PERIOD_MS_DEFAULT = 5000;
+
     /**
      * Config prefix that allows configuration of arbitrary HTTP client request headers used by
      * the Registry REST Client in the serde class when communicating with the Registry.  For
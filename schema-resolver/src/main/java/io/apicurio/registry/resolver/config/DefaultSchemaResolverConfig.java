@@ -39,6 +39,8 @@ public class DefaultSchemaResolverConfig {
             entry(CHECK_PERIOD_MS, CHECK_PERIOD_MS_DEFAULT),
             entry(RETRY_COUNT, RETRY_COUNT_DEFAULT),
             entry(RETRY_BACKOFF_MS, RETRY_BACKOFF_MS_DEFAULT),
+            entry(CHANGE_FEED_ENABLED, CHANGE_FEED_ENABLED_DEFAULT),
+            entry(CHANGE_FEED_POLL_PERIOD_MS, CHANGE_FEED_POLL_PERIOD_MS_DEFAULT),
             entry(DEREFERENCE_SCHEMA, DEREFERENCE_SCHEMA_DEFAULT)
     );
 
@@ -114,6 +116,15 @@ public class DefaultSchemaResolverConfig {
         return getDurationNonNegativeMillis(RETRY_BACKOFF_MS);
     }
 
+    public boolean changeFeedEnabled() {
+        // Should be non-null, a default value is defined
+        return getBoolean(CHANGE_FEED_ENABLED);
+    }
+
+    public Duration getChangeFeedPollPeriod() {
+        return getDurationNonNegativeMillis(CHANGE_FEED_POLL_PERIOD_MS);
+    }
+
     public String getExplicitArtifactGroupId() {
         return getString(EXPLICIT_ARTIFACT_GROUP_ID);
     }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.events.dto.RegistryEventType;
+import io.apicurio.registry.resolver.strategy.ArtifactCoordinates;
+import io.apicurio.registry.rest.v2.beans.Change;
+import io.apicurio.registry.rest.v2.beans.ChangeFeed;
+
+public class ChangeFeedListenerTest {
+
+    @Test
+    void testEvictsChangedArtifacts() {
+        MockRegistryClient client = new MockRegistryClient("schema content");
+        ERCache<String> cache = newCache();
+        ChangeFeedListener listener = new ChangeFeedListener(client, cache);
+
+        // Changes made before the first poll are skipped, it only gets the latest change
+        client.changeFeeds.add(feed(1));
+        listener.poll();
+        assertEquals(List.of(0), client.changeFeedLimits);
+
+        ArtifactCoordinates artifact1 = load(cache, "group", "artifact-1");
+        ArtifactCoordinates artifact2 = load(cache, "group", "artifact-2");
+        ArtifactCoordinates otherGroupArtifact = load(cache, "other-group", "artifact-1");
+
+        client.changeFeeds.add(feed(3,
+                change(2, RegistryEventType.ARTIFACT_RULE_CREATED, "group", "artifact-2"),
+                change(3, RegistryEventType.ARTIFACT_UPDATED, "group", "artifact-1")));
+        listener.poll();
+        assertFalse(cache.containsByArtifactCoordinates(artifact1));
+        assertTrue(cache.containsByArtifactCoordinates(artifact2));
+        assertTrue(cache.containsByArtifactCoordinates(otherGroupArtifact));
+
+        client.changeFeeds.add(feed(4, change(4, RegistryEventType.GROUP_DELETED, "group", null)));
+        listener.poll();
+        assertFalse(cache.containsByArtifactCoordinates(artifact2));
+        assertTrue(cache.containsByArtifactCoordinates(otherGroupArtifact));
+    }
+
+    @Test
+    void testClearsCacheWhenChangesAreMissed() {
+        MockRegistryClient client = new MockRegistryClient("schema content");
+        ERCache<String> cache = newCache();
+        ChangeFeedListener listener = new ChangeFeedListener(client, cache);
+
+        client.changeFeeds.add(feed(1));
+        listener.poll();
+        ArtifactCoordinates artifact = load(cache, "other-group", "artifact-1");
+
+        client.changeFeeds.add(feed(5, change(5, RegistryEventType.ARTIFACT_CREATED, "group", "artifact-2")));
+        listener.poll();
+        assertFalse(cache.containsByArtifactCoordinates(artifact));
+    }
+
+    private static ArtifactCoordinates load(ERCache<String> cache, String groupId, String artifactId) {
+        ArtifactCoordinates coordinates = ArtifactCoordinates.builder().groupId(groupId).artifactId(artifactId).build();
+        cache.getByArtifactCoordinates(coordinates, (key) -> {return groupId + "/" + artifactId;});
+        return coordinates;
+    }
+
+    private static Change change(long id, RegistryEventType type, String groupId, String artifactId) {
+        Change change = new Change();
+        change.setId(id);
+        change.setType(type.cloudEventType());
+        change.setGroupId(groupId);
+        change.setArtifactId(artifactId);
+        return change;
+    }
+
+    private static ChangeFeed feed(long cursor, Change... changes) {
+        ChangeFeed feed = new ChangeFeed();
+        feed.setChanges(List.of(changes));
+        feed.setCursor(cursor);
+        return feed;
+    }
+
+    private static ERCache<String> newCache() {
+        ERCache<String> cache = new ERCache<>();
+        cache.configureLifetime(Duration.ofDays(30));
+        cache.configureIndexLookupKeys(true);
+        cache.configureGlobalIdKeyExtractor((o) -> {return null;});
+        cache.configureContentIdKeyExtractor((o) -> {return null;});
+        cache.configureContentHashKeyExtractor((o) -> {return null;});
+        cache.configureContentKeyExtractor((o) -> {return null;});
+        cache.configureArtifactCoordinatesKeyExtractor((o) -> {
+            String[] coordinates = o.split("/");
+            return ArtifactCoordinates.builder().groupId(coordinates[0]).artifactId(coordinates[1]).build();
+        });
+        return cache;
+    }
+}
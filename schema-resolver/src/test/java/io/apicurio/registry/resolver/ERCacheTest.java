@@ -106,6 +106,79 @@ public class ERCacheTest {
         assertFalse(cache.containsByContentHash(contentHashKey));
     }
 
+    @Test
+    void testGetByArtifactCoordinatesCachesLatest() {
+        ERCache<String> cache = newCache("latest key");
+        cache.configureIndexLookupKeys(true);
+        cache.configureArtifactCoordinatesKeyExtractor((o) -> {return ArtifactCoordinates.builder().artifactId("artifact id").version("1").build();});
+        ArtifactCoordinates latest = ArtifactCoordinates.builder().artifactId("artifact id").build();
+        Function<ArtifactCoordinates, String> ensureCachedLoader = (key) -> {throw new IllegalStateException("this should've been cached");};
+
+        cache.getByArtifactCoordinates(latest, (key) -> {return "value";});
+
+        assertTrue(cache.containsByArtifactCoordinates(latest));
+        assertEquals("value", cache.getByArtifactCoordinates(latest, ensureCachedLoader));
+    }
+
+    @Test
+    void testGetByArtifactCoordinatesDoesNotCacheLatestByDefault() {
+        ERCache<String> cache = newCache("latest key");
+        cache.configureArtifactCoordinatesKeyExtractor((o) -> {return ArtifactCoordinates.builder().artifactId("artifact id").version("1").build();});
+        ArtifactCoordinates latest = ArtifactCoordinates.builder().artifactId("artifact id").build();
+
+        cache.getByArtifactCoordinates(latest, (key) -> {return "value";});
+
+        assertFalse(cache.containsByArtifactCoordinates(latest));
+        assertTrue(cache.containsByArtifactCoordinates(ArtifactCoordinates.builder().artifactId("artifact id").version("1").build()));
+    }
+
+    @Test
+    void testEvictArtifact() {
+        String contentHashKey = "evict key";
+        ERCache<String> cache = newCache(contentHashKey);
+        ArtifactCoordinates latest = ArtifactCoordinates.builder().artifactId("artifact id").build();
+        Function<String, String> staticValueLoader = (key) -> {return "value";};
+        cache.getByArtifactCoordinates(latest, (key) -> {return "value";});
+        cache.getByContentHash(contentHashKey, staticValueLoader);
+
+        cache.evictArtifact("default", "another artifact id");
+        assertTrue(cache.containsByArtifactCoordinates(latest));
+
+        cache.evictArtifact("default", "artifact id");
+        assertFalse(cache.containsByArtifactCoordinates(latest));
+        // Content does not change, so it is kept
+        assertTrue(cache.containsByContentHash(contentHashKey));
+    }
+
+    @Test
+    void testEvictGroup() {
+        ERCache<String> cache = newCache("evict group key");
+        ArtifactCoordinates latest = ArtifactCoordinates.builder().artifactId("artifact id").build();
+        cache.getByArtifactCoordinates(latest, (key) -> {return "value";});
+
+        cache.evictArtifact("another group", null);
+        assertTrue(cache.containsByArtifactCoordinates(latest));
+
+        cache.evictArtifact(null, null);
+        assertFalse(cache.containsByArtifactCoordinates(latest));
+    }
+
+    @Test
+    void testEvictArtifactWhileLoading() {
+        ERCache<String> cache = newCache("evict while loading key");
+        ArtifactCoordinates latest = ArtifactCoordinates.builder().artifactId("artifact id").build();
+
+        // The value loaded before the eviction is returned, but not cached
+        assertEquals("stale value", cache.getByArtifactCoordinates(latest, (key) -> {
+            cache.evictArtifact("default", "artifact id");
+            return "stale value";
+        }));
+        assertFalse(cache.containsByArtifactCoordinates(latest));
+
+        cache.getByArtifactCoordinates(latest, (key) -> {return "value";});
+        assertTrue(cache.containsByArtifactCoordinates(latest));
+    }
+
     private ERCache<String> newCache(String contentHashKey) {
         ERCache<String> cache = new ERCache<>();
         cache.configureLifetime(Duration.ofDays(30));
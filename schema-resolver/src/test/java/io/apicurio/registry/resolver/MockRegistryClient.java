@@ -19,6 +19,9 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +35,8 @@ public class MockRegistryClient implements RegistryClient {
 
     private String schemaContent;
     public int timesGetContentByHashCalled;
+    public final Deque<ChangeFeed> changeFeeds = new ArrayDeque<>();
+    public final List<Integer> changeFeedLimits = new ArrayList<>();
 
     public MockRegistryClient(String schemaContent) {
         this.schemaContent = schemaContent;
@@ -136,6 +141,11 @@ public class MockRegistryClient implements RegistryClient {
         throw new UnsupportedOperationException("Unimplemented method 'testUpdateArtifact'");
     }
 
+    @Override
+    public List<ArtifactUpdateTestResult> testUpdateArtifacts(List<ArtifactUpdateTest> data) {
+        throw new UnsupportedOperationException("Unimplemented method 'testUpdateArtifacts'");
+    }
+
     @Override
     public InputStream getArtifactVersion(String groupId, String artifactId, String version) {
         throw new UnsupportedOperationException("Unimplemented method 'getArtifactVersion'");
@@ -324,6 +334,18 @@ public class MockRegistryClient implements RegistryClient {
         throw new UnsupportedOperationException("Unimplemented method 'deleteRoleMapping'");
     }
 
+    @Override
+    public ChangeFeed listChanges(Long since, Integer limit) {
+        changeFeedLimits.add(limit);
+        ChangeFeed feed = changeFeeds.poll();
+        if (feed == null) {
+            feed = new ChangeFeed();
+            feed.setChanges(new ArrayList<>());
+            feed.setCursor(since == null ? 0L : since);
+        }
+        return feed;
+    }
+
     @Override
     public UserInfo getCurrentUserInfo() {
         throw new UnsupportedOperationException("Unimplemented method 'getCurrentUserInfo'");
@@ -16,15 +16,15 @@
 
 package io.apicurio.registry.content.extract;
 
-import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.JsonNodeContentParser;
 
 /**
  * Performs meta-data extraction for Avro content.
@@ -34,15 +34,13 @@ public class AvroContentExtractor implements ContentExtractor {
 
     Logger log = LoggerFactory.getLogger(getClass());
 
-    private ObjectMapper mapper = new ObjectMapper();
-
     public AvroContentExtractor() {
     }
 
     @Override
     public ExtractedMetaData extract(ContentHandle content) {
         try {
-            JsonNode avroSchema = mapper.readTree(content.bytes());
+            JsonNode avroSchema = content.parsed(JsonNodeContentParser.INSTANCE);
             JsonNode name = avroSchema.get("name");
 
             ExtractedMetaData metaData = null;
@@ -51,7 +49,7 @@ public class AvroContentExtractor implements ContentExtractor {
                 metaData.setName(name.asText());
             }
             return metaData;
-        } catch (IOException e) {
+        } catch (UncheckedIOException e) {
             log.warn("Error extracting metadata from JSON: {}", e.getMessage());
             return null;
         }
@@ -25,10 +25,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.JsonNodeContentParser;
 
 /**
  * An Apache Avro implementation of a reference finder.
@@ -36,7 +36,6 @@ import io.apicurio.registry.content.ContentHandle;
  */
 public class AvroReferenceFinder implements ReferenceFinder {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
     private static final Logger log = LoggerFactory.getLogger(AvroReferenceFinder.class);
 
     private static final Set<String> PRIMITIVE_TYPES = Set.of("null", "boolean", "int", "long", "float", "double",  "bytes", "string");
@@ -47,7 +46,7 @@ public class AvroReferenceFinder implements ReferenceFinder {
     @Override
     public Set<ExternalReference> findExternalReferences(ContentHandle content) {
         try {
-            JsonNode tree = mapper.readTree(content.content());
+            JsonNode tree = content.parsed(JsonNodeContentParser.INSTANCE);
             Set<String> externalTypes = new HashSet<>();
             findExternalTypesIn(tree, externalTypes);
             return externalTypes.stream().map(type -> new ExternalReference(type)).collect(Collectors.toSet());
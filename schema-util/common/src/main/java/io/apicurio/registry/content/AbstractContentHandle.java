@@ -19,8 +19,13 @@ package io.apicurio.registry.content;
 import org.apache.commons.codec.digest.DigestUtils;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Ales Justin
@@ -30,11 +35,58 @@ abstract class AbstractContentHandle implements ContentHandle {
     protected byte[] bytes;
     protected String content;
 
+    private volatile Map<ContentParser<?>, Object> parsed;
+
     @Override
     public InputStream stream() {
         return new ByteArrayInputStream(bytes());
     }
 
+    @Override
+    public void writeTo(OutputStream output) throws IOException {
+        output.write(bytes());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T parsed(ContentParser<T> parser) {
+        Map<ContentParser<?>, Object> cache = parsedCache();
+        Object result = cache.get(parser);
+        if (result == null) {
+            // Not using computeIfAbsent - a parser may itself ask for another parsed form of this content.
+            try {
+                result = parser.parse(this);
+            } catch (IOException e) {
+                result = new UncheckedIOException(e);
+            }
+            if (result == null) {
+                return null;
+            }
+            Object previous = cache.putIfAbsent(parser, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+        if (result instanceof UncheckedIOException) {
+            throw (UncheckedIOException) result;
+        }
+        return (T) result;
+    }
+
+    private Map<ContentParser<?>, Object> parsedCache() {
+        Map<ContentParser<?>, Object> cache = parsed;
+        if (cache == null) {
+            synchronized (this) {
+                cache = parsed;
+                if (cache == null) {
+                    cache = new ConcurrentHashMap<>(4);
+                    parsed = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
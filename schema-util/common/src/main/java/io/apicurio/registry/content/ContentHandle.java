@@ -16,7 +16,10 @@
 
 package io.apicurio.registry.content;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 
 /**
  * @author Ales Justin
@@ -41,7 +44,22 @@ public interface ContentHandle {
 
     String content();
 
+    /**
+     * Writes the content to the given stream, without creating a copy of the content in the other
+     * representation (e.g. the UTF-8 bytes of content created from a string).  The stream is not closed.
+     * @param output
+     */
+    void writeTo(OutputStream output) throws IOException;
+
     int getSizeBytes();
 
     String getSha256Hash();
+
+    /**
+     * Returns the content parsed by the given parser.  The result is computed once per handle and parser
+     * and then shared, so it must be treated as read-only.  An I/O (syntax) failure is remembered as well
+     * and rethrown, wrapped in an {@link UncheckedIOException}, on every call.
+     * @param parser
+     */
+    <T> T parsed(ContentParser<T> parser) throws UncheckedIOException;
 }
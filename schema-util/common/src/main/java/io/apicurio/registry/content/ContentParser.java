@@ -0,0 +1,40 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.content;
+
+import java.io.IOException;
+
+/**
+ * Parses the raw content of a {@link ContentHandle} into some in-memory model (e.g. a Jackson tree).  Parsers
+ * are used with {@link ContentHandle#parsed(ContentParser)} so that the canonicalizer, validator, extractor
+ * and reference finder of an artifact type can share a single parse of the same content.
+ * <p>
+ * Parser instances are used as cache keys, so implementations should be singletons.  The parsed model is
+ * shared between all callers and must therefore be treated as read-only.
+ *
+ * @param <T> the type of the parsed model
+ */
+@FunctionalInterface
+public interface ContentParser<T> {
+
+    /**
+     * Parses the given content.
+     * @param content
+     */
+    T parse(ContentHandle content) throws IOException;
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.content;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Parses JSON content into a Jackson tree using a default {@link ObjectMapper}.  The resulting tree is
+ * shared by everything that calls {@link ContentHandle#parsed(ContentParser)} with {@link #INSTANCE}, so
+ * callers that need to modify it must work on a {@link JsonNode#deepCopy()}.
+ */
+public final class JsonNodeContentParser implements ContentParser<JsonNode> {
+
+    public static final JsonNodeContentParser INSTANCE = new JsonNodeContentParser();
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonNodeContentParser() {
+    }
+
+    /**
+     * @see io.apicurio.registry.content.ContentParser#parse(io.apicurio.registry.content.ContentHandle)
+     */
+    @Override
+    public JsonNode parse(ContentHandle content) throws IOException {
+        return mapper.readTree(content.bytes());
+    }
+
+}
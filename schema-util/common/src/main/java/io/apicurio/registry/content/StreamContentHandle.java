@@ -20,7 +20,9 @@ import io.apicurio.registry.utils.IoBufferedInputStream;
 import io.apicurio.registry.utils.IoUtil;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -47,6 +49,17 @@ class StreamContentHandle extends AbstractContentHandle {
         });
     }
 
+    @Override
+    public void writeTo(OutputStream output) throws IOException {
+        if (bytes != null) {
+            output.write(bytes);
+            return;
+        }
+        try (InputStream is = stream()) {
+            IoUtil.copy(is, output);
+        }
+    }
+
     @Override
     public byte[] bytes() {
         if (bytes == null) {
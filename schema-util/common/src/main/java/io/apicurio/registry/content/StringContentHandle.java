@@ -16,6 +16,10 @@
 
 package io.apicurio.registry.content;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -35,6 +39,18 @@ class StringContentHandle extends AbstractContentHandle {
         return bytes;
     }
 
+    @Override
+    public void writeTo(OutputStream output) throws IOException {
+        if (bytes != null) {
+            output.write(bytes);
+            return;
+        }
+        // Encode incrementally rather than keeping a full byte array next to the string
+        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        writer.write(content);
+        writer.flush();
+    }
+
     @Override
     public String content() {
         return content;
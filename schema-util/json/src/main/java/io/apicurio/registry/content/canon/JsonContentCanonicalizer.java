@@ -16,7 +16,6 @@
 
 package io.apicurio.registry.content.canon;
 
-import java.io.IOException;
 import java.util.Map;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -24,6 +23,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.JsonNodeContentParser;
 
 /**
  * A common JSON content canonicalizer.  This will remove any extra formatting such as whitespace
@@ -42,8 +42,7 @@ public class JsonContentCanonicalizer implements ContentCanonicalizer {
     @Override
     public ContentHandle canonicalize(ContentHandle content, Map<String, ContentHandle> resolvedReferences) {
         try {
-            JsonNode root = readAsJsonNode(content);
-            processJsonNode(root);
+            JsonNode root = processJsonNode(readAsJsonNode(content));
             String converted = mapper.writeValueAsString(mapper.treeToValue(root, Object.class));
             return ContentHandle.create(converted);
         } catch (Throwable t) {
@@ -53,19 +52,20 @@ public class JsonContentCanonicalizer implements ContentCanonicalizer {
 
     /**
      * Perform any additional processing on the JSON node.  The base JSON canonicalizer 
-     * does nothing extra.
+     * does nothing extra.  The given node is the parsed form shared by all users of the
+     * content, so implementations must return a modified copy rather than change it in place.
      * @param node
      */
-    protected void processJsonNode(JsonNode node) {
+    protected JsonNode processJsonNode(JsonNode node) {
+        return node;
     }
 
     /**
      * @param content
      * @return
-     * @throws IOException
      */
-    private JsonNode readAsJsonNode(ContentHandle content) throws IOException {
-        return mapper.readTree(content.content());
+    private JsonNode readAsJsonNode(ContentHandle content) {
+        return content.parsed(JsonNodeContentParser.INSTANCE);
     }
 
 }
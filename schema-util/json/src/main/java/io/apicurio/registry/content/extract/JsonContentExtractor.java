@@ -16,15 +16,15 @@
 
 package io.apicurio.registry.content.extract;
 
-import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.JsonNodeContentParser;
 
 /**
  * Performs meta-data extraction for JSON Schema content.
@@ -34,12 +34,10 @@ public class JsonContentExtractor implements ContentExtractor {
 
     Logger log = LoggerFactory.getLogger(getClass());
 
-    private ObjectMapper mapper = new ObjectMapper();
-
     @Override
     public ExtractedMetaData extract(ContentHandle content) {
         try {
-            JsonNode jsonSchema = mapper.readTree(content.bytes());
+            JsonNode jsonSchema = content.parsed(JsonNodeContentParser.INSTANCE);
             JsonNode title = jsonSchema.get("title");
             JsonNode desc = jsonSchema.get("description");
 
@@ -55,7 +53,7 @@ public class JsonContentExtractor implements ContentExtractor {
                 metaData.setDescription(desc.asText());
             }
             return metaData;
-        } catch (IOException e) {
+        } catch (UncheckedIOException e) {
             log.warn("Error extracting metadata from JSON: {}", e.getMessage());
             return null;
         }
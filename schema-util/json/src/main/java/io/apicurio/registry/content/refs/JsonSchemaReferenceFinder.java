@@ -27,9 +27,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.JsonNodeContentParser;
 
 /**
  * A JSON Schema implementation of a reference finder.
@@ -37,7 +37,6 @@ import io.apicurio.registry.content.ContentHandle;
  */
 public class JsonSchemaReferenceFinder implements ReferenceFinder {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
     private static final Logger log = LoggerFactory.getLogger(JsonSchemaReferenceFinder.class);
 
     /**
@@ -46,7 +45,7 @@ public class JsonSchemaReferenceFinder implements ReferenceFinder {
     @Override
     public Set<ExternalReference> findExternalReferences(ContentHandle content) {
         try {
-            JsonNode tree = mapper.readTree(content.content());
+            JsonNode tree = content.parsed(JsonNodeContentParser.INSTANCE);
             Set<String> externalTypes = new HashSet<>();
             findExternalTypesIn(tree, externalTypes);
 
@@ -22,8 +22,8 @@ import java.util.List;
 
 import org.everit.json.schema.SchemaException;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.JsonNodeContentParser;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
 import io.apicurio.registry.rules.RuleViolation;
 import io.apicurio.registry.rules.RuleViolationException;
@@ -38,8 +38,6 @@ import java.util.Map;
  */
 public class JsonSchemaContentValidator implements ContentValidator {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-
     /**
      * Constructor.
      */
@@ -53,7 +51,7 @@ public class JsonSchemaContentValidator implements ContentValidator {
     public void validate(ValidityLevel level, ContentHandle artifactContent, Map<String, ContentHandle> resolvedReferences) throws RuleViolationException {
         if (level == ValidityLevel.SYNTAX_ONLY) {
             try {
-                objectMapper.readTree(artifactContent.bytes());
+                artifactContent.parsed(JsonNodeContentParser.INSTANCE);
             } catch (Exception e) {
                 throw new RuleViolationException("Syntax violation for JSON Schema artifact.", RuleType.VALIDITY, level.name(), e);
             }
@@ -24,9 +24,9 @@ import org.apache.kafka.connect.json.JsonConverter;
 import org.apache.kafka.connect.json.JsonConverterConfig;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.content.JsonNodeContentParser;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
 import io.apicurio.registry.rules.RuleViolationException;
 import io.apicurio.registry.types.RuleType;
@@ -37,10 +37,8 @@ import io.apicurio.registry.types.RuleType;
  */
 public class KafkaConnectContentValidator implements ContentValidator {
 
-    private static final ObjectMapper mapper;
     private static final JsonConverter jsonConverter;
     static {
-        mapper = new ObjectMapper();
         jsonConverter = new JsonConverter();
         Map<String, Object> configs = new HashMap<>();
         configs.put("converter.type", "key");
@@ -61,7 +59,7 @@ public class KafkaConnectContentValidator implements ContentValidator {
     public void validate(ValidityLevel level, ContentHandle artifactContent, Map<String, ContentHandle> resolvedReferences) throws RuleViolationException {
         if (level == ValidityLevel.SYNTAX_ONLY || level == ValidityLevel.FULL) {
             try {
-                JsonNode jsonNode = mapper.readTree(artifactContent.content());
+                JsonNode jsonNode = artifactContent.parsed(JsonNodeContentParser.INSTANCE);
                 jsonConverter.asConnectSchema(jsonNode);
             } catch (Exception e) {
                 throw new RuleViolationException("Syntax violation for Kafka Connect Schema artifact.", RuleType.VALIDITY, level.name(), e);
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.content;
+
+import java.io.IOException;
+
+import io.apicurio.datamodels.Library;
+import io.apicurio.datamodels.models.Document;
+
+/**
+ * Parses OpenAPI and AsyncAPI content into an Apicurio Data Models {@link Document}.  Used via
+ * {@link ContentHandle#parsed(ContentParser)} so that the validator, extractor and reference finder share
+ * a single read of the document.  Code that modifies the document (e.g. dereferencing) must read its own
+ * copy instead.
+ */
+public final class ApicurioDataModelsContentParser implements ContentParser<Document> {
+
+    public static final ApicurioDataModelsContentParser INSTANCE = new ApicurioDataModelsContentParser();
+
+    private ApicurioDataModelsContentParser() {
+    }
+
+    /**
+     * @see io.apicurio.registry.content.ContentParser#parse(io.apicurio.registry.content.ContentHandle)
+     */
+    @Override
+    public Document parse(ContentHandle content) throws IOException {
+        try {
+            return Library.readDocumentFromJSONString(content.content());
+        } catch (RuntimeException e) {
+            // Reported as an IOException so that the failure is remembered by the content handle.
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+}
@@ -24,6 +24,7 @@ import io.apicurio.datamodels.TraverserDirection;
 import io.apicurio.datamodels.models.Document;
 import io.apicurio.datamodels.models.Info;
 import io.apicurio.datamodels.models.visitors.CombinedVisitorAdapter;
+import io.apicurio.registry.content.ApicurioDataModelsContentParser;
 import io.apicurio.registry.content.ContentHandle;
 
 /**
@@ -37,7 +38,7 @@ public class ApicurioDataModelsContentExtractor implements ContentExtractor {
     @Override
     public ExtractedMetaData extract(ContentHandle content) {
         try {
-            Document openApi = Library.readDocumentFromJSONString(content.content());
+            Document openApi = content.parsed(ApicurioDataModelsContentParser.INSTANCE);
             MetaDataVisitor viz = new MetaDataVisitor();
             Library.visitTree(openApi, viz, TraverserDirection.down);
 
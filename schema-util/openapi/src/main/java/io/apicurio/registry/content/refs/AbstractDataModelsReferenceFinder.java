@@ -29,6 +29,7 @@ import io.apicurio.datamodels.models.Node;
 import io.apicurio.datamodels.models.Referenceable;
 import io.apicurio.datamodels.models.asyncapi.AsyncApiMessage;
 import io.apicurio.datamodels.models.visitors.AllNodeVisitor;
+import io.apicurio.registry.content.ApicurioDataModelsContentParser;
 import io.apicurio.registry.content.ContentHandle;
 
 /**
@@ -45,7 +46,7 @@ public abstract class AbstractDataModelsReferenceFinder implements ReferenceFind
      */
     @Override
     public Set<ExternalReference> findExternalReferences(ContentHandle content) {
-        Document doc = Library.readDocumentFromJSONString(content.content());
+        Document doc = content.parsed(ApicurioDataModelsContentParser.INSTANCE);
         
         // Find all the $refs
         RefFinderVisitor visitor = new RefFinderVisitor();
@@ -30,6 +30,7 @@ import io.apicurio.datamodels.models.Node;
 import io.apicurio.datamodels.models.Referenceable;
 import io.apicurio.datamodels.models.visitors.AllNodeVisitor;
 import io.apicurio.datamodels.validation.ValidationProblem;
+import io.apicurio.registry.content.ApicurioDataModelsContentParser;
 import io.apicurio.registry.content.ContentHandle;
 import io.apicurio.registry.rest.v2.beans.ArtifactReference;
 import io.apicurio.registry.rules.RuleViolation;
@@ -51,7 +52,7 @@ public abstract class ApicurioDataModelContentValidator implements ContentValida
         Document document = null;
         if (level == ValidityLevel.SYNTAX_ONLY || level == ValidityLevel.FULL) {
             try {
-                document = Library.readDocumentFromJSONString(artifactContent.content());
+                document = artifactContent.parsed(ApicurioDataModelsContentParser.INSTANCE);
             } catch (Exception e) {
                 throw new RuleViolationException("Syntax violation for " + getDataModelType() + " artifact.", RuleType.VALIDITY, level.name(), e);
             }
@@ -88,7 +89,7 @@ public abstract class ApicurioDataModelContentValidator implements ContentValida
     private Set<String> getAll$refs(ContentHandle artifactContent) {
         try {
             RefFinder refFinder = new RefFinder();
-            Document document = Library.readDocumentFromJSONString(artifactContent.content());
+            Document document = artifactContent.parsed(ApicurioDataModelsContentParser.INSTANCE);
             Library.visitTree(document, refFinder, TraverserDirection.down);
             return refFinder.references;
         } catch (Exception e) {
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023 Red Hat Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.content;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.apicurio.registry.content.extract.ExtractedMetaData;
+import io.apicurio.registry.content.extract.JsonContentExtractor;
+
+/**
+ * Tests for {@link ContentHandle#parsed(ContentParser)}.
+ */
+public class ContentHandleParsedTest {
+
+    @Test
+    public void testParsedOnce() {
+        AtomicInteger parseCount = new AtomicInteger();
+        ContentParser<JsonNode> countingParser = content -> {
+            parseCount.incrementAndGet();
+            return JsonNodeContentParser.INSTANCE.parse(content);
+        };
+
+        ContentHandle content = ContentHandle.create("{\"title\": \"Test\", \"type\": \"object\"}");
+        JsonNode first = content.parsed(countingParser);
+        JsonNode second = content.parsed(countingParser);
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, parseCount.get());
+
+        // Consumers using the shared parser see the same tree
+        JsonNode shared = content.parsed(JsonNodeContentParser.INSTANCE);
+        ExtractedMetaData metaData = new JsonContentExtractor().extract(content);
+        Assertions.assertSame(shared, content.parsed(JsonNodeContentParser.INSTANCE));
+        Assertions.assertEquals("Test", metaData.getName());
+    }
+
+    @Test
+    public void testParseFailureRemembered() {
+        AtomicInteger parseCount = new AtomicInteger();
+        ContentParser<JsonNode> countingParser = content -> {
+            parseCount.incrementAndGet();
+            return JsonNodeContentParser.INSTANCE.parse(content);
+        };
+
+        ContentHandle content = ContentHandle.create("{ not json");
+        Assertions.assertThrows(UncheckedIOException.class, () -> content.parsed(countingParser));
+        Assertions.assertThrows(UncheckedIOException.class, () -> content.parsed(countingParser));
+        Assertions.assertEquals(1, parseCount.get());
+        Assertions.assertNull(new JsonContentExtractor().extract(content));
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 Red Hat Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.registry.content;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ContentHandle#writeTo(java.io.OutputStream)}.
+ */
+public class ContentHandleWriteToTest {
+
+    private static final String CONTENT = "{\"title\": \"Caf\u00e9 \u2615\", \"type\": \"object\"}";
+
+    @Test
+    public void testWriteTo() throws IOException {
+        byte[] expected = CONTENT.getBytes(StandardCharsets.UTF_8);
+
+        Assertions.assertArrayEquals(expected, write(ContentHandle.create(CONTENT)));
+        Assertions.assertArrayEquals(expected, write(ContentHandle.create(expected)));
+        Assertions.assertArrayEquals(expected, write(ContentHandle.create(new ByteArrayInputStream(expected))));
+
+        // Content that has already been read is written again
+        ContentHandle content = ContentHandle.create(CONTENT);
+        content.bytes();
+        Assertions.assertArrayEquals(expected, write(content));
+    }
+
+    private static byte[] write(ContentHandle content) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        content.writeTo(output);
+        return output.toByteArray();
+    }
+
+}
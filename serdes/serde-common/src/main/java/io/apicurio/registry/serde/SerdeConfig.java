@@ -192,6 +192,20 @@ public class SerdeConfig {
     public static final String RETRY_BACKOFF_MS = SchemaResolverConfig.RETRY_BACKOFF_MS;
     public static final long RETRY_BACKOFF_MS_DEFAULT = SchemaResolverConfig.RETRY_BACKOFF_MS_DEFAULT;
 
+    /**
+     * Optional, boolean to indicate whether serdes should poll the change feed of the registry, and evict the cached
+     * schemas of the artifacts that changed, so that {@link SerdeConfig#CHECK_PERIOD_MS} can be raised.
+     * Requires the change feed to be enabled in the registry.
+     */
+    public static final String CHANGE_FEED_ENABLED = SchemaResolverConfig.CHANGE_FEED_ENABLED;
+    public static final boolean CHANGE_FEED_ENABLED_DEFAULT = SchemaResolverConfig.CHANGE_FEED_ENABLED_DEFAULT;
+
+    /**
+     * How often the change feed of the registry is polled, in milliseconds.
+     */
+    public static final String CHANGE_FEED_POLL_PERIOD_MS = SchemaResolverConfig.CHANGE_FEED_POLL_PERIOD_MS;
+    public static final long CHANGE_FEED_POLL_PERIOD_MS_DEFAULT = SchemaResolverConfig.CHANGE_FEED_POLL_PERIOD_MS_DEFAULT;
+
     /**
      * Configures the serdes to use the specified {@link IdOption} as the identifier for the artifacts.
      * Instructs the serializer to write the specified id into the kafka records and
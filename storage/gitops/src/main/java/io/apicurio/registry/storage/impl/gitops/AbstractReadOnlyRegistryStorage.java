@@ -259,8 +259,9 @@ public abstract class AbstractReadOnlyRegistryStorage implements RegistryStorage
 
 
     @Override
-    public void deleteAllExpiredDownloads() throws RegistryStorageException {
+    public int deleteExpiredDownloads(int limit) throws RegistryStorageException {
         readOnlyViolation();
+        return 0;
     }
 
 
@@ -362,6 +363,39 @@ public abstract class AbstractReadOnlyRegistryStorage implements RegistryStorage
     }
 
 
+    @Override
+    public void updateContentDereferencedHash(String dereferencedHash, long contentId, String contentHash) {
+        readOnlyViolation();
+    }
+
+
+    @Override
+    public void storeDereferencedContent(long contentId, ContentHandle dereferencedContent) {
+        readOnlyViolation();
+    }
+
+
+    @Override
+    public long createOutboxEvent(OutboxEventDto event) {
+        readOnlyViolation();
+        return 0;
+    }
+
+
+    @Override
+    public List<OutboxEventDto> claimOutboxEvents(int limit) {
+        readOnlyViolation();
+        return null;
+    }
+
+
+    @Override
+    public int deleteOutboxEvents(long createdBefore) {
+        readOnlyViolation();
+        return 0;
+    }
+
+
     @Override
     public ArtifactMetaDataDto updateArtifactWithMetadata(String groupId, String artifactId, String version, String artifactType, String contentHash, String createdBy, Date createdOn, EditableArtifactMetaDataDto metaData, IdGenerator globalIdGenerator) {
         readOnlyViolation();
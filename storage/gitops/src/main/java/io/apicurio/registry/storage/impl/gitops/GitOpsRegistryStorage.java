@@ -26,7 +26,9 @@ import io.apicurio.registry.storage.dto.*;
 import io.apicurio.registry.storage.error.RegistryStorageException;
 import io.apicurio.registry.storage.impl.gitops.sql.BlueSqlStorage;
 import io.apicurio.registry.storage.impl.gitops.sql.GreenSqlStorage;
+import io.apicurio.registry.types.ArtifactState;
 import io.apicurio.registry.types.RuleType;
+import io.apicurio.registry.utils.impexp.ContentEntity;
 import io.apicurio.registry.utils.impexp.Entity;
 import io.quarkus.scheduler.Scheduled;
 import jakarta.annotation.PostConstruct;
@@ -222,6 +224,12 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public byte[] getCompressedContent(long contentId) {
+        return proxy(storage -> storage.getCompressedContent(contentId));
+    }
+
+
     @Override
     public ContentWrapperDto getArtifactByContentHash(String contentHash) {
         return proxy(storage -> storage.getArtifactByContentHash(contentHash));
@@ -251,6 +259,13 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public List<String> getArtifactIds(String groupId, String artifactIdPrefix, Set<String> artifactTypes, ArtifactState state,
+                                       int offset, int limit) {
+        return proxy(storage -> storage.getArtifactIds(groupId, artifactIdPrefix, artifactTypes, state, offset, limit));
+    }
+
+
     @Override
     public ArtifactSearchResultsDto searchArtifacts(Set<SearchFilter> filters, OrderBy orderBy, OrderDirection orderDirection, int offset, int limit) {
         return proxy(storage -> storage.searchArtifacts(filters, orderBy, orderDirection, offset, limit));
@@ -275,6 +290,12 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public ArtifactVersionMetaDataDto getArtifactVersionMetaDataByDereferencedHash(String groupId, String artifactId, String dereferencedHash) {
+        return proxy(storage -> storage.getArtifactVersionMetaDataByDereferencedHash(groupId, artifactId, dereferencedHash));
+    }
+
+
     @Override
     public ArtifactMetaDataDto getArtifactMetaData(long globalId) {
         return proxy(storage -> storage.getArtifactMetaData(globalId));
@@ -287,6 +308,12 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public Map<RuleType, RuleConfigurationDto> getArtifactRuleConfigurations(String groupId, String artifactId) {
+        return proxy(storage -> storage.getArtifactRuleConfigurations(groupId, artifactId));
+    }
+
+
     @Override
     public RuleConfigurationDto getArtifactRule(String groupId, String artifactId, RuleType rule) {
         return proxy(storage -> storage.getArtifactRule(groupId, artifactId, rule));
@@ -334,6 +361,12 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public Map<RuleType, RuleConfigurationDto> getGlobalRuleConfigurations() {
+        return proxy(RegistryStorage::getGlobalRuleConfigurations);
+    }
+
+
     @Override
     public RuleConfigurationDto getGlobalRule(RuleType rule) {
         return proxy(storage -> storage.getGlobalRule(rule));
@@ -358,6 +391,12 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public void exportData(Function<Entity, Void> handler, long sinceGlobalId, long sinceTimestamp) {
+        proxyAction(storage -> storage.exportData(handler, sinceGlobalId, sinceTimestamp));
+    }
+
+
     @Override
     public long countArtifacts() {
         return proxy(RegistryStorage::countArtifacts);
@@ -441,6 +480,42 @@ public class GitOpsRegistryStorage extends AbstractReadOnlyRegistryStorage {
     }
 
 
+    @Override
+    public Optional<String> contentHashFromId(long contentId) throws RegistryStorageException {
+        return proxy(storage -> storage.contentHashFromId(contentId));
+    }
+
+
+    @Override
+    public List<ContentEntity> getContentEntitiesWithoutCanonicalHash(long afterContentId, int limit) throws RegistryStorageException {
+        return proxy(storage -> storage.getContentEntitiesWithoutCanonicalHash(afterContentId, limit));
+    }
+
+
+    @Override
+    public List<ContentEntity> getContentEntitiesWithoutDereferencedHash(String artifactType, long afterContentId, int limit) throws RegistryStorageException {
+        return proxy(storage -> storage.getContentEntitiesWithoutDereferencedHash(artifactType, afterContentId, limit));
+    }
+
+
+    @Override
+    public ContentHandle getDereferencedContent(long contentId) {
+        return proxy(storage -> storage.getDereferencedContent(contentId));
+    }
+
+
+    @Override
+    public List<OutboxEventDto> getOutboxEvents(long afterId, int limit) {
+        return proxy(storage -> storage.getOutboxEvents(afterId, limit));
+    }
+
+
+    @Override
+    public long getLatestOutboxEventId() {
+        return proxy(RegistryStorage::getLatestOutboxEventId);
+    }
+
+
     @Override
     public boolean isArtifactExists(String groupId, String artifactId) {
         return proxy(storage -> storage.isArtifactExists(groupId, artifactId));
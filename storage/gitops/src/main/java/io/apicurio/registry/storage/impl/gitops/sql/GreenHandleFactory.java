@@ -18,6 +18,7 @@ package io.apicurio.registry.storage.impl.gitops.sql;
 
 import io.agroal.api.AgroalDataSource;
 import io.apicurio.registry.storage.impl.sql.AbstractHandleFactory;
+import io.apicurio.registry.storage.impl.sql.SqlStatementMetrics;
 import io.quarkus.agroal.DataSource;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.slf4j.Logger;
@@ -28,7 +29,8 @@ import org.slf4j.Logger;
 @ApplicationScoped
 public class GreenHandleFactory extends AbstractHandleFactory {
 
-    public GreenHandleFactory(@DataSource("green") AgroalDataSource dataSource, Logger log) {
-        initialize(dataSource, "green", log);
+    public GreenHandleFactory(@DataSource("green") AgroalDataSource dataSource, Logger log,
+                              SqlStatementMetrics metrics) {
+        initialize(dataSource, "green", log, metrics);
     }
 }
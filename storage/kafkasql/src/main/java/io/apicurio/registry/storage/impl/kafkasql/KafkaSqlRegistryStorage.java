@@ -19,6 +19,7 @@ package io.apicurio.registry.storage.impl.kafkasql;
 import io.apicurio.common.apps.config.DynamicConfigPropertyDto;
 import io.apicurio.common.apps.logging.Logged;
 import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.events.EventsService;
 import io.apicurio.registry.metrics.StorageMetricsApply;
 import io.apicurio.registry.metrics.health.liveness.PersistenceExceptionLivenessApply;
 import io.apicurio.registry.metrics.health.readiness.PersistenceTimeoutReadinessApply;
@@ -69,6 +70,10 @@ import static io.apicurio.registry.storage.RegistryStorage.ArtifactRetrievalBeha
  * An implementation of a registry artifactStore that extends the basic SQL artifactStore but federates 'write' operations
  * to other nodes in a cluster using a Kafka topic.  As a result, all reads are performed locally but all
  * writes are published to a topic for consumption by all nodes.
+ * <p>
+ * Writes are applied by the consumer of the topic, in its own transactions, so the transaction of the caller
+ * (if any) is suspended by the write methods while they wait for the consumer, rather than holding on to
+ * a database connection.  Reads join the transaction of the caller.
  *
  * @author eric.wittmann@gmail.com
  */
@@ -113,6 +118,9 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
     @Inject
     Event<StorageEvent> storageEvent;
 
+    @Inject
+    EventsService eventsService;
+
     private volatile boolean bootstrapped = false;
     private volatile boolean stopped = true;
 
@@ -121,6 +129,12 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
     void onConstruct() {
         log.info("Using Kafka-SQL artifactStore.");
 
+        if (eventsService.isOutboxEnabled()) {
+            // Each node would number the events of its own changes, and the change feed would depend on the node
+            throw new IllegalStateException("The events outbox (registry.events.outbox.enabled) is not supported "
+                    + "by the Kafka-SQL artifactStore.");
+        }
+
         // Create Kafka topics if needed
         if (configuration.isTopicAutoCreate()) {
             autoCreateTopics();
@@ -280,6 +294,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public ArtifactMetaDataDto createArtifact(String groupId, String artifactId, String version, String artifactType,
                                               ContentHandle content, List<ArtifactReferenceDto> references) {
         return createArtifactWithMetadata(groupId, artifactId, version, artifactType, content, null, references);
@@ -287,6 +302,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public ArtifactMetaDataDto createArtifactWithMetadata(String groupId, String artifactId, String version,
                                                           String artifactType, String contentHash,
                                                           String createdBy, Date createdOn,
@@ -298,6 +314,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public ArtifactMetaDataDto createArtifactWithMetadata(String groupId, String artifactId, String version,
                                                           String artifactType, ContentHandle content,
                                                           EditableArtifactMetaDataDto metaData, List<ArtifactReferenceDto> references) {
@@ -344,6 +361,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public List<String> deleteArtifact(String groupId, String artifactId) {
         if (!delegate.isArtifactExists(groupId, artifactId)) {
             throw new ArtifactNotFoundException(groupId, artifactId);
@@ -368,6 +386,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void deleteArtifacts(String groupId) {
         UUID reqId = ConcurrentUtil.get(submitter.submitGroup(groupId, ActionType.DELETE, true));
         coordinator.waitForResponse(reqId);
@@ -377,6 +396,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public ArtifactMetaDataDto updateArtifactWithMetadata(String groupId, String artifactId, String version,
                                                           String artifactType, String contentHash,
                                                           String createdBy, Date createdOn,
@@ -388,6 +408,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public ArtifactMetaDataDto updateArtifactWithMetadata(String groupId, String artifactId, String version,
                                                           String artifactType, ContentHandle content,
                                                           EditableArtifactMetaDataDto metaData, List<ArtifactReferenceDto> references) {
@@ -426,6 +447,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void updateArtifactMetaData(String groupId, String artifactId, EditableArtifactMetaDataDto metaData) {
         // Note: the next line will throw ArtifactNotFoundException if the artifact does not exist, so there is no need for an extra check.
         ArtifactMetaDataDto metaDataDto = delegate.getArtifactMetaData(groupId, artifactId);
@@ -437,6 +459,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void updateArtifactOwner(String groupId, String artifactId, ArtifactOwnerDto owner) {
         // Note: the next line will throw ArtifactNotFoundException if the artifact does not exist, so there is no need for an extra check.
         /*ArtifactMetaDataDto metaDataDto = */
@@ -448,6 +471,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void createArtifactRule(String groupId, String artifactId, RuleType rule, RuleConfigurationDto config) {
         if (delegate.isArtifactRuleExists(groupId, artifactId, rule)) {
             throw new RuleAlreadyExistsException(rule);
@@ -460,6 +484,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void deleteArtifactRules(String groupId, String artifactId) {
         if (!delegate.isArtifactExists(groupId, artifactId)) {
             throw new ArtifactNotFoundException(groupId, artifactId);
@@ -477,6 +502,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void updateArtifactRule(String groupId, String artifactId, RuleType rule, RuleConfigurationDto config) {
         if (!delegate.isArtifactRuleExists(groupId, artifactId, rule)) {
             throw new RuleNotFoundException(rule);
@@ -488,6 +514,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void deleteArtifactRule(String groupId, String artifactId, RuleType rule) {
         if (!delegate.isArtifactRuleExists(groupId, artifactId, rule)) {
             throw new RuleNotFoundException(rule);
@@ -499,6 +526,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void deleteArtifactVersion(String groupId, String artifactId, String version) {
         withArtifactVersionMetadataValidateState(groupId, artifactId, version, null, value -> {
             UUID reqId = ConcurrentUtil.get(submitter.submitVersion(groupId, artifactId, version, ActionType.DELETE));
@@ -513,6 +541,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void updateArtifactVersionMetaData(String groupId, String artifactId, String version, EditableArtifactMetaDataDto metaData) {
         withArtifactVersionMetadataValidateState(groupId, artifactId, version, ArtifactStateExt.ACTIVE_STATES, value -> {
             UUID reqId = ConcurrentUtil.get(submitter.submitArtifactVersion(groupId, artifactId,
@@ -523,6 +552,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void deleteArtifactVersionMetaData(String groupId, String artifactId, String version) {
         withArtifactVersionMetadataValidateState(groupId, artifactId, version, null, value -> {
             UUID reqId = ConcurrentUtil.get(submitter.submitVersion(groupId, artifactId, version, ActionType.CLEAR));
@@ -546,6 +576,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void createGlobalRule(RuleType rule, RuleConfigurationDto config) {
         UUID reqId = ConcurrentUtil.get(submitter.submitGlobalRule(rule, ActionType.CREATE, config));
         coordinator.waitForResponse(reqId);
@@ -553,6 +584,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void deleteGlobalRules() {
         // TODO This should use "DELETE FROM" instead of being rule specific
 
@@ -569,6 +601,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void updateGlobalRule(RuleType rule, RuleConfigurationDto config) {
         if (!delegate.isGlobalRuleExists(rule)) {
             throw new RuleNotFoundException(rule);
@@ -580,6 +613,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void deleteGlobalRule(RuleType rule) {
         if (!delegate.isGlobalRuleExists(rule)) {
             throw new RuleNotFoundException(rule);
@@ -604,6 +638,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void updateArtifactState(String groupId, String artifactId, ArtifactState state) {
         ArtifactMetaDataDto metadata = delegate.getArtifactMetaData(groupId, artifactId, DEFAULT);
         EditableArtifactMetaDataDto metaDataDto = new EditableArtifactMetaDataDto();
@@ -616,6 +651,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void updateArtifactState(String groupId, String artifactId, String version, ArtifactState state) {
         ArtifactVersionMetaDataDto metadata = delegate.getArtifactVersionMetaData(groupId, artifactId, version);
         EditableArtifactMetaDataDto metaDataDto = new EditableArtifactMetaDataDto();
@@ -628,6 +664,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void createGroup(GroupMetaDataDto group) {
         UUID reqId = ConcurrentUtil.get(submitter.submitGroup(ActionType.CREATE, group));
         coordinator.waitForResponse(reqId);
@@ -635,6 +672,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void updateGroupMetaData(GroupMetaDataDto group) {
         UUID reqId = ConcurrentUtil.get(submitter.submitGroup(ActionType.UPDATE, group));
         coordinator.waitForResponse(reqId);
@@ -642,6 +680,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void deleteGroup(String groupId) {
         UUID reqId = ConcurrentUtil.get(submitter.submitGroup(groupId, ActionType.DELETE, false));
         coordinator.waitForResponse(reqId);
@@ -673,6 +712,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
     }
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void createRoleMapping(String principalId, String role, String principalName) {
         UUID reqId = ConcurrentUtil.get(submitter.submitRoleMapping(principalId, ActionType.CREATE, role, principalName));
         coordinator.waitForResponse(reqId);
@@ -680,6 +720,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void deleteRoleMapping(String principalId) {
         if (!delegate.isRoleMappingExists(principalId)) {
             throw new RoleMappingNotFoundException(principalId);
@@ -691,6 +732,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void updateRoleMapping(String principalId, String role) {
         if (!delegate.isRoleMappingExists(principalId)) {
             throw new RoleMappingNotFoundException(principalId, role);
@@ -702,6 +744,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void deleteAllUserData() {
         UUID reqId = ConcurrentUtil.get(submitter.submitGlobalAction(ActionType.DELETE_ALL_USER_DATA));
         coordinator.waitForResponse(reqId);
@@ -709,6 +752,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public String createDownload(DownloadContextDto context) {
         String downloadId = UUID.randomUUID().toString();
         UUID reqId = ConcurrentUtil.get(submitter.submitDownload(downloadId, ActionType.CREATE, context));
@@ -717,6 +761,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public DownloadContextDto consumeDownload(String downloadId) {
         UUID reqId = ConcurrentUtil.get(submitter.submitDownload(downloadId, ActionType.DELETE));
         return (DownloadContextDto) coordinator.waitForResponse(reqId);
@@ -724,14 +769,15 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
-    public void deleteAllExpiredDownloads() throws RegistryStorageException {
+    public int deleteExpiredDownloads(int limit) throws RegistryStorageException {
         // Note: this is OK to do because the only caller of this method is the DownloadReaper, which
         // runs on every node in the cluster.
-        delegate.deleteAllExpiredDownloads();
+        return delegate.deleteExpiredDownloads(limit);
     }
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void setConfigProperty(DynamicConfigPropertyDto propertyDto) {
         UUID reqId = ConcurrentUtil.get(submitter.submitConfigProperty(propertyDto.getName(), ActionType.UPDATE, propertyDto.getValue()));
         coordinator.waitForResponse(reqId);
@@ -739,6 +785,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void deleteConfigProperty(String propertyName) {
         UUID reqId = ConcurrentUtil.get(submitter.submitConfigProperty(propertyName, ActionType.DELETE));
         coordinator.waitForResponse(reqId);
@@ -746,6 +793,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public CommentDto createArtifactVersionComment(String groupId, String artifactId, String version, String value) {
         String theVersion = delegate.normalizeVersion(groupId, artifactId, version);
         String createdBy = securityIdentity.getPrincipal().getName();
@@ -756,6 +804,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void deleteArtifactVersionComment(String groupId, String artifactId, String version, String commentId) {
         String theVersion = delegate.normalizeVersion(groupId, artifactId, version);
 
@@ -769,6 +818,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void updateArtifactVersionComment(String groupId, String artifactId, String version, String commentId, String value) {
         String theVersion = delegate.normalizeVersion(groupId, artifactId, version);
 
@@ -839,6 +889,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void resetContentId() {
         UUID reqId = ConcurrentUtil.get(submitter.submitGlobalId(ActionType.RESET));
         coordinator.waitForResponse(reqId);
@@ -846,6 +897,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void resetGlobalId() {
         UUID reqId = ConcurrentUtil.get(submitter.submitContentId(ActionType.RESET));
         coordinator.waitForResponse(reqId);
@@ -853,6 +905,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public CommentDto createArtifactVersionCommentRaw(String groupId, String artifactId, String version, IdGenerator commentIdGen,
                                                       String createdBy, Date createdOn, String value) {
         String commentId = String.valueOf(commentIdGen.generate());
@@ -872,6 +925,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void resetCommentId() {
         UUID reqId = ConcurrentUtil.get(submitter.submitCommentId(ActionType.RESET));
         coordinator.waitForResponse(reqId);
@@ -879,6 +933,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public long nextContentId() {
         UUID uuid = ConcurrentUtil.get(submitter.submitContentId(ActionType.CREATE));
         return (long) coordinator.waitForResponse(uuid);
@@ -886,6 +941,7 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public long nextGlobalId() {
         UUID uuid = ConcurrentUtil.get(submitter.submitGlobalId(ActionType.CREATE));
         return (long) coordinator.waitForResponse(uuid);
@@ -893,21 +949,61 @@ public class KafkaSqlRegistryStorage extends RegistryStorageDecoratorReadOnlyBas
 
 
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public long nextCommentId() {
         UUID uuid = ConcurrentUtil.get(submitter.submitCommentId(ActionType.CREATE));
         return (long) coordinator.waitForResponse(uuid);
     }
 
 
+    /**
+     * Like the dereferenced hash, the canonical hash is derived from the content and its references only.  It is
+     * computed by the {@link io.apicurio.registry.storage.importing.CanonicalHashUpdater} of every node and written to
+     * the local store, instead of each node journaling the same update.
+     */
     @Override
     public void updateContentCanonicalHash(String newCanonicalHash, long contentId, String contentHash) {
-        var contentDto = delegate.getArtifactByContentId(contentId);
+        delegate.updateContentCanonicalHash(newCanonicalHash, contentId, contentHash);
+    }
+
 
-        var uuid = ConcurrentUtil.get(submitter.submitContent(
-                contentId, contentHash, ActionType.UPDATE,
-                newCanonicalHash, contentDto.getContent(), SqlUtil.serializeReferences(contentDto.getReferences())
-        ));
-        coordinator.waitForResponse(uuid);
+    /**
+     * The dereferenced hash is derived from the content and its references only, so every node computes it
+     * on its own, and it is written to the local store without going through the journal.
+     */
+    @Override
+    public void updateContentDereferencedHash(String dereferencedHash, long contentId, String contentHash) {
+        delegate.updateContentDereferencedHash(dereferencedHash, contentId, contentHash);
+    }
+
+
+    /**
+     * Each node caches the dereferenced content in its local store, so there is no journal message for it.
+     */
+    @Override
+    public void storeDereferencedContent(long contentId, ContentHandle dereferencedContent) {
+        delegate.storeDereferencedContent(contentId, dereferencedContent);
+    }
+
+
+    /**
+     * The outbox is not supported, see {@link #onConstruct()}.
+     */
+    @Override
+    public long createOutboxEvent(OutboxEventDto event) {
+        throw new UnsupportedOperationException("The events outbox is not supported by the Kafka-SQL artifactStore.");
+    }
+
+
+    @Override
+    public List<OutboxEventDto> claimOutboxEvents(int limit) {
+        throw new UnsupportedOperationException("The events outbox is not supported by the Kafka-SQL artifactStore.");
+    }
+
+
+    @Override
+    public int deleteOutboxEvents(long createdBefore) {
+        throw new UnsupportedOperationException("The events outbox is not supported by the Kafka-SQL artifactStore.");
     }
 
 
@@ -51,25 +51,37 @@ public class EntityReader {
     public Entity readEntity() throws IOException {
         ZipEntry entry = zip.getNextEntry();
         if (entry != null) {
-            String path = entry.getName();
-            EntityType entityType = parseEntityType(path);
-            if (entityType != null) {
-                switch (entityType) {
-                    case ArtifactRule:
-                        return readArtifactRule(entry);
-                    case ArtifactVersion:
-                        return readArtifactVersion(entry);
-                    case Content:
-                        return readContent(entry);
-                    case GlobalRule:
-                        return readGlobalRule(entry);
-                    case Group:
-                        return readGroup(entry);
-                    case Comment:
-                        return readComment(entry);
-                    case Manifest:
-                        return readManifest(entry);
-                }
+            return readEntity(entry);
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the entity starting at the given entry, which must be the current entry of the zip input stream.
+     * Returns null when the entry is not an entity.
+     * @param entry
+     * @throws IOException
+     */
+    public Entity readEntity(ZipEntry entry) throws IOException {
+        String path = entry.getName();
+        EntityType entityType = parseEntityType(path);
+        if (entityType != null) {
+            switch (entityType) {
+                case ArtifactRule:
+                    return readArtifactRule(entry);
+                case ArtifactVersion:
+                    return readArtifactVersion(entry);
+                case Content:
+                    return readContent(entry);
+                case GlobalRule:
+                    return readGlobalRule(entry);
+                case Group:
+                    return readGroup(entry);
+                case Comment:
+                    return readComment(entry);
+                case Manifest:
+                    return readManifest(entry);
             }
         }
 
@@ -70,6 +70,7 @@ public class EntityWriter {
                 break;
             case Comment:
                 writeEntity((CommentEntity) entity);
+                break;
             case Manifest:
                 writeEntity((ManifestEntity) entity);
                 break;
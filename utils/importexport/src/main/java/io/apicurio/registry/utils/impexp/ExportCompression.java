@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.utils.impexp;
+
+import java.util.zip.Deflater;
+
+/**
+ * Compression used for the entries of an exported zip file, or for the segments of an export written by a
+ * {@link SegmentedEntityWriter}, which are compressed concurrently.  Lower compression trades a larger
+ * export file for a faster export, which is usually the better choice when the export is only moved to
+ * another registry.
+ */
+public enum ExportCompression {
+
+    /**
+     * Default deflate compression.
+     */
+    DEFAULT(Deflater.DEFAULT_COMPRESSION),
+
+    /**
+     * Fastest deflate compression.
+     */
+    FAST(Deflater.BEST_SPEED),
+
+    /**
+     * No compression, entries are stored as deflate blocks without compressing them.
+     */
+    NONE(Deflater.NO_COMPRESSION);
+
+    private final int level;
+
+    ExportCompression(int level) {
+        this.level = level;
+    }
+
+    /**
+     * The compression level to configure the {@link java.util.zip.ZipOutputStream} with.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+}
@@ -18,11 +18,16 @@ package io.apicurio.registry.utils.impexp;
 
 import java.util.Date;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import io.quarkus.runtime.annotations.RegisterForReflection;
 
 /**
  * @author eric.wittmann@gmail.com
  */
+@JsonIgnoreProperties(ignoreUnknown = true)
 @RegisterForReflection
 public class ManifestEntity extends Entity {
 
@@ -33,6 +38,34 @@ public class ManifestEntity extends Entity {
     public Date exportedOn = new Date();
     public String exportedBy;
 
+    /**
+     * Highest globalId when the data was exported.  Together with {@link #exportedOn}, this is the watermark
+     * to use for the next incremental export.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long lastGlobalId;
+
+    /**
+     * Watermark of an incremental export, which only contains the data created or modified after it.
+     * Null for a full export.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long sinceGlobalId;
+
+    /**
+     * Watermark of an incremental export, as a timestamp in milliseconds.  Null for a full export.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long sinceTimestamp;
+
+    /**
+     * Returns true if this is the manifest of an incremental export.
+     */
+    @JsonIgnore
+    public boolean isIncremental() {
+        return sinceGlobalId != null || sinceTimestamp != null;
+    }
+
     /**
      * @see io.apicurio.registry.utils.impexp.Entity#getEntityType()
      */
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils.impexp;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import io.apicurio.registry.utils.IoUtil;
+
+/**
+ * Reads the entities of an export zip file written by a {@link SegmentedEntityWriter}.  The segments are
+ * read from the export zip file in order, and up to the given number of them are decoded concurrently on
+ * the given executor, while the entities are returned in the order they were exported, so that they are
+ * imported in dependency order.
+ * <p>
+ * Export zip files written by an {@link EntityWriter} are read as well, one entity at a time.
+ */
+public class SegmentedEntityReader implements Closeable {
+
+    public static final int DEFAULT_MAX_PENDING_SEGMENTS = 4;
+
+    private final ZipInputStream zip;
+    private final EntityReader reader;
+    private final Executor executor;
+    private final int maxPendingSegments;
+
+    private final Deque<CompletableFuture<List<Entity>>> pending = new ArrayDeque<>();
+    private Iterator<Entity> entities = Collections.emptyIterator();
+    private boolean endOfZip;
+
+    /**
+     * Constructor.
+     * @param zip
+     * @param executor
+     */
+    public SegmentedEntityReader(ZipInputStream zip, Executor executor) {
+        this(zip, executor, DEFAULT_MAX_PENDING_SEGMENTS);
+    }
+
+    /**
+     * Constructor.
+     * @param zip the export zip file
+     * @param executor the executor decoding the segments
+     * @param maxPendingSegments the maximum number of segments decoded or waiting to be read
+     */
+    public SegmentedEntityReader(ZipInputStream zip, Executor executor, int maxPendingSegments) {
+        if (maxPendingSegments < 1) {
+            throw new IllegalArgumentException("The maximum number of pending segments must be at least 1.");
+        }
+        this.zip = zip;
+        this.reader = new EntityReader(zip);
+        this.executor = executor;
+        this.maxPendingSegments = maxPendingSegments;
+    }
+
+    /**
+     * Returns the next entity, or null when all the entities have been read.
+     * @throws IOException
+     */
+    public Entity readEntity() throws IOException {
+        while (!entities.hasNext()) {
+            fillPending();
+            if (pending.isEmpty()) {
+                return null;
+            }
+            entities = take(pending.removeFirst()).iterator();
+        }
+        return entities.next();
+    }
+
+    /**
+     * Cancels the segments not read yet and closes the export zip file.
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        pending.forEach(segment -> segment.cancel(false));
+        pending.clear();
+        zip.close();
+    }
+
+    /**
+     * Reads the next entries of the export zip file until the maximum number of segments are pending.
+     * Entities stored directly in the export zip file are read on the calling thread and keep their place
+     * between the segments.
+     */
+    private void fillPending() throws IOException {
+        while (!endOfZip && pending.size() < maxPendingSegments) {
+            ZipEntry entry = zip.getNextEntry();
+            if (entry == null) {
+                endOfZip = true;
+            } else if (isSegment(entry)) {
+                final byte[] bytes = IoUtil.toBytes(zip, false);
+                pending.addLast(CompletableFuture.supplyAsync(() -> decode(bytes), executor));
+            } else {
+                Entity entity = reader.readEntity(entry);
+                if (entity != null) {
+                    pending.addLast(CompletableFuture.completedFuture(List.of(entity)));
+                }
+            }
+        }
+    }
+
+    private static boolean isSegment(ZipEntry entry) {
+        String name = entry.getName();
+        return name.startsWith(SegmentedEntityWriter.SEGMENT_PREFIX) && name.endsWith(SegmentedEntityWriter.SEGMENT_SUFFIX);
+    }
+
+    private static List<Entity> decode(byte[] bytes) {
+        try (ZipInputStream segmentZip = new ZipInputStream(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            EntityReader segmentReader = new EntityReader(segmentZip);
+            List<Entity> segmentEntities = new ArrayList<>();
+            Entity entity;
+            while ((entity = segmentReader.readEntity()) != null) {
+                segmentEntities.add(entity);
+            }
+            return segmentEntities;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Entity> take(CompletableFuture<List<Entity>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an import segment.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to decode an import segment.", cause);
+        }
+    }
+
+}
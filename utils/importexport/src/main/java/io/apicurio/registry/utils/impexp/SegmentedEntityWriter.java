@@ -0,0 +1,196 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils.impexp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes entities to an export zip file in segments, each segment being a nested zip file holding a run
+ * of consecutive entities written by an {@link EntityWriter}.  The JSON encoding and the compression of
+ * the segments run on the given executor, while the segments are written to the export zip file in the
+ * order of the entities, as soon as each one is done.  At most the given number of segments are encoded
+ * or waiting to be written at any time, so the entities are buffered in bounded memory and the export
+ * zip file is streamed while the entities are still being produced.
+ * <p>
+ * The segments are stored in the export zip file without compressing them again.  Use a
+ * {@link SegmentedEntityReader} to read them back.
+ */
+public class SegmentedEntityWriter implements Closeable {
+
+    static final String SEGMENT_PREFIX = "segments/";
+    static final String SEGMENT_SUFFIX = ".Segment.zip";
+
+    private static final int MAX_SEGMENT_ENTITIES = 1000;
+    private static final long MAX_SEGMENT_BYTES = 4 * 1024 * 1024;
+
+    private final ZipOutputStream zip;
+    private final ExportCompression compression;
+    private final Executor executor;
+    private final int maxPendingSegments;
+
+    private final Deque<CompletableFuture<Segment>> pending = new ArrayDeque<>();
+    private List<Entity> entities = new ArrayList<>();
+    private long entitiesBytes;
+    private int segmentCounter;
+
+    /**
+     * Constructor.
+     * @param out the output stream to write the export zip file to
+     * @param compression the compression of the segments
+     * @param executor the executor encoding the segments
+     * @param maxPendingSegments the maximum number of segments encoded or waiting to be written
+     */
+    public SegmentedEntityWriter(OutputStream out, ExportCompression compression, Executor executor, int maxPendingSegments) {
+        if (maxPendingSegments < 1) {
+            throw new IllegalArgumentException("The maximum number of pending segments must be at least 1.");
+        }
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.zip.setMethod(ZipOutputStream.STORED);
+        this.compression = compression;
+        this.executor = executor;
+        this.maxPendingSegments = maxPendingSegments;
+    }
+
+    /**
+     * Adds the given entity to the current segment, submitting the segment to be encoded when it is full.
+     * Blocks while the maximum number of segments are pending.
+     * @param entity
+     * @throws IOException
+     */
+    public void writeEntity(Entity entity) throws IOException {
+        entities.add(entity);
+        if (entity instanceof ContentEntity && ((ContentEntity) entity).contentBytes != null) {
+            entitiesBytes += ((ContentEntity) entity).contentBytes.length;
+        }
+        if (entities.size() >= MAX_SEGMENT_ENTITIES || entitiesBytes >= MAX_SEGMENT_BYTES) {
+            submitSegment();
+        }
+    }
+
+    /**
+     * Submits the last segment and writes all the pending segments, waiting for them to be encoded.
+     * @throws IOException
+     */
+    public void finish() throws IOException {
+        if (!entities.isEmpty()) {
+            submitSegment();
+        }
+        while (!pending.isEmpty()) {
+            writeSegment(pending.removeFirst());
+        }
+        zip.finish();
+    }
+
+    /**
+     * Cancels the segments not written yet and closes the export zip file.  Call {@link #finish()} first
+     * to write all the entities.
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        pending.forEach(segment -> segment.cancel(false));
+        pending.clear();
+        zip.close();
+    }
+
+    private void submitSegment() throws IOException {
+        final List<Entity> segmentEntities = entities;
+        final String name = String.format("%s%06d%s", SEGMENT_PREFIX, ++segmentCounter, SEGMENT_SUFFIX);
+        entities = new ArrayList<>();
+        entitiesBytes = 0;
+
+        pending.addLast(CompletableFuture.supplyAsync(() -> encode(name, segmentEntities), executor));
+
+        // Write the segments already done, in order, and wait for the oldest one while too many are pending
+        while (!pending.isEmpty() && (pending.size() >= maxPendingSegments || pending.peekFirst().isDone())) {
+            writeSegment(pending.removeFirst());
+        }
+    }
+
+    private Segment encode(String name, List<Entity> segmentEntities) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ZipOutputStream segmentZip = new ZipOutputStream(bytes, StandardCharsets.UTF_8)) {
+                segmentZip.setLevel(compression.getLevel());
+                EntityWriter writer = new EntityWriter(segmentZip);
+                for (Entity entity : segmentEntities) {
+                    writer.writeEntity(entity);
+                }
+            }
+            return new Segment(name, bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeSegment(CompletableFuture<Segment> future) throws IOException {
+        Segment segment;
+        try {
+            segment = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an export segment.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to encode an export segment.", cause);
+        }
+
+        ZipEntry entry = new ZipEntry(segment.name);
+        entry.setSize(segment.bytes.length);
+        entry.setCompressedSize(segment.bytes.length);
+        entry.setCrc(segment.crc);
+        zip.putNextEntry(entry);
+        zip.write(segment.bytes);
+        zip.closeEntry();
+        zip.flush();
+    }
+
+    private static class Segment {
+
+        private final String name;
+        private final byte[] bytes;
+        private final long crc;
+
+        private Segment(String name, byte[] bytes) {
+            this.name = name;
+            this.bytes = bytes;
+            CRC32 crc32 = new CRC32();
+            crc32.update(bytes);
+            this.crc = crc32.getValue();
+        }
+    }
+
+}
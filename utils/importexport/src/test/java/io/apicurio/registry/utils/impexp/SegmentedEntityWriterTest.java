@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils.impexp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SegmentedEntityWriterTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testRoundTrip() throws Exception {
+        List<Entity> expected = readLegacyExport();
+
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        try (SegmentedEntityWriter writer = new SegmentedEntityWriter(export, ExportCompression.FAST, executor, 2)) {
+            for (Entity entity : expected) {
+                writer.writeEntity(entity);
+            }
+            writer.finish();
+        }
+
+        // The 1003 content entities do not fit in a single segment
+        int segmentCounter = 0;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(export.toByteArray()), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                Assertions.assertTrue(entry.getName().endsWith(SegmentedEntityWriter.SEGMENT_SUFFIX));
+                segmentCounter++;
+            }
+        }
+        Assertions.assertEquals(2, segmentCounter);
+
+        List<Entity> actual = new ArrayList<>();
+        ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(export.toByteArray()), StandardCharsets.UTF_8);
+        try (SegmentedEntityReader reader = new SegmentedEntityReader(zip, executor, 2)) {
+            Entity entity;
+            while ((entity = reader.readEntity()) != null) {
+                actual.add(entity);
+            }
+        }
+
+        assertSameEntities(expected, actual);
+    }
+
+    @Test
+    void testReadLegacyExport() throws Exception {
+        List<Entity> expected = readLegacyExport();
+
+        List<Entity> actual = new ArrayList<>();
+        try (InputStream data = resourceToInputStream("export.zip");
+             SegmentedEntityReader reader = new SegmentedEntityReader(new ZipInputStream(data, StandardCharsets.UTF_8), executor)) {
+            Entity entity;
+            while ((entity = reader.readEntity()) != null) {
+                actual.add(entity);
+            }
+        }
+
+        assertSameEntities(expected, actual);
+    }
+
+    private List<Entity> readLegacyExport() throws Exception {
+        List<Entity> entities = new ArrayList<>();
+        try (InputStream data = resourceToInputStream("export.zip")) {
+            EntityReader reader = new EntityReader(new ZipInputStream(data, StandardCharsets.UTF_8));
+            Entity entity;
+            while ((entity = reader.readEntity()) != null) {
+                entities.add(entity);
+            }
+        }
+        Assertions.assertEquals(1003, entities.stream().filter(entity -> entity instanceof ContentEntity).count());
+        return entities;
+    }
+
+    private static void assertSameEntities(List<Entity> expected, List<Entity> actual) {
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int idx = 0; idx < expected.size(); idx++) {
+            Entity expectedEntity = expected.get(idx);
+            Entity actualEntity = actual.get(idx);
+            Assertions.assertEquals(expectedEntity.getEntityType(), actualEntity.getEntityType());
+            if (expectedEntity instanceof ContentEntity) {
+                ContentEntity expectedContent = (ContentEntity) expectedEntity;
+                ContentEntity actualContent = (ContentEntity) actualEntity;
+                Assertions.assertEquals(expectedContent.contentId, actualContent.contentId);
+                Assertions.assertEquals(expectedContent.contentHash, actualContent.contentHash);
+                Assertions.assertArrayEquals(expectedContent.contentBytes, actualContent.contentBytes);
+            } else if (expectedEntity instanceof ArtifactVersionEntity) {
+                ArtifactVersionEntity expectedVersion = (ArtifactVersionEntity) expectedEntity;
+                ArtifactVersionEntity actualVersion = (ArtifactVersionEntity) actualEntity;
+                Assertions.assertEquals(expectedVersion.globalId, actualVersion.globalId);
+                Assertions.assertEquals(expectedVersion.artifactId, actualVersion.artifactId);
+                Assertions.assertEquals(expectedVersion.version, actualVersion.version);
+            }
+        }
+    }
+
+    /**
+     * Loads a resource as an input stream.
+     * @param resourceName the resource name
+     */
+    protected final InputStream resourceToInputStream(String resourceName) {
+        InputStream stream = getClass().getResourceAsStream(resourceName);
+        Assertions.assertNotNull(stream, "Resource not found: " + resourceName);
+        return stream;
+    }
+}